@@ -0,0 +1,44 @@
+package com.mineglicht.api;
+
+/**
+ * Resultado de una operación de la API: un valor o un motivo de fallo tipado
+ *
+ * @param value valor devuelto (null si falló o si la operación no devuelve nada)
+ * @param failure motivo del fallo, o null si tuvo éxito
+ * @param message detalle legible del fallo, o null
+ */
+public record ApiResult<T>(T value, Failure failure, String message) {
+
+    /**
+     * Motivos por los que una operación puede fallar
+     */
+    public enum Failure {
+        PLUGIN_DISABLED,
+        CITY_NOT_FOUND,
+        CITY_EXISTS,
+        PLAYER_OFFLINE,
+        ALREADY_IN_CITY,
+        NOT_CITIZEN,
+        INVALID_LOCATION,
+        EXPANSION_LIMIT,
+        SIEGE_NOT_ALLOWED,
+        REJECTED,
+        ERROR
+    }
+
+    public static <T> ApiResult<T> ok(T value) {
+        return new ApiResult<>(value, null, null);
+    }
+
+    public static ApiResult<Void> ok() {
+        return new ApiResult<>(null, null, null);
+    }
+
+    public static <T> ApiResult<T> fail(Failure failure, String message) {
+        return new ApiResult<>(null, failure, message);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mineglicht.api;
+
+import com.mineglicht.models.BlockCoord;
+import com.mineglicht.models.CitizenRoster;
+import com.mineglicht.models.City;
+import com.mineglicht.models.CityState;
+
+import java.util.UUID;
+
+/**
+ * Copia inmutable de una ciudad, segura para leer desde cualquier hilo
+ * Forma parte de un {@link StateSnapshot}; nunca cambia después de publicarse.
+ *
+ * @param size lado del territorio en bloques (cuadrado centrado en center)
+ */
+public record CitySnapshot(
+        String name,
+        UUID owner,
+        BlockCoord center,
+        int size,
+        int level,
+        double funds,
+        double taxRate,
+        CityState state,
+        boolean protectionEnabled,
+        boolean underSiege,
+        CitizenRoster citizens) {
+
+    /**
+     * Copia el estado actual de la ciudad (llamar desde el hilo principal)
+     */
+    public static CitySnapshot of(City city, int size, boolean underSiege) {
+        return new CitySnapshot(
+                city.getName(),
+                city.getOwner(),
+                city.getCenter(),
+                size,
+                city.getLevel(),
+                city.previewFunds(),
+                city.getTaxRate(),
+                city.getState(),
+                city.isProtected(),
+                underSiege,
+                city.getRoster());
+    }
+
+    public int citizenCount() {
+        return citizens.size();
+    }
+
+    public boolean isCitizen(UUID playerId) {
+        return citizens.contains(playerId);
+    }
+
+    /**
+     * True si el bloque (x, z) del mundo indicado está dentro del territorio
+     */
+    public boolean contains(UUID worldId, int x, int z) {
+        return worldId != null && worldId.equals(center.worldId()) && center.isWithinSquare(x, z, size / 2);
+    }
+
+    /**
+     * True si el territorio toca el rectángulo XZ [minX, maxX] x [minZ, maxZ] (mismo mundo ya comprobado)
+     */
+    public boolean intersects(int minX, int minZ, int maxX, int maxZ) {
+        int half = size / 2;
+        return center.x() - half <= maxX && center.x() + half >= minX
+                && center.z() - half <= maxZ && center.z() + half >= minZ;
+    }
+}
@@ -4,10 +4,17 @@ import com.mineglicht.models.City;
 import com.mineglicht.models.Citizen;
 import com.mineglicht.models.SiegeState;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * API principal de CityWars para integración con otros plugins
@@ -44,6 +51,7 @@ public interface CityWarsAPI {
 
     /**
      * Obtiene todas las ciudades existentes
+     * Devuelve objetos vivos: usar solo en el hilo principal. Desde otros hilos usar {@link #getCitySnapshots()}
      * @return Lista de todas las ciudades
      */
     List<City> getAllCities();
@@ -57,6 +65,7 @@ public interface CityWarsAPI {
 
     /**
      * Obtiene la ciudad en una ubicación específica
+     * La búsqueda usa el índice por mundo de la instantánea; desde otros hilos usar {@link #getCitySnapshotAt(Location)}
      * @param location Ubicación a verificar
      * @return Ciudad en esa ubicación o null
      */
@@ -65,8 +74,9 @@ public interface CityWarsAPI {
     /**
      * Expande el territorio de una ciudad
      * @param cityName Nombre de la ciudad
-     * @param direction Dirección de expansión
+     * @param direction Dirección de expansión (north, south, east o west)
      * @param blocks Cantidad de bloques a expandir
+     * (la paga el dueño, que debe estar conectado, igual que con /city expand)
      * @return true si la expansión fue exitosa
      */
     boolean expandCity(String cityName, String direction, int blocks);
@@ -113,6 +123,7 @@ public interface CityWarsAPI {
 
     /**
      * Obtiene todos los ciudadanos de una ciudad
+     * Se lee de la última instantánea publicada; seguro desde cualquier hilo
      * @param cityName Nombre de la ciudad
      * @return Lista de ciudadanos
      */
@@ -298,7 +309,8 @@ public interface CityWarsAPI {
 
     /**
      * Obtiene estadísticas generales del servidor
-     * @return Mapa con estadísticas (ciudades, ciudadanos, asedios, etc.)
+     * Se lee de la última instantánea publicada; seguro desde cualquier hilo
+     * @return Mapa inmutable con estadísticas (ciudades, ciudadanos, asedios, etc.)
      */
     java.util.Map<String, Object> getServerStats();
 
@@ -316,6 +328,139 @@ public interface CityWarsAPI {
      */
     List<City> getCityRankingByPopulation(int limit);
 
+    // ================================
+    // OPERACIONES ASÍNCRONAS
+    // ================================
+    // Los cambios se aplican en el hilo principal y la E/S en hilos virtuales;
+    // los callbacks del futuro corren en el ejecutor indicado. Nunca bloquean el servidor.
+
+    /**
+     * Versión asíncrona de {@link #createCity}
+     * @param callbackExecutor Ejecutor donde se completa el futuro
+     * @return Futuro con el resultado o el motivo del fallo
+     */
+    CompletableFuture<ApiResult<Void>> createCityAsync(String name, UUID mayorUuid, Location location, Executor callbackExecutor);
+
+    default CompletableFuture<ApiResult<Void>> createCityAsync(String name, UUID mayorUuid, Location location) {
+        return createCityAsync(name, mayorUuid, location, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Versión asíncrona de {@link #deleteCity}
+     */
+    CompletableFuture<ApiResult<Void>> deleteCityAsync(String cityName, Executor callbackExecutor);
+
+    default CompletableFuture<ApiResult<Void>> deleteCityAsync(String cityName) {
+        return deleteCityAsync(cityName, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Versión asíncrona de {@link #expandCity}
+     */
+    CompletableFuture<ApiResult<Void>> expandCityAsync(String cityName, String direction, int blocks, Executor callbackExecutor);
+
+    default CompletableFuture<ApiResult<Void>> expandCityAsync(String cityName, String direction, int blocks) {
+        return expandCityAsync(cityName, direction, blocks, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Versión asíncrona de {@link #startSiege}
+     */
+    CompletableFuture<ApiResult<Void>> startSiegeAsync(String attackerCity, String defenderCity, Location flagLocation,
+                                                       UUID attackerUuid, Executor callbackExecutor);
+
+    default CompletableFuture<ApiResult<Void>> startSiegeAsync(String attackerCity, String defenderCity, Location flagLocation,
+                                                               UUID attackerUuid) {
+        return startSiegeAsync(attackerCity, defenderCity, flagLocation, attackerUuid, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Versión asíncrona de {@link #collectCityTaxes}
+     * @return Futuro con el total recaudado
+     */
+    CompletableFuture<ApiResult<Double>> collectCityTaxesAsync(String cityName, Executor callbackExecutor);
+
+    default CompletableFuture<ApiResult<Double>> collectCityTaxesAsync(String cityName) {
+        return collectCityTaxesAsync(cityName, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Versión asíncrona de {@link #forceGlobalTaxCollection}
+     * @return Futuro con el total recaudado
+     */
+    CompletableFuture<ApiResult<Double>> forceGlobalTaxCollectionAsync(Executor callbackExecutor);
+
+    default CompletableFuture<ApiResult<Double>> forceGlobalTaxCollectionAsync() {
+        return forceGlobalTaxCollectionAsync(ForkJoinPool.commonPool());
+    }
+
+    // ================================
+    // INSTANTÁNEAS (CUALQUIER HILO)
+    // ================================
+
+    /**
+     * Obtiene la última instantánea publicada del estado
+     * Es inmutable y coherente; se reemplaza tras cada lote de cambios
+     * @return Instantánea actual
+     */
+    StateSnapshot getSnapshot();
+
+    /**
+     * Obtiene la copia inmutable de una ciudad
+     * @param cityName Nombre de la ciudad
+     * @return Copia de la ciudad o null si no existe
+     */
+    CitySnapshot getCitySnapshot(String cityName);
+
+    /**
+     * Obtiene las copias inmutables de todas las ciudades
+     * @return Lista inmutable de ciudades
+     */
+    List<CitySnapshot> getCitySnapshots();
+
+    /**
+     * Obtiene la copia de la ciudad en una ubicación
+     * @param location Ubicación a verificar
+     * @return Copia de la ciudad o null
+     */
+    CitySnapshot getCitySnapshotAt(Location location);
+
+    // ================================
+    // CONSULTAS EN LOTE (CUALQUIER HILO)
+    // ================================
+    // Resuelven todo en una pasada sobre la última instantánea publicada.
+
+    /**
+     * Obtiene varias ciudades de una vez
+     * @param cityNames Nombres de las ciudades
+     * @return Mapa nombre pedido -> copia de la ciudad (solo las que existen)
+     */
+    Map<String, CitySnapshot> getCities(Collection<String> cityNames);
+
+    /**
+     * Obtiene la ciudad de varios jugadores de una vez
+     * @param playerUuids UUIDs de los jugadores
+     * @return Mapa UUID -> nombre de la ciudad (omite a quienes no son ciudadanos)
+     */
+    Map<UUID, String> getPlayerCities(Collection<UUID> playerUuids);
+
+    /**
+     * Obtiene una página de ciudadanos de una ciudad, en orden de alta
+     * @param cityName Nombre de la ciudad
+     * @param offset Índice del primer ciudadano
+     * @param limit Número máximo de ciudadanos
+     * @return Lista inmutable de UUIDs (vacía si la ciudad no existe)
+     */
+    List<UUID> getCitizensPaged(String cityName, int offset, int limit);
+
+    /**
+     * Obtiene las ciudades cuyo territorio toca una caja (solo se usan X y Z)
+     * @param world Mundo
+     * @param box Caja a consultar
+     * @return Lista de copias de ciudades
+     */
+    List<CitySnapshot> getCitiesInBounds(World world, BoundingBox box);
+
     // ================================
     // EVENTOS Y CALLBACKS
     // ================================
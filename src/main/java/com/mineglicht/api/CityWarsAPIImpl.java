@@ -1,24 +1,42 @@
 package com.mineglicht.api;
 
+import com.mineglicht.cityWars;
+import com.mineglicht.manager.CitizenManager;
+import com.mineglicht.manager.CityManager;
+import com.mineglicht.manager.RegionManager;
+import com.mineglicht.manager.SiegeManager;
 import com.mineglicht.models.Citizen;
 import com.mineglicht.models.City;
 import com.mineglicht.models.SiegeState;
+import com.mineglicht.task.TaxCollectionTask;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 public class CityWarsAPIImpl implements CityWarsAPI {
     @Override
     public boolean createCity(String name, UUID mayorUuid, Location location) {
-        return false;
+        return createCityNow(name, mayorUuid, location).isSuccess();
     }
 
     @Override
     public boolean deleteCity(String cityName) {
-        return false;
+        return deleteCityNow(cityName).isSuccess();
     }
 
     @Override
@@ -28,7 +46,7 @@ public class CityWarsAPIImpl implements CityWarsAPI {
 
     @Override
     public List<City> getAllCities() {
-        return List.of();
+        return List.copyOf(cityWars.getInstance().getCityManager().getAllCities());
     }
 
     @Override
@@ -38,12 +56,13 @@ public class CityWarsAPIImpl implements CityWarsAPI {
 
     @Override
     public City getCityAt(Location location) {
-        return null;
+        CitySnapshot snapshot = getCitySnapshotAt(location);
+        return snapshot != null ? cityWars.getInstance().getCityManager().getCity(snapshot.name()) : null;
     }
 
     @Override
     public boolean expandCity(String cityName, String direction, int blocks) {
-        return false;
+        return expandCityNow(cityName, direction, blocks).isSuccess();
     }
 
     @Override
@@ -63,17 +82,32 @@ public class CityWarsAPIImpl implements CityWarsAPI {
 
     @Override
     public String getPlayerCity(UUID playerUuid) {
-        return "";
+        CitySnapshot city = getSnapshot().getCityOf(playerUuid);
+        return city != null ? city.name() : null;
     }
 
     @Override
     public Citizen getCitizen(UUID playerUuid) {
-        return null;
+        // Puede leer el perfil de disco si el jugador lleva tiempo desconectado
+        return cityWars.getInstance().getCitizenManager().getCitizen(playerUuid);
     }
 
     @Override
     public List<Citizen> getCitizens(String cityName) {
-        return List.of();
+        CitySnapshot city = getCitySnapshot(cityName);
+        if (city == null) {
+            return List.of();
+        }
+        // Perfiles reales de la caché; igual que getCitizen, puede leer de disco los de jugadores desconectados
+        CitizenManager citizenManager = cityWars.getInstance().getCitizenManager();
+        List<Citizen> result = new ArrayList<>(city.citizenCount());
+        city.citizens().forEach(playerId -> {
+            Citizen citizen = citizenManager.getCitizen(playerId);
+            if (citizen != null) {
+                result.add(citizen);
+            }
+        });
+        return result;
     }
 
     @Override
@@ -93,7 +127,7 @@ public class CityWarsAPIImpl implements CityWarsAPI {
 
     @Override
     public boolean startSiege(String attackerCity, String defenderCity, Location flagLocation, UUID attackerUuid) {
-        return false;
+        return startSiegeNow(attackerCity, defenderCity, flagLocation, attackerUuid).isSuccess();
     }
 
     @Override
@@ -148,12 +182,13 @@ public class CityWarsAPIImpl implements CityWarsAPI {
 
     @Override
     public double collectCityTaxes(String cityName) {
-        return 0;
+        Double collected = collectCityTaxesNow(cityName).value();
+        return collected != null ? collected : 0;
     }
 
     @Override
     public double forceGlobalTaxCollection() {
-        return 0;
+        return new TaxCollectionTask(cityWars.getInstance()).collectNow();
     }
 
     @Override
@@ -173,32 +208,261 @@ public class CityWarsAPIImpl implements CityWarsAPI {
 
     @Override
     public int getTotalCities() {
-        return 0;
+        return getSnapshot().getTotalCities();
     }
 
     @Override
     public int getTotalCitizens() {
-        return 0;
+        return getSnapshot().getTotalCitizens();
     }
 
     @Override
     public int getActiveSieges() {
-        return 0;
+        return getSnapshot().getActiveSieges();
     }
 
     @Override
     public Map<String, Object> getServerStats() {
-        return Map.of();
+        return getSnapshot().toStats();
     }
 
     @Override
     public List<City> getCityRankingByWealth(int limit) {
-        return List.of();
+        CityManager cityManager = cityWars.getInstance().getCityManager();
+        return toCities(cityManager, cityManager.getLeaderboard().getRichest(limit));
     }
 
     @Override
     public List<City> getCityRankingByPopulation(int limit) {
-        return List.of();
+        CityManager cityManager = cityWars.getInstance().getCityManager();
+        return toCities(cityManager, cityManager.getLeaderboard().getMostPopulated(limit));
+    }
+
+    private List<City> toCities(CityManager cityManager, List<String> cityNames) {
+        List<City> result = new ArrayList<>(cityNames.size());
+        cityNames.stream()
+                .map(cityManager::getCity)
+                .filter(Objects::nonNull)
+                .forEach(result::add);
+        return result;
+    }
+
+    // ==================== OPERACIONES ASÍNCRONAS ====================
+
+    @Override
+    public CompletableFuture<ApiResult<Void>> createCityAsync(String name, UUID mayorUuid, Location location,
+                                                              Executor callbackExecutor) {
+        return onMainThread(() -> createCityNow(name, mayorUuid, location), callbackExecutor);
+    }
+
+    @Override
+    public CompletableFuture<ApiResult<Void>> deleteCityAsync(String cityName, Executor callbackExecutor) {
+        return onMainThread(() -> deleteCityNow(cityName), callbackExecutor);
+    }
+
+    @Override
+    public CompletableFuture<ApiResult<Void>> expandCityAsync(String cityName, String direction, int blocks,
+                                                              Executor callbackExecutor) {
+        return onMainThread(() -> expandCityNow(cityName, direction, blocks), callbackExecutor);
+    }
+
+    @Override
+    public CompletableFuture<ApiResult<Void>> startSiegeAsync(String attackerCity, String defenderCity, Location flagLocation,
+                                                              UUID attackerUuid, Executor callbackExecutor) {
+        return onMainThread(() -> startSiegeNow(attackerCity, defenderCity, flagLocation, attackerUuid), callbackExecutor);
+    }
+
+    @Override
+    public CompletableFuture<ApiResult<Double>> collectCityTaxesAsync(String cityName, Executor callbackExecutor) {
+        return onIoThread(() -> collectCityTaxesNow(cityName), callbackExecutor);
+    }
+
+    @Override
+    public CompletableFuture<ApiResult<Double>> forceGlobalTaxCollectionAsync(Executor callbackExecutor) {
+        return onIoThread(() -> ApiResult.ok(new TaxCollectionTask(cityWars.getInstance()).collectNow()), callbackExecutor);
+    }
+
+    /**
+     * Ejecuta la operación en el hilo principal (vía StateWriter) y completa en callbackExecutor
+     */
+    private <T> CompletableFuture<ApiResult<T>> onMainThread(Supplier<ApiResult<T>> operation, Executor callbackExecutor) {
+        cityWars plugin = cityWars.getInstance();
+        if (plugin == null || !plugin.isEnabled()) {
+            return CompletableFuture.completedFuture(ApiResult.fail(ApiResult.Failure.PLUGIN_DISABLED, "CityWars no está activo"));
+        }
+        return complete(plugin.getStateWriter().submit(operation), callbackExecutor);
+    }
+
+    /**
+     * Ejecuta la operación en un hilo virtual de E/S y completa en callbackExecutor
+     */
+    private <T> CompletableFuture<ApiResult<T>> onIoThread(Supplier<ApiResult<T>> operation, Executor callbackExecutor) {
+        cityWars plugin = cityWars.getInstance();
+        if (plugin == null || !plugin.isEnabled()) {
+            return CompletableFuture.completedFuture(ApiResult.fail(ApiResult.Failure.PLUGIN_DISABLED, "CityWars no está activo"));
+        }
+        return complete(plugin.getIoExecutor().supply(operation), callbackExecutor);
+    }
+
+    /**
+     * Convierte los fallos en ApiResult y completa en callbackExecutor (o en el hilo que termine si es null)
+     */
+    private <T> CompletableFuture<ApiResult<T>> complete(CompletableFuture<ApiResult<T>> future, Executor callbackExecutor) {
+        CompletableFuture<ApiResult<T>> handled = future
+                .exceptionally(error -> ApiResult.fail(ApiResult.Failure.ERROR, String.valueOf(error.getMessage())));
+        return callbackExecutor != null ? handled.thenApplyAsync(result -> result, callbackExecutor) : handled;
+    }
+
+    // ==================== OPERACIONES (HILO ACTUAL) ====================
+
+    private ApiResult<Void> createCityNow(String name, UUID mayorUuid, Location location) {
+        CityManager cityManager = cityWars.getInstance().getCityManager();
+        if (cityManager.getCity(name) != null) {
+            return ApiResult.fail(ApiResult.Failure.CITY_EXISTS, name);
+        }
+        Player mayor = Bukkit.getPlayer(mayorUuid);
+        if (mayor == null) {
+            return ApiResult.fail(ApiResult.Failure.PLAYER_OFFLINE, mayorUuid.toString());
+        }
+        if (cityManager.isPlayerInCity(mayorUuid)) {
+            return ApiResult.fail(ApiResult.Failure.ALREADY_IN_CITY, mayor.getName());
+        }
+        if (!cityManager.createCity(name, mayor, location)) {
+            return ApiResult.fail(ApiResult.Failure.INVALID_LOCATION, name);
+        }
+        return ApiResult.ok();
+    }
+
+    private ApiResult<Void> deleteCityNow(String cityName) {
+        if (!cityWars.getInstance().getCityManager().deleteCity(cityName)) {
+            return ApiResult.fail(ApiResult.Failure.CITY_NOT_FOUND, cityName);
+        }
+        return ApiResult.ok();
+    }
+
+    private ApiResult<Void> expandCityNow(String cityName, String direction, int blocks) {
+        CityManager cityManager = cityWars.getInstance().getCityManager();
+        City city = cityManager.getCity(cityName);
+        if (city == null) {
+            return ApiResult.fail(ApiResult.Failure.CITY_NOT_FOUND, cityName);
+        }
+        RegionManager.Direction parsed = parseDirection(direction);
+        if (parsed == null || blocks <= 0) {
+            return ApiResult.fail(ApiResult.Failure.INVALID_LOCATION, direction + " " + blocks);
+        }
+        // Sin privilegios de admin: la paga el dueño, como con /city expand
+        Player owner = Bukkit.getPlayer(city.getOwner());
+        if (owner == null) {
+            return ApiResult.fail(ApiResult.Failure.PLAYER_OFFLINE, city.getOwner().toString());
+        }
+        if (!cityManager.expandCity(cityName, owner, false, parsed, blocks)) {
+            return ApiResult.fail(ApiResult.Failure.EXPANSION_LIMIT, cityName);
+        }
+        return ApiResult.ok();
+    }
+
+    /**
+     * Dirección horizontal (north, south, east, west) o null si no es válida
+     */
+    private static RegionManager.Direction parseDirection(String direction) {
+        if (direction == null) {
+            return null;
+        }
+        return switch (direction.toLowerCase(Locale.ROOT)) {
+            case "north" -> RegionManager.Direction.NORTH;
+            case "south" -> RegionManager.Direction.SOUTH;
+            case "east" -> RegionManager.Direction.EAST;
+            case "west" -> RegionManager.Direction.WEST;
+            default -> null;
+        };
+    }
+
+    private ApiResult<Void> startSiegeNow(String attackerCity, String defenderCity, Location flagLocation, UUID attackerUuid) {
+        CityManager cityManager = cityWars.getInstance().getCityManager();
+        SiegeManager siegeManager = cityWars.getInstance().getSiegeManager();
+        City attacker = cityManager.getCity(attackerCity);
+        if (attacker == null) {
+            return ApiResult.fail(ApiResult.Failure.CITY_NOT_FOUND, attackerCity);
+        }
+        City defender = cityManager.getCity(defenderCity);
+        if (defender == null) {
+            return ApiResult.fail(ApiResult.Failure.CITY_NOT_FOUND, defenderCity);
+        }
+        if (!attacker.isCitizen(attackerUuid)) {
+            return ApiResult.fail(ApiResult.Failure.NOT_CITIZEN, attackerUuid.toString());
+        }
+        // Como /siege start: el estandarte debe estar dentro del territorio defensor
+        CitySnapshot flagCity = flagLocation != null ? getSnapshot().getCityAt(flagLocation) : null;
+        if (flagCity == null || !flagCity.name().equalsIgnoreCase(defender.getName())) {
+            return ApiResult.fail(ApiResult.Failure.INVALID_LOCATION, defenderCity);
+        }
+        // Atacan solo los ciudadanos conectados, empezando por quien lo inicia
+        Set<UUID> attackers = cityWars.getInstance().getCitizenManager().getOnlineCitizensInCity(attacker.getId());
+        if (!attackers.contains(attackerUuid)) {
+            return ApiResult.fail(ApiResult.Failure.PLAYER_OFFLINE, attackerUuid.toString());
+        }
+        if (!siegeManager.canStartSiege(defender, attackers)) {
+            return ApiResult.fail(ApiResult.Failure.SIEGE_NOT_ALLOWED, defenderCity);
+        }
+        if (!siegeManager.startSiege(defender, attackers)) {
+            return ApiResult.fail(ApiResult.Failure.REJECTED, defenderCity);
+        }
+        return ApiResult.ok();
+    }
+
+    private ApiResult<Double> collectCityTaxesNow(String cityName) {
+        cityWars plugin = cityWars.getInstance();
+        City city = plugin.getCityManager().getCity(cityName);
+        if (city == null) {
+            return ApiResult.fail(ApiResult.Failure.CITY_NOT_FOUND, cityName);
+        }
+        return ApiResult.ok(new TaxCollectionTask(plugin).collectCity(city));
+    }
+
+    // ==================== INSTANTÁNEAS ====================
+
+    @Override
+    public StateSnapshot getSnapshot() {
+        return cityWars.getInstance().getSnapshotManager().getSnapshot();
+    }
+
+    @Override
+    public CitySnapshot getCitySnapshot(String cityName) {
+        return getSnapshot().getCity(cityName);
+    }
+
+    @Override
+    public List<CitySnapshot> getCitySnapshots() {
+        return getSnapshot().getCities();
+    }
+
+    @Override
+    public CitySnapshot getCitySnapshotAt(Location location) {
+        return getSnapshot().getCityAt(location);
+    }
+
+    // ==================== CONSULTAS EN LOTE ====================
+
+    @Override
+    public Map<String, CitySnapshot> getCities(Collection<String> cityNames) {
+        return getSnapshot().getCities(cityNames);
+    }
+
+    @Override
+    public Map<UUID, String> getPlayerCities(Collection<UUID> playerUuids) {
+        Map<UUID, String> result = new HashMap<>(playerUuids.size() * 2);
+        getSnapshot().getPlayerCities(playerUuids).forEach((playerId, city) -> result.put(playerId, city.name()));
+        return result;
+    }
+
+    @Override
+    public List<UUID> getCitizensPaged(String cityName, int offset, int limit) {
+        return getSnapshot().getCitizensPaged(cityName, offset, limit);
+    }
+
+    @Override
+    public List<CitySnapshot> getCitiesInBounds(World world, BoundingBox box) {
+        return getSnapshot().getCitiesInBounds(world, box);
     }
 
     @Override
@@ -0,0 +1,196 @@
+package com.mineglicht.api;
+
+import com.mineglicht.util.UuidMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.util.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Estado publicado de CityWars: todas las ciudades y el índice por mundo
+ * Es inmutable y se reemplaza entero tras cada lote de cambios, así que otros
+ * plugins pueden consultarlo desde sus tareas asíncronas sin bloqueos ni copias.
+ * Dos lecturas de la misma instancia siempre son coherentes entre sí.
+ */
+public final class StateSnapshot {
+
+    public static final StateSnapshot EMPTY = new StateSnapshot(0L, 0L, List.of(), 0);
+
+    private final long version;
+    private final long createdAt;
+    private final List<CitySnapshot> cities;
+    private final Map<String, CitySnapshot> citiesByName; // Sin distinguir mayúsculas, igual que CityManager
+    private final WorldIndex worldIndex;
+    private final int totalCitizens;
+    private final int activeSieges;
+    private volatile UuidMap<CitySnapshot> playerIndex; // Jugador -> ciudad, se construye al primer uso
+
+    private StateSnapshot(long version, long createdAt, List<CitySnapshot> cities, int activeSieges) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.cities = cities;
+        this.activeSieges = activeSieges;
+
+        Map<String, CitySnapshot> byName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER); // Las búsquedas no crean cadenas
+        int citizens = 0;
+        for (CitySnapshot city : cities) {
+            byName.put(city.name(), city);
+            citizens += city.citizenCount();
+        }
+        this.citiesByName = byName;
+        this.totalCitizens = citizens;
+        this.worldIndex = cities.isEmpty() ? WorldIndex.EMPTY : WorldIndex.of(cities);
+    }
+
+    public static StateSnapshot of(long version, Collection<CitySnapshot> cities, int activeSieges) {
+        return new StateSnapshot(version, System.currentTimeMillis(), List.copyOf(cities), activeSieges);
+    }
+
+    // ==================== CIUDADES ====================
+
+    public CitySnapshot getCity(String name) {
+        return name != null ? citiesByName.get(name) : null;
+    }
+
+    /**
+     * Todas las ciudades (lista inmutable)
+     */
+    public List<CitySnapshot> getCities() {
+        return cities;
+    }
+
+    public CitySnapshot getCityAt(Location location) {
+        return worldIndex.cityAt(location);
+    }
+
+    public WorldIndex getWorldIndex() {
+        return worldIndex;
+    }
+
+    // ==================== CONSULTAS EN LOTE ====================
+
+    /**
+     * Resuelve varias ciudades de una vez; solo incluye las que existen (clave: nombre pedido)
+     */
+    public Map<String, CitySnapshot> getCities(Collection<String> names) {
+        Map<String, CitySnapshot> result = new LinkedHashMap<>(names.size() * 2);
+        for (String name : names) {
+            CitySnapshot city = getCity(name);
+            if (city != null) {
+                result.put(name, city);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ciudad de un jugador, o null
+     */
+    public CitySnapshot getCityOf(UUID playerId) {
+        return playerId != null ? playerIndex().get(playerId) : null;
+    }
+
+    /**
+     * Resuelve la ciudad de varios jugadores de una vez; omite a los que no son ciudadanos
+     */
+    public Map<UUID, CitySnapshot> getPlayerCities(Collection<UUID> playerIds) {
+        UuidMap<CitySnapshot> index = playerIndex();
+        Map<UUID, CitySnapshot> result = new HashMap<>(playerIds.size() * 2);
+        for (UUID playerId : playerIds) {
+            CitySnapshot city = playerId != null ? index.get(playerId) : null;
+            if (city != null) {
+                result.put(playerId, city);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Página de ciudadanos en orden de alta (vista inmutable, sin copiar)
+     */
+    public List<UUID> getCitizensPaged(String cityName, int offset, int limit) {
+        CitySnapshot city = getCity(cityName);
+        if (city == null || offset < 0 || limit <= 0) {
+            return List.of();
+        }
+        List<UUID> citizens = city.citizens().asList();
+        if (offset >= citizens.size()) {
+            return List.of();
+        }
+        return citizens.subList(offset, Math.min(citizens.size(), offset + limit));
+    }
+
+    /**
+     * Ciudades cuyo territorio toca la caja (solo se usan X y Z)
+     */
+    public List<CitySnapshot> getCitiesInBounds(World world, BoundingBox box) {
+        if (world == null || box == null) {
+            return List.of();
+        }
+        return worldIndex.citiesInBounds(world.getUID(),
+                (int) Math.floor(box.getMinX()), (int) Math.floor(box.getMinZ()),
+                (int) Math.floor(box.getMaxX()), (int) Math.floor(box.getMaxZ()));
+    }
+
+    private UuidMap<CitySnapshot> playerIndex() {
+        UuidMap<CitySnapshot> index = playerIndex;
+        if (index == null) {
+            // Carrera benigna: dos hilos pueden construirlo a la vez, el resultado es el mismo
+            UuidMap<CitySnapshot> building = new UuidMap<>(totalCitizens);
+            for (CitySnapshot city : cities) {
+                city.citizens().forEach(playerId -> building.put(playerId, city));
+            }
+            playerIndex = building;
+            index = building;
+        }
+        return index;
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * Versión del estado (StateWriter) en la que se tomó la instantánea
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getTotalCities() {
+        return cities.size();
+    }
+
+    public int getTotalCitizens() {
+        return totalCitizens;
+    }
+
+    public int getActiveSieges() {
+        return activeSieges;
+    }
+
+    /**
+     * Estadísticas generales en formato clave-valor (mapa inmutable)
+     */
+    public Map<String, Object> toStats() {
+        List<String> names = new ArrayList<>(cities.size());
+        cities.forEach(city -> names.add(city.name()));
+        return Map.of(
+                "version", version,
+                "timestamp", createdAt,
+                "cities", cities.size(),
+                "citizens", totalCitizens,
+                "active_sieges", activeSieges,
+                "city_names", List.copyOf(names));
+    }
+}
@@ -0,0 +1,121 @@
+package com.mineglicht.api;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Índice espacial inmutable de ciudades por mundo
+ * Divide cada mundo en celdas de 128x128 bloques; cada celda guarda las ciudades
+ * cuyo territorio la toca, así que buscar la ciudad de un bloque solo revisa unas pocas.
+ */
+public final class WorldIndex {
+
+    private static final int CELL_SHIFT = 7; // celdas de 128 bloques
+    private static final CitySnapshot[] NO_CITIES = new CitySnapshot[0];
+
+    static final WorldIndex EMPTY = new WorldIndex(Map.of(), Map.of());
+
+    // Mundo -> (celda empaquetada -> ciudades que la tocan)
+    private final Map<UUID, Map<Long, CitySnapshot[]>> worlds;
+    // Mundo -> todas sus ciudades (para consultas por área)
+    private final Map<UUID, CitySnapshot[]> citiesByWorld;
+
+    private WorldIndex(Map<UUID, Map<Long, CitySnapshot[]>> worlds, Map<UUID, CitySnapshot[]> citiesByWorld) {
+        this.worlds = worlds;
+        this.citiesByWorld = citiesByWorld;
+    }
+
+    /**
+     * Construye el índice de una vez a partir de las copias de las ciudades
+     */
+    public static WorldIndex of(Collection<CitySnapshot> cities) {
+        Map<UUID, Map<Long, List<CitySnapshot>>> building = new HashMap<>();
+        Map<UUID, List<CitySnapshot>> perWorld = new HashMap<>();
+        for (CitySnapshot city : cities) {
+            UUID worldId = city.center().worldId();
+            if (worldId == null) {
+                continue;
+            }
+            perWorld.computeIfAbsent(worldId, id -> new ArrayList<>()).add(city);
+            Map<Long, List<CitySnapshot>> cells = building.computeIfAbsent(worldId, id -> new HashMap<>());
+            int half = city.size() / 2;
+            int minCellX = (city.center().x() - half) >> CELL_SHIFT;
+            int maxCellX = (city.center().x() + half) >> CELL_SHIFT;
+            int minCellZ = (city.center().z() - half) >> CELL_SHIFT;
+            int maxCellZ = (city.center().z() + half) >> CELL_SHIFT;
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    cells.computeIfAbsent(cellKey(cellX, cellZ), key -> new ArrayList<>(1)).add(city);
+                }
+            }
+        }
+
+        Map<UUID, Map<Long, CitySnapshot[]>> worlds = new HashMap<>();
+        building.forEach((worldId, cells) -> {
+            Map<Long, CitySnapshot[]> frozen = new HashMap<>(cells.size() * 2);
+            cells.forEach((key, list) -> frozen.put(key, list.toArray(NO_CITIES)));
+            worlds.put(worldId, frozen);
+        });
+        Map<UUID, CitySnapshot[]> citiesByWorld = new HashMap<>(perWorld.size() * 2);
+        perWorld.forEach((worldId, list) -> citiesByWorld.put(worldId, list.toArray(NO_CITIES)));
+        return new WorldIndex(worlds, citiesByWorld);
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Ciudad que contiene el bloque, o null
+     */
+    public CitySnapshot cityAt(UUID worldId, int x, int z) {
+        Map<Long, CitySnapshot[]> cells = worlds.get(worldId);
+        if (cells == null) {
+            return null;
+        }
+        CitySnapshot[] candidates = cells.get(cellKey(x >> CELL_SHIFT, z >> CELL_SHIFT));
+        if (candidates == null) {
+            return null;
+        }
+        for (CitySnapshot city : candidates) {
+            if (city.contains(worldId, x, z)) {
+                return city;
+            }
+        }
+        return null;
+    }
+
+    public CitySnapshot cityAt(Location location) {
+        World world = location != null ? location.getWorld() : null;
+        if (world == null) {
+            return null;
+        }
+        return cityAt(world.getUID(), location.getBlockX(), location.getBlockZ());
+    }
+
+    /**
+     * Ciudades cuyo territorio toca el rectángulo XZ indicado, en una sola pasada
+     */
+    public List<CitySnapshot> citiesInBounds(UUID worldId, int minX, int minZ, int maxX, int maxZ) {
+        CitySnapshot[] candidates = citiesByWorld.get(worldId);
+        if (candidates == null) {
+            return List.of();
+        }
+        List<CitySnapshot> result = new ArrayList<>();
+        for (CitySnapshot city : candidates) {
+            if (city.intersects(minX, minZ, maxX, maxZ)) {
+                result.add(city);
+            }
+        }
+        return result;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -9,6 +9,9 @@ import com.mineglicht.listener.*;
 import com.mineglicht.manager.*;
 import com.mineglicht.models.City;
 import com.mineglicht.task.*;
+import com.mineglicht.util.CityLog;
+import com.mineglicht.util.Metrics;
+import com.mineglicht.util.Timings;
 
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -37,6 +40,15 @@ public class cityWars extends JavaPlugin {
     private CitizenManager citizenManager;
     private SiegeManager siegeManager;
     private TaxManager taxManager;
+    private TaxSimulator taxSimulator;
+    private BroadcastService broadcastService;
+    private NotificationBus notificationBus;
+    private SiegeHudManager siegeHudManager;
+    private MetricsHttpServer metricsHttpServer;
+    private ProfilerManager profilerManager;
+    private StateWriter stateWriter;
+    private SnapshotManager snapshotManager;
+    private IoExecutor ioExecutor;
 
     // === INTEGRACIONES ===
     private GemsEconomyIntegration gemsEconomyIntegration;
@@ -47,8 +59,11 @@ public class cityWars extends JavaPlugin {
 
     // === TAREAS PROGRAMADAS ===
     private BukkitTask taxCollectionTask;
+    private TreasurySweepTask treasurySweepTask;
+    private CitizenProfileEvictionTask citizenProfileEvictionTask;
     private BukkitTask siegeTimerTask;
     private BukkitTask siegeCooldownTask;
+    private MetricsExportTask metricsExportTask;
 
     // === ESTADO DEL PLUGIN ===
     private boolean fullyLoaded = false;
@@ -141,6 +156,9 @@ public class cityWars extends JavaPlugin {
             getLogger().info("§c|  ✓ Plugin deshabilitado correctamente   |");
         }
 
+        // Volcar el registro pendiente antes de descargar el plugin
+        CityLog.shutdown();
+
         // Limpiar instancia singleton
         instance = null;
     }
@@ -164,11 +182,15 @@ public class cityWars extends JavaPlugin {
             configManager.loadConfig();
 
             // Inicializar Messages
-            Messages.initialize(configManager.getMessagesConfig());
+            Messages.initialize(configManager.getMessagesConfig(), configManager.getLocaleConfigs(),
+                    configManager.getDefaultLocale());
 
             // Inicializar Settings
             Settings.initialize(configManager.getConfig());
 
+            // Registro asíncrono con niveles por categoría
+            CityLog.start(getLogger(), configManager.getConfig());
+
             getLogger().info("§a✓ Configuración inicializada correctamente");
             return true;
 
@@ -229,12 +251,21 @@ public class cityWars extends JavaPlugin {
             getLogger().info("§6Inicializando managers...");
 
             // Orden de inicialización importante
+            ioExecutor = new IoExecutor(this);
             economyManager = new EconomyManager(this);
             regionManager = new RegionManager(this);
             cityManager = new CityManager(this, economyManager, regionManager);
             citizenManager = new CitizenManager(this, cityManager);
             siegeManager = new SiegeManager(this, cityManager, economyManager, regionManager, citizenManager);
             taxManager = new TaxManager(this, cityManager, citizenManager, economyManager);
+            taxSimulator = new TaxSimulator(this);
+            broadcastService = new BroadcastService(this);
+            notificationBus = new NotificationBus(this);
+            siegeHudManager = new SiegeHudManager(this);
+            metricsHttpServer = new MetricsHttpServer(this);
+            profilerManager = new ProfilerManager(this);
+            stateWriter = new StateWriter(this);
+            snapshotManager = new SnapshotManager(this);
 
             getLogger().info("§a✓ Managers inicializados correctamente");
             return true;
@@ -273,14 +304,16 @@ public class cityWars extends JavaPlugin {
         try {
             getLogger().info("§6Registrando listeners...");
 
-            PluginManager pm = getServer().getPluginManager();
-
+            // Cada handler se registra envuelto para /cityadmin timings
             // Descomentar cuando tengas los listeners implementados
-            pm.registerEvents(new PlayerListener(this), this);
-            // pm.registerEvents(new CityListener(this), this);
-            pm.registerEvents(new SiegeListener(this), this);
-            pm.registerEvents(new BlockListener(this), this);
-            // pm.registerEvents(new ProtectionListener(this), this);
+            Timings.registerEvents(new PlayerListener(this), this);
+            // Timings.registerEvents(new CityListener(this), this);
+            Timings.registerEvents(new SiegeListener(this), this);
+            Timings.registerEvents(new BlockListener(this), this);
+            Timings.registerEvents(new SiegeHudListener(this), this);
+            Timings.registerEvents(new LocaleListener(), this);
+            Timings.registerEvents(new CitizenProfileListener(this), this);
+            // Timings.registerEvents(new ProtectionListener(this), this);
 
             getLogger().info("§a✓ Listeners registrados correctamente (actualmente comentados)");
 
@@ -324,6 +357,11 @@ public class cityWars extends JavaPlugin {
             this.getCommand("citizen").setTabCompleter(this.citizenCommands);
             this.getCommand("siege").setTabCompleter(this.siegeCommands);
 
+            // Medir los ejecutores con /cityadmin timings
+            for (String name : new String[]{"cityadmin", "city", "citizen", "siege"}) {
+                Timings.wrapCommand(this.getCommand(name));
+            }
+
             getLogger().info("§a✓ Comandos registrados correctamente");
 
         } catch (Exception e) {
@@ -356,10 +394,31 @@ public class cityWars extends JavaPlugin {
         try {
             getLogger().info("§6Inicializando tareas programadas...");
 
+            // Cola de cambios de estado enviados desde otros hilos
+            stateWriter.start();
+
+            // Instantáneas inmutables para la API, republicadas tras cada lote de cambios
+            snapshotManager.start();
+
             // Tarea de recolección de impuestos (cada 24 horas)
             long taxInterval = Settings.TAX_COLLECTION_INTERVAL * 20L; // Convertir a ticks
             taxCollectionTask = new TaxCollectionTask(this).runTaskTimerAsynchronously(this, taxInterval, taxInterval);
 
+            // Liquidación perezosa del tesoro de ciudades inactivas
+            treasurySweepTask = new TreasurySweepTask(this).start();
+
+            // Descarga de perfiles de ciudadanos desconectados sin uso reciente
+            citizenProfileEvictionTask = new CitizenProfileEvictionTask(this).start();
+
+            // Envío de notificaciones con presupuesto por tick
+            notificationBus.start();
+
+            // Métricas: medidores y exportación periódica a archivo
+            registerGauges();
+            Metrics.setEnabled(getConfig().getBoolean("metrics.enabled", false));
+            metricsExportTask = new MetricsExportTask(this).start();
+            metricsHttpServer.start();
+
             getLogger().info("§a✓ Tareas programadas iniciadas correctamente");
 
         } catch (Exception e) {
@@ -367,6 +426,25 @@ public class cityWars extends JavaPlugin {
         }
     }
 
+    /**
+     * Registra los medidores de métricas (se leen solo al tomar una instantánea)
+     */
+    private void registerGauges() {
+        Metrics.gauge("citywars_active_sieges", "Asedios activos", () -> siegeManager.getActiveSiegeCount());
+        Metrics.gauge("citywars_cities", "Ciudades registradas", () -> cityManager.getCityCount());
+        Metrics.gauge("citywars_online_citizens", "Ciudadanos conectados", () -> getServer().getOnlinePlayers().stream()
+                .filter(player -> cityManager.isPlayerInCity(player.getUniqueId()))
+                .count());
+        Metrics.gauge("citywars_treasury_unsettled", "Ciudades con tesoro pendiente de liquidar", () -> {
+            long now = System.currentTimeMillis();
+            TreasuryManager treasury = cityManager.getTreasuryManager();
+            return cityManager.getAllCities().stream().filter(city -> treasury.isDue(city, now)).count();
+        });
+        Metrics.gauge("citywars_notifications_pending", "Notificaciones en cola", () -> notificationBus.getPendingCount());
+        Metrics.gauge("citywars_state_pending", "Cambios de estado en cola", () -> stateWriter.getPendingCount());
+        Metrics.gauge("citywars_citizen_profiles_loaded", "Perfiles de ciudadanos en memoria", () -> citizenManager.getLoadedProfileCount());
+    }
+
     /**
      * Detiene todas las tareas programadas
      */
@@ -378,6 +456,14 @@ public class cityWars extends JavaPlugin {
                 taxCollectionTask.cancel();
             }
 
+            if (treasurySweepTask != null && !treasurySweepTask.isCancelled()) {
+                treasurySweepTask.cancel();
+            }
+
+            if (citizenProfileEvictionTask != null && !citizenProfileEvictionTask.isCancelled()) {
+                citizenProfileEvictionTask.cancel();
+            }
+
             if (siegeTimerTask != null && !siegeTimerTask.isCancelled()) {
                 siegeTimerTask.cancel();
             }
@@ -386,6 +472,23 @@ public class cityWars extends JavaPlugin {
                 siegeCooldownTask.cancel();
             }
 
+            if (notificationBus != null) {
+                notificationBus.shutdown();
+            }
+
+            if (metricsExportTask != null && !metricsExportTask.isCancelled()) {
+                metricsExportTask.cancel();
+            }
+
+            if (metricsHttpServer != null) {
+                metricsHttpServer.stop();
+            }
+
+            // Aplicar los cambios pendientes antes de guardar
+            if (stateWriter != null) {
+                stateWriter.shutdown();
+            }
+
             getLogger().info("§a✓ Tareas programadas detenidas");
 
         } catch (Exception e) {
@@ -420,6 +523,27 @@ public class cityWars extends JavaPlugin {
         try {
             getLogger().info("§6Limpiando recursos...");
 
+            if (taxSimulator != null) {
+                taxSimulator.shutdown();
+            }
+
+            // Esperar a que terminen las escrituras pendientes
+            if (ioExecutor != null) {
+                ioExecutor.shutdown();
+            }
+
+            if (siegeHudManager != null) {
+                siegeHudManager.closeAll();
+            }
+
+            if (profilerManager != null) {
+                profilerManager.stop(false);
+            }
+
+            Timings.stop();
+
+            Metrics.clearGauges();
+
             // Limpiar referencias
             if (api != null) {
                 api = null;
@@ -444,8 +568,15 @@ public class cityWars extends JavaPlugin {
 
             // Recargar configuración
             configManager.reloadConfig();
-            Messages.initialize(configManager.getMessagesConfig());
+            Messages.initialize(configManager.getMessagesConfig(), configManager.getLocaleConfigs(),
+                    configManager.getDefaultLocale());
             Settings.initialize(configManager.getConfig());
+            cityManager.getTreasuryManager().loadConfiguration();
+            notificationBus.loadConfiguration();
+            CityLog.loadConfiguration(configManager.getConfig());
+            Metrics.setEnabled(getConfig().getBoolean("metrics.enabled", false));
+            metricsHttpServer.stop();
+            metricsHttpServer.start();
 
             // Recargar datos
             loadData();
@@ -493,6 +624,42 @@ public class cityWars extends JavaPlugin {
         return taxManager;
     }
 
+    public TaxSimulator getTaxSimulator() {
+        return taxSimulator;
+    }
+
+    public BroadcastService getBroadcastService() {
+        return broadcastService;
+    }
+
+    public NotificationBus getNotificationBus() {
+        return notificationBus;
+    }
+
+    public SiegeHudManager getSiegeHudManager() {
+        return siegeHudManager;
+    }
+
+    public MetricsHttpServer getMetricsHttpServer() {
+        return metricsHttpServer;
+    }
+
+    public ProfilerManager getProfilerManager() {
+        return profilerManager;
+    }
+
+    public StateWriter getStateWriter() {
+        return stateWriter;
+    }
+
+    public SnapshotManager getSnapshotManager() {
+        return snapshotManager;
+    }
+
+    public IoExecutor getIoExecutor() {
+        return ioExecutor;
+    }
+
     public GemsEconomyIntegration getGemsEconomyIntegration() {
         return gemsEconomyIntegration;
     }
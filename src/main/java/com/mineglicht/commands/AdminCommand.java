@@ -1,11 +1,17 @@
 package com.mineglicht.commands;
 
 import com.mineglicht.cityWars;
+import com.mineglicht.config.MessageKey;
 import com.mineglicht.config.Messages;
+import com.mineglicht.manager.ProfilerManager;
+import com.mineglicht.manager.TaxSimulator;
 import com.mineglicht.models.City;
 import com.mineglicht.models.SiegeState;
 import com.mineglicht.models.Citizen;
 import com.mineglicht.util.MessageUtils;
+import com.mineglicht.util.Metrics;
+import com.mineglicht.util.Timings;
+import com.mineglicht.util.TaxCalculator;
 
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -14,6 +20,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -24,6 +31,8 @@ import java.util.stream.Collectors;
 
 public class AdminCommand implements CommandExecutor, TabCompleter {
 
+    private static final int REPORT_PAGE_SIZE = 10;
+
     private final cityWars plugin;
     private final CityManager cityManager;
     private final CitizenManager citizenManager;
@@ -92,7 +101,7 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!sender.hasPermission("citywars.admin")) {
-            MessageUtils.sendMessage(sender, Messages.NO_PERMISSION);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
@@ -117,8 +126,20 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
             case "siege":
                 handleSiegeCommand(sender, args);
                 break;
+            case "tax":
+                handleTaxCommand(sender, args);
+                break;
+            case "metrics":
+                handleMetricsCommand(sender, args);
+                break;
+            case "profile":
+                handleProfileCommand(sender, args);
+                break;
+            case "timings":
+                handleTimingsCommand(sender, args);
+                break;
             default:
-                MessageUtils.sendMessage(sender, Messages.INVALID_ARGUMENTS);
+                MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.INVALID_ARGUMENTS));
                 break;
         }
 
@@ -130,22 +151,30 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         MessageUtils.sendMessage(sender, "&e/cityadmin reload &7- Reload the plugin configuration");
         MessageUtils.sendMessage(sender, "&e/cityadmin city create <name> &7- Create a new city");
         MessageUtils.sendMessage(sender, "&e/cityadmin city delete <name> &7- Delete a city");
+        MessageUtils.sendMessage(sender, "&e/cityadmin city rename <name> <newName> &7- Rename a city");
+        MessageUtils.sendMessage(sender, "&e/cityadmin city transfer <from> <to> <amount> &7- Move treasury funds between cities");
         MessageUtils.sendMessage(sender, "&e/cityadmin city list &7- List all cities");
         MessageUtils.sendMessage(sender, "&e/cityadmin citizen add <player> <city> &7- Add player to city");
         MessageUtils.sendMessage(sender, "&e/cityadmin citizen remove <player> &7- Remove player from city");
         MessageUtils.sendMessage(sender, "&e/cityadmin citizen list <city> &7- List all citizens of a city");
         MessageUtils.sendMessage(sender, "&e/cityadmin siege stop <city> &7- Stop an active siege on a city");
         MessageUtils.sendMessage(sender, "&e/cityadmin siege cooldown <city> <minutes> &7- Set siege cooldown");
+        MessageUtils.sendMessage(sender, "&e/cityadmin tax simulate [rate] [minimum] &7- Dry-run tax collection");
+        MessageUtils.sendMessage(sender, "&e/cityadmin tax page <page> &7- Show a page of the last simulation");
+        MessageUtils.sendMessage(sender, "&e/cityadmin tax detail <city> [page] &7- Per-player projection for a city");
+        MessageUtils.sendMessage(sender, "&e/cityadmin metrics [on|off|reset] &7- Show or control plugin metrics");
+        MessageUtils.sendMessage(sender, "&e/cityadmin profile <start|stop> &7- Record a Java Flight Recorder profile");
+        MessageUtils.sendMessage(sender, "&e/cityadmin timings [on [seconds]|off|report [top]] &7- Time event handlers, commands and tasks");
     }
 
     private void reloadPlugin(CommandSender sender) {
         plugin.reloadConfig();
-        MessageUtils.sendMessage(sender, Messages.CONFIG_RELOADED);
+        MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CONFIG_RELOADED));
     }
 
     private void handleCityCommand(CommandSender sender, String[] args) {
         if (args.length < 2) {
-            MessageUtils.sendMessage(sender, "&cUsage: /cityadmin city <create|delete|list>");
+            MessageUtils.sendMessage(sender, "&cUsage: /cityadmin city <create|delete|rename|transfer|list>");
             return;
         }
 
@@ -164,6 +193,20 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
                 }
                 deleteCity(sender, args[2]);
                 break;
+            case "rename":
+                if (args.length < 4) {
+                    MessageUtils.sendMessage(sender, "&cUsage: /cityadmin city rename <name> <newName>");
+                    return;
+                }
+                renameCity(sender, args[2], args[3]);
+                break;
+            case "transfer":
+                if (args.length < 5) {
+                    MessageUtils.sendMessage(sender, "&cUsage: /cityadmin city transfer <from> <to> <amount>");
+                    return;
+                }
+                transferFunds(sender, args[2], args[3], args[4]);
+                break;
             case "list":
                 listCities(sender);
                 break;
@@ -175,7 +218,7 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
 
     private void createCity(CommandSender sender, String cityName) {
         if (cityManager.getCityByName(cityName) != null) {
-            MessageUtils.sendMessage(sender, Messages.CITY_ALREADY_EXISTS);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_ALREADY_EXISTS));
             return;
         }
 
@@ -187,9 +230,9 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
             City newCity = cityManager.createCity(player, cityName, player.getLocation());
 
             if (newCity != null) {
-                MessageUtils.sendMessage(sender, Messages.CITY_CREATED.replace("%city%", cityName));
+                MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_CREATED, "city", cityName));
             } else {
-                MessageUtils.sendMessage(sender, Messages.CITY_CREATION_FAILED);
+                MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_CREATION_FAILED));
             }
         } else {
             MessageUtils.sendMessage(sender, "&cThis command must be executed by a player.");
@@ -199,21 +242,56 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
     private void deleteCity(CommandSender sender, String cityName) {
         City city = cityManager.getCityByName(cityName);
         if (city == null) {
-            MessageUtils.sendMessage(sender, Messages.CITY_NOT_FOUND);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_NOT_FOUND));
             return;
         }
 
         // Verificar si la ciudad está bajo asedio
         if (city.getSiegeState() != SiegeState.NONE) {
-            MessageUtils.sendMessage(sender, Messages.CITY_DELETION_FAILED);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_DELETION_FAILED));
             return;
         }
 
         boolean success = cityManager.deleteCity(city);
         if (success) {
-            MessageUtils.sendMessage(sender, Messages.CITY_DELETED.replace("%city%", cityName));
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_DELETED, "city", cityName));
+        } else {
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_DELETION_FAILED));
+        }
+    }
+
+    private void renameCity(CommandSender sender, String cityName, String newName) {
+        if (cityManager.getCity(cityName) == null) {
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_NOT_FOUND));
+            return;
+        }
+
+        if (cityManager.renameCity(cityName, newName)) {
+            MessageUtils.sendMessage(sender, "&aCity &e" + cityName + " &arenamed to &e" + newName);
+        } else {
+            MessageUtils.sendMessage(sender, "&cCould not rename the city (name taken or city under siege).");
+        }
+    }
+
+    private void transferFunds(CommandSender sender, String fromCity, String toCity, String amountArg) {
+        if (cityManager.getCity(fromCity) == null || cityManager.getCity(toCity) == null) {
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_NOT_FOUND));
+            return;
+        }
+
+        double amount;
+        try {
+            amount = Double.parseDouble(amountArg);
+        } catch (NumberFormatException e) {
+            MessageUtils.sendMessage(sender, "&cInvalid amount: " + amountArg);
+            return;
+        }
+
+        // Transferencia atómica entre tesoros (VersionedBalance), segura frente a impuestos y saqueos en curso
+        if (cityManager.transferFunds(fromCity, toCity, amount)) {
+            MessageUtils.sendMessage(sender, "&aTransferred &e" + amount + " &afrom &e" + fromCity + " &ato &e" + toCity);
         } else {
-            MessageUtils.sendMessage(sender, Messages.CITY_DELETION_FAILED);
+            MessageUtils.sendMessage(sender, "&cCould not transfer the funds (insufficient funds or same city).");
         }
     }
 
@@ -221,7 +299,7 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         Collection<City> cities = cityManager.getAllCities();
 
         if (cities.isEmpty()) {
-            MessageUtils.sendMessage(sender, Messages.CITY_NOT_FOUND);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_NOT_FOUND));
             return;
         }
 
@@ -272,44 +350,43 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
     private void addCitizen(CommandSender sender, String playerName, String cityName) {
         Player player = Bukkit.getPlayerExact(playerName);
         if (player == null) {
-            MessageUtils.sendMessage(sender, Messages.PLAYER_NOT_FOUND);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.PLAYER_NOT_FOUND));
             return;
         }
 
         City city = cityManager.getCityByName(cityName);
         if (city == null) {
-            MessageUtils.sendMessage(sender, Messages.CITY_NOT_FOUND);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_NOT_FOUND));
             return;
         }
 
         if (citizenManager.getPlayerCity(player.getUniqueId()) != null) {
-            MessageUtils.sendMessage(sender, Messages.CITIZEN_ERROR_REGISTERED);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITIZEN_ERROR_REGISTERED));
             return;
         }
 
         boolean success = citizenManager.addCitizen(player.getUniqueId(), city);
         if (success) {
-            MessageUtils.sendMessage(sender, Messages.CITIZEN_ADDED
-                    .replace("%player%", playerName)
-                    .replace("%city%", cityName));
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITIZEN_ADDED,
+                    "player", playerName, "city", cityName));
 
             // Notificar al jugador
-            MessageUtils.sendMessage(player, Messages.CITIZEN_ADDED.replace("%city%", cityName));
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITIZEN_ADDED, "city", cityName));
         } else {
-            MessageUtils.sendMessage(sender, Messages.CITIZEN_ADD_FAILED);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITIZEN_ADD_FAILED));
         }
     }
 
     private void removeCitizen(CommandSender sender, String playerName) {
         Player player = Bukkit.getPlayerExact(playerName);
         if (player == null) {
-            MessageUtils.sendMessage(sender, Messages.PLAYER_NOT_FOUND);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.PLAYER_NOT_FOUND));
             return;
         }
 
         Citizen citizen = citizenManager.getCitizen(player.getUniqueId()); // <-- CAMBIO AQUÍ
         if (citizen == null) {
-            MessageUtils.sendMessage(sender, Messages.PLAYER_NOT_CITIZEN);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.PLAYER_NOT_CITIZEN));
             return;
         }
 
@@ -319,14 +396,13 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         boolean success = citizenManager.removeCitizen(player.getUniqueId()); // <-- CAMBIO AQUÍ
 
         if (success) {
-            MessageUtils.sendMessage(sender, Messages.CITIZEN_REMOVED
-                    .replace("%player%", playerName)
-                    .replace("%city%", cityName));
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITIZEN_REMOVED,
+                    "player", playerName, "city", cityName));
 
             // Notificar al jugador
-            MessageUtils.sendMessage(player, Messages.CITIZEN_REMOVED.replace("%city%", cityName));
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITIZEN_REMOVED, "city", cityName));
         } else {
-            MessageUtils.sendMessage(sender, Messages.CITIZEN_REMOVE_FAILED);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITIZEN_REMOVE_FAILED));
         }
     }
 
@@ -334,21 +410,20 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
     private void listCitizens(CommandSender sender, String cityName) {
         City city = cityManager.getCityByName(cityName);
         if (city == null) {
-            MessageUtils.sendMessage(sender, Messages.CITY_NOT_FOUND);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_NOT_FOUND));
             return;
         }
 
         Set<UUID> citizenUuids = citizenManager.getCitizensInCity(city.getId()); // <-- CAMBIO AQUÍ
         if (citizenUuids.isEmpty()) {
-            MessageUtils.sendMessage(sender, Messages.NO_CITIZENS);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.NO_CITIZENS));
             return;
         }
 
         MessageUtils.sendMessage(sender, "&6=== &eCitizens in " + city.getName() + " &6===");
         for (UUID citizenUuid : citizenUuids) {
-            // Obtener el objeto Citizen por UUID
-            Citizen citizen = citizenManager.getCitizen(citizenUuid);
-            if (citizen == null)
+            // Solo el índice: no hace falta cargar el perfil completo para listar
+            if (!citizenManager.isCitizen(citizenUuid))
                 continue; // Por seguridad
 
             Player player = Bukkit.getPlayer(citizenUuid);
@@ -391,21 +466,21 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
     private void stopSiege(CommandSender sender, String cityName) {
         City city = cityManager.getCityByName(cityName);
         if (city == null) {
-            MessageUtils.sendMessage(sender, Messages.CITY_NOT_FOUND);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_NOT_FOUND));
             return;
         }
 
         if (city.getSiegeState() == SiegeState.NONE) {
-            MessageUtils.sendMessage(sender, Messages.CITY_NOT_UNDER_SIEGE);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_NOT_UNDER_SIEGE));
             return;
         }
 
         UUID siegeFlagId = siegeManager.getSiegeFlagIdByCity(city.getId());
         if (siegeFlagId != null) {
             siegeManager.endSiege(siegeFlagId, SiegeState.CANCELLED);
-            MessageUtils.sendMessage(sender, Messages.SIEGE_ENDED.replace("%city%", cityName));
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.SIEGE_ENDED, "city", cityName));
         } else {
-            MessageUtils.sendMessage(sender, Messages.SIEGE_ENDED);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.SIEGE_ENDED));
         }
     }
 
@@ -449,9 +524,248 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         // ========================================
         siegeManager.setCooldown(attackingCity.getId(), defendingCity.getId());
 
-        MessageUtils.sendMessage(sender, Messages.SIEGE_COOLDOWN_ACTIVE
-                .replace("%city%", attackingCityName + " → " + defendingCityName)
-                .replace("%time%", minutesStr));
+        MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.SIEGE_COOLDOWN_ACTIVE,
+                "city", attackingCityName + " → " + defendingCityName, "time", minutesStr));
+    }
+
+    private void handleTaxCommand(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            MessageUtils.sendMessage(sender, "&cUsage: /cityadmin tax <simulate|page|detail>");
+            return;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "simulate":
+                simulateTaxes(sender, args);
+                break;
+            case "page":
+                sendTaxReportPage(sender, args.length >= 3 ? parsePage(args[2]) : 1);
+                break;
+            case "detail":
+                if (args.length < 3) {
+                    MessageUtils.sendMessage(sender, "&cUsage: /cityadmin tax detail <city> [page]");
+                    return;
+                }
+                sendTaxReportDetail(sender, args[2], args.length >= 4 ? parsePage(args[3]) : 1);
+                break;
+            default:
+                MessageUtils.sendMessage(sender, "&cUnknown tax command. Use /cityadmin help for help.");
+                break;
+        }
+    }
+
+    private void simulateTaxes(CommandSender sender, String[] args) {
+        TaxCalculator current = TaxCalculator.fromSettings();
+        double rate = current.getRate();
+        double minimum = current.getMinimumBalance();
+
+        try {
+            if (args.length >= 3) {
+                rate = Double.parseDouble(args[2]);
+            }
+            if (args.length >= 4) {
+                minimum = Double.parseDouble(args[3]);
+            }
+        } catch (NumberFormatException e) {
+            MessageUtils.sendMessage(sender, "&cFormato de número inválido. Ingresa un número válido.");
+            return;
+        }
+
+        if (rate < 0.0 || rate > 1.0 || minimum < 0.0) {
+            MessageUtils.sendMessage(sender, "&cLa tasa debe estar entre 0 y 1 y el mínimo debe ser positivo.");
+            return;
+        }
+
+        MessageUtils.sendMessage(sender, String.format(
+                "&7Simulando impuestos (tasa &f%.2f%%&7, mínimo &f%.2f&7)...", rate * 100, minimum));
+
+        plugin.getTaxSimulator().simulate(sender.getName(), new TaxCalculator(rate, minimum))
+                .whenComplete((report, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        plugin.getLogger().warning("Error en la simulación de impuestos: " + error.getMessage());
+                        MessageUtils.sendMessage(sender, "&cError al simular los impuestos.");
+                        return;
+                    }
+                    sendTaxReportPage(sender, 1);
+                }));
+    }
+
+    private void sendTaxReportPage(CommandSender sender, int page) {
+        TaxSimulator.Report report = plugin.getTaxSimulator().getLastReport(sender.getName());
+        if (report == null) {
+            MessageUtils.sendMessage(sender, "&cNo hay ninguna simulación. Usa /cityadmin tax simulate.");
+            return;
+        }
+
+        int pages = report.getPageCount(REPORT_PAGE_SIZE);
+        page = Math.min(page, pages);
+
+        MessageUtils.sendMessage(sender, String.format("&6=== &eTax Simulation &7(%d/%d) &6===", page, pages));
+        MessageUtils.sendMessage(sender, String.format(
+                "&7Tasa: &f%.2f%% &7Mínimo: &f%.2f &7Ciudades: &f%d &7Ciudadanos: &f%d &7(%d ms)",
+                report.getCalculator().getRate() * 100, report.getCalculator().getMinimumBalance(),
+                report.getCityCount(), report.getCitizenCount(), report.getElapsedMillis()));
+        MessageUtils.sendMessage(sender, String.format(
+                "&7Total proyectado: &a%.2f &7(solo conectados ahora: &a%.2f&7)",
+                report.getTotal(), report.getOnlineTotal()));
+
+        for (TaxSimulator.CityLine line : report.getPage(page, REPORT_PAGE_SIZE)) {
+            MessageUtils.sendMessage(sender, String.format(
+                    "&e%d. %s &7- &a%.2f &7(%d/%d ciudadanos, conectados: %.2f)",
+                    line.position(), line.cityName(), line.projected(),
+                    line.taxedCitizens(), line.citizens(), line.projectedOnline()));
+        }
+    }
+
+    private void sendTaxReportDetail(CommandSender sender, String cityName, int page) {
+        TaxSimulator.Report report = plugin.getTaxSimulator().getLastReport(sender.getName());
+        if (report == null) {
+            MessageUtils.sendMessage(sender, "&cNo hay ninguna simulación. Usa /cityadmin tax simulate.");
+            return;
+        }
+
+        List<TaxSimulator.PlayerLine> lines = report.getCityDetail(cityName);
+        if (lines.isEmpty()) {
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.CITY_NOT_FOUND));
+            return;
+        }
+
+        int pages = Math.max(1, (lines.size() + REPORT_PAGE_SIZE - 1) / REPORT_PAGE_SIZE);
+        page = Math.min(page, pages);
+        int from = (page - 1) * REPORT_PAGE_SIZE;
+        int to = Math.min(lines.size(), from + REPORT_PAGE_SIZE);
+
+        MessageUtils.sendMessage(sender, String.format("&6=== &e%s &7(%d/%d) &6===", cityName, page, pages));
+        for (TaxSimulator.PlayerLine line : lines.subList(from, to)) {
+            String playerName = Bukkit.getOfflinePlayer(line.playerId()).getName();
+            MessageUtils.sendMessage(sender, String.format("&e%s &7- Balance: &f%.2f &7Impuesto: &a%.2f %s",
+                    playerName != null ? playerName : line.playerId().toString(),
+                    line.balance(), line.tax(), line.online() ? "&aOnline" : "&cOffline"));
+        }
+    }
+
+    private void handleMetricsCommand(CommandSender sender, String[] args) {
+        if (args.length >= 2) {
+            switch (args[1].toLowerCase()) {
+                case "on":
+                    Metrics.setEnabled(true);
+                    MessageUtils.sendMessage(sender, "&aMétricas activadas.");
+                    return;
+                case "off":
+                    Metrics.setEnabled(false);
+                    MessageUtils.sendMessage(sender, "&eMétricas desactivadas.");
+                    return;
+                case "reset":
+                    Metrics.reset();
+                    MessageUtils.sendMessage(sender, "&aMétricas reiniciadas.");
+                    return;
+                default:
+                    MessageUtils.sendMessage(sender, "&cUsage: /cityadmin metrics [on|off|reset]");
+                    return;
+            }
+        }
+
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        MessageUtils.sendMessage(sender, "&6=== &eCityWars Metrics " + (Metrics.isEnabled() ? "&a(on)" : "&c(off)") + " &6===");
+        for (Metrics.GaugeSample gauge : snapshot.gauges()) {
+            MessageUtils.sendMessage(sender, String.format("&7%s: &f%.0f", gauge.name(), gauge.value()));
+        }
+        for (Metrics.CounterSample counter : snapshot.counters()) {
+            MessageUtils.sendMessage(sender, String.format("&7%s: &f%d", counter.name(), counter.value()));
+        }
+        for (Metrics.TimerSample timer : snapshot.timers()) {
+            MessageUtils.sendMessage(sender, String.format(
+                    "&e%s &7n=&f%d &7media=&f%.2fms &7p50=&f%.2fms &7p99=&f%.2fms &7max=&f%.2fms",
+                    timer.name(), timer.count(), timer.meanMillis(), timer.percentileMillis(0.50),
+                    timer.percentileMillis(0.99), timer.maxMillis()));
+        }
+    }
+
+    private void handleProfileCommand(CommandSender sender, String[] args) {
+        ProfilerManager profiler = plugin.getProfilerManager();
+        if (args.length < 2) {
+            MessageUtils.sendMessage(sender, "&cUsage: /cityadmin profile <start|stop>");
+            MessageUtils.sendMessage(sender, "&7Grabación: " + (profiler.isRecording() ? "&aactiva" : "&cinactiva"));
+            return;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "start":
+                if (profiler.isRecording()) {
+                    MessageUtils.sendMessage(sender, "&cYa hay una grabación en curso.");
+                } else if (profiler.start()) {
+                    MessageUtils.sendMessage(sender, "&aGrabación de JFR iniciada. Usa /cityadmin profile stop para guardarla.");
+                } else {
+                    MessageUtils.sendMessage(sender, "&cNo se pudo iniciar la grabación. Revisa la consola.");
+                }
+                break;
+            case "stop":
+                File file = profiler.stop(true);
+                if (file == null) {
+                    MessageUtils.sendMessage(sender, "&cNo hay ninguna grabación en curso.");
+                } else {
+                    MessageUtils.sendMessage(sender, "&aGuardando grabación en &e" + file.getPath());
+                }
+                break;
+            default:
+                MessageUtils.sendMessage(sender, "&cUsage: /cityadmin profile <start|stop>");
+                break;
+        }
+    }
+
+    private void handleTimingsCommand(CommandSender sender, String[] args) {
+        String action = args.length >= 2 ? args[1].toLowerCase() : "report";
+        int top = plugin.getConfig().getInt("timings.top", 10);
+
+        switch (action) {
+            case "on":
+                int seconds = args.length >= 3 ? parsePage(args[2]) : plugin.getConfig().getInt("timings.window-seconds", 300);
+                int sampleEvery = plugin.getConfig().getInt("timings.sample-every", 4);
+                Timings.start(plugin, seconds, sampleEvery, () -> {
+                    MessageUtils.sendMessage(sender, "&eVentana de timings terminada.");
+                    sendTimingsReport(sender, top);
+                });
+                MessageUtils.sendMessage(sender, "&aTimings activados durante &e" + seconds + "s &a(1 de cada "
+                        + Math.max(1, sampleEvery) + " llamadas medida).");
+                break;
+            case "off":
+                Timings.stop();
+                MessageUtils.sendMessage(sender, "&eTimings desactivados.");
+                sendTimingsReport(sender, top);
+                break;
+            case "report":
+                sendTimingsReport(sender, args.length >= 3 ? parsePage(args[2]) : top);
+                break;
+            default:
+                MessageUtils.sendMessage(sender, "&cUsage: /cityadmin timings [on [seconds]|off|report [top]]");
+                break;
+        }
+    }
+
+    private void sendTimingsReport(CommandSender sender, int top) {
+        List<Timings.HandlerSample> samples = Timings.report();
+        if (samples.isEmpty()) {
+            MessageUtils.sendMessage(sender, "&cNo hay datos. Usa /cityadmin timings on.");
+            return;
+        }
+
+        double windowSeconds = Math.max(1L, Timings.getWindowMillis()) / 1000.0;
+        MessageUtils.sendMessage(sender, String.format("&6=== &eCityWars Timings %s &7(%.0fs) &6===",
+                Timings.isEnabled() ? "&a(on)" : "&c(off)", windowSeconds));
+        for (Timings.HandlerSample sample : samples.subList(0, Math.min(top, samples.size()))) {
+            MessageUtils.sendMessage(sender, String.format(
+                    "&e%s &7llamadas=&f%d &7p50=&f%.2fms &7p99=&f%.2fms &7max=&f%.2fms &7total≈&f%.0fms &7(%.2fms/s)",
+                    sample.name(), sample.calls(), sample.p50Millis(), sample.p99Millis(), sample.maxMillis(),
+                    sample.totalMillis(), sample.totalMillis() / windowSeconds));
+        }
+    }
+
+    private int parsePage(String value) {
+        try {
+            return Math.max(1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
     }
 
     @Override
@@ -463,13 +777,15 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
 
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("help", "reload", "city", "citizen", "siege"));
+            completions.addAll(Arrays.asList("help", "reload", "city", "citizen", "siege", "tax", "metrics", "profile", "timings"));
         } else if (args.length >= 2) {
             switch (args[0].toLowerCase()) {
                 case "city":
                     if (args.length == 2) {
-                        completions.addAll(Arrays.asList("create", "delete", "list"));
-                    } else if (args.length == 3 && args[1].equalsIgnoreCase("delete")) {
+                        completions.addAll(Arrays.asList("create", "delete", "rename", "transfer", "list"));
+                    } else if ((args.length == 3 && (args[1].equalsIgnoreCase("delete") || args[1].equalsIgnoreCase("rename")
+                            || args[1].equalsIgnoreCase("transfer")))
+                            || (args.length == 4 && args[1].equalsIgnoreCase("transfer"))) {
                         completions.addAll(cityManager.getAllCities().stream()
                                 .map(City::getName)
                                 .collect(Collectors.toList()));
@@ -510,6 +826,32 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
                         completions.addAll(Arrays.asList("30", "60", "120", "180"));
                     }
                     break;
+                case "tax":
+                    if (args.length == 2) {
+                        completions.addAll(Arrays.asList("simulate", "page", "detail"));
+                    } else if (args.length == 3 && args[1].equalsIgnoreCase("detail")) {
+                        completions.addAll(cityManager.getAllCities().stream()
+                                .map(City::getName)
+                                .collect(Collectors.toList()));
+                    }
+                    break;
+                case "metrics":
+                    if (args.length == 2) {
+                        completions.addAll(Arrays.asList("on", "off", "reset"));
+                    }
+                    break;
+                case "profile":
+                    if (args.length == 2) {
+                        completions.addAll(Arrays.asList("start", "stop"));
+                    }
+                    break;
+                case "timings":
+                    if (args.length == 2) {
+                        completions.addAll(Arrays.asList("on", "off", "report"));
+                    } else if (args.length == 3 && args[1].equalsIgnoreCase("on")) {
+                        completions.addAll(Arrays.asList("60", "300", "600"));
+                    }
+                    break;
             }
         }
 
@@ -1,6 +1,7 @@
 package com.mineglicht.commands;
 
 import com.mineglicht.cityWars;
+import com.mineglicht.config.MessageKey;
 import com.mineglicht.config.Messages;
 import com.mineglicht.models.City;
 import com.mineglicht.util.MessageUtils;
@@ -91,7 +92,7 @@ public class CitizenCommands implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!(sender instanceof Player player)) {
-            MessageUtils.sendMessage(sender, Messages.PLAYER_COMMAND_ONLY);
+            MessageUtils.sendMessage(sender, Messages.get(sender, MessageKey.PLAYER_COMMAND_ONLY));
             return true;
         }
 
@@ -104,7 +105,7 @@ public class CitizenCommands implements CommandExecutor, TabCompleter {
         
         // Validación temprana del comando
         if (!VALID_COMMANDS.contains(subCommand)) {
-            MessageUtils.sendMessage(player, Messages.INVALID_ARGUMENTS);
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.INVALID_ARGUMENTS));
             return true;
         }
 
@@ -140,7 +141,7 @@ public class CitizenCommands implements CommandExecutor, TabCompleter {
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
 
         if (playerCity == null) {
-            MessageUtils.sendMessage(player, Messages.PLAYER_NOT_CITIZEN);
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.PLAYER_NOT_CITIZEN));
             return;
         }
     }
@@ -149,60 +150,60 @@ public class CitizenCommands implements CommandExecutor, TabCompleter {
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
 
         if (playerCity == null) {
-            MessageUtils.sendMessage(player, Messages.PLAYER_NOT_CITIZEN);
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.PLAYER_NOT_CITIZEN));
             return;
         }
 
         if (!citizenManager.removeCitizen(player.getUniqueId())) {
-            MessageUtils.sendMessage(player, Messages.CITIZEN_REMOVE_FAILED);
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITIZEN_REMOVE_FAILED));
             return;
         }
 
         // Éxito al salir
-        MessageUtils.sendMessage(player, Messages.CITIZEN_REMOVED.replace("%city%", playerCity.getName()));
+        MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITIZEN_REMOVED, "city", playerCity.getName()));
         
         // Notificar a otros ciudadanos de forma optimizada
-        notifyCitizens(playerCity.getId(), player.getName(), Messages.CITIZEN_REMOVED.replace("%player%", player.getName()));
+        notifyCitizens(playerCity.getId(), player.getName(), MessageKey.CITIZEN_REMOVED, "player", player.getName());
     }
 
     private void joinCityCommand(Player player, String cityName) {
         // Verificar si ya está en una ciudad
         City existingCity = citizenManager.getPlayerCity(player.getUniqueId());
         if (existingCity != null) {
-            MessageUtils.sendMessage(player, Messages.CITIZEN_ADD_FAILED.replace("%city%", existingCity.getName()));
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITIZEN_ADD_FAILED, "city", existingCity.getName()));
             return;
         }
 
         // Verificar si la ciudad existe
         City city = cityManager.getCityByName(cityName);
         if (city == null) {
-            MessageUtils.sendMessage(player, Messages.CITY_NOT_FOUND);
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITY_NOT_FOUND));
             return;
         }
 
         // Intentar unirse
         if (!citizenManager.addCitizen(player.getUniqueId(), city)) {
-            MessageUtils.sendMessage(player, Messages.CITIZEN_ADD_FAILED);
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITIZEN_ADD_FAILED));
             return;
         }
 
         // Éxito al unirse
-        MessageUtils.sendMessage(player, Messages.CITIZEN_ADDED.replace("%city%", city.getName()));
+        MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITIZEN_ADDED, "city", city.getName()));
         
         // Notificar a otros ciudadanos
-        notifyCitizens(city.getId(), player.getName(), Messages.CITIZEN_REGISTERED.replace("%player%", player.getName()));
+        notifyCitizens(city.getId(), player.getName(), MessageKey.CITIZEN_REGISTERED, "player", player.getName());
     }
 
     private void listCitizensCommand(Player player, String cityName) {
         City city = cityManager.getCityByName(cityName);
         if (city == null) {
-            MessageUtils.sendMessage(player, Messages.CITY_NOT_FOUND);
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITY_NOT_FOUND));
             return;
         }
 
         Set<UUID> citizenIds = citizenManager.getCitizensInCity(city.getId());
         if (citizenIds.isEmpty()) {
-            MessageUtils.sendMessage(player, Messages.CITY_NOT_MEMBER);
+            MessageUtils.sendMessage(player, Messages.get(player, MessageKey.CITY_NOT_MEMBER));
             return;
         }
 
@@ -231,13 +232,13 @@ public class CitizenCommands implements CommandExecutor, TabCompleter {
     /**
      * Método optimizado para notificar a todos los ciudadanos de una ciudad
      */
-    private void notifyCitizens(UUID cityId, String excludePlayerName, String message) {
+    private void notifyCitizens(UUID cityId, String excludePlayerName, MessageKey message, String... placeholders) {
         citizenManager.getCitizensInCity(cityId).stream()
             .map(Bukkit::getPlayer)
             .filter(Objects::nonNull)
             .filter(Player::isOnline)
             .filter(p -> !p.getName().equals(excludePlayerName))
-            .forEach(p -> MessageUtils.sendMessage(p, message));
+            .forEach(p -> MessageUtils.sendMessage(p, Messages.get(p, message, placeholders)));
     }
 
     @Override
@@ -3,6 +3,7 @@ package com.mineglicht.commands;
 import com.mineglicht.cityWars;
 import com.mineglicht.models.City;
 import com.mineglicht.models.CityFlag;
+import com.mineglicht.config.MessageKey;
 import com.mineglicht.config.Messages;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -61,7 +62,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
         // Verificar permisos
         if (!hasPermission(sender, subCommand)) {
-            sender.sendMessage(Messages.PREFIX + Messages.NO_PERMISSION);
+            Messages.send(sender, MessageKey.NO_PERMISSION);
             return true;
         }
 
@@ -96,21 +97,21 @@ public class CityCommands implements CommandExecutor, TabCompleter {
                 sendHelpMessage(sender);
                 return true;
             default:
-                sender.sendMessage(Messages.PREFIX + ChatColor.RED + "Subcomando desconocido. Usa /city help");
+                sender.sendMessage(Messages.prefix(sender) + ChatColor.RED + "Subcomando desconocido. Usa /city help");
                 return true;
         }
     }
 
     private boolean handleCreateCity(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 2) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city create <nombre>");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /city create <nombre>");
             return true;
         }
 
@@ -118,14 +119,14 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
         // Verificar si el jugador ya está en una ciudad
         if (citizenManager.isInCity(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Ya perteneces a una ciudad. Debes salir primero.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Ya perteneces a una ciudad. Debes salir primero.");
             return true;
         }
 
         // Verificar si ya existe una ciudad con ese nombre
         for (City city : cityManager.getAllCities()) {
             if (city.getName().equalsIgnoreCase(cityName)) {
-                player.sendMessage(Messages.PREFIX + Messages.CITY_ALREADY_EXISTS);
+                Messages.send(player, MessageKey.CITY_ALREADY_EXISTS);
                 return true;
             }
         }
@@ -133,12 +134,12 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         try {
             City newCity = cityManager.createCity(player, cityName, player.getLocation());
             if (newCity != null) {
-                player.sendMessage(Messages.PREFIX + Messages.CITY_CREATED.replace("{city}", cityName));
+                Messages.send(player, MessageKey.CITY_CREATED, "city", cityName);
             } else {
-                player.sendMessage(Messages.PREFIX + Messages.CITY_CREATION_FAILED);
+                Messages.send(player, MessageKey.CITY_CREATION_FAILED);
             }
         } catch (Exception e) {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_CREATION_FAILED);
+            Messages.send(player, MessageKey.CITY_CREATION_FAILED);
             plugin.getLogger().severe("Error creando ciudad: " + e.getMessage());
         }
 
@@ -147,7 +148,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleDeleteCity(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
@@ -155,27 +156,27 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
 
         if (playerCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+            Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
             return true;
         }
 
         // Solo el owner puede eliminar la ciudad
         if (!playerCity.getOwnerUUID().equals(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Solo el fundador puede eliminar la ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Solo el fundador puede eliminar la ciudad.");
             return true;
         }
 
         // Verificar si la ciudad está bajo asedio
         if (playerCity.isUnderSiege()) {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_UNDER_SIEGE);
+            Messages.send(player, MessageKey.CITY_UNDER_SIEGE);
             return true;
         }
 
         boolean success = cityManager.deleteCity(playerCity);
         if (success) {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_DELETED.replace("{city}", playerCity.getName()));
+            Messages.send(player, MessageKey.CITY_DELETED, "city", playerCity.getName());
         } else {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_DELETION_FAILED);
+            Messages.send(player, MessageKey.CITY_DELETION_FAILED);
         }
 
         return true;
@@ -183,14 +184,14 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleJoinCity(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 2) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city join <nombre>");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /city join <nombre>");
             return true;
         }
 
@@ -198,7 +199,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
         // Verificar si ya está en una ciudad
         if (citizenManager.isInCity(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_ALREADY_MEMBER);
+            Messages.send(player, MessageKey.CITY_ALREADY_MEMBER);
             return true;
         }
 
@@ -212,15 +213,15 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         }
 
         if (targetCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_NOT_FOUND);
+            Messages.send(player, MessageKey.CITY_NOT_FOUND);
             return true;
         }
 
         boolean success = citizenManager.addCitizen(player.getUniqueId(), targetCity);
         if (success) {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_JOIN_SUCCESS.replace("{city}", cityName));
+            Messages.send(player, MessageKey.CITY_JOIN_SUCCESS, "city", cityName);
         } else {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "No se pudo unir a la ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "No se pudo unir a la ciudad.");
         }
 
         return true;
@@ -228,7 +229,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleLeaveCity(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
@@ -236,22 +237,22 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
 
         if (playerCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+            Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
             return true;
         }
 
         // El owner no puede abandonar su ciudad
         if (playerCity.getOwnerUUID().equals(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED
                     + "El fundador no puede abandonar la ciudad. Debes eliminarla o transferir el liderazgo.");
             return true;
         }
 
         boolean success = citizenManager.removeCitizen(player.getUniqueId());
         if (success) {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_LEAVE_SUCCESS.replace("{city}", playerCity.getName()));
+            Messages.send(player, MessageKey.CITY_LEAVE_SUCCESS, "city", playerCity.getName());
         } else {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Error al abandonar la ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Error al abandonar la ciudad.");
         }
 
         return true;
@@ -259,48 +260,48 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleInvitePlayer(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 2) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city invite <jugador>");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /city invite <jugador>");
             return true;
         }
 
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
         if (playerCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+            Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
             return true;
         }
 
         // Verificar permisos (owner o admin)
         if (!playerCity.getOwnerUUID().equals(player.getUniqueId()) && !playerCity.isAdmin(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Solo los administradores pueden invitar jugadores.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Solo los administradores pueden invitar jugadores.");
             return true;
         }
 
         Player targetPlayer = Bukkit.getPlayer(args[1]);
         if (targetPlayer == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_FOUND);
+            Messages.send(player, MessageKey.PLAYER_NOT_FOUND);
             return true;
         }
 
         if (citizenManager.isInCity(targetPlayer.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "El jugador ya pertenece a una ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "El jugador ya pertenece a una ciudad.");
             return true;
         }
 
         boolean success = citizenManager.addCitizen(targetPlayer.getUniqueId(), playerCity);
         if (success) {
             player.sendMessage(
-                    Messages.PREFIX + ChatColor.GREEN + "Jugador " + targetPlayer.getName() + " añadido a la ciudad.");
+                    Messages.prefix(player) + ChatColor.GREEN + "Jugador " + targetPlayer.getName() + " añadido a la ciudad.");
             targetPlayer.sendMessage(
-                    Messages.PREFIX + ChatColor.GREEN + "Has sido añadido a la ciudad " + playerCity.getName());
+                    Messages.prefix(targetPlayer) + ChatColor.GREEN + "Has sido añadido a la ciudad " + playerCity.getName());
         } else {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Error al añadir el jugador a la ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Error al añadir el jugador a la ciudad.");
         }
 
         return true;
@@ -308,26 +309,26 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleKickPlayer(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 2) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city kick <jugador>");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /city kick <jugador>");
             return true;
         }
 
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
         if (playerCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+            Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
             return true;
         }
 
         // Verificar permisos
         if (!playerCity.getOwnerUUID().equals(player.getUniqueId()) && !playerCity.isAdmin(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Solo los administradores pueden expulsar jugadores.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Solo los administradores pueden expulsar jugadores.");
             return true;
         }
 
@@ -336,25 +337,25 @@ public class CityCommands implements CommandExecutor, TabCompleter {
                 : Bukkit.getOfflinePlayer(args[1]).getUniqueId();
 
         if (!citizenManager.isInCity(targetUUID, playerCity.getId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "El jugador no pertenece a tu ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "El jugador no pertenece a tu ciudad.");
             return true;
         }
 
         // No se puede expulsar al owner
         if (playerCity.getOwnerUUID().equals(targetUUID)) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "No puedes expulsar al fundador de la ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "No puedes expulsar al fundador de la ciudad.");
             return true;
         }
 
         boolean success = citizenManager.removeCitizen(targetUUID);
         if (success) {
-            player.sendMessage(Messages.PREFIX + ChatColor.GREEN + "Jugador " + args[1] + " expulsado de la ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.GREEN + "Jugador " + args[1] + " expulsado de la ciudad.");
             if (targetPlayer != null && targetPlayer.isOnline()) {
                 targetPlayer.sendMessage(
-                        Messages.PREFIX + ChatColor.RED + "Has sido expulsado de la ciudad " + playerCity.getName());
+                        Messages.prefix(targetPlayer) + ChatColor.RED + "Has sido expulsado de la ciudad " + playerCity.getName());
             }
         } else {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Error al expulsar al jugador.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Error al expulsar al jugador.");
         }
 
         return true;
@@ -362,7 +363,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleCityInfo(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
@@ -381,14 +382,14 @@ public class CityCommands implements CommandExecutor, TabCompleter {
             }
 
             if (targetCity == null) {
-                player.sendMessage(Messages.PREFIX + Messages.CITY_NOT_FOUND);
+                Messages.send(player, MessageKey.CITY_NOT_FOUND);
                 return true;
             }
         } else {
             // Mostrar info de la ciudad del jugador
             targetCity = citizenManager.getPlayerCity(player.getUniqueId());
             if (targetCity == null) {
-                player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+                Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
                 return true;
             }
         }
@@ -401,11 +402,11 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         Collection<City> cities = cityManager.getAllCities();
 
         if (cities.isEmpty()) {
-            sender.sendMessage(Messages.PREFIX + ChatColor.YELLOW + "No hay ciudades creadas.");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.YELLOW + "No hay ciudades creadas.");
             return true;
         }
 
-        sender.sendMessage(Messages.PREFIX + ChatColor.GOLD + "=== Lista de Ciudades ===");
+        sender.sendMessage(Messages.prefix(sender) + ChatColor.GOLD + "=== Lista de Ciudades ===");
         for (City city : cities) {
             int onlineCitizens = citizenManager.getOnlineCitizensInCity(city.getId()).size();
             String status = city.isUnderSiege() ? ChatColor.RED + "[ASEDIO]" : ChatColor.GREEN + "[SEGURA]";
@@ -420,26 +421,26 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleExpandCity(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 2) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city expand <bloques>");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /city expand <bloques>");
             return true;
         }
 
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
         if (playerCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+            Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
             return true;
         }
 
         // Verificar permisos
         if (!playerCity.getOwnerUUID().equals(player.getUniqueId()) && !playerCity.isAdmin(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Solo los administradores pueden expandir la ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Solo los administradores pueden expandir la ciudad.");
             return true;
         }
 
@@ -447,19 +448,19 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         try {
             blocks = Integer.parseInt(args[1]);
             if (blocks <= 0) {
-                player.sendMessage(Messages.PREFIX + ChatColor.RED + "El número de bloques debe ser positivo.");
+                player.sendMessage(Messages.prefix(player) + ChatColor.RED + "El número de bloques debe ser positivo.");
                 return true;
             }
         } catch (NumberFormatException e) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Número de bloques inválido.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Número de bloques inválido.");
             return true;
         }
 
         boolean success = cityManager.expandCity(playerCity, player, blocks);
         if (success) {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_EXPANDED.replace("{blocks}", String.valueOf(blocks)));
+            Messages.send(player, MessageKey.CITY_EXPANDED, "blocks", String.valueOf(blocks));
         } else {
-            player.sendMessage(Messages.PREFIX + Messages.CITY_EXPANSION_FAILED);
+            Messages.send(player, MessageKey.CITY_EXPANSION_FAILED);
         }
 
         return true;
@@ -467,28 +468,28 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleCityFlag(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 2) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city flag <flag> [true/false]");
-            player.sendMessage(Messages.PREFIX + ChatColor.GRAY + "Flags disponibles: " +
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /city flag <flag> [true/false]");
+            player.sendMessage(Messages.prefix(player) + ChatColor.GRAY + "Flags disponibles: " +
                     Arrays.stream(CityFlag.values()).map(Enum::name).collect(Collectors.joining(", ")));
             return true;
         }
 
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
         if (playerCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+            Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
             return true;
         }
 
         // Verificar permisos
         if (!playerCity.getOwnerUUID().equals(player.getUniqueId()) && !playerCity.isAdmin(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Solo los administradores pueden cambiar las flags.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Solo los administradores pueden cambiar las flags.");
             return true;
         }
 
@@ -496,7 +497,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         try {
             flag = CityFlag.valueOf(args[1].toUpperCase());
         } catch (IllegalArgumentException e) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Flag desconocida. Flags disponibles: " +
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Flag desconocida. Flags disponibles: " +
                     Arrays.stream(CityFlag.values()).map(Enum::name).collect(Collectors.joining(", ")));
             return true;
         }
@@ -504,11 +505,11 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         if (args.length >= 3) {
             boolean value = Boolean.parseBoolean(args[2]);
             cityManager.setCityFlag(playerCity, flag, value);
-            player.sendMessage(Messages.PREFIX + ChatColor.GREEN + "Flag " + flag.name() + " establecida a: " + value);
+            player.sendMessage(Messages.prefix(player) + ChatColor.GREEN + "Flag " + flag.name() + " establecida a: " + value);
         } else {
             boolean currentValue = playerCity.hasFlag(flag);
             player.sendMessage(
-                    Messages.PREFIX + ChatColor.YELLOW + "Flag " + flag.name() + " está en: " + currentValue);
+                    Messages.prefix(player) + ChatColor.YELLOW + "Flag " + flag.name() + " está en: " + currentValue);
         }
 
         return true;
@@ -516,26 +517,26 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleCityAdmin(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 3) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city admin <add/remove> <jugador>");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /city admin <add/remove> <jugador>");
             return true;
         }
 
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
         if (playerCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+            Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
             return true;
         }
 
         // Solo el owner puede gestionar admins
         if (!playerCity.getOwnerUUID().equals(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Solo el fundador puede gestionar administradores.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Solo el fundador puede gestionar administradores.");
             return true;
         }
 
@@ -545,7 +546,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
                 : Bukkit.getOfflinePlayer(args[2]).getUniqueId();
 
         if (!citizenManager.isInCity(targetUUID, playerCity.getId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "El jugador no pertenece a tu ciudad.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "El jugador no pertenece a tu ciudad.");
             return true;
         }
 
@@ -554,9 +555,9 @@ public class CityCommands implements CommandExecutor, TabCompleter {
             case "add":
                 success = playerCity.addAdmin(targetUUID);
                 if (success) {
-                    player.sendMessage(Messages.PREFIX + ChatColor.GREEN + args[2] + " es ahora administrador.");
+                    player.sendMessage(Messages.prefix(player) + ChatColor.GREEN + args[2] + " es ahora administrador.");
                     if (targetPlayer != null && targetPlayer.isOnline()) {
-                        targetPlayer.sendMessage(Messages.PREFIX + ChatColor.GREEN + "Eres ahora administrador de "
+                        targetPlayer.sendMessage(Messages.prefix(targetPlayer) + ChatColor.GREEN + "Eres ahora administrador de "
                                 + playerCity.getName());
                     }
                 }
@@ -564,20 +565,20 @@ public class CityCommands implements CommandExecutor, TabCompleter {
             case "remove":
                 success = playerCity.removeAdmin(targetUUID);
                 if (success) {
-                    player.sendMessage(Messages.PREFIX + ChatColor.GREEN + args[2] + " ya no es administrador.");
+                    player.sendMessage(Messages.prefix(player) + ChatColor.GREEN + args[2] + " ya no es administrador.");
                     if (targetPlayer != null && targetPlayer.isOnline()) {
-                        targetPlayer.sendMessage(Messages.PREFIX + ChatColor.YELLOW + "Ya no eres administrador de "
+                        targetPlayer.sendMessage(Messages.prefix(targetPlayer) + ChatColor.YELLOW + "Ya no eres administrador de "
                                 + playerCity.getName());
                     }
                 }
                 break;
             default:
-                player.sendMessage(Messages.PREFIX + ChatColor.RED + "Acción inválida. Usa 'add' o 'remove'.");
+                player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Acción inválida. Usa 'add' o 'remove'.");
                 return true;
         }
 
         if (!success) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Error al ejecutar la acción.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Error al ejecutar la acción.");
         }
 
         return true;
@@ -585,7 +586,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
     private boolean handleCityBank(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
@@ -593,14 +594,14 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
 
         if (playerCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+            Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
             return true;
         }
 
         if (args.length < 2) {
             // Mostrar balance del banco
             double balance = economyManager.getCityBankBalance(playerCity);
-            player.sendMessage(Messages.PREFIX + ChatColor.GOLD + "Balance del banco: " + ChatColor.WHITE + balance);
+            player.sendMessage(Messages.prefix(player) + ChatColor.GOLD + "Balance del banco: " + ChatColor.WHITE + balance);
             return true;
         }
 
@@ -608,34 +609,34 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
         // Verificar permisos para operaciones bancarias
         if (!playerCity.getOwnerUUID().equals(player.getUniqueId()) && !playerCity.isAdmin(player.getUniqueId())) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Solo los administradores pueden gestionar el banco.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Solo los administradores pueden gestionar el banco.");
             return true;
         }
 
         switch (action) {
             case "deposit":
                 if (args.length < 3) {
-                    player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city bank deposit <cantidad>");
+                    player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /city bank deposit <cantidad>");
                     return true;
                 }
                 return handleBankDeposit(player, playerCity, args[2]);
 
             case "withdraw":
                 if (args.length < 3) {
-                    player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city bank withdraw <cantidad>");
+                    player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /city bank withdraw <cantidad>");
                     return true;
                 }
                 return handleBankWithdraw(player, playerCity, args[2]);
 
             default:
-                player.sendMessage(Messages.PREFIX + ChatColor.RED + "Acciones disponibles: deposit, withdraw");
+                player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Acciones disponibles: deposit, withdraw");
                 return true;
         }
     }
 
     private boolean handleCityTeleport(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.PREFIX + Messages.PLAYER_COMMAND_ONLY);
+            Messages.send(sender, MessageKey.PLAYER_COMMAND_ONLY);
             return true;
         }
 
@@ -643,17 +644,17 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         City playerCity = citizenManager.getPlayerCity(player.getUniqueId());
 
         if (playerCity == null) {
-            player.sendMessage(Messages.PREFIX + Messages.PLAYER_NOT_CITIZEN);
+            Messages.send(player, MessageKey.PLAYER_NOT_CITIZEN);
             return true;
         }
 
         if (playerCity.getCenter() != null) {
             player.teleport(playerCity.getCenter());
             player.sendMessage(
-                    Messages.PREFIX + ChatColor.GREEN + "Teletransportado al centro de " + playerCity.getName());
+                    Messages.prefix(player) + ChatColor.GREEN + "Teletransportado al centro de " + playerCity.getName());
         } else {
             player.sendMessage(
-                    Messages.PREFIX + ChatColor.RED + "La ciudad no tiene un punto de teletransporte establecido.");
+                    Messages.prefix(player) + ChatColor.RED + "La ciudad no tiene un punto de teletransporte establecido.");
         }
 
         return true;
@@ -667,7 +668,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
     }
 
     private void sendCityInfo(Player player, City city) {
-        player.sendMessage(Messages.PREFIX + Messages.CITY_INFO_HEADER.replace("{city}", city.getName()));
+        Messages.send(player, MessageKey.CITY_INFO_HEADER, "city", city.getName());
 
         String owner = Bukkit.getOfflinePlayer(city.getOwnerUUID()).getName();
         int totalCitizens = city.getCitizenCount();
@@ -675,16 +676,14 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         double bankBalance = economyManager.getCityBankBalance(city);
         String status = city.isUnderSiege() ? ChatColor.RED + "BAJO ASEDIO" : ChatColor.GREEN + "SEGURA";
 
-        for (String line : Messages.CITY_INFO_FORMAT) {
-            String formattedLine = line
-                    .replace("{owner}", owner)
-                    .replace("{citizens}", String.valueOf(totalCitizens))
-                    .replace("{online}", String.valueOf(onlineCitizens))
-                    .replace("{level}", String.valueOf(city.getLevel()))
-                    .replace("{bank}", String.valueOf(bankBalance))
-                    .replace("{status}", status);
-
-            player.sendMessage(ChatColor.translateAlternateColorCodes('&', formattedLine));
+        for (String line : Messages.getList(player, MessageKey.CITY_INFO_FORMAT,
+                "owner", owner,
+                "citizens", String.valueOf(totalCitizens),
+                "online", String.valueOf(onlineCitizens),
+                "level", String.valueOf(city.getLevel()),
+                "bank", String.valueOf(bankBalance),
+                "status", status)) {
+            player.sendMessage(line);
         }
     }
 
@@ -692,12 +691,12 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         try {
             double amount = Double.parseDouble(amountStr);
             if (amount <= 0) {
-                player.sendMessage(Messages.PREFIX + ChatColor.RED + "La cantidad debe ser positiva.");
+                player.sendMessage(Messages.prefix(player) + ChatColor.RED + "La cantidad debe ser positiva.");
                 return true;
             }
 
             if (!economyManager.hasCurrency(player, "default", amount)) {
-                player.sendMessage(Messages.PREFIX + Messages.CITY_INSUFFICIENT_FUNDS);
+                Messages.send(player, MessageKey.CITY_INSUFFICIENT_FUNDS);
                 return true;
             }
 
@@ -706,13 +705,13 @@ public class CityCommands implements CommandExecutor, TabCompleter {
 
             if (success) {
                 player.sendMessage(
-                        Messages.PREFIX + ChatColor.GREEN + "Depositado " + amount + " al banco de la ciudad.");
+                        Messages.prefix(player) + ChatColor.GREEN + "Depositado " + amount + " al banco de la ciudad.");
             } else {
-                player.sendMessage(Messages.PREFIX + ChatColor.RED + "Error al realizar el depósito.");
+                player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Error al realizar el depósito.");
             }
 
         } catch (NumberFormatException e) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Cantidad inválida.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Cantidad inválida.");
         }
 
         return true;
@@ -722,7 +721,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         try {
             double amount = Double.parseDouble(amountStr);
             if (amount <= 0) {
-                player.sendMessage(Messages.PREFIX + ChatColor.RED + "La cantidad debe ser mayor a 0.");
+                player.sendMessage(Messages.prefix(player) + ChatColor.RED + "La cantidad debe ser mayor a 0.");
                 return true;
             }
 
@@ -730,40 +729,40 @@ public class CityCommands implements CommandExecutor, TabCompleter {
                 // Usar la moneda predeterminada del servidor para el depósito
                 String defaultCurrency = plugin.getConfig().getString("economy.default-currency", "glichtcoin");
                 if (economyManager.depositCurrency(player, defaultCurrency, amount)) {
-                    player.sendMessage(Messages.PREFIX + ChatColor.GREEN +
+                    player.sendMessage(Messages.prefix(player) + ChatColor.GREEN +
                             "Has retirado $" + amount + " del banco de la ciudad.");
                     return true;
                 } else {
                     // Revertir el retiro si no se pudo depositar al jugador
                     economyManager.depositCityBank(city, amount);
-                    player.sendMessage(Messages.PREFIX + ChatColor.RED +
+                    player.sendMessage(Messages.prefix(player) + ChatColor.RED +
                             "Error al depositar el dinero en tu cuenta.");
                 }
             } else {
-                player.sendMessage(Messages.PREFIX + ChatColor.RED +
+                player.sendMessage(Messages.prefix(player) + ChatColor.RED +
                         "No hay suficientes fondos en el banco de la ciudad.");
             }
         } catch (NumberFormatException e) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Cantidad inválida.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Cantidad inválida.");
         }
         return true;
     }
 
     private boolean handleBankBalance(Player player, City city) {
         double balance = economyManager.getCityBankBalance(city);
-        player.sendMessage(Messages.PREFIX + ChatColor.YELLOW +
+        player.sendMessage(Messages.prefix(player) + ChatColor.YELLOW +
                 "Balance del banco de " + city.getName() + ": $" + balance);
         return true;
     }
 
     private boolean handleSetAdmin(CommandSender sender, String[] args) {
         if (!hasPermission(sender, "setadmin")) {
-            sender.sendMessage(Messages.NO_PERMISSION);
+            sender.sendMessage(Messages.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 3) {
-            sender.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /city setadmin <ciudad> <jugador>");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.RED + "Uso: /city setadmin <ciudad> <jugador>");
             return true;
         }
 
@@ -774,12 +773,12 @@ public class CityCommands implements CommandExecutor, TabCompleter {
         Player newAdmin = Bukkit.getPlayer(playerName);
 
         if (city == null) {
-            sender.sendMessage(Messages.CITY_NOT_FOUND);
+            sender.sendMessage(Messages.get(sender, MessageKey.CITY_NOT_FOUND));
             return true;
         }
 
         if (newAdmin == null) {
-            sender.sendMessage(Messages.PLAYER_NOT_FOUND);
+            sender.sendMessage(Messages.get(sender, MessageKey.PLAYER_NOT_FOUND));
             return true;
         }
 
@@ -788,10 +787,10 @@ public class CityCommands implements CommandExecutor, TabCompleter {
             city.addAdmin(newAdmin.getUniqueId());
             cityManager.saveCities();
 
-            sender.sendMessage(Messages.PREFIX + ChatColor.GREEN +
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.GREEN +
                     "Has establecido a " + newAdmin.getName() + " como administrador de " + city.getName());
         } else {
-            sender.sendMessage(Messages.PREFIX + ChatColor.YELLOW +
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.YELLOW +
                     newAdmin.getName() + " ya es administrador de " + city.getName());
         }
 
@@ -809,7 +808,7 @@ public class CityCommands implements CommandExecutor, TabCompleter {
     }
 
     private void sendHelpMessage(CommandSender sender) {
-        sender.sendMessage(Messages.PREFIX + ChatColor.YELLOW + "=== Comandos de Ciudad ===");
+        sender.sendMessage(Messages.prefix(sender) + ChatColor.YELLOW + "=== Comandos de Ciudad ===");
         sender.sendMessage(ChatColor.GRAY + "/city create <nombre> - Crear una ciudad");
         sender.sendMessage(ChatColor.GRAY + "/city join <nombre> - Unirse a una ciudad");
         sender.sendMessage(ChatColor.GRAY + "/city leave - Abandonar tu ciudad");
@@ -4,7 +4,9 @@ import com.mineglicht.cityWars;
 import com.mineglicht.models.City;
 import com.mineglicht.models.SiegeFlag;
 import com.mineglicht.models.SiegeState;
+import com.mineglicht.config.MessageKey;
 import com.mineglicht.config.Messages;
+import com.mineglicht.config.PriceTable;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
@@ -70,19 +72,19 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
 
     private boolean handleStartSiege(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.COMMAND_ONLY_PLAYER);
+            sender.sendMessage(Messages.get(sender, MessageKey.COMMAND_ONLY_PLAYER));
             return true;
         }
 
         Player player = (Player) sender;
 
         if (!hasPermission(sender, "start")) {
-            sender.sendMessage(Messages.NO_PERMISSION);
+            sender.sendMessage(Messages.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 2) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /siege start <ciudad_objetivo>");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Uso: /siege start <ciudad_objetivo>");
             return true;
         }
 
@@ -92,14 +94,14 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         City attackingCity = citizenManager.getPlayerCity(player.getUniqueId());
         if (attackingCity == null) {
             player.sendMessage(
-                    Messages.PREFIX + ChatColor.RED + "Debes pertenecer a una ciudad para iniciar un asedio.");
+                    Messages.prefix(player) + ChatColor.RED + "Debes pertenecer a una ciudad para iniciar un asedio.");
             return true;
         }
 
         // Obtener ciudad objetivo
         City targetCity = getCityByName(targetCityName);
         if (targetCity == null) {
-            player.sendMessage(Messages.CITY_NOT_FOUND);
+            player.sendMessage(Messages.get(player, MessageKey.CITY_NOT_FOUND));
             return true;
         }
 
@@ -113,34 +115,33 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         }
 
         if (!hasRequiredCurrency(player)) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "No tienes suficiente dinero para iniciar un asedio.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "No tienes suficiente dinero para iniciar un asedio.");
             return true;
         }
 
         if (!hasMinimumOnlineCitizens(targetCity)) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED
                     + "La ciudad objetivo debe tener al menos 30% de ciudadanos conectados.");
             return true;
         }
 
         if (isCooldownActive(attackingCity, targetCity)) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Hay un cooldown activo entre estas ciudades.");
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Hay un cooldown activo entre estas ciudades.");
             return true;
         }
 
         // Verificar que el jugador esté en territorio enemigo
         if (!isInEnemyTerritory(player, targetCity)) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED
                     + "Debes estar dentro del territorio enemigo para iniciar el asedio.");
             return true;
         }
 
         // Cobrar la economía requerida
-        String requiredCurrency = plugin.getConfig().getString("siege.required-currency", "jp");
-        double requiredAmount = plugin.getConfig().getDouble("siege.required-amount", 1000.0);
+        PriceTable prices = economyManager.getPricingManager().getTable();
 
-        if (!economyManager.withdrawCurrency(player, requiredCurrency, requiredAmount)) {
-            player.sendMessage(Messages.PREFIX + ChatColor.RED + "Error al cobrar el costo del asedio.");
+        if (!economyManager.withdrawCurrency(player, prices.getSiegeCurrency(), prices.getSiegeCost())) {
+            player.sendMessage(Messages.prefix(player) + ChatColor.RED + "Error al cobrar el costo del asedio.");
             return true;
         }
 
@@ -167,19 +168,19 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         notifyAllCityMembers(targetCity, ChatColor.RED + "¡Estás bajo ataque por " + attackingCity.getName() + "!");
 
         player.sendMessage(
-                Messages.PREFIX + ChatColor.GREEN + "¡Asedio iniciado! Coloca el estandarte en territorio enemigo.");
+                Messages.prefix(player) + ChatColor.GREEN + "¡Asedio iniciado! Coloca el estandarte en territorio enemigo.");
 
         return true;
     }
 
     private boolean handleCancelSiege(CommandSender sender, String[] args) {
         if (!hasPermission(sender, "cancel")) {
-            sender.sendMessage(Messages.NO_PERMISSION);
+            sender.sendMessage(Messages.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 2) {
-            sender.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /siege cancel <ciudad>");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.RED + "Uso: /siege cancel <ciudad>");
             return true;
         }
 
@@ -187,7 +188,7 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         City city = getCityByName(cityName);
 
         if (city == null) {
-            sender.sendMessage(Messages.CITY_NOT_FOUND);
+            sender.sendMessage(Messages.get(sender, MessageKey.CITY_NOT_FOUND));
             return true;
         }
 
@@ -202,13 +203,13 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         }
 
         if (siegeToCancel == null) {
-            sender.sendMessage(Messages.PREFIX + ChatColor.RED + "No se encontró un asedio activo para esta ciudad.");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.RED + "No se encontró un asedio activo para esta ciudad.");
             return true;
         }
 
         // Cancelar el asedio
         endSiege(siegeToCancel, SiegeState.CANCELLED);
-        sender.sendMessage(Messages.PREFIX + ChatColor.GREEN + "Asedio cancelado exitosamente.");
+        sender.sendMessage(Messages.prefix(sender) + ChatColor.GREEN + "Asedio cancelado exitosamente.");
 
         return true;
     }
@@ -217,11 +218,11 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         if (args.length < 2) {
             // Mostrar todos los asedios activos
             if (activeSieges.isEmpty()) {
-                sender.sendMessage(Messages.PREFIX + ChatColor.YELLOW + "No hay asedios activos.");
+                sender.sendMessage(Messages.prefix(sender) + ChatColor.YELLOW + "No hay asedios activos.");
                 return true;
             }
 
-            sender.sendMessage(Messages.PREFIX + ChatColor.YELLOW + "=== Asedios Activos ===");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.YELLOW + "=== Asedios Activos ===");
             for (SiegeFlag siege : activeSieges.values()) {
                 displaySiegeDetails(sender, siege);
             }
@@ -232,7 +233,7 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         City city = getCityByName(cityName);
 
         if (city == null) {
-            sender.sendMessage(Messages.CITY_NOT_FOUND);
+            sender.sendMessage(Messages.get(sender, MessageKey.CITY_NOT_FOUND));
             return true;
         }
 
@@ -247,7 +248,7 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         }
 
         if (citySeige == null) {
-            sender.sendMessage(Messages.PREFIX + ChatColor.RED + "No hay asedio activo para esta ciudad.");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.RED + "No hay asedio activo para esta ciudad.");
             return true;
         }
 
@@ -257,11 +258,11 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
 
     private boolean handleSiegeList(CommandSender sender, String[] args) {
         if (activeSieges.isEmpty()) {
-            sender.sendMessage(Messages.PREFIX + ChatColor.YELLOW + "No hay asedios activos.");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.YELLOW + "No hay asedios activos.");
             return true;
         }
 
-        sender.sendMessage(Messages.PREFIX + ChatColor.YELLOW + "=== Lista de Asedios Activos ===");
+        sender.sendMessage(Messages.prefix(sender) + ChatColor.YELLOW + "=== Lista de Asedios Activos ===");
         int count = 1;
 
         for (SiegeFlag siege : activeSieges.values()) {
@@ -283,7 +284,7 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
 
     private boolean handleSiegeCooldown(CommandSender sender, String[] args) {
         if (args.length < 3) {
-            sender.sendMessage(Messages.PREFIX + ChatColor.RED + "Uso: /siege cooldown <ciudad1> <ciudad2>");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.RED + "Uso: /siege cooldown <ciudad1> <ciudad2>");
             return true;
         }
 
@@ -291,7 +292,7 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         City city2 = getCityByName(args[2]);
 
         if (city1 == null || city2 == null) {
-            sender.sendMessage(Messages.CITY_NOT_FOUND);
+            sender.sendMessage(Messages.get(sender, MessageKey.CITY_NOT_FOUND));
             return true;
         }
 
@@ -299,11 +300,11 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         Long cooldownEnd = siegeCooldowns.get(cooldownKey);
 
         if (cooldownEnd == null || System.currentTimeMillis() > cooldownEnd) {
-            sender.sendMessage(Messages.PREFIX + ChatColor.GREEN + "No hay cooldown activo entre estas ciudades.");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.GREEN + "No hay cooldown activo entre estas ciudades.");
         } else {
             long remainingTime = (cooldownEnd - System.currentTimeMillis()) / 1000;
             sender.sendMessage(
-                    Messages.PREFIX + ChatColor.YELLOW + "Cooldown restante: " + formatSiegeTime(remainingTime));
+                    Messages.prefix(sender) + ChatColor.YELLOW + "Cooldown restante: " + formatSiegeTime(remainingTime));
         }
 
         return true;
@@ -311,12 +312,12 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
 
     private boolean handleGiveBanner(CommandSender sender, String[] args) {
         if (!hasPermission(sender, "give")) {
-            sender.sendMessage(Messages.NO_PERMISSION);
+            sender.sendMessage(Messages.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (!(sender instanceof Player)) {
-            sender.sendMessage(Messages.COMMAND_ONLY_PLAYER);
+            sender.sendMessage(Messages.get(sender, MessageKey.COMMAND_ONLY_PLAYER));
             return true;
         }
 
@@ -331,9 +332,9 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
 
         if (giveSiegeBanner(player)) {
             sender.sendMessage(
-                    Messages.PREFIX + ChatColor.GREEN + "Estandarte de asedio entregado a " + player.getName());
+                    Messages.prefix(sender) + ChatColor.GREEN + "Estandarte de asedio entregado a " + player.getName());
         } else {
-            sender.sendMessage(Messages.PREFIX + ChatColor.RED + "Error al entregar el estandarte.");
+            sender.sendMessage(Messages.prefix(sender) + ChatColor.RED + "Error al entregar el estandarte.");
         }
 
         return true;
@@ -343,13 +344,13 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
 
     private boolean canCityAttack(City attackingCity, Player attacker) {
         if (attackingCity.getSiegeState() != SiegeState.NONE) {
-            attacker.sendMessage(Messages.PREFIX + ChatColor.RED + "Tu ciudad ya está involucrada en un asedio.");
+            attacker.sendMessage(Messages.prefix(attacker) + ChatColor.RED + "Tu ciudad ya está involucrada en un asedio.");
             return false;
         }
 
         if (!canManageCitySieges(attacker, attackingCity)) {
             attacker.sendMessage(
-                    Messages.PREFIX + ChatColor.RED + "No tienes permisos para iniciar asedios por esta ciudad.");
+                    Messages.prefix(attacker) + ChatColor.RED + "No tienes permisos para iniciar asedios por esta ciudad.");
             return false;
         }
 
@@ -361,10 +362,9 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
     }
 
     private boolean hasRequiredCurrency(Player player) {
-        String requiredCurrency = plugin.getConfig().getString("siege.required-currency", "jp");
-        double requiredAmount = plugin.getConfig().getDouble("siege.required-amount", 1000.0);
+        PriceTable prices = economyManager.getPricingManager().getTable();
 
-        return economyManager.hasCurrency(player, requiredCurrency, requiredAmount);
+        return economyManager.hasCurrency(player, prices.getSiegeCurrency(), prices.getSiegeCost());
     }
 
     private boolean hasMinimumOnlineCitizens(City city) {
@@ -409,7 +409,7 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
         for (UUID citizenId : citizens) {
             Player citizen = Bukkit.getPlayer(citizenId);
             if (citizen != null && citizen.isOnline()) {
-                citizen.sendMessage(Messages.PREFIX + message);
+                citizen.sendMessage(Messages.prefix(citizen) + message);
                 // Enviar subtitle
                 citizen.sendTitle("", message, 10, 70, 20);
             }
@@ -531,7 +531,7 @@ public class SiegeCommands implements CommandExecutor, @Nullable TabCompleter {
     }
 
     private void sendSiegeHelp(CommandSender sender) {
-        sender.sendMessage(Messages.PREFIX + ChatColor.YELLOW + "=== Comandos de Asedio ===");
+        sender.sendMessage(Messages.prefix(sender) + ChatColor.YELLOW + "=== Comandos de Asedio ===");
         sender.sendMessage(ChatColor.GRAY + "/siege start <ciudad> - Iniciar asedio contra una ciudad");
         sender.sendMessage(ChatColor.GRAY + "/siege info [ciudad] - Ver información de asedios");
         sender.sendMessage(ChatColor.GRAY + "/siege list - Listar todos los asedios activos");
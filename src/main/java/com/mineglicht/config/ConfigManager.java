@@ -8,6 +8,8 @@ import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Gestor principal de configuración del plugin CityWars
@@ -19,6 +21,10 @@ public class ConfigManager {
     private FileConfiguration config;
     private FileConfiguration messagesConfig;
     private final File messagesFile;
+    private Map<String, FileConfiguration> localeConfigs = Map.of();
+    
+    // Idiomas incluidos en el plugin (messages_<idioma>.yml)
+    private static final String[] BUNDLED_LOCALES = {"en"};
     
     // Configuración por defecto para impuestos
     private static final BigDecimal DEFAULT_TAX_RATE = new BigDecimal("0.18"); // 18%
@@ -153,6 +159,31 @@ public class ConfigManager {
             plugin.saveResource("messages.yml", false);
         }
         messagesConfig = YamlConfiguration.loadConfiguration(messagesFile);
+
+        loadLocaleConfigs();
+    }
+    
+    /**
+     * Carga los archivos messages_<idioma>.yml de la carpeta del plugin
+     */
+    private void loadLocaleConfigs() {
+        for (String locale : BUNDLED_LOCALES) {
+            String fileName = "messages_" + locale + ".yml";
+            if (!new File(plugin.getDataFolder(), fileName).exists()) {
+                plugin.saveResource(fileName, false);
+            }
+        }
+
+        Map<String, FileConfiguration> loaded = new HashMap<>();
+        File[] files = plugin.getDataFolder().listFiles((dir, name) -> name.startsWith("messages_") && name.endsWith(".yml"));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                String locale = name.substring("messages_".length(), name.length() - ".yml".length());
+                loaded.put(locale, YamlConfiguration.loadConfiguration(file));
+            }
+        }
+        localeConfigs = Map.copyOf(loaded);
     }
     
     /**
@@ -178,6 +209,22 @@ public class ConfigManager {
         return messagesConfig;
     }
 
+    /**
+     * Obtiene los archivos de mensajes por idioma
+     * @return Mapa de código de idioma a configuración (messages_<idioma>.yml)
+     */
+    public Map<String, FileConfiguration> getLocaleConfigs() {
+        return localeConfigs;
+    }
+
+    /**
+     * Obtiene el idioma por defecto (el de messages.yml)
+     * @return Código de idioma (por defecto "es")
+     */
+    public String getDefaultLocale() {
+        return config.getString("language.default", "es");
+    }
+
     /**
      * Guarda la configuración principal
      */
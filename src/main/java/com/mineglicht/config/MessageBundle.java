@@ -0,0 +1,110 @@
+package com.mineglicht.config;
+
+import com.mineglicht.util.MessageTemplate;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mensajes de un idioma ya compilados
+ * Cada mensaje se guarda en un arreglo indexado por el ordinal de {@link MessageKey},
+ * de modo que obtenerlo es un acceso a arreglo sin recorrer el árbol YAML.
+ * Es inmutable; al recargar se construye un bundle nuevo y se reemplaza entero.
+ */
+public final class MessageBundle {
+
+    private final String locale;
+    private final MessageTemplate[] templates;
+    private final List<List<MessageTemplate>> lists;
+
+    private MessageBundle(String locale, MessageTemplate[] templates, List<List<MessageTemplate>> lists) {
+        this.locale = locale;
+        this.templates = templates;
+        this.lists = lists;
+    }
+
+    /**
+     * Compila un bundle buscando cada mensaje en orden: archivo del idioma,
+     * archivo base (messages.yml) y texto por defecto de la clave
+     *
+     * @param locale   Código del idioma, ej: "es" o "en_us"
+     * @param primary  Archivo del idioma (puede ser null)
+     * @param fallback Archivo base (puede ser null)
+     */
+    public static MessageBundle load(String locale, FileConfiguration primary, FileConfiguration fallback) {
+        MessageKey[] keys = MessageKey.values();
+        MessageTemplate[] templates = new MessageTemplate[keys.length];
+        List<List<MessageTemplate>> lists = new ArrayList<>(Collections.nCopies(keys.length, List.of()));
+
+        for (MessageKey key : keys) {
+            if (key.isList()) {
+                List<String> raw = findList(key.getPath(), primary, fallback);
+                List<MessageTemplate> compiled = new ArrayList<>(raw.size());
+                for (String line : raw) {
+                    compiled.add(MessageTemplate.compile(line));
+                }
+                lists.set(key.ordinal(), List.copyOf(compiled));
+                templates[key.ordinal()] = MessageTemplate.compile("");
+            } else {
+                templates[key.ordinal()] = MessageTemplate.compile(findString(key, primary, fallback));
+            }
+        }
+        return new MessageBundle(locale, templates, List.copyOf(lists));
+    }
+
+    private static String findString(MessageKey key, FileConfiguration primary, FileConfiguration fallback) {
+        if (primary != null && primary.isString(key.getPath())) {
+            return primary.getString(key.getPath());
+        }
+        if (fallback != null && fallback.isString(key.getPath())) {
+            return fallback.getString(key.getPath());
+        }
+        return key.getDefaultValue();
+    }
+
+    private static List<String> findList(String path, FileConfiguration primary, FileConfiguration fallback) {
+        if (primary != null && primary.isList(path)) {
+            return primary.getStringList(path);
+        }
+        if (fallback != null && fallback.isList(path)) {
+            return fallback.getStringList(path);
+        }
+        return List.of();
+    }
+
+    // ==================== ACCESO ====================
+
+    public String getLocale() {
+        return locale;
+    }
+
+    /**
+     * Plantilla compilada de un mensaje
+     */
+    public MessageTemplate get(MessageKey key) {
+        return templates[key.ordinal()];
+    }
+
+    /**
+     * Texto coloreado de un mensaje, sin sustituir placeholders
+     */
+    public String text(MessageKey key) {
+        return templates[key.ordinal()].getText();
+    }
+
+    /**
+     * Renderiza un mensaje con sus placeholders (nombre, valor, nombre, valor...)
+     */
+    public String render(MessageKey key, String... placeholders) {
+        return templates[key.ordinal()].render(placeholders);
+    }
+
+    /**
+     * Líneas compiladas de un mensaje de tipo lista
+     */
+    public List<MessageTemplate> getList(MessageKey key) {
+        return lists.get(key.ordinal());
+    }
+}
@@ -0,0 +1,185 @@
+package com.mineglicht.config;
+
+/**
+ * Identificadores de los mensajes configurables
+ * El ordinal de cada clave es su índice en los arreglos de {@link MessageBundle}.
+ */
+public enum MessageKey {
+
+    // === MENSAJES GENERALES ===
+    PREFIX("general.prefix", "&8[&6CityWars&8] &r"),
+    NO_PERMISSION("general.no-permission", "&cNo tienes permisos para hacer esto."),
+    PLAYER_NOT_FOUND("general.player-not-found", "&cJugador no encontrado."),
+    PLAYER_NOT_CITIZEN("general.player-not-citizen", "&cEste jugador no es ciudadano."),
+    PLAYER_COMMAND_ONLY("general.player-command-only", "&cEste comando solo puede ser usado por jugadores."),
+    NO_CITIZENS("general.no-citizens", "&cNo hay ciudadanos registrados."),
+    COMMAND_ONLY_PLAYER("general.command-only-player", "&cEste comando solo puede ser usado por jugadores."),
+    CONFIG_RELOADED("general.config-reloaded", "&aConfiguración recargada correctamente."),
+    INVALID_ARGUMENTS("general.invalid-arguments", "&cArgumentos inválidos. Usa: {usage}"),
+
+    // === MENSAJES DE CIUDADANOS ===
+    CITIZEN_REGISTERED("citizen.registered", "&a¡Te has registrado como ciudadano!"),
+    CITIZEN_ERROR_REGISTERED("citizen.error-registered", "&cError al registrarte como ciudadano."),
+    CITIZEN_ADDED("citizen.added", "&a¡Ciudadano {player} añadido exitosamente!"),
+    CITIZEN_ADD_FAILED("citizen.add-failed", "&cNo se pudo añadir al ciudadano."),
+    CITIZEN_REMOVED("citizen.removed", "&c¡Ciudadano {player} removido!"),
+    CITIZEN_REMOVE_FAILED("citizen.remove-failed", "&cNo se pudo remover al ciudadano."),
+
+    // === MENSAJES DE CIUDAD ===
+    CITY_CREATED("city.created", "&a¡Ciudad '{city}' creada exitosamente!"),
+    CITY_CREATION_FAILED("city.creation-failed", "&cError al crear la ciudad."),
+    CITY_DELETED("city.deleted", "&c¡Ciudad '{city}' eliminada!"),
+    CITY_DELETION_FAILED("city.deletion-failed", "&cError al eliminar la ciudad."),
+    CITY_NOT_FOUND("city.not-found", "&cLa ciudad '{city}' no existe."),
+    CITY_NOT_UNDER_SIEGE("city.not-under-siege", "&cLa ciudad no está bajo asedio."),
+    CITY_UNDER_SIEGE("city.under-siege", "&cLa ciudad está bajo asedio."),
+    CITY_ALREADY_EXISTS("city.already-exists", "&cYa existe una ciudad con ese nombre."),
+    CITY_JOIN_SUCCESS("city.join-success", "&a¡Te has unido a la ciudad '{city}'!"),
+    CITY_LEAVE_SUCCESS("city.leave-success", "&a¡Has abandonado la ciudad '{city}'!"),
+    CITY_ALREADY_MEMBER("city.already-member", "&cYa eres miembro de una ciudad."),
+    CITY_NOT_MEMBER("city.not-member", "&cNo eres miembro de ninguna ciudad."),
+    CITY_EXPANDED("city.expanded", "&a¡Ciudad expandida {blocks} bloques hacia {direction}!"),
+    CITY_EXPANSION_FAILED("city.expansion-failed", "&cNo se pudo expandir la ciudad."),
+    CITY_INSUFFICIENT_FUNDS("city.insufficient-funds", "&cLa ciudad no tiene fondos suficientes."),
+    CITY_MAX_CITIZENS_REACHED("city.max-citizens-reached", "&cLa ciudad ha alcanzado el máximo de ciudadanos."),
+    CITY_INFO_HEADER("city.info-header", "&6=== Información de {city} ==="),
+    CITY_INFO_FORMAT("city.info-format"),
+    CITY_MEMBER_JOINED("city.member-joined", "&a¡{player} se ha conectado a la ciudad!"),
+    CITY_MEMBER_LEFT("city.member-left", "&c¡{player} se ha desconectado a la ciudad!"),
+    CITY_ENTER_TITLE("city.enter-title", "&a¡Bienvenido a &e%city%&a!"),
+    CITY_ENTER_SUBTITLE("city.enter-subtitle", "&7Has entrado a la ciudad"),
+    CITY_EXIT_TITLE("city.exit-title", "&c¡Adiós &e%city%&c!"),
+    CITY_EXIT_SUBTITLE("city.exit-subtitle", "&7Has salido de la ciudad"),
+
+    // === MENSAJES DE ASEDIO ===
+    SIEGE_STARTED("siege.started", "&c¡Asedio iniciado! {attacker} vs {defender}"),
+    SIEGE_ENDED("siege.ended", "&a¡Asedio terminado! Razón: {reason}"),
+    SIEGE_ENDED_FAILED("siege.ended-failed", "&cError al terminar el asedio."),
+    SIEGE_VICTORY("siege.victory", "&a¡Victoria! Has conquistado {city}!"),
+    SIEGE_DEFEAT("siege.defeat", "&c¡Derrota! Tu ciudad ha sido conquistada."),
+    SIEGE_UNDER_ATTACK("siege.under-attack", "&c¡Estás bajo ataque!"),
+    SIEGE_PROTECTOR_ATTACKED("siege.protector-attacked", "&c¡Protector atacado!"),
+    SIEGE_INSUFFICIENT_DEFENDERS("siege.insufficient-defenders", "&cNo hay suficientes defensores conectados ({percentage}% requerido)."),
+    SIEGE_ALREADY_ACTIVE("siege.already-active", "&cYa hay un asedio activo."),
+    SIEGE_CANNOT_ATTACK_SELF("siege.cannot-attack-self", "&cNo puedes atacar tu propia ciudad."),
+    SIEGE_CITY_ATTACKING("siege.city-attacking", "&cTu ciudad está atacando y no puede ser atacada."),
+    SIEGE_CITY_UNDER_ATTACK("siege.city-under-attack", "&cTu ciudad está bajo ataque y no puede atacar."),
+    SIEGE_COOLDOWN_ACTIVE("siege.cooldown-active", "&cHay un cooldown activo entre estas ciudades. Tiempo restante: {time}"),
+    SIEGE_FLAG_PLACED("siege.flag-placed", "&c¡Bandera de asedio colocada en {city}!"),
+    SIEGE_FLAG_DESTROYED("siege.flag-destroyed", "&a¡Bandera de asedio destruida!"),
+    SIEGE_INSUFFICIENT_FUNDS("siege.insufficient-funds", "&cNo tienes suficientes {economy} para iniciar un asedio."),
+    SIEGE_INVALID_LOCATION("siege.invalid-location", "&cNo puedes colocar la bandera aquí."),
+    SIEGE_MEMBER_DISCONNECT("siege.member-disconnect", "&cEl jugador &l{player} &cse ha desconecto en el asedio!"),
+    SIEGE_MEMBER_RECONNECT("member-reconnected-siege", "&aEl jugador &l{player} &ase ha reconectado en el asedio!"),
+    SIEGE_START_BROADCAST("siege.start-broadcast", "&c[CityWars] &eAsedio iniciado contra &6{city} &epor &c{attackers} &eatacantes!"),
+    SIEGE_START_TITLE("siege.start-title", "&c&l¡ASEDIO!"),
+    SIEGE_START_SUBTITLE("siege.start-subtitle", "&6{city} &eestá bajo asedio"),
+    SIEGE_CONQUERED_BROADCAST("siege.conquered-broadcast", "&c[CityWars] &6{city} &eha sido conquistada!"),
+    SIEGE_RESISTED_BROADCAST("siege.resisted-broadcast", "&c[CityWars] &6{city} &eha resistido el asedio!"),
+    SIEGE_FINISHED_BROADCAST("siege.finished-broadcast", "&c[CityWars] &eEl asedio contra &6{city} &eha terminado."),
+    SIEGE_TIMER_TITLE("siege.timer-title", "&c¡BAJO ASEDIO!"),
+    SIEGE_TIMER_STARTED("siege.timer-started", "&c¡BAJO ASEDIO! &eTiempo restante: &c{time}"),
+    SIEGE_TIME_REMAINING("siege.time-remaining", "&e¡Estás bajo ataque! Tiempo restante: &c{minutes} minutos"),
+    SIEGE_WARNING_5_MINUTES("siege.warning-5-minutes", "&c¡ATENCIÓN! &eQuedan &c5 minutos &epara que termine el asedio!"),
+    SIEGE_WARNING_2_MINUTES("siege.warning-2-minutes", "&c¡URGENTE! &eQuedan &c2 minutos &epara que termine el asedio!"),
+    SIEGE_WARNING_LAST_MINUTE("siege.warning-last-minute", "&c¡ÚLTIMO MINUTO! &eEl asedio terminará en &c60 segundos&e!"),
+    SIEGE_TIMER_ENDED("siege.timer-ended", "&a¡El asedio ha terminado! &e{reason}"),
+    SIEGE_TIMER_ENDED_ATTACKERS("siege.timer-ended-attackers", "&c¡El asedio de &e{city} &cha terminado! &f{reason}"),
+    SIEGE_TIMER_EXTENDED("siege.timer-extended", "&e¡El asedio ha sido extendido por &c{minutes} minutos &eadicionales!"),
+    SIEGE_COOLDOWN_PROGRESS("siege.cooldown-progress", "&e¡Cooldown de asedio! &fNo se puede atacar &b{city} &fpor &c{time} &fmás."),
+    SIEGE_COOLDOWN_EXPIRED("siege.cooldown-expired", "&a¡Cooldown expirado! &fYa puedes atacar a &b{city} &fnuevamente."),
+    SIEGE_COOLDOWN_STARTED("siege.cooldown-started", "&c¡Cooldown de asedio activado! &fNo se puede atacar a &b{city} &fpor &e{time}&f."),
+    SIEGE_PLAYER_COOLDOWN_STARTED("siege.player-cooldown-started", "&c¡Cooldown de asedio! &fNo puedes participar en asedios por &e{time}&f."),
+    SIEGE_PLAYER_COOLDOWN_EXPIRED("siege.player-cooldown-expired", "&a¡Tu cooldown de asedio ha expirado! Ya puedes participar en nuevos asedios."),
+
+    // === MENSAJES DE SAQUEO ===
+    LOOT_PHASE_STARTED("loot.phase-started", "&c¡Fase de saqueo iniciada! Duración: {duration} minutos"),
+    LOOT_PHASE_ENDED("loot.phase-ended", "&a¡Fase de saqueo terminada!"),
+    LOOT_FUNDS_STOLEN("loot.funds-stolen", "&c¡{amount} {economy} robados del banco de la ciudad!"),
+    LOOT_CHEST_OPENED("loot.chest-opened", "&6Cofre saqueado por {player}"),
+    LOOT_BLOCK_BROKEN("loot.block-broken", "&6Bloque destruido por {player} durante el saqueo"),
+    LOOT_PROTECTION_DISABLED("loot.protection-disabled", "&c¡Protecciones deshabilitadas!"),
+    LOOT_PROTECTION_RESTORED("loot.protection-restored", "&a¡Protecciones restauradas!"),
+    LOOT_STARTED_BROADCAST("loot.started-broadcast", "&c[CityWars] &4¡SAQUEO INICIADO! &6{city} &eestá siendo saqueada. Tiempo restante: &c{minutes} minutos"),
+
+    // === MENSAJES DE IMPUESTOS ===
+    TAX_COLLECTED("tax.collected", "&aSe han cobrado {amount} {economy} en impuestos."),
+    TAX_INSUFFICIENT_BALANCE("tax.insufficient-balance", "&cNo tienes suficiente dinero para pagar los impuestos."),
+    TAX_COLLECTION_NOTICE("tax.collection-notice", "&6¡Recordatorio! Los impuestos se cobrarán en {time}."),
+    TAX_COLLECTION_FAILED("tax.collection-failed", "&cError al cobrar impuestos a {player}."),
+    TAX_RATE_CHANGED("tax.rate-changed", "&aTasa de impuestos cambiada a {rate}%."),
+    TAX_CHARGED("tax.charged", "&e¡Impuestos cobrados! Se han descontado &c{amount} {currency} &ede tu balance para la ciudad &b{city}&e."),
+
+    // === MENSAJES DE PROTECCIÓN ===
+    PROTECTION_BLOCK_BREAK("protection.block-break", "&cNo puedes romper bloques en esta ciudad."),
+    PROTECTION_BLOCK_PLACE("protection.block-place", "&cNo puedes colocar bloques en esta ciudad."),
+    PROTECTION_INTERACT("protection.interact", "&cNo puedes interactuar en esta ciudad."),
+    PROTECTION_PVP("protection.pvp", "&cEl PvP está deshabilitado en esta ciudad."),
+    PROTECTION_ENDERPEARL("protection.enderpearl", "&cNo puedes usar enderpearls en esta ciudad."),
+    PROTECTION_MOB_SPAWN("protection.mob-spawn", "&cLos mobs no pueden aparecer en esta ciudad."),
+
+    // === MENSAJES DE ECONOMÍA ===
+    ECONOMY_DEPOSIT_SUCCESS("economy.deposit-success", "&a{amount} {economy} depositados en el banco de la ciudad."),
+    ECONOMY_WITHDRAW_SUCCESS("economy.withdraw-success", "&a{amount} {economy} retirados del banco de la ciudad."),
+    ECONOMY_INSUFFICIENT_FUNDS("economy.insufficient-funds", "&cFondos insuficientes."),
+    ECONOMY_BALANCE_SHOW("economy.balance-show", "&6Balance: {amount} {economy}"),
+    ECONOMY_TRANSACTION_FAILED("economy.transaction-failed", "&cTransacción fallida."),
+
+    // === MENSAJES DE COMANDOS ===
+    COMMAND_HELP_HEADER("commands.help-header", "&6=== Comandos de CityWars ==="),
+    COMMAND_HELP_LIST("commands.help-list"),
+    COMMAND_USAGE("commands.usage", "&cUso: {usage}"),
+
+    // === MENSAJES DE EVENTOS ===
+    EVENT_CITY_CREATED_BROADCAST("events.city-created-broadcast", "&a¡Nueva ciudad '{city}' creada por {player}!"),
+    EVENT_CITY_DELETED_BROADCAST("events.city-deleted-broadcast", "&c¡Ciudad '{city}' eliminada!"),
+    EVENT_SIEGE_STARTED_BROADCAST("events.siege-started-broadcast", "&c¡Guerra! {attacker} está atacando {defender}!"),
+    EVENT_SIEGE_ENDED_BROADCAST("events.siege-ended-broadcast", "&a¡Guerra terminada! {winner} vs {loser}"),
+
+    // === SUBTÍTULOS Y TÍTULOS ===
+    TITLE_UNDER_ATTACK("titles.under-attack.title", "&c&l¡BAJO ATAQUE!"),
+    SUBTITLE_UNDER_ATTACK("titles.under-attack.subtitle", "&fTu ciudad está siendo asediada"),
+    TITLE_PROTECTOR_ATTACKED("titles.protector-attacked.title", "&4&l¡PROTECTOR ATACADO!"),
+    SUBTITLE_PROTECTOR_ATTACKED("titles.protector-attacked.subtitle", "&fDefiendan al protector"),
+    TITLE_SIEGE_VICTORY("titles.siege-victory.title", "&a&l¡VICTORIA!"),
+    SUBTITLE_SIEGE_VICTORY("titles.siege-victory.subtitle", "&fHan conquistado {city}"),
+    TITLE_SIEGE_DEFEAT("titles.siege-defeat.title", "&c&l¡DERROTA!"),
+    SUBTITLE_SIEGE_DEFEAT("titles.siege-defeat.subtitle", "&fSu ciudad ha sido conquistada");
+
+    private final String path;
+    private final String defaultValue;
+    private final boolean list;
+
+    MessageKey(String path, String defaultValue) {
+        this.path = path;
+        this.defaultValue = defaultValue;
+        this.list = false;
+    }
+
+    MessageKey(String path) {
+        this.path = path;
+        this.defaultValue = "";
+        this.list = true;
+    }
+
+    /**
+     * Ruta del mensaje en los archivos messages*.yml
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Texto por defecto (español) si ningún archivo define el mensaje
+     */
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Indica si el mensaje es una lista de líneas
+     */
+    public boolean isList() {
+        return list;
+    }
+}
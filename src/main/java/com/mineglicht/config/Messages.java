@@ -1,23 +1,38 @@
 package com.mineglicht.config;
 
+import com.mineglicht.util.MessageTemplate;
 import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Clase optimizada que maneja todos los mensajes configurables del plugin
- * Proporciona acceso estático a los mensajes con colores y placeholders
+ * Proporciona acceso estático a los mensajes con colores y placeholders.
+ * Los campos estáticos contienen el idioma por defecto; los mensajes por jugador
+ * se obtienen del {@link MessageBundle} de su idioma, resuelto al entrar.
  */
 public class Messages {
 
     private static FileConfiguration config;
 
+    // Bundles por idioma (inmutables; se reemplazan enteros al recargar)
+    private static volatile Map<String, MessageBundle> bundles = Map.of();
+    private static volatile MessageBundle defaultBundle = MessageBundle.load("es", null, null);
+    private static final Map<UUID, MessageBundle> playerBundles = new ConcurrentHashMap<>();
+    private static final Map<String, String> customMessages = new ConcurrentHashMap<>();
+
     // === MENSAJES GENERALES ===
     public static String PREFIX;
     public static String NO_PERMISSION;
@@ -142,10 +157,43 @@ public class Messages {
      * @param configuration Configuración cargada del archivo
      */
     public static void initialize(FileConfiguration configuration) {
+        initialize(configuration, Map.of(), "es");
+    }
+
+    /**
+     * Inicializa los mensajes con un archivo por idioma
+     *
+     * @param configuration Archivo base (messages.yml), usado para el idioma por defecto
+     * @param locales       Archivos por idioma (messages_<idioma>.yml) indexados por código
+     * @param defaultLocale Código del idioma por defecto
+     */
+    public static void initialize(FileConfiguration configuration, Map<String, FileConfiguration> locales, String defaultLocale) {
         config = configuration;
+        loadBundles(locales, defaultLocale);
         loadAllMessages();
     }
 
+    /**
+     * Compila todos los bundles y reasigna el bundle de cada jugador conectado
+     */
+    private static void loadBundles(Map<String, FileConfiguration> locales, String defaultLocale) {
+        String fallbackLocale = normalize(defaultLocale);
+        Map<String, MessageBundle> loaded = new HashMap<>();
+        for (Map.Entry<String, FileConfiguration> entry : locales.entrySet()) {
+            String locale = normalize(entry.getKey());
+            loaded.put(locale, MessageBundle.load(locale, entry.getValue(), config));
+        }
+        MessageBundle fallback = loaded.computeIfAbsent(fallbackLocale,
+                locale -> MessageBundle.load(locale, null, config));
+
+        bundles = Map.copyOf(loaded);
+        defaultBundle = fallback;
+        customMessages.clear();
+
+        // Los jugadores conectados pasan al bundle nuevo de su mismo idioma
+        playerBundles.replaceAll((playerId, bundle) -> findBundle(bundle.getLocale()));
+    }
+
     /**
      * Carga todos los mensajes desde el archivo de configuración
      */
@@ -167,162 +215,178 @@ public class Messages {
      * Carga mensajes generales
      */
     private static void loadGeneralMessages() {
-        PREFIX = getConfigString("general.prefix", "&8[&6CityWars&8] &r");
-        NO_PERMISSION = getConfigString("general.no-permission", "&cNo tienes permisos para hacer esto.");
-        PLAYER_NOT_FOUND = getConfigString("general.player-not-found", "&cJugador no encontrado.");
-        PLAYER_NOT_CITIZEN = getConfigString("general.player-not-citizen", "&cEste jugador no es ciudadano.");
-        PLAYER_COMMAND_ONLY = getConfigString("general.player-command-only", "&cEste comando solo puede ser usado por jugadores.");
-        NO_CITIZENS = getConfigString("general.no-citizens", "&cNo hay ciudadanos registrados.");
-        COMMAND_ONLY_PLAYER = getConfigString("general.command-only-player", "&cEste comando solo puede ser usado por jugadores.");
-        CONFIG_RELOADED = getConfigString("general.config-reloaded", "&aConfiguración recargada correctamente.");
-        INVALID_ARGUMENTS = getConfigString("general.invalid-arguments", "&cArgumentos inválidos. Usa: {usage}");
+        PREFIX = text(MessageKey.PREFIX);
+        NO_PERMISSION = text(MessageKey.NO_PERMISSION);
+        PLAYER_NOT_FOUND = text(MessageKey.PLAYER_NOT_FOUND);
+        PLAYER_NOT_CITIZEN = text(MessageKey.PLAYER_NOT_CITIZEN);
+        PLAYER_COMMAND_ONLY = text(MessageKey.PLAYER_COMMAND_ONLY);
+        NO_CITIZENS = text(MessageKey.NO_CITIZENS);
+        COMMAND_ONLY_PLAYER = text(MessageKey.COMMAND_ONLY_PLAYER);
+        CONFIG_RELOADED = text(MessageKey.CONFIG_RELOADED);
+        INVALID_ARGUMENTS = text(MessageKey.INVALID_ARGUMENTS);
     }
 
     /**
      * Carga mensajes de ciudadanos
      */
     private static void loadCitizenMessages() {
-        CITIZEN_REGISTERED = getConfigString("citizen.registered", "&a¡Te has registrado como ciudadano!");
-        CITIZEN_ERROR_REGISTERED = getConfigString("citizen.error-registered", "&cError al registrarte como ciudadano.");
-        CITIZEN_ADDED = getConfigString("citizen.added", "&a¡Ciudadano {player} añadido exitosamente!");
-        CITIZEN_ADD_FAILED = getConfigString("citizen.add-failed", "&cNo se pudo añadir al ciudadano.");
-        CITIZEN_REMOVED = getConfigString("citizen.removed", "&c¡Ciudadano {player} removido!");
-        CITIZEN_REMOVE_FAILED = getConfigString("citizen.remove-failed", "&cNo se pudo remover al ciudadano.");
+        CITIZEN_REGISTERED = text(MessageKey.CITIZEN_REGISTERED);
+        CITIZEN_ERROR_REGISTERED = text(MessageKey.CITIZEN_ERROR_REGISTERED);
+        CITIZEN_ADDED = text(MessageKey.CITIZEN_ADDED);
+        CITIZEN_ADD_FAILED = text(MessageKey.CITIZEN_ADD_FAILED);
+        CITIZEN_REMOVED = text(MessageKey.CITIZEN_REMOVED);
+        CITIZEN_REMOVE_FAILED = text(MessageKey.CITIZEN_REMOVE_FAILED);
     }
 
     /**
      * Carga mensajes de ciudad
      */
     private static void loadCityMessages() {
-        CITY_CREATED = getConfigString("city.created", "&a¡Ciudad '{city}' creada exitosamente!");
-        CITY_CREATION_FAILED = getConfigString("city.creation-failed", "&cError al crear la ciudad.");
-        CITY_DELETED = getConfigString("city.deleted", "&c¡Ciudad '{city}' eliminada!");
-        CITY_DELETION_FAILED = getConfigString("city.deletion-failed", "&cError al eliminar la ciudad.");
-        CITY_NOT_FOUND = getConfigString("city.not-found", "&cLa ciudad '{city}' no existe.");
-        CITY_NOT_UNDER_SIEGE = getConfigString("city.not-under-siege", "&cLa ciudad no está bajo asedio.");
-        CITY_UNDER_SIEGE = getConfigString("city.under-siege", "&cLa ciudad está bajo asedio.");
-        CITY_ALREADY_EXISTS = getConfigString("city.already-exists", "&cYa existe una ciudad con ese nombre.");
-        CITY_JOIN_SUCCESS = getConfigString("city.join-success", "&a¡Te has unido a la ciudad '{city}'!");
-        CITY_LEAVE_SUCCESS = getConfigString("city.leave-success", "&a¡Has abandonado la ciudad '{city}'!");
-        CITY_ALREADY_MEMBER = getConfigString("city.already-member", "&cYa eres miembro de una ciudad.");
-        CITY_NOT_MEMBER = getConfigString("city.not-member", "&cNo eres miembro de ninguna ciudad.");
-        CITY_EXPANDED = getConfigString("city.expanded", "&a¡Ciudad expandida {blocks} bloques hacia {direction}!");
-        CITY_EXPANSION_FAILED = getConfigString("city.expansion-failed", "&cNo se pudo expandir la ciudad.");
-        CITY_INSUFFICIENT_FUNDS = getConfigString("city.insufficient-funds", "&cLa ciudad no tiene fondos suficientes.");
-        CITY_MAX_CITIZENS_REACHED = getConfigString("city.max-citizens-reached", "&cLa ciudad ha alcanzado el máximo de ciudadanos.");
-        CITY_INFO_HEADER = getConfigString("city.info-header", "&6=== Información de {city} ===");
-        CITY_INFO_FORMAT = getConfigStringList("city.info-format");
-        CITY_MEMBER_JOINED = getConfigString("city.member-joined", "&a¡{player} se ha conectado a la ciudad!");
-        CITY_MEMBER_LEFT = getConfigString("city.member-left", "&c¡{player} se ha desconectado a la ciudad!");
-        CITY_ENTER_TITLE = getConfigString("city.enter-title", "&a¡Bienvenido a &e%city%&a!");
-        CITY_ENTER_SUBTITLE = getConfigString("city.enter-subtitle", "&7Has entrado a la ciudad");
-        CITY_EXIT_TITLE = getConfigString("city.exit-title", "&c¡Adiós &e%city%&c!");
-        CITY_EXIT_SUBTITLE = getConfigString("city.exit-subtitle", "&7Has salido de la ciudad");
+        CITY_CREATED = text(MessageKey.CITY_CREATED);
+        CITY_CREATION_FAILED = text(MessageKey.CITY_CREATION_FAILED);
+        CITY_DELETED = text(MessageKey.CITY_DELETED);
+        CITY_DELETION_FAILED = text(MessageKey.CITY_DELETION_FAILED);
+        CITY_NOT_FOUND = text(MessageKey.CITY_NOT_FOUND);
+        CITY_NOT_UNDER_SIEGE = text(MessageKey.CITY_NOT_UNDER_SIEGE);
+        CITY_UNDER_SIEGE = text(MessageKey.CITY_UNDER_SIEGE);
+        CITY_ALREADY_EXISTS = text(MessageKey.CITY_ALREADY_EXISTS);
+        CITY_JOIN_SUCCESS = text(MessageKey.CITY_JOIN_SUCCESS);
+        CITY_LEAVE_SUCCESS = text(MessageKey.CITY_LEAVE_SUCCESS);
+        CITY_ALREADY_MEMBER = text(MessageKey.CITY_ALREADY_MEMBER);
+        CITY_NOT_MEMBER = text(MessageKey.CITY_NOT_MEMBER);
+        CITY_EXPANDED = text(MessageKey.CITY_EXPANDED);
+        CITY_EXPANSION_FAILED = text(MessageKey.CITY_EXPANSION_FAILED);
+        CITY_INSUFFICIENT_FUNDS = text(MessageKey.CITY_INSUFFICIENT_FUNDS);
+        CITY_MAX_CITIZENS_REACHED = text(MessageKey.CITY_MAX_CITIZENS_REACHED);
+        CITY_INFO_HEADER = text(MessageKey.CITY_INFO_HEADER);
+        CITY_INFO_FORMAT = textList(MessageKey.CITY_INFO_FORMAT);
+        CITY_MEMBER_JOINED = text(MessageKey.CITY_MEMBER_JOINED);
+        CITY_MEMBER_LEFT = text(MessageKey.CITY_MEMBER_LEFT);
+        CITY_ENTER_TITLE = text(MessageKey.CITY_ENTER_TITLE);
+        CITY_ENTER_SUBTITLE = text(MessageKey.CITY_ENTER_SUBTITLE);
+        CITY_EXIT_TITLE = text(MessageKey.CITY_EXIT_TITLE);
+        CITY_EXIT_SUBTITLE = text(MessageKey.CITY_EXIT_SUBTITLE);
     }
 
     /**
      * Carga mensajes de asedio
      */
     private static void loadSiegeMessages() {
-        SIEGE_STARTED = getConfigString("siege.started", "&c¡Asedio iniciado! {attacker} vs {defender}");
-        SIEGE_ENDED = getConfigString("siege.ended", "&a¡Asedio terminado! Razón: {reason}");
-        SIEGE_ENDED_FAILED = getConfigString("siege.ended-failed", "&cError al terminar el asedio.");
-        SIEGE_VICTORY = getConfigString("siege.victory", "&a¡Victoria! Has conquistado {city}!");
-        SIEGE_DEFEAT = getConfigString("siege.defeat", "&c¡Derrota! Tu ciudad ha sido conquistada.");
-        SIEGE_UNDER_ATTACK = getConfigString("siege.under-attack", "&c¡Estás bajo ataque!");
-        SIEGE_PROTECTOR_ATTACKED = getConfigString("siege.protector-attacked", "&c¡Protector atacado!");
-        SIEGE_INSUFFICIENT_DEFENDERS = getConfigString("siege.insufficient-defenders", "&cNo hay suficientes defensores conectados ({percentage}% requerido).");
-        SIEGE_ALREADY_ACTIVE = getConfigString("siege.already-active", "&cYa hay un asedio activo.");
-        SIEGE_CANNOT_ATTACK_SELF = getConfigString("siege.cannot-attack-self", "&cNo puedes atacar tu propia ciudad.");
-        SIEGE_CITY_ATTACKING = getConfigString("siege.city-attacking", "&cTu ciudad está atacando y no puede ser atacada.");
-        SIEGE_CITY_UNDER_ATTACK = getConfigString("siege.city-under-attack", "&cTu ciudad está bajo ataque y no puede atacar.");
-        SIEGE_COOLDOWN_ACTIVE = getConfigString("siege.cooldown-active", "&cHay un cooldown activo entre estas ciudades. Tiempo restante: {time}");
-        SIEGE_FLAG_PLACED = getConfigString("siege.flag-placed", "&c¡Bandera de asedio colocada en {city}!");
-        SIEGE_FLAG_DESTROYED = getConfigString("siege.flag-destroyed", "&a¡Bandera de asedio destruida!");
-        SIEGE_INSUFFICIENT_FUNDS = getConfigString("siege.insufficient-funds", "&cNo tienes suficientes {economy} para iniciar un asedio.");
-        SIEGE_INVALID_LOCATION = getConfigString("siege.invalid-location", "&cNo puedes colocar la bandera aquí.");
-        SIEGE_MEMBER_DISCONNECT = getConfigString("siege.member-disconnect", "&cEl jugador &l{player} &cse ha desconecto en el asedio!");
-        SIEGE_MEMBER_RECONNECT = getConfigString("member-reconnected-siege", "&aEl jugador &l{player} &ase ha reconectado en el asedio!");
+        SIEGE_STARTED = text(MessageKey.SIEGE_STARTED);
+        SIEGE_ENDED = text(MessageKey.SIEGE_ENDED);
+        SIEGE_ENDED_FAILED = text(MessageKey.SIEGE_ENDED_FAILED);
+        SIEGE_VICTORY = text(MessageKey.SIEGE_VICTORY);
+        SIEGE_DEFEAT = text(MessageKey.SIEGE_DEFEAT);
+        SIEGE_UNDER_ATTACK = text(MessageKey.SIEGE_UNDER_ATTACK);
+        SIEGE_PROTECTOR_ATTACKED = text(MessageKey.SIEGE_PROTECTOR_ATTACKED);
+        SIEGE_INSUFFICIENT_DEFENDERS = text(MessageKey.SIEGE_INSUFFICIENT_DEFENDERS);
+        SIEGE_ALREADY_ACTIVE = text(MessageKey.SIEGE_ALREADY_ACTIVE);
+        SIEGE_CANNOT_ATTACK_SELF = text(MessageKey.SIEGE_CANNOT_ATTACK_SELF);
+        SIEGE_CITY_ATTACKING = text(MessageKey.SIEGE_CITY_ATTACKING);
+        SIEGE_CITY_UNDER_ATTACK = text(MessageKey.SIEGE_CITY_UNDER_ATTACK);
+        SIEGE_COOLDOWN_ACTIVE = text(MessageKey.SIEGE_COOLDOWN_ACTIVE);
+        SIEGE_FLAG_PLACED = text(MessageKey.SIEGE_FLAG_PLACED);
+        SIEGE_FLAG_DESTROYED = text(MessageKey.SIEGE_FLAG_DESTROYED);
+        SIEGE_INSUFFICIENT_FUNDS = text(MessageKey.SIEGE_INSUFFICIENT_FUNDS);
+        SIEGE_INVALID_LOCATION = text(MessageKey.SIEGE_INVALID_LOCATION);
+        SIEGE_MEMBER_DISCONNECT = text(MessageKey.SIEGE_MEMBER_DISCONNECT);
+        SIEGE_MEMBER_RECONNECT = text(MessageKey.SIEGE_MEMBER_RECONNECT);
     }
 
     /**
      * Carga mensajes de saqueo
      */
     private static void loadLootMessages() {
-        LOOT_PHASE_STARTED = getConfigString("loot.phase-started", "&c¡Fase de saqueo iniciada! Duración: {duration} minutos");
-        LOOT_PHASE_ENDED = getConfigString("loot.phase-ended", "&a¡Fase de saqueo terminada!");
-        LOOT_FUNDS_STOLEN = getConfigString("loot.funds-stolen", "&c¡{amount} {economy} robados del banco de la ciudad!");
-        LOOT_CHEST_OPENED = getConfigString("loot.chest-opened", "&6Cofre saqueado por {player}");
-        LOOT_BLOCK_BROKEN = getConfigString("loot.block-broken", "&6Bloque destruido por {player} durante el saqueo");
-        LOOT_PROTECTION_DISABLED = getConfigString("loot.protection-disabled", "&c¡Protecciones deshabilitadas!");
-        LOOT_PROTECTION_RESTORED = getConfigString("loot.protection-restored", "&a¡Protecciones restauradas!");
+        LOOT_PHASE_STARTED = text(MessageKey.LOOT_PHASE_STARTED);
+        LOOT_PHASE_ENDED = text(MessageKey.LOOT_PHASE_ENDED);
+        LOOT_FUNDS_STOLEN = text(MessageKey.LOOT_FUNDS_STOLEN);
+        LOOT_CHEST_OPENED = text(MessageKey.LOOT_CHEST_OPENED);
+        LOOT_BLOCK_BROKEN = text(MessageKey.LOOT_BLOCK_BROKEN);
+        LOOT_PROTECTION_DISABLED = text(MessageKey.LOOT_PROTECTION_DISABLED);
+        LOOT_PROTECTION_RESTORED = text(MessageKey.LOOT_PROTECTION_RESTORED);
     }
 
     /**
      * Carga mensajes de impuestos
      */
     private static void loadTaxMessages() {
-        TAX_COLLECTED = getConfigString("tax.collected", "&aSe han cobrado {amount} {economy} en impuestos.");
-        TAX_INSUFFICIENT_BALANCE = getConfigString("tax.insufficient-balance", "&cNo tienes suficiente dinero para pagar los impuestos.");
-        TAX_COLLECTION_NOTICE = getConfigString("tax.collection-notice", "&6¡Recordatorio! Los impuestos se cobrarán en {time}.");
-        TAX_COLLECTION_FAILED = getConfigString("tax.collection-failed", "&cError al cobrar impuestos a {player}.");
-        TAX_RATE_CHANGED = getConfigString("tax.rate-changed", "&aTasa de impuestos cambiada a {rate}%.");
+        TAX_COLLECTED = text(MessageKey.TAX_COLLECTED);
+        TAX_INSUFFICIENT_BALANCE = text(MessageKey.TAX_INSUFFICIENT_BALANCE);
+        TAX_COLLECTION_NOTICE = text(MessageKey.TAX_COLLECTION_NOTICE);
+        TAX_COLLECTION_FAILED = text(MessageKey.TAX_COLLECTION_FAILED);
+        TAX_RATE_CHANGED = text(MessageKey.TAX_RATE_CHANGED);
     }
 
     /**
      * Carga mensajes de protección
      */
     private static void loadProtectionMessages() {
-        PROTECTION_BLOCK_BREAK = getConfigString("protection.block-break", "&cNo puedes romper bloques en esta ciudad.");
-        PROTECTION_BLOCK_PLACE = getConfigString("protection.block-place", "&cNo puedes colocar bloques en esta ciudad.");
-        PROTECTION_INTERACT = getConfigString("protection.interact", "&cNo puedes interactuar en esta ciudad.");
-        PROTECTION_PVP = getConfigString("protection.pvp", "&cEl PvP está deshabilitado en esta ciudad.");
-        PROTECTION_ENDERPEARL = getConfigString("protection.enderpearl", "&cNo puedes usar enderpearls en esta ciudad.");
-        PROTECTION_MOB_SPAWN = getConfigString("protection.mob-spawn", "&cLos mobs no pueden aparecer en esta ciudad.");
+        PROTECTION_BLOCK_BREAK = text(MessageKey.PROTECTION_BLOCK_BREAK);
+        PROTECTION_BLOCK_PLACE = text(MessageKey.PROTECTION_BLOCK_PLACE);
+        PROTECTION_INTERACT = text(MessageKey.PROTECTION_INTERACT);
+        PROTECTION_PVP = text(MessageKey.PROTECTION_PVP);
+        PROTECTION_ENDERPEARL = text(MessageKey.PROTECTION_ENDERPEARL);
+        PROTECTION_MOB_SPAWN = text(MessageKey.PROTECTION_MOB_SPAWN);
     }
 
     /**
      * Carga mensajes de economía
      */
     private static void loadEconomyMessages() {
-        ECONOMY_DEPOSIT_SUCCESS = getConfigString("economy.deposit-success", "&a{amount} {economy} depositados en el banco de la ciudad.");
-        ECONOMY_WITHDRAW_SUCCESS = getConfigString("economy.withdraw-success", "&a{amount} {economy} retirados del banco de la ciudad.");
-        ECONOMY_INSUFFICIENT_FUNDS = getConfigString("economy.insufficient-funds", "&cFondos insuficientes.");
-        ECONOMY_BALANCE_SHOW = getConfigString("economy.balance-show", "&6Balance: {amount} {economy}");
-        ECONOMY_TRANSACTION_FAILED = getConfigString("economy.transaction-failed", "&cTransacción fallida.");
+        ECONOMY_DEPOSIT_SUCCESS = text(MessageKey.ECONOMY_DEPOSIT_SUCCESS);
+        ECONOMY_WITHDRAW_SUCCESS = text(MessageKey.ECONOMY_WITHDRAW_SUCCESS);
+        ECONOMY_INSUFFICIENT_FUNDS = text(MessageKey.ECONOMY_INSUFFICIENT_FUNDS);
+        ECONOMY_BALANCE_SHOW = text(MessageKey.ECONOMY_BALANCE_SHOW);
+        ECONOMY_TRANSACTION_FAILED = text(MessageKey.ECONOMY_TRANSACTION_FAILED);
     }
 
     /**
      * Carga mensajes de comandos
      */
     private static void loadCommandMessages() {
-        COMMAND_HELP_HEADER = getConfigString("commands.help-header", "&6=== Comandos de CityWars ===");
-        COMMAND_HELP_LIST = getConfigStringList("commands.help-list");
-        COMMAND_USAGE = getConfigString("commands.usage", "&cUso: {usage}");
+        COMMAND_HELP_HEADER = text(MessageKey.COMMAND_HELP_HEADER);
+        COMMAND_HELP_LIST = textList(MessageKey.COMMAND_HELP_LIST);
+        COMMAND_USAGE = text(MessageKey.COMMAND_USAGE);
     }
 
     /**
      * Carga mensajes de eventos
      */
     private static void loadEventMessages() {
-        EVENT_CITY_CREATED_BROADCAST = getConfigString("events.city-created-broadcast", "&a¡Nueva ciudad '{city}' creada por {player}!");
-        EVENT_CITY_DELETED_BROADCAST = getConfigString("events.city-deleted-broadcast", "&c¡Ciudad '{city}' eliminada!");
-        EVENT_SIEGE_STARTED_BROADCAST = getConfigString("events.siege-started-broadcast", "&c¡Guerra! {attacker} está atacando {defender}!");
-        EVENT_SIEGE_ENDED_BROADCAST = getConfigString("events.siege-ended-broadcast", "&a¡Guerra terminada! {winner} vs {loser}");
+        EVENT_CITY_CREATED_BROADCAST = text(MessageKey.EVENT_CITY_CREATED_BROADCAST);
+        EVENT_CITY_DELETED_BROADCAST = text(MessageKey.EVENT_CITY_DELETED_BROADCAST);
+        EVENT_SIEGE_STARTED_BROADCAST = text(MessageKey.EVENT_SIEGE_STARTED_BROADCAST);
+        EVENT_SIEGE_ENDED_BROADCAST = text(MessageKey.EVENT_SIEGE_ENDED_BROADCAST);
     }
 
     /**
      * Carga títulos y subtítulos
      */
     private static void loadTitleMessages() {
-        TITLE_UNDER_ATTACK = getConfigString("titles.under-attack.title", "&c&l¡BAJO ATAQUE!");
-        SUBTITLE_UNDER_ATTACK = getConfigString("titles.under-attack.subtitle", "&fTu ciudad está siendo asediada");
-        TITLE_PROTECTOR_ATTACKED = getConfigString("titles.protector-attacked.title", "&4&l¡PROTECTOR ATACADO!");
-        SUBTITLE_PROTECTOR_ATTACKED = getConfigString("titles.protector-attacked.subtitle", "&fDefiendan al protector");
-        TITLE_SIEGE_VICTORY = getConfigString("titles.siege-victory.title", "&a&l¡VICTORIA!");
-        SUBTITLE_SIEGE_VICTORY = getConfigString("titles.siege-victory.subtitle", "&fHan conquistado {city}");
-        TITLE_SIEGE_DEFEAT = getConfigString("titles.siege-defeat.title", "&c&l¡DERROTA!");
-        SUBTITLE_SIEGE_DEFEAT = getConfigString("titles.siege-defeat.subtitle", "&fSu ciudad ha sido conquistada");
+        TITLE_UNDER_ATTACK = text(MessageKey.TITLE_UNDER_ATTACK);
+        SUBTITLE_UNDER_ATTACK = text(MessageKey.SUBTITLE_UNDER_ATTACK);
+        TITLE_PROTECTOR_ATTACKED = text(MessageKey.TITLE_PROTECTOR_ATTACKED);
+        SUBTITLE_PROTECTOR_ATTACKED = text(MessageKey.SUBTITLE_PROTECTOR_ATTACKED);
+        TITLE_SIEGE_VICTORY = text(MessageKey.TITLE_SIEGE_VICTORY);
+        SUBTITLE_SIEGE_VICTORY = text(MessageKey.SUBTITLE_SIEGE_VICTORY);
+        TITLE_SIEGE_DEFEAT = text(MessageKey.TITLE_SIEGE_DEFEAT);
+        SUBTITLE_SIEGE_DEFEAT = text(MessageKey.SUBTITLE_SIEGE_DEFEAT);
+    }
+
+    /**
+     * Texto del idioma por defecto
+     */
+    private static String text(MessageKey key) {
+        return defaultBundle.get(key).getText();
+    }
+
+    /**
+     * Lista de líneas del idioma por defecto
+     */
+    private static List<String> textList(MessageKey key) {
+        return defaultBundle.getList(key).stream()
+                .map(MessageTemplate::getText)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -342,6 +406,94 @@ public class Messages {
                 .collect(Collectors.toList());
     }
 
+    // ==================== IDIOMAS ====================
+
+    /**
+     * Resuelve el idioma de un jugador (al entrar o al cambiar el idioma del cliente)
+     * Se prueba el código completo (ej: "en_us"), luego el idioma ("en") y por último el idioma por defecto.
+     */
+    public static MessageBundle resolveLocale(Player player, Locale locale) {
+        MessageBundle bundle = findBundle(normalize(locale.toString()));
+        playerBundles.put(player.getUniqueId(), bundle);
+        return bundle;
+    }
+
+    /**
+     * Olvida el idioma de un jugador (al desconectarse)
+     */
+    public static void forgetLocale(UUID playerId) {
+        playerBundles.remove(playerId);
+    }
+
+    /**
+     * Bundle de un jugador; el idioma por defecto si aún no se resolvió
+     */
+    public static MessageBundle bundle(UUID playerId) {
+        MessageBundle bundle = playerId != null ? playerBundles.get(playerId) : null;
+        return bundle != null ? bundle : defaultBundle;
+    }
+
+    /**
+     * Bundle de quien recibe el mensaje; la consola usa el idioma por defecto
+     */
+    public static MessageBundle bundle(CommandSender sender) {
+        return sender instanceof Player player ? bundle(player.getUniqueId()) : defaultBundle;
+    }
+
+    public static MessageBundle getDefaultBundle() {
+        return defaultBundle;
+    }
+
+    /**
+     * Mensaje en el idioma del destinatario con placeholders reemplazados
+     */
+    public static String get(CommandSender sender, MessageKey key, String... placeholders) {
+        return bundle(sender).render(key, placeholders);
+    }
+
+    /**
+     * Líneas de un mensaje de tipo lista en el idioma del destinatario
+     */
+    public static List<String> getList(CommandSender sender, MessageKey key, String... placeholders) {
+        return bundle(sender).getList(key).stream()
+                .map(line -> line.render(placeholders))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Prefijo en el idioma del destinatario
+     */
+    public static String prefix(CommandSender sender) {
+        return bundle(sender).text(MessageKey.PREFIX);
+    }
+
+    /**
+     * Envía un mensaje en el idioma del destinatario con su prefijo
+     */
+    public static void send(CommandSender sender, MessageKey key, String... placeholders) {
+        if (sender == null || (sender instanceof Player player && !player.isOnline())) {
+            return;
+        }
+        MessageBundle bundle = bundle(sender);
+        sender.sendMessage(bundle.text(MessageKey.PREFIX) + bundle.render(key, placeholders));
+    }
+
+    private static MessageBundle findBundle(String locale) {
+        Map<String, MessageBundle> current = bundles;
+        MessageBundle bundle = current.get(locale);
+        if (bundle == null) {
+            int separator = locale.indexOf('_');
+            if (separator > 0) {
+                bundle = current.get(locale.substring(0, separator));
+            }
+        }
+        return bundle != null ? bundle : defaultBundle;
+    }
+
+    private static String normalize(String locale) {
+        return locale == null ? "" : locale.toLowerCase(Locale.ROOT).replace('-', '_');
+    }
+
     /**
      * Convierte códigos de color de Minecraft
      *
@@ -517,7 +669,15 @@ public class Messages {
      * @return Mensaje con colores aplicados
      */
     public static String getCustomMessage(String path, String defaultValue) {
-        return getConfigString(path, defaultValue);
+        // Se recorre el árbol YAML solo la primera vez; la caché se vacía al recargar
+        String cached = customMessages.get(path);
+        if (cached == null) {
+            cached = getConfigString(path, defaultValue);
+            if (config != null && config.isString(path)) {
+                customMessages.put(path, cached);
+            }
+        }
+        return cached;
     }
 
     /**
@@ -0,0 +1,175 @@
+package com.mineglicht.config;
+
+import me.xanium.gemseconomy.currency.Currency;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabla inmutable de precios y monedas
+ * Las monedas de GemsEconomy se resuelven una sola vez al cargar, así que
+ * consultar un coste o una moneda es una simple lectura de campo.
+ * Se reemplaza entera al recargar (ver PricingManager).
+ */
+public final class PriceTable {
+
+    // Monedas por uso (null = moneda predeterminada de GemsEconomy)
+    private final String taxCurrencyName;
+    private final String bankCurrencyName;
+    private final String siegeCurrencyName;
+    private final String expansionCurrencyName;
+    private final Currency taxCurrency;
+    private final Currency bankCurrency;
+    private final Currency siegeCurrency;
+    private final Currency expansionCurrency;
+
+    // Costes
+    private final double expansionCost;
+    private final double siegeCost;
+    private final double cityCreationCost;
+
+    // Tipos de cambio: valor de una unidad de cada moneda en la moneda base
+    private final Map<String, Double> exchangeRates;
+    private final Map<String, Currency> currenciesByName;
+    private final double taxToBankRate;
+
+    private PriceTable(Builder builder) {
+        this.taxCurrencyName = builder.taxCurrencyName;
+        this.bankCurrencyName = builder.bankCurrencyName;
+        this.siegeCurrencyName = builder.siegeCurrencyName;
+        this.expansionCurrencyName = builder.expansionCurrencyName;
+        this.taxCurrency = builder.currencies.get(taxCurrencyName);
+        this.bankCurrency = builder.currencies.get(bankCurrencyName);
+        this.siegeCurrency = builder.currencies.get(siegeCurrencyName);
+        this.expansionCurrency = builder.currencies.get(expansionCurrencyName);
+        this.expansionCost = builder.expansionCost;
+        this.siegeCost = builder.siegeCost;
+        this.cityCreationCost = builder.cityCreationCost;
+        this.exchangeRates = Collections.unmodifiableMap(new HashMap<>(builder.exchangeRates));
+        this.currenciesByName = Collections.unmodifiableMap(new HashMap<>(builder.currencies));
+        this.taxToBankRate = rate(taxCurrencyName, bankCurrencyName);
+    }
+
+    // ==================== MONEDAS ====================
+
+    public Currency getTaxCurrency() { return taxCurrency; }
+    public Currency getBankCurrency() { return bankCurrency; }
+    public Currency getSiegeCurrency() { return siegeCurrency; }
+    public Currency getExpansionCurrency() { return expansionCurrency; }
+
+    public String getTaxCurrencyName() { return taxCurrencyName; }
+    public String getBankCurrencyName() { return bankCurrencyName; }
+    public String getSiegeCurrencyName() { return siegeCurrencyName; }
+    public String getExpansionCurrencyName() { return expansionCurrencyName; }
+
+    /**
+     * Busca una moneda ya resuelta por nombre
+     * @return La moneda, o null si no está en la tabla
+     */
+    public Currency findCurrency(String name) {
+        return name != null ? currenciesByName.get(name.toLowerCase()) : null;
+    }
+
+    /**
+     * Verifica si una moneda forma parte de la tabla
+     */
+    public boolean isKnownCurrency(String name) {
+        return name != null && currenciesByName.containsKey(name.toLowerCase());
+    }
+
+    // ==================== COSTES ====================
+
+    public double getExpansionCost() { return expansionCost; }
+    public double getSiegeCost() { return siegeCost; }
+    public double getCityCreationCost() { return cityCreationCost; }
+
+    // ==================== TIPOS DE CAMBIO ====================
+
+    /**
+     * Convierte una cantidad de impuestos a la moneda de los bancos de ciudad
+     */
+    public double taxToBank(double amount) {
+        return amount * taxToBankRate;
+    }
+
+    /**
+     * Convierte una cantidad entre dos monedas de la tabla
+     */
+    public double convert(double amount, String from, String to) {
+        return amount * rate(from, to);
+    }
+
+    public Map<String, Double> getExchangeRates() {
+        return exchangeRates;
+    }
+
+    private double rate(String from, String to) {
+        if (from == null || to == null || from.equalsIgnoreCase(to)) {
+            return 1.0;
+        }
+        double fromValue = exchangeRates.getOrDefault(from.toLowerCase(), 1.0);
+        double toValue = exchangeRates.getOrDefault(to.toLowerCase(), 1.0);
+        return toValue > 0 ? fromValue / toValue : 1.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PriceTable{tax=%s, bank=%s, siege=%s, expansion=%s, expansionCost=%.2f, siegeCost=%.2f}",
+                taxCurrencyName, bankCurrencyName, siegeCurrencyName, expansionCurrencyName, expansionCost, siegeCost);
+    }
+
+    // ==================== CONSTRUCTOR ====================
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private String taxCurrencyName = "gems";
+        private String bankCurrencyName = "glichtcoins";
+        private String siegeCurrencyName = "jp";
+        private String expansionCurrencyName = "gems";
+        private double expansionCost = 1000.0;
+        private double siegeCost = 1000.0;
+        private double cityCreationCost = 10000.0;
+        private final Map<String, Double> exchangeRates = new HashMap<>();
+        private final Map<String, Currency> currencies = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder taxCurrency(String name) { this.taxCurrencyName = name.toLowerCase(); return this; }
+        public Builder bankCurrency(String name) { this.bankCurrencyName = name.toLowerCase(); return this; }
+        public Builder siegeCurrency(String name) { this.siegeCurrencyName = name.toLowerCase(); return this; }
+        public Builder expansionCurrency(String name) { this.expansionCurrencyName = name.toLowerCase(); return this; }
+        public Builder expansionCost(double cost) { this.expansionCost = Math.max(0, cost); return this; }
+        public Builder siegeCost(double cost) { this.siegeCost = Math.max(0, cost); return this; }
+        public Builder cityCreationCost(double cost) { this.cityCreationCost = Math.max(0, cost); return this; }
+
+        public Builder exchangeRate(String currency, double value) {
+            if (value > 0) {
+                exchangeRates.put(currency.toLowerCase(), value);
+            }
+            return this;
+        }
+
+        public Builder currency(String name, Currency currency) {
+            if (currency != null) {
+                currencies.put(name.toLowerCase(), currency);
+            }
+            return this;
+        }
+
+        /**
+         * Nombres de todas las monedas usadas por la tabla
+         */
+        public String[] currencyNames() {
+            return new String[]{taxCurrencyName, bankCurrencyName, siegeCurrencyName, expansionCurrencyName};
+        }
+
+        public PriceTable build() {
+            return new PriceTable(this);
+        }
+    }
+}
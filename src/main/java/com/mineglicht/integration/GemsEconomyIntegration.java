@@ -1,5 +1,7 @@
 package com.mineglicht.integration;
 
+import com.mineglicht.config.PriceTable;
+import com.mineglicht.util.AccountLocks;
 import me.xanium.gemseconomy.api.GemsEconomyAPI;
 import me.xanium.gemseconomy.currency.Currency;
 import org.bukkit.Bukkit;
@@ -18,9 +20,10 @@ public class GemsEconomyIntegration {
     private final GemsEconomyAPI gemsAPI;
     private boolean isEnabled = false;
 
-    // Configuración de economías
-    private String siegeCurrency = "jp"; // Moneda para asedios (configurable)
-    private String taxCurrency = "glichtcoins"; // Moneda para impuestos (configurable)
+    // Monedas ya resueltas (ver PricingManager)
+    // Comprobación + retiro y transferencias con el candado de cada cuenta
+    private final AccountLocks accountLocks = new AccountLocks();
+    private volatile PriceTable priceTable = PriceTable.builder().build();
 
     public GemsEconomyIntegration(Plugin plugin) {
         this.plugin = plugin;
@@ -43,15 +46,6 @@ public class GemsEconomyIntegration {
                 return;
             }
 
-            // Verificar que las monedas configuradas existen
-            if (getCurrency(siegeCurrency) == null) {
-                plugin.getLogger().warning("La moneda de asedio '" + siegeCurrency + "' no existe en GemsEconomy.");
-            }
-
-            if (getCurrency(taxCurrency) == null) {
-                plugin.getLogger().warning("La moneda de impuestos '" + taxCurrency + "' no existe en GemsEconomy.");
-            }
-
             isEnabled = true;
             plugin.getLogger().info("Integración con GemsEconomy habilitada exitosamente.");
 
@@ -70,11 +64,36 @@ public class GemsEconomyIntegration {
     }
 
     /**
-     * Obtiene una moneda por su nombre
+     * Establece la tabla de precios con las monedas ya resueltas
+     * @param priceTable Nueva tabla de precios
+     */
+    public void setPriceTable(PriceTable priceTable) {
+        this.priceTable = priceTable;
+
+        for (String currencyName : new String[]{priceTable.getTaxCurrencyName(), priceTable.getBankCurrencyName(),
+                priceTable.getSiegeCurrencyName(), priceTable.getExpansionCurrencyName()}) {
+            if (isEnabled && !priceTable.isKnownCurrency(currencyName)) {
+                plugin.getLogger().warning("La moneda '" + currencyName + "' no existe en GemsEconomy.");
+            }
+        }
+    }
+
+    /**
+     * Obtiene una moneda por su nombre, usando primero la tabla de precios
      * @param currencyName Nombre de la moneda
      * @return La moneda o null si no existe
      */
     public Currency getCurrency(String currencyName) {
+        Currency currency = priceTable.findCurrency(currencyName);
+        return currency != null ? currency : resolveCurrency(currencyName);
+    }
+
+    /**
+     * Resuelve una moneda directamente en GemsEconomy (sin caché)
+     * @param currencyName Nombre de la moneda
+     * @return La moneda o null si no existe
+     */
+    public Currency resolveCurrency(String currencyName) {
         try {
             return gemsAPI.getCurrency(currencyName);
         } catch (Exception e) {
@@ -83,6 +102,93 @@ public class GemsEconomyIntegration {
         }
     }
 
+    /**
+     * Obtiene el balance de un jugador en una moneda ya resuelta
+     * @param playerUUID UUID del jugador
+     * @param currency Moneda (null = predeterminada)
+     * @return El balance o 0 si hay error
+     */
+    public double getBalance(UUID playerUUID, Currency currency) {
+        if (!isEnabled) return 0.0;
+
+        try {
+            return currency == null ? gemsAPI.getBalance(playerUUID) : gemsAPI.getBalance(playerUUID, currency);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error al obtener balance: " + e.getMessage());
+            return 0.0;
+        }
+    }
+
+    /**
+     * Añade dinero al balance de un jugador en una moneda ya resuelta
+     * @param playerUUID UUID del jugador
+     * @param currency Moneda (null = predeterminada)
+     * @param amount Cantidad a añadir
+     * @return true si fue exitoso
+     */
+    public boolean addBalance(UUID playerUUID, Currency currency, double amount) {
+        if (!isEnabled) return false;
+
+        try {
+            double balanceBefore = getBalance(playerUUID, currency);
+
+            if (currency == null) {
+                gemsAPI.deposit(playerUUID, amount);
+            } else {
+                gemsAPI.deposit(playerUUID, amount, currency);
+            }
+
+            double balanceAfter = getBalance(playerUUID, currency);
+            return Math.abs((balanceAfter - balanceBefore) - amount) < 0.01; // Tolerancia para decimales
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error al añadir balance: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Remueve dinero del balance de un jugador en una moneda ya resuelta
+     * @param playerUUID UUID del jugador
+     * @param currency Moneda (null = predeterminada)
+     * @param amount Cantidad a remover
+     * @return true si fue exitoso
+     */
+    public boolean removeBalance(UUID playerUUID, Currency currency, double amount) {
+        if (!isEnabled) return false;
+
+        return accountLocks.withLock(playerUUID, () -> withdrawChecked(playerUUID, currency, amount));
+    }
+
+    private boolean withdrawChecked(UUID playerUUID, Currency currency, double amount) {
+        try {
+            double balanceBefore = getBalance(playerUUID, currency);
+            if (balanceBefore < amount) {
+                return false;
+            }
+
+            if (currency == null) {
+                gemsAPI.withdraw(playerUUID, amount);
+            } else {
+                gemsAPI.withdraw(playerUUID, amount, currency);
+            }
+
+            double balanceAfter = getBalance(playerUUID, currency);
+            return Math.abs((balanceBefore - balanceAfter) - amount) < 0.01; // Tolerancia para decimales
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error al remover balance: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Verifica si un jugador tiene suficiente dinero en una moneda ya resuelta
+     */
+    public boolean hasBalance(UUID playerUUID, Currency currency, double amount) {
+        return getBalance(playerUUID, currency) >= amount;
+    }
+
     /**
      * Obtiene el balance de un jugador en una moneda específica
      * @param playerUUID UUID del jugador
@@ -188,6 +294,10 @@ public class GemsEconomyIntegration {
     public boolean removeBalance(UUID playerUUID, String currencyName, double amount) {
         if (!isEnabled) return false;
 
+        return accountLocks.withLock(playerUUID, () -> withdrawChecked(playerUUID, currencyName, amount));
+    }
+
+    private boolean withdrawChecked(UUID playerUUID, String currencyName, double amount) {
         if (!hasBalance(playerUUID, currencyName, amount)) {
             return false;
         }
@@ -231,7 +341,7 @@ public class GemsEconomyIntegration {
      * @return true si tiene suficiente dinero
      */
     public boolean canAffordSiege(Player player, double requiredAmount) {
-        return hasBalance(player.getUniqueId(), siegeCurrency, requiredAmount);
+        return hasBalance(player.getUniqueId(), priceTable.getSiegeCurrency(), requiredAmount);
     }
 
     /**
@@ -241,7 +351,7 @@ public class GemsEconomyIntegration {
      * @return true si el pago fue exitoso
      */
     public boolean chargeSiegeCost(Player player, double cost) {
-        return removeBalance(player.getUniqueId(), siegeCurrency, cost);
+        return removeBalance(player.getUniqueId(), priceTable.getSiegeCurrency(), cost);
     }
 
     /**
@@ -252,12 +362,13 @@ public class GemsEconomyIntegration {
     public double collectTax(UUID playerUUID) {
         if (!isEnabled) return 0.0;
 
-        double currentBalance = getBalance(playerUUID, taxCurrency);
+        Currency bankCurrency = priceTable.getBankCurrency();
+        double currentBalance = getBalance(playerUUID, bankCurrency);
         if (currentBalance <= 0) return 0.0;
 
         double taxAmount = currentBalance * 0.18; // 18% de impuestos
 
-        if (removeBalance(playerUUID, taxCurrency, taxAmount)) {
+        if (removeBalance(playerUUID, bankCurrency, taxAmount)) {
             return taxAmount;
         }
 
@@ -271,7 +382,7 @@ public class GemsEconomyIntegration {
      * @return true si fue exitoso
      */
     public boolean depositToCityBank(UUID cityBankAccount, double amount) {
-        return addBalance(cityBankAccount, taxCurrency, amount);
+        return addBalance(cityBankAccount, priceTable.getBankCurrency(), amount);
     }
 
     /**
@@ -281,7 +392,7 @@ public class GemsEconomyIntegration {
      * @return true si fue exitoso
      */
     public boolean withdrawFromCityBank(UUID cityBankAccount, double amount) {
-        return removeBalance(cityBankAccount, taxCurrency, amount);
+        return removeBalance(cityBankAccount, priceTable.getBankCurrency(), amount);
     }
 
     /**
@@ -290,7 +401,7 @@ public class GemsEconomyIntegration {
      * @return El balance del fondo bancario
      */
     public double getCityBankBalance(UUID cityBankAccount) {
-        return getBalance(cityBankAccount, taxCurrency);
+        return getBalance(cityBankAccount, priceTable.getBankCurrency());
     }
 
     /**
@@ -302,15 +413,27 @@ public class GemsEconomyIntegration {
      * @return true si fue exitoso
      */
     public boolean transferMoney(UUID fromUUID, UUID toUUID, String currencyName, double amount) {
-        if (!hasBalance(fromUUID, currencyName, amount)) {
+        if (fromUUID == null || toUUID == null || fromUUID.equals(toUUID) || amount <= 0) {
             return false;
         }
 
-        if (removeBalance(fromUUID, currencyName, amount)) {
-            return addBalance(toUUID, currencyName, amount);
-        }
+        // Ambas cuentas bloqueadas en orden: ningún otro retiro o transferencia se intercala
+        return accountLocks.withLocks(fromUUID, toUUID, () -> {
+            // removeBalance ya verifica el saldo; si el depósito falla se devuelve al origen
+            if (!removeBalance(fromUUID, currencyName, amount)) {
+                return false;
+            }
 
-        return false;
+            if (addBalance(toUUID, currencyName, amount)) {
+                return true;
+            }
+
+            if (!addBalance(fromUUID, currencyName, amount)) {
+                plugin.getLogger().severe("No se pudo revertir la transferencia de " + amount + " " +
+                        currencyName + " a la cuenta " + fromUUID);
+            }
+            return false;
+        });
     }
 
     /**
@@ -336,7 +459,7 @@ public class GemsEconomyIntegration {
         double sharePerAttacker = lootAmount / attackers.size();
 
         for (UUID attackerUUID : attackers) {
-            addBalance(attackerUUID, taxCurrency, sharePerAttacker);
+            addBalance(attackerUUID, priceTable.getBankCurrency(), sharePerAttacker);
         }
 
         return true;
@@ -372,20 +495,16 @@ public class GemsEconomyIntegration {
         return UUID.nameUUIDFromBytes(("citybank_" + cityName.toLowerCase()).getBytes());
     }
 
-    // Getters y Setters para configuración
+    // Getters de configuración
     public String getSiegeCurrency() {
-        return siegeCurrency;
-    }
-
-    public void setSiegeCurrency(String siegeCurrency) {
-        this.siegeCurrency = siegeCurrency;
+        return priceTable.getSiegeCurrencyName();
     }
 
     public String getTaxCurrency() {
-        return taxCurrency;
+        return priceTable.getBankCurrencyName();
     }
 
-    public void setTaxCurrency(String taxCurrency) {
-        this.taxCurrency = taxCurrency;
+    public PriceTable getPriceTable() {
+        return priceTable;
     }
 }
\ No newline at end of file
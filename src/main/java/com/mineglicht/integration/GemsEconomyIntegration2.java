@@ -1,5 +1,6 @@
 package com.mineglicht.integration;
 
+import com.mineglicht.util.AccountLocks;
 import me.xanium.gemseconomy.GemsEconomy;
 import me.xanium.gemseconomy.api.GemsEconomyAPI;
 import me.xanium.gemseconomy.account.Account;
@@ -39,6 +40,9 @@ public class GemsEconomyIntegration2 {
     // Prefijo para cuentas de ciudades
     private static final String CITY_ACCOUNT_PREFIX = "city_";
 
+    // Comprobación + retiro y transferencias con el candado de cada cuenta
+    private final AccountLocks accountLocks = new AccountLocks();
+
     public GemsEconomyIntegration2(Plugin plugin) {
         this.plugin = plugin;
         this.gemsAPI = new GemsEconomyAPI();
@@ -156,6 +160,13 @@ public class GemsEconomyIntegration2 {
             return false;
         }
 
+        return accountLocks.withLock(accountName, () -> withdrawChecked(account, cityName, amount));
+    }
+
+    /**
+     * Comprueba y retira con el candado de la cuenta ya tomado
+     */
+    private boolean withdrawChecked(Account account, String cityName, double amount) {
         // Verificar si tiene suficientes fondos
         if (account.getBalance(defaultCurrency) < amount) {
             plugin.getLogger().warning("La ciudad " + cityName + " no tiene suficientes fondos. " +
@@ -190,24 +201,27 @@ public class GemsEconomyIntegration2 {
         if (amount <= 0 || amount > transactionLimit)
             return false;
 
-        // Verificar fondos suficientes
-        if (!hasEnoughFunds(fromCity, amount)) {
-            return false;
-        }
+        String fromAccount = CITY_ACCOUNT_PREFIX + fromCity.toLowerCase();
+        String toAccount = CITY_ACCOUNT_PREFIX + toCity.toLowerCase();
 
-        // Realizar transferencia
-        if (deductFundsFromCity(fromCity, amount)) {
-            if (addFundsToCity(toCity, amount)) {
-                plugin.getLogger().info("Transferidos " + formatCurrency(amount) +
-                        " de " + fromCity + " a " + toCity);
-                return true;
-            } else {
+        // Ambas cuentas bloqueadas en orden: la comprobación, el retiro y el depósito
+        // no se intercalan con otros retiros o transferencias de las mismas ciudades
+        return accountLocks.withLocks(fromAccount, toAccount, () -> {
+            if (!hasEnoughFunds(fromCity, amount)) {
+                return false;
+            }
+
+            if (deductFundsFromCity(fromCity, amount)) {
+                if (addFundsToCity(toCity, amount)) {
+                    plugin.getLogger().info("Transferidos " + formatCurrency(amount) +
+                            " de " + fromCity + " a " + toCity);
+                    return true;
+                }
                 // Revertir deducción si falla la adición
                 addFundsToCity(fromCity, amount);
             }
-        }
-
-        return false;
+            return false;
+        });
     }
 
     // SISTEMA DE IMPUESTOS
@@ -590,9 +604,13 @@ public class GemsEconomyIntegration2 {
             return true; // Técnicamente exitoso - ya no existe
         }
 
-        double balance = account.getBalance(defaultCurrency);
+        // Leer y vaciar con el candado de la cuenta: ninguna transferencia se cuela en medio
+        boolean emptied = accountLocks.withLock(accountName, () -> {
+            double balance = account.getBalance(defaultCurrency);
+            if (balance <= 0) {
+                return true;
+            }
 
-        if (balance > 0) {
             // El método withdraw() retorna boolean, no lanza excepciones
             boolean success = account.withdraw(defaultCurrency, balance);
 
@@ -602,8 +620,11 @@ public class GemsEconomyIntegration2 {
             } else {
                 plugin.getLogger().warning("No se pudo vaciar la cuenta de ciudad " + cityName +
                         ". Balance: " + formatCurrency(balance));
-                return false;
             }
+            return success;
+        });
+        if (!emptied) {
+            return false;
         }
 
         // GemsEconomy no tiene método deleteAccount, así que vaciamos la cuenta
@@ -6,10 +6,12 @@ import com.bekvon.bukkit.residence.protection.ClaimedResidence;
 import com.bekvon.bukkit.residence.protection.FlagPermissions;
 import com.bekvon.bukkit.residence.protection.ResidenceManager;
 import com.bekvon.bukkit.residence.protection.ResidencePermissions;
+import com.mineglicht.models.BlockCoord;
 import com.mineglicht.models.City;
 import com.mineglicht.cityWars;
 import com.mineglicht.models.Citizen;
 import com.mineglicht.models.Siege;
+import com.mineglicht.util.FlightEvents;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -84,6 +86,8 @@ public class ResidenceIntegration2 {
         if (!residenceEnabled)
             return false;
 
+        FlightEvents.ResidenceBatch flightEvent = new FlightEvents.ResidenceBatch();
+        flightEvent.begin();
         try {
             City city = getCityFromCache(cityName);
             if (city == null)
@@ -110,6 +114,7 @@ public class ResidenceIntegration2 {
 
                 plugin.getLogger().info("Protecciones desactivadas en residencia: " + resName);
             }
+            commitResidenceBatch(flightEvent, cityName, "disable", residences.size());
 
             // Guardar estado original para restaurar después
             originalResidenceFlags.put(cityName, originalFlags);
@@ -132,6 +137,8 @@ public class ResidenceIntegration2 {
         if (!residenceEnabled)
             return false;
 
+        FlightEvents.ResidenceBatch flightEvent = new FlightEvents.ResidenceBatch();
+        flightEvent.begin();
         try {
             Map<String, Boolean> originalFlags = originalResidenceFlags.get(cityName);
             if (originalFlags == null)
@@ -159,6 +166,7 @@ public class ResidenceIntegration2 {
 
                 plugin.getLogger().info("Protecciones restauradas en residencia: " + resName);
             }
+            commitResidenceBatch(flightEvent, cityName, "restore", residences.size());
 
             // Limpiar cache
             originalResidenceFlags.remove(cityName);
@@ -173,6 +181,15 @@ public class ResidenceIntegration2 {
         }
     }
 
+    private static void commitResidenceBatch(FlightEvents.ResidenceBatch flightEvent, String cityName, String action, int residences) {
+        if (flightEvent.shouldCommit()) {
+            flightEvent.city = cityName;
+            flightEvent.action = action;
+            flightEvent.count = residences;
+            flightEvent.commit();
+        }
+    }
+
     /**
      * Obtiene todas las residencias dentro de una ciudad usando su ubicación
      * central
@@ -187,7 +204,7 @@ public class ResidenceIntegration2 {
                 return new ArrayList<>();
 
             List<ClaimedResidence> cityResidences = new ArrayList<>();
-            Location cityCenter = city.getCenterLocation();
+            BlockCoord cityCenter = city.getCenter();
 
             for (ClaimedResidence residence : residenceManager.getResidences().values()) {
                 if (isResidenceInCityArea(residence, cityCenter, DEFAULT_CITY_RADIUS)) {
@@ -211,7 +228,7 @@ public class ResidenceIntegration2 {
 
         try {
             List<ClaimedResidence> cityResidences = new ArrayList<>();
-            Location cityCenter = city.getCenterLocation();
+            BlockCoord cityCenter = city.getCenter();
 
             for (ClaimedResidence residence : residenceManager.getResidences().values()) {
                 if (isResidenceInCityArea(residence, cityCenter, DEFAULT_CITY_RADIUS)) {
@@ -313,7 +330,7 @@ public class ResidenceIntegration2 {
                 return false;
 
             // Verificar si la ubicación está dentro del radio de la ciudad
-            if (!isLocationInCityArea(location, city.getCenterLocation(), DEFAULT_CITY_RADIUS)) {
+            if (!isLocationInCityArea(location, city.getCenter(), DEFAULT_CITY_RADIUS)) {
                 return false;
             }
 
@@ -337,7 +354,7 @@ public class ResidenceIntegration2 {
 
         try {
             // Verificar si la ubicación está dentro del radio de la ciudad
-            if (!isLocationInCityArea(location, city.getCenterLocation(), DEFAULT_CITY_RADIUS)) {
+            if (!isLocationInCityArea(location, city.getCenter(), DEFAULT_CITY_RADIUS)) {
                 return false;
             }
 
@@ -924,27 +941,22 @@ public class ResidenceIntegration2 {
     /**
      * Verifica si una residencia está dentro del área de una ciudad
      */
-    private boolean isResidenceInCityArea(ClaimedResidence residence, Location cityCenter, int radius) {
+    private boolean isResidenceInCityArea(ClaimedResidence residence, BlockCoord cityCenter, int radius) {
         if (residence == null || cityCenter == null)
             return false;
 
         try {
-            // Obtener el centro de la residencia
-            Location residenceCenter = getResidenceCenter(residence);
-            if (residenceCenter == null)
-                return false;
-
-            // Verificar que estén en el mismo mundo
-            if (!residenceCenter.getWorld().equals(cityCenter.getWorld())) {
+            // Centro de la residencia a partir de sus límites, en coordenadas de bloque
+            Location min = residence.getAreaArray()[0].getLowLoc();
+            Location max = residence.getAreaArray()[0].getHighLoc();
+            if (!cityCenter.isIn(min.getWorld())) {
                 return false;
             }
 
-            // Calcular distancia 2D (sin considerar Y)
-            double distance = Math.sqrt(
-                    Math.pow(residenceCenter.getX() - cityCenter.getX(), 2) +
-                            Math.pow(residenceCenter.getZ() - cityCenter.getZ(), 2));
-
-            return distance <= radius;
+            // Distancia 2D al cuadrado (sin considerar Y)
+            int centerX = (min.getBlockX() + max.getBlockX()) >> 1;
+            int centerZ = (min.getBlockZ() + max.getBlockZ()) >> 1;
+            return cityCenter.isWithinRadius(centerX, centerZ, radius);
 
         } catch (Exception e) {
             plugin.getLogger().severe("Error al verificar residencia en área de ciudad: " + e.getMessage());
@@ -955,22 +967,13 @@ public class ResidenceIntegration2 {
     /**
      * Verifica si una ubicación está dentro del área de una ciudad
      */
-    private boolean isLocationInCityArea(Location location, Location cityCenter, int radius) {
+    private boolean isLocationInCityArea(Location location, BlockCoord cityCenter, int radius) {
         if (location == null || cityCenter == null)
             return false;
 
         try {
-            // Verificar que estén en el mismo mundo
-            if (!location.getWorld().equals(cityCenter.getWorld())) {
-                return false;
-            }
-
-            // Calcular distancia 2D
-            double distance = Math.sqrt(
-                    Math.pow(location.getX() - cityCenter.getX(), 2) +
-                            Math.pow(location.getZ() - cityCenter.getZ(), 2));
-
-            return distance <= radius;
+            // Mismo mundo y distancia 2D al cuadrado
+            return cityCenter.isWithinRadius(location, radius);
 
         } catch (Exception e) {
             plugin.getLogger().severe("Error al verificar ubicación en área de ciudad: " + e.getMessage());
@@ -978,31 +981,6 @@ public class ResidenceIntegration2 {
         }
     }
 
-    /**
-     * Obtiene el centro de una residencia
-     */
-    private Location getResidenceCenter(ClaimedResidence residence) {
-        if (residence == null)
-            return null;
-
-        try {
-            // Obtener los límites de la residencia
-            Location min = residence.getAreaArray()[0].getLowLoc();
-            Location max = residence.getAreaArray()[0].getHighLoc();
-
-            // Calcular el centro
-            double centerX = (min.getX() + max.getX()) / 2;
-            double centerY = (min.getY() + max.getY()) / 2;
-            double centerZ = (min.getZ() + max.getZ()) / 2;
-
-            return new Location(min.getWorld(), centerX, centerY, centerZ);
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error al obtener centro de residencia: " + e.getMessage());
-            return null;
-        }
-    }
-
     /**
      * Limpia el cache de ciudades
      */
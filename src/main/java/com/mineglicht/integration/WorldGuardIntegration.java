@@ -1,5 +1,6 @@
 package com.mineglicht.integration;
 
+import com.mineglicht.models.CityKey;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.WorldGuard;
@@ -23,7 +24,7 @@ import java.util.logging.Logger;
  */
 public class WorldGuardIntegration {
 
-    private static final String CITY_REGION_PREFIX = "city_";
+    private static final String CITY_REGION_PREFIX = CityKey.REGION_PREFIX;
     private static final Logger logger = Logger.getLogger("CityWars");
     private final RegionContainer regionContainer;
 
@@ -49,7 +50,7 @@ public class WorldGuardIntegration {
             return false;
         }
 
-        String regionName = CITY_REGION_PREFIX + cityName.toLowerCase();
+        String regionName = CityKey.regionIdOf(cityName);
         World world = center.getWorld();
         RegionManager regionManager = regionContainer.get(BukkitAdapter.adapt(world));
 
@@ -108,7 +109,7 @@ public class WorldGuardIntegration {
      * @return true si la expansión fue exitosa
      */
     public boolean expandCityRegion(String cityName, String direction, int blocks) {
-        String regionName = CITY_REGION_PREFIX + cityName.toLowerCase();
+        String regionName = CityKey.regionIdOf(cityName);
         ProtectedRegion region = getCityRegion(cityName);
 
         if (region == null) {
@@ -167,7 +168,7 @@ public class WorldGuardIntegration {
      * @return true si se eliminó exitosamente
      */
     public boolean deleteCityRegion(String cityName) {
-        String regionName = CITY_REGION_PREFIX + cityName.toLowerCase();
+        String regionName = CityKey.regionIdOf(cityName);
 
         // Buscar en todos los mundos
         for (World world : Bukkit.getWorlds()) {
@@ -190,7 +191,7 @@ public class WorldGuardIntegration {
      * @return La región protegida o null si no existe
      */
     public ProtectedRegion getCityRegion(String cityName) {
-        String regionName = CITY_REGION_PREFIX + cityName.toLowerCase();
+        String regionName = CityKey.regionIdOf(cityName);
 
         // Buscar en todos los mundos
         for (World world : Bukkit.getWorlds()) {
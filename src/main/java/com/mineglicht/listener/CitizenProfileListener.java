@@ -0,0 +1,47 @@
+package com.mineglicht.listener;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.manager.CitizenManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.UUID;
+
+/**
+ * Listener que carga el perfil completo de un ciudadano al entrar y lo libera al salir
+ * La lectura de disco ocurre en el pre-login (hilo asíncrono), así que al entrar ya está en memoria.
+ * Al salir también se descartan sus notificaciones pendientes.
+ */
+public class CitizenProfileListener implements Listener {
+
+    private final cityWars plugin;
+    private final CitizenManager citizenManager;
+
+    public CitizenProfileListener(cityWars plugin) {
+        this.plugin = plugin;
+        this.citizenManager = plugin.getCitizenManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            citizenManager.preloadProfile(event.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        citizenManager.loadProfile(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        citizenManager.releaseProfile(playerId);
+        plugin.getNotificationBus().clear(playerId);
+    }
+}
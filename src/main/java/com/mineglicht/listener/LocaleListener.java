@@ -0,0 +1,31 @@
+package com.mineglicht.listener;
+
+import com.mineglicht.config.Messages;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Listener que resuelve el idioma de cada jugador una sola vez
+ * Al entrar (y si el cliente cambia de idioma) se asigna el bundle de mensajes del jugador.
+ */
+public class LocaleListener implements Listener {
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Messages.resolveLocale(event.getPlayer(), event.getPlayer().locale());
+    }
+
+    @EventHandler
+    public void onPlayerLocaleChange(PlayerLocaleChangeEvent event) {
+        Messages.resolveLocale(event.getPlayer(), event.locale());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Messages.forgetLocale(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,85 @@
+package com.mineglicht.listener;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.manager.RegionManager;
+import com.mineglicht.manager.SiegeHudManager;
+import com.mineglicht.util.Metrics;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+/**
+ * Listener que mantiene los espectadores del HUD de asedio
+ * Solo consulta regiones cuando hay un asedio con HUD y el jugador cambió de bloque,
+ * y solo la región de destino (el origen es el HUD que el jugador ya ve).
+ * Teletransportes, reapariciones y entradas al servidor se tratan como movimientos.
+ */
+public class SiegeHudListener implements Listener {
+
+    private static final Metrics.Timer MOVE_TIMER = Metrics.timer("citywars_listener_hud_move", "Tiempo de SiegeHudListener.onPlayerMove");
+
+    private final SiegeHudManager hudManager;
+    private final RegionManager regionManager;
+
+    public SiegeHudListener(cityWars plugin) {
+        this.hudManager = plugin.getSiegeHudManager();
+        this.regionManager = plugin.getRegionManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        handleMove(event.getPlayer(), event.getFrom(), event.getTo());
+    }
+
+    // PlayerTeleportEvent tiene su propia HandlerList: no llega a onPlayerMove
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        handleMove(event.getPlayer(), event.getFrom(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        handleMove(event.getPlayer(), event.getPlayer().getLocation(), event.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        if (hudManager.hasActiveHuds()) {
+            updateViewer(event.getPlayer(), event.getPlayer().getLocation());
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        hudManager.handleQuit(event.getPlayer());
+    }
+
+    private void handleMove(Player player, Location from, Location to) {
+        if (!hudManager.hasActiveHuds() || to == null) {
+            return;
+        }
+
+        if (from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ()
+                && from.getWorld() == to.getWorld()) {
+            return;
+        }
+
+        updateViewer(player, to);
+    }
+
+    private void updateViewer(Player player, Location location) {
+        long start = MOVE_TIMER.start();
+        try {
+            hudManager.handleMove(player, regionManager.getCityAtLocation(location));
+        } finally {
+            MOVE_TIMER.stop(start);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.config.MessageBundle;
+import com.mineglicht.config.MessageKey;
+import com.mineglicht.config.Messages;
+import com.mineglicht.models.City;
+import com.mineglicht.util.MessageTemplate;
+import com.mineglicht.util.MessageUtils;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Servicio de difusión de mensajes a ciudades y asedios
+ * Cada mensaje se convierte en un Component una sola vez por idioma y la misma
+ * instancia se envía a una audiencia que recorre los miembros online sin crear
+ * listas intermedias de jugadores. Debe usarse desde el hilo principal.
+ */
+public class BroadcastService {
+
+    private static final LegacyComponentSerializer SERIALIZER = LegacyComponentSerializer.legacySection();
+
+    // Tiempos de título por defecto (10, 40 y 10 ticks)
+    public static final Title.Times SHORT_TITLE = Title.Times.times(
+            Duration.ofMillis(500), Duration.ofMillis(2000), Duration.ofMillis(500));
+
+    private final cityWars plugin;
+
+    public BroadcastService(cityWars plugin) {
+        this.plugin = plugin;
+    }
+
+    // ==================== COMPONENTES ====================
+
+    /**
+     * Convierte un texto con códigos de color (& o §) en un Component
+     */
+    public static Component component(String text) {
+        return SERIALIZER.deserialize(MessageUtils.colorize(text));
+    }
+
+    /**
+     * Renderiza una plantilla con sus placeholders y la convierte en un Component
+     */
+    public static Component component(MessageTemplate template, String... replacements) {
+        return SERIALIZER.deserialize(template.render(replacements));
+    }
+
+    /**
+     * Mensaje configurable que se renderiza en el idioma de cada destinatario
+     */
+    public static Localized localized(MessageKey key, String... placeholders) {
+        return new Localized(key, placeholders);
+    }
+
+    // ==================== AUDIENCIAS ====================
+
+    /**
+     * Audiencia con los miembros online de una ciudad
+     */
+    public Audience city(City city) {
+        if (city == null) {
+            return Audience.empty();
+        }
+        return new OnlineAudience(city.getCitizenView(), Collections.emptySet(), null);
+    }
+
+    /**
+     * Audiencia con los miembros online de una ciudad, buscada por nombre
+     */
+    public Audience city(String cityName) {
+        return city(plugin.getCityManager().getCityByName(cityName));
+    }
+
+    /**
+     * Audiencia de un asedio: defensores de la ciudad atacada y atacantes
+     * Un atacante que también sea ciudadano de la ciudad solo recibe el mensaje una vez.
+     */
+    public Audience siege(City defender, Collection<UUID> attackers) {
+        Collection<UUID> defenders = defender != null ? defender.getCitizenView() : Collections.emptySet();
+        Collection<UUID> attackerIds = attackers != null ? attackers : Collections.emptySet();
+        return new OnlineAudience(defenders, attackerIds, defenders);
+    }
+
+    /**
+     * Audiencia con todo el servidor
+     */
+    public Audience server() {
+        return Bukkit.getServer();
+    }
+
+    // ==================== ENVÍO ====================
+
+    /**
+     * Envía un título y el mismo texto del subtítulo por chat
+     */
+    public void sendTitleAndMessage(Audience audience, Component title, Component message) {
+        audience.showTitle(Title.title(title, message, SHORT_TITLE));
+        audience.sendMessage(message);
+    }
+
+    /**
+     * Envía un mensaje configurable en el idioma de cada destinatario
+     */
+    public void sendMessage(Audience audience, MessageKey key, String... placeholders) {
+        Localized message = localized(key, placeholders);
+        audience.forEachAudience(member -> member.sendMessage(message.in(member)));
+    }
+
+    /**
+     * Muestra un título configurable en el idioma de cada destinatario
+     */
+    public void showTitle(Audience audience, MessageKey title, MessageKey subtitle, String... placeholders) {
+        Localized titleText = localized(title, placeholders);
+        Localized subtitleText = localized(subtitle, placeholders);
+        audience.forEachAudience(member -> member.showTitle(
+                Title.title(titleText.in(member), subtitleText.in(member), SHORT_TITLE)));
+    }
+
+    /**
+     * Título y el mismo texto del subtítulo por chat, en el idioma de cada destinatario
+     */
+    public void sendTitleAndMessage(Audience audience, MessageKey title, MessageKey message, String... placeholders) {
+        Localized titleText = localized(title);
+        Localized messageText = localized(message, placeholders);
+        audience.forEachAudience(member -> {
+            Component text = messageText.in(member);
+            member.showTitle(Title.title(titleText.in(member), text, SHORT_TITLE));
+            member.sendMessage(text);
+        });
+    }
+
+    /**
+     * Mensaje configurable con sus placeholders; guarda un Component por idioma ya usado
+     * No es thread-safe: cada envío crea el suyo.
+     */
+    public static final class Localized {
+        private final MessageKey key;
+        private final String[] placeholders;
+        private final Map<MessageBundle, Component> rendered = new IdentityHashMap<>(4);
+
+        private Localized(MessageKey key, String[] placeholders) {
+            this.key = key;
+            this.placeholders = placeholders;
+        }
+
+        /**
+         * Component para un destinatario (la consola usa el idioma por defecto)
+         */
+        public Component in(Audience audience) {
+            return in(audience instanceof Player player ? Messages.bundle(player.getUniqueId()) : Messages.getDefaultBundle());
+        }
+
+        public Component forPlayer(UUID playerId) {
+            return in(Messages.bundle(playerId));
+        }
+
+        private Component in(MessageBundle bundle) {
+            return rendered.computeIfAbsent(bundle, b -> component(b.get(key), placeholders));
+        }
+    }
+
+    /**
+     * Audiencia que recorre dos colecciones de UUIDs y entrega solo los jugadores online
+     */
+    private static final class OnlineAudience implements ForwardingAudience {
+        private final Collection<UUID> first;
+        private final Collection<UUID> second;
+        private final Collection<UUID> skipInSecond;
+
+        OnlineAudience(Collection<UUID> first, Collection<UUID> second, Collection<UUID> skipInSecond) {
+            this.first = first;
+            this.second = second;
+            this.skipInSecond = skipInSecond;
+        }
+
+        @Override
+        public @NotNull Iterable<? extends Audience> audiences() {
+            return () -> new Iterator<Player>() {
+                private final Iterator<UUID> firstIterator = first.iterator();
+                private final Iterator<UUID> secondIterator = second.iterator();
+                private Player next = advance();
+
+                private Player advance() {
+                    while (firstIterator.hasNext()) {
+                        Player player = Bukkit.getPlayer(firstIterator.next());
+                        if (player != null) {
+                            return player;
+                        }
+                    }
+                    while (secondIterator.hasNext()) {
+                        UUID id = secondIterator.next();
+                        if (skipInSecond != null && skipInSecond.contains(id)) {
+                            continue;
+                        }
+                        Player player = Bukkit.getPlayer(id);
+                        if (player != null) {
+                            return player;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Player next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    Player current = next;
+                    next = advance();
+                    return current;
+                }
+            };
+        }
+    }
+}
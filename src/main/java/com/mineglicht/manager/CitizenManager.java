@@ -1,10 +1,14 @@
 package com.mineglicht.manager;
 
 import com.mineglicht.cityWars;
+import com.mineglicht.config.MessageKey;
 import com.mineglicht.models.Citizen;
 import com.mineglicht.models.City;
 import com.mineglicht.models.SiegeState;
-import com.mineglicht.util.MessageUtils;
+import com.mineglicht.util.CityLog;
+import com.mineglicht.util.ConcurrentUuidMap;
+import com.mineglicht.util.UuidMap;
+import com.mineglicht.util.UuidSet;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -20,8 +24,12 @@ import java.util.logging.Level;
 public class CitizenManager {
 
     private final cityWars plugin;
-    private final Map<UUID, Citizen> citizens;
-    private final Map<UUID, Set<UUID>> cityToCitizens; // Asigna el Id de la cuidad a un conjunto de Id's de cuidadanos
+    // Índice residente jugador -> ciudad. Copy-on-write: solo el hilo principal escribe,
+    // cualquier hilo lee sin bloquear (ver StateWriter)
+    private final ConcurrentUuidMap<UUID> citizens;
+    // Perfiles completos, cargados bajo demanda y descargados tras un tiempo sin uso
+    private final CitizenProfileCache profiles;
+    private final ConcurrentUuidMap<UuidSet> cityToCitizens; // Asigna el Id de la cuidad a un conjunto inmutable de Id's de cuidadanos
     private final File citizensFile;
     private FileConfiguration citizensConfig;
     private final CityManager cityManager;
@@ -31,9 +39,12 @@ public class CitizenManager {
     public CitizenManager(cityWars plugin, CityManager cityManager) {
         this.plugin = plugin;
         this.cityManager = cityManager;
-        this.citizens = new HashMap<>();
-        this.cityToCitizens = new HashMap<>();
+        this.citizens = new ConcurrentUuidMap<>();
+        this.cityToCitizens = new ConcurrentUuidMap<>();
         this.citizensFile = new File(plugin.getDataFolder(), "citizens.yml");
+        this.profiles = new CitizenProfileCache(plugin, new File(plugin.getDataFolder(), "citizens"),
+                plugin.getConfig().getInt("citizens.profile-cache-size", 500),
+                plugin.getConfig().getLong("citizens.profile-idle-minutes", 15L) * 60_000L);
 
         loadCitizens();
     }
@@ -46,7 +57,7 @@ public class CitizenManager {
      * @return Retorna true si se agrega exitosamente
      */
     public boolean addCitizen(UUID playerId, City city) {
-        if (city == null || playerId == null) {
+        if (city == null || playerId == null || !onWriterThread("addCitizen")) {
             return false;
         }
 
@@ -56,14 +67,13 @@ public class CitizenManager {
         }
 
         // Crear nuevo ciudadano
-        Citizen citizen = new Citizen(playerId, city.getId());
-        citizens.put(playerId, citizen);
+        citizens.put(playerId, city.getId());
+        profiles.add(new Citizen(playerId, city.getId()));
 
         // Agregar a la lista de la ciudad a los ciudadanos
-        Set<UUID> cityCitizens = cityToCitizens.getOrDefault(city.getId(), new HashSet<>());
-        cityCitizens.add(playerId);
-        cityToCitizens.put(city.getId(), cityCitizens);
+        cityToCitizens.put(city.getId(), rosterOf(city.getId()).with(playerId));
 
+        markStateChanged();
         saveCitizens();
         return true;
     }
@@ -75,41 +85,61 @@ public class CitizenManager {
      * @return Retorna true si se elimino exitosamente
      */
     public boolean removeCitizen(UUID playerId) {
-        Citizen citizen = getCitizen(playerId);
-        if (citizen == null) {
+        UUID cityId = playerId != null ? citizens.get(playerId) : null;
+        if (cityId == null || !onWriterThread("removeCitizen")) {
             return false;
         }
-        return removeFromCity(citizen);
+        return removeFromCity(playerId, cityId);
     }
 
     /**
      * Metodo de ayuda para remover a ciudadano de su ciudad
      *
-     * @param citizen Ciudadano a remover
+     * @param playerId UUID del ciudadano a remover
+     * @param cityId UUID de su ciudad
      * @return Retorna true si se removio exitosamente
      */
-    private boolean removeFromCity(Citizen citizen) {
-        UUID cityId = citizen.getCityId();
-        UUID playerId = citizen.getCitizenId();
-
+    private boolean removeFromCity(UUID playerId, UUID cityId) {
         // Eliminar al ciudadano de la lista
         citizens.remove(playerId);
+        profiles.remove(playerId);
 
         // Eliminar de la lista city-to-citizens
-        Set<UUID> cityCitizens = cityToCitizens.get(cityId);
-        if (cityCitizens != null) {
-            cityCitizens.remove(playerId);
-            if (cityCitizens.isEmpty()) {
-                cityToCitizens.remove(cityId);
-            } else {
-                cityToCitizens.put(cityId, cityCitizens);
-            }
+        UuidSet cityCitizens = rosterOf(cityId).without(playerId);
+        if (cityCitizens.isEmpty()) {
+            cityToCitizens.remove(cityId);
+        } else {
+            cityToCitizens.put(cityId, cityCitizens);
         }
 
+        markStateChanged();
         saveCitizens();
         return true;
     }
 
+    /**
+     * Los cambios de roster solo se aplican en el hilo principal (ver StateWriter)
+     * Desde otros hilos hay que enviarlos con StateWriter#submit, como hace la API.
+     */
+    private boolean onWriterThread(String action) {
+        StateWriter writer = plugin.getStateWriter();
+        if (writer == null || writer.isWriterThread()) {
+            return true;
+        }
+        plugin.getLogger().warning("CitizenManager." + action + " llamado fuera del hilo principal; usa StateWriter#submit");
+        return false;
+    }
+
+    /**
+     * Avisa al StateWriter de que hay cambios que publicar
+     */
+    private void markStateChanged() {
+        StateWriter writer = plugin.getStateWriter();
+        if (writer != null) {
+            writer.markDirty();
+        }
+    }
+
     /**
      * Cambiar a jugador de ciudad
      *
@@ -118,9 +148,13 @@ public class CitizenManager {
      * @return retorna true si se cambio exitosamente
      */
     public boolean changeCitizenCity(UUID playerId, City newCity) {
+        if (!onWriterThread("changeCitizenCity")) {
+            return false;
+        }
+
         // Remover de su ciudad actual
         boolean removed = removeCitizen(playerId);
-        if (!removed && getCitizen(playerId) != null) {
+        if (!removed && isCitizen(playerId)) {
             return false;
         }
 
@@ -130,12 +164,18 @@ public class CitizenManager {
 
     /**
      * Obtener un ciudadano por su UUID
+     * Si el perfil no está en memoria se lee de disco; para saber solo la ciudad usar
+     * {@link #getPlayerCity(UUID)} o {@link #isCitizen(UUID)}, que no cargan el perfil.
      *
      * @param playerId UUID del jugador
      * @return Retorna el ciudadano o null si no se encuentra
      */
     public Citizen getCitizen(UUID playerId) {
-        return citizens.get(playerId);
+        UUID cityId = playerId != null ? citizens.get(playerId) : null;
+        if (cityId == null) {
+            return null;
+        }
+        return profiles.get(playerId, cityId);
     }
 
     /**
@@ -144,11 +184,11 @@ public class CitizenManager {
      * @return Retorna la ciudad a la que pertenece el jugador
      */
     public City getPlayerCity(UUID playerId) {
-        Citizen citizen = getCitizen(playerId);
-        if (citizen == null) {
+        UUID cityId = playerId != null ? citizens.get(playerId) : null;
+        if (cityId == null) {
             return null;
         }
-        return cityManager.getCity(citizen.getCityId());
+        return cityManager.getCity(cityId);
     }
 
     /**
@@ -168,7 +208,15 @@ public class CitizenManager {
      * @return Retorna una lista de los ciudadanos de la ciudad
      */
     public Set<UUID> getCitizensInCity(UUID cityId) {
-        return Collections.unmodifiableSet(cityToCitizens.getOrDefault(cityId, new HashSet<>()));
+        return rosterOf(cityId);
+    }
+
+    /**
+     * Conjunto inmutable de ciudadanos de una ciudad (vacío si no hay)
+     */
+    private UuidSet rosterOf(UUID cityId) {
+        UuidSet roster = cityId != null ? cityToCitizens.get(cityId) : null;
+        return roster != null ? roster : UuidSet.empty();
     }
 
     /**
@@ -210,15 +258,14 @@ public class CitizenManager {
      * Cargar los ciudadanos desde el archivo de configuracion
      */
     public void loadCitizens() {
-        citizens.clear();
-        cityToCitizens.clear();
-
         if (!citizensFile.exists()) {
             plugin.saveResource("citizens.yml", false);
         }
 
         citizensConfig = YamlConfiguration.loadConfiguration(citizensFile);
 
+        UuidMap<UUID> loaded = new UuidMap<>();
+        Map<UUID, List<UUID>> loadedRosters = new HashMap<>();
         for (String playerIdStr : citizensConfig.getKeys(false)) {
             try {
                 UUID playerId = UUID.fromString(playerIdStr);
@@ -230,20 +277,32 @@ public class CitizenManager {
                     continue;
                 }
 
-                // Create citizen
-                Citizen citizen = new Citizen(playerId, cityId);
-
-                citizens.put(playerId, citizen);
+                // Solo el índice: el perfil completo se carga al entrar el jugador o al pedirlo
+                loaded.put(playerId, cityId);
 
                 // Update city-to-citizens mapping
-                Set<UUID> cityCitizens = cityToCitizens.getOrDefault(cityId, new HashSet<>());
-                cityCitizens.add(playerId);
-                cityToCitizens.put(cityId, cityCitizens);
+                loadedRosters.computeIfAbsent(cityId, id -> new ArrayList<>()).add(playerId);
             } catch (Exception e) {
                 plugin.getLogger().log(Level.WARNING, "Failed to load citizen: " + playerIdStr, e);
             }
         }
 
+        // Publicar cada mapa de una vez
+        citizens.update(map -> {
+            map.clear();
+            loaded.forEach(map::put);
+        });
+        cityToCitizens.update(map -> {
+            map.clear();
+            loadedRosters.forEach((cityId, members) -> map.put(cityId, UuidSet.of(members)));
+        });
+
+        // Los perfiles en memoria pueden ser de antes de la recarga; los conectados se vuelven a fijar
+        profiles.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadProfile(player.getUniqueId());
+        }
+
         plugin.getLogger().info("Loaded " + citizens.size() + " citizens");
     }
 
@@ -253,19 +312,68 @@ public class CitizenManager {
     public void saveCitizens() {
         citizensConfig = new YamlConfiguration();
 
-        for (Map.Entry<UUID, Citizen> entry : citizens.entrySet()) {
-            UUID playerId = entry.getKey();
-            Citizen citizen = entry.getValue();
-            String playerIdStr = playerId.toString();
-
-            citizensConfig.set(playerIdStr + ".cityId", citizen.getCityId().toString());
-        }
+        FileConfiguration output = citizensConfig;
+        citizens.forEach((playerId, cityId) ->
+                output.set(playerId.toString() + ".cityId", cityId.toString()));
 
         try {
             citizensConfig.save(citizensFile);
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save citizens", e);
         }
+
+        profiles.saveAll();
+    }
+
+    // ==================== PERFILES ====================
+
+    /**
+     * Lee el perfil de disco y lo protege de la expulsión hasta la entrada (AsyncPlayerPreLoginEvent, fuera del hilo principal)
+     *
+     * @param playerId UUID del jugador
+     */
+    public void preloadProfile(UUID playerId) {
+        UUID cityId = citizens.get(playerId);
+        if (cityId != null) {
+            profiles.preload(playerId, cityId);
+        }
+    }
+
+    /**
+     * Carga el perfil de un jugador que entra y lo mantiene en memoria mientras esté conectado
+     *
+     * @param playerId UUID del jugador
+     */
+    public void loadProfile(UUID playerId) {
+        UUID cityId = citizens.get(playerId);
+        if (cityId != null) {
+            profiles.pin(playerId, cityId);
+        }
+    }
+
+    /**
+     * El jugador salió: su perfil queda en caché hasta que pase el tiempo de inactividad
+     *
+     * @param playerId UUID del jugador
+     */
+    public void releaseProfile(UUID playerId) {
+        profiles.unpin(playerId);
+    }
+
+    /**
+     * Guarda y descarga los perfiles de jugadores desconectados que llevan tiempo sin usarse
+     *
+     * @return Número de perfiles descargados
+     */
+    public int evictIdleProfiles() {
+        return profiles.evictIdle(System.currentTimeMillis());
+    }
+
+    /**
+     * Número de perfiles completos en memoria
+     */
+    public int getLoadedProfileCount() {
+        return profiles.size();
     }
 
     /**
@@ -274,8 +382,11 @@ public class CitizenManager {
      * @param cityId UUID de la ciudad
      */
     public void incrementCityOnlineCount(UUID cityId) {
-        Set<UUID> onlineCitizens = getOnlineCitizensInCity(cityId);
-        plugin.getLogger().info("Ciudad: " + cityId + ", ahora tiene " + onlineCitizens.size() + " cuidadanos conectados");
+        if (!CityLog.isEnabled(CityLog.Category.CITIZEN, Level.FINE)) {
+            return;
+        }
+        int online = getOnlineCitizensInCity(cityId).size();
+        CityLog.fine(CityLog.Category.CITIZEN, () -> "Ciudad: " + cityId + ", ahora tiene " + online + " cuidadanos conectados");
     }
 
     /**
@@ -284,8 +395,11 @@ public class CitizenManager {
      * @param cityId UUID de la ciudad
      */
     public void decrementCityOnlineCount(UUID cityId) {
-        Set<UUID> onlineCitizens = getOnlineCitizensInCity(cityId);
-        plugin.getLogger().info("Cuidad: " + cityId + " ahora tiene " + onlineCitizens.size() + " cuidadanos conectados");
+        if (!CityLog.isEnabled(CityLog.Category.CITIZEN, Level.FINE)) {
+            return;
+        }
+        int online = getOnlineCitizensInCity(cityId).size();
+        CityLog.fine(CityLog.Category.CITIZEN, () -> "Cuidad: " + cityId + " ahora tiene " + online + " cuidadanos conectados");
     }
 
     /**
@@ -349,7 +463,8 @@ public class CitizenManager {
                     onlinePlayer.kickPlayer("§cTu tiempo de permanencia durante el asedio ha terminado.");
                 }
 
-                plugin.getLogger().info("Jugador " + player.getName() + " ha sido removido del asedio después de 2 minutos.");
+                String playerName = player.getName();
+                CityLog.info(CityLog.Category.SIEGE, () -> "Jugador " + playerName + " ha sido removido del asedio después de 2 minutos.");
             }
         };
 
@@ -358,14 +473,12 @@ public class CitizenManager {
         disconnectingPlayers.put(playerId, disconnectTask);
 
         // Notificar a los miembros de la ciudad
-        Citizen citizen = getCitizen(playerId);
-        if (citizen != null) {
-            City city = cityManager.getCity(citizen.getCityId());
-            if (city != null) {
-                MessageUtils.sendToCityMembers(this, city.getId(),
-                        MessageUtils.formatMessage("siege.member-disconnect",
-                                "%player%", player.getName()));
-            }
+        City city = getPlayerCity(playerId);
+        if (city != null) {
+            // Se fusiona por jugador: varias desconexiones seguidas generan un solo aviso
+            plugin.getNotificationBus().postToCity(city, NotificationBus.Priority.SIEGE,
+                    "disconnect:" + playerId,
+                    MessageKey.SIEGE_MEMBER_DISCONNECT, "player", player.getName());
         }
     }
 
@@ -409,8 +522,8 @@ public class CitizenManager {
      * @param playerId UUID del jugador cuyos datos se van a guardar
      */
     public void saveCitizens(UUID playerId) {
-        Citizen citizen = getCitizen(playerId);
-        if (citizen == null) {
+        UUID cityId = citizens.get(playerId);
+        if (cityId == null) {
             return;
         }
 
@@ -420,11 +533,12 @@ public class CitizenManager {
         }
 
         String playerIdStr = playerId.toString();
-        citizensConfig.set(playerIdStr + ".cityId", citizen.getCityId().toString());
+        citizensConfig.set(playerIdStr + ".cityId", cityId.toString());
+        profiles.save(playerId);
 
         try {
             citizensConfig.save(citizensFile);
-            plugin.getLogger().info("Datos del ciudadano " + playerId + " guardados correctamente.");
+            CityLog.fine(CityLog.Category.CITIZEN, () -> "Datos del ciudadano " + playerId + " guardados correctamente.");
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Error al guardar datos del ciudadano: " + playerId, e);
         }
@@ -0,0 +1,451 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.models.Citizen;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Perfiles completos de ciudadanos (deuda, fechas) cargados bajo demanda
+ * Cada perfil vive en citizens/<uuid>.yml; en memoria solo quedan los de jugadores
+ * conectados (fijados) y, como mucho, un número acotado de perfiles sin uso en orden LRU.
+ * Los perfiles sin uso durante el tiempo configurado se guardan (si cambiaron) y se descargan.
+ * Thread-safe: la tarea de impuestos lo consulta desde su hilo asíncrono. Bajo el monitor
+ * de la caché solo se decide qué cargar, guardar o descargar; los archivos se leen y
+ * escriben fuera de él.
+ */
+public class CitizenProfileCache {
+
+    private static final long PRELOAD_GRACE_MILLIS = 60_000L; // Del pre-login a la entrada al servidor
+
+    private final cityWars plugin;
+    private final File profilesFolder;
+    private final int maxIdleProfiles;
+    private final long idleMillis;
+
+    // Orden de acceso: el primero es el perfil usado hace más tiempo
+    private final LinkedHashMap<UUID, Entry> profiles = new LinkedHashMap<>(64, 0.75f, true);
+    // Perfiles ya descargados con escritura pendiente: se recuperan de aquí, no de disco
+    private final Map<UUID, Entry> unloading = new HashMap<>();
+    // Ordena las escrituras y borrados de archivos; se toma siempre antes que el monitor de la caché
+    private final Object ioLock = new Object();
+    private int pinnedCount;
+    private long generation; // Cambia cada vez que un perfil sale de memoria
+
+    public CitizenProfileCache(cityWars plugin, File profilesFolder, int maxIdleProfiles, long idleMillis) {
+        this.plugin = plugin;
+        this.profilesFolder = profilesFolder;
+        this.maxIdleProfiles = Math.max(1, maxIdleProfiles);
+        this.idleMillis = Math.max(0L, idleMillis);
+    }
+
+    /**
+     * Perfil en memoria de un ciudadano
+     */
+    private static final class Entry {
+        final Citizen citizen;
+        Fingerprint stored; // Estado tal como está en disco (null: nunca guardado)
+        long lastAccess;
+        long graceUntil; // Precargado: no se descarga antes de este instante
+        boolean pinned;
+        boolean discarded; // Borrado o reemplazado: sus escrituras pendientes se ignoran
+
+        Entry(Citizen citizen, Fingerprint stored, long lastAccess) {
+            this.citizen = citizen;
+            this.stored = stored;
+            this.lastAccess = lastAccess;
+        }
+
+        boolean isDirty() {
+            return !Fingerprint.of(citizen).equals(stored);
+        }
+
+        boolean isEvictable(long now) {
+            return !pinned && now >= graceUntil;
+        }
+    }
+
+    /**
+     * Campos persistidos, para saber si un perfil cambió sin escribirlo
+     */
+    private record Fingerprint(UUID cityId, double taxDebt, LocalDateTime joinDate,
+                               LocalDateTime lastTaxPayment, boolean owner) {
+        static Fingerprint of(Citizen citizen) {
+            return new Fingerprint(citizen.getCityId(), citizen.getTaxDebt(), citizen.getJoinDate(),
+                    citizen.getLastTaxPayment(), citizen.isOwner());
+        }
+    }
+
+    /**
+     * Qué se hace con el perfil al obtenerlo, dentro del mismo bloque que lo devuelve
+     */
+    private enum Hold {
+        NONE, PRELOAD, PIN
+    }
+
+    // ==================== ACCESO ====================
+
+    /**
+     * Perfil del ciudadano: de memoria, de disco o uno nuevo si no hay archivo
+     *
+     * @param playerId UUID del jugador
+     * @param cityId Ciudad según el índice residente (manda sobre lo guardado en el perfil)
+     */
+    public Citizen get(UUID playerId, UUID cityId) {
+        return acquire(playerId, cityId, Hold.NONE).citizen;
+    }
+
+    /**
+     * Registra el perfil de un ciudadano nuevo y lo guarda
+     */
+    public void add(Citizen citizen) {
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(citizen, null, now);
+        List<Entry> pending = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = profiles.put(citizen.getCitizenId(), entry);
+            Entry unloaded = unloading.remove(citizen.getCitizenId());
+            if (unloaded != null) {
+                unloaded.discarded = true;
+            }
+            if (previous != null) {
+                previous.discarded = true;
+                entry.pinned = previous.pinned;
+                entry.graceUntil = previous.graceUntil;
+            }
+            if (!entry.pinned) {
+                trim(now, pending);
+            }
+        }
+        writeAll(pending);
+        write(entry);
+    }
+
+    /**
+     * Olvida el perfil y borra su archivo (el jugador dejó de ser ciudadano)
+     */
+    public void remove(UUID playerId) {
+        synchronized (this) {
+            Entry entry = profiles.remove(playerId);
+            if (entry != null) {
+                entry.discarded = true;
+                if (entry.pinned) {
+                    pinnedCount--;
+                }
+            }
+            Entry unloaded = unloading.remove(playerId);
+            if (unloaded != null) {
+                unloaded.discarded = true;
+            }
+            generation++;
+        }
+        synchronized (ioLock) {
+            try {
+                Files.deleteIfExists(profileFile(playerId).toPath());
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Error al borrar el perfil del ciudadano " + playerId, e);
+            }
+        }
+    }
+
+    /**
+     * true si el perfil está en memoria
+     */
+    public synchronized boolean isLoaded(UUID playerId) {
+        return profiles.containsKey(playerId);
+    }
+
+    /**
+     * Entrada en memoria del perfil, leyendo el archivo fuera del monitor si hace falta
+     * Si un perfil sale de memoria durante la lectura, esta se repite (pudo leer un archivo viejo).
+     */
+    private Entry acquire(UUID playerId, UUID cityId, Hold hold) {
+        while (true) {
+            long seen;
+            synchronized (this) {
+                Entry entry = lookup(playerId);
+                if (entry != null) {
+                    return retain(entry, hold, System.currentTimeMillis());
+                }
+                seen = generation;
+            }
+
+            Entry loaded = load(playerId, cityId, System.currentTimeMillis());
+
+            List<Entry> pending = new ArrayList<>();
+            synchronized (this) {
+                Entry entry = lookup(playerId);
+                if (entry != null) {
+                    return retain(entry, hold, System.currentTimeMillis()); // Otro hilo lo cargó antes
+                }
+                if (seen != generation) {
+                    continue;
+                }
+                profiles.put(playerId, loaded);
+                retain(loaded, hold, loaded.lastAccess);
+                trim(loaded.lastAccess, pending);
+            }
+            writeAll(pending);
+            return loaded;
+        }
+    }
+
+    /**
+     * Perfil en memoria o con escritura pendiente (que vuelve a la caché)
+     */
+    private Entry lookup(UUID playerId) {
+        Entry entry = profiles.get(playerId);
+        if (entry == null) {
+            entry = unloading.remove(playerId);
+            if (entry != null) {
+                profiles.put(playerId, entry);
+            }
+        }
+        return entry;
+    }
+
+    private Entry retain(Entry entry, Hold hold, long now) {
+        entry.lastAccess = now;
+        if (hold == Hold.PRELOAD) {
+            entry.graceUntil = Math.max(entry.graceUntil, now + PRELOAD_GRACE_MILLIS);
+        } else if (hold == Hold.PIN && !entry.pinned) {
+            entry.pinned = true;
+            pinnedCount++;
+        }
+        return entry;
+    }
+
+    // ==================== JUGADORES CONECTADOS ====================
+
+    /**
+     * Carga el perfil antes de la entrada y lo protege de la expulsión durante un margen
+     * Si la entrada no llega a producirse, el perfil vuelve a ser uno más al acabar el margen.
+     */
+    public void preload(UUID playerId, UUID cityId) {
+        acquire(playerId, cityId, Hold.PRELOAD);
+    }
+
+    /**
+     * Carga el perfil y lo mantiene en memoria mientras el jugador esté conectado
+     */
+    public void pin(UUID playerId, UUID cityId) {
+        acquire(playerId, cityId, Hold.PIN);
+    }
+
+    /**
+     * El jugador se desconectó: el perfil empieza a contar como inactivo desde ahora
+     */
+    public void unpin(UUID playerId) {
+        List<Entry> pending = new ArrayList<>();
+        synchronized (this) {
+            Entry entry = profiles.get(playerId);
+            if (entry != null && entry.pinned) {
+                entry.pinned = false;
+                entry.lastAccess = System.currentTimeMillis();
+                entry.graceUntil = 0L;
+                pinnedCount--;
+                trim(entry.lastAccess, pending);
+            }
+        }
+        writeAll(pending);
+    }
+
+    // ==================== EXPULSIÓN ====================
+
+    /**
+     * Guarda y descarga los perfiles no fijados que llevan más del tiempo configurado sin uso
+     *
+     * @return Número de perfiles descargados
+     */
+    public int evictIdle(long now) {
+        List<Entry> pending = new ArrayList<>();
+        int evicted = 0;
+        synchronized (this) {
+            Iterator<Entry> iterator = profiles.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.isEvictable(now) && now - entry.lastAccess >= idleMillis) {
+                    iterator.remove();
+                    unload(entry, pending);
+                    evicted++;
+                }
+            }
+        }
+        writeAll(pending);
+        return evicted;
+    }
+
+    /**
+     * Si hay más perfiles sin fijar que el máximo, descarga los usados hace más tiempo
+     */
+    private void trim(long now, List<Entry> pending) {
+        int excess = profiles.size() - pinnedCount - maxIdleProfiles;
+        Iterator<Entry> iterator = profiles.values().iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.isEvictable(now)) {
+                iterator.remove();
+                unload(entry, pending);
+                excess--;
+            }
+        }
+    }
+
+    /**
+     * El perfil ya salió del mapa: si cambió, queda pendiente de escritura
+     */
+    private void unload(Entry entry, List<Entry> pending) {
+        generation++;
+        if (entry.isDirty()) {
+            unloading.put(entry.citizen.getCitizenId(), entry);
+            pending.add(entry);
+        }
+    }
+
+    // ==================== PERSISTENCIA ====================
+
+    /**
+     * Guarda el perfil de un ciudadano si está en memoria y cambió
+     */
+    public void save(UUID playerId) {
+        Entry entry;
+        synchronized (this) {
+            entry = profiles.get(playerId);
+            if (entry == null || !entry.isDirty()) {
+                return;
+            }
+        }
+        write(entry);
+    }
+
+    /**
+     * Guarda todos los perfiles en memoria que cambiaron
+     */
+    public void saveAll() {
+        List<Entry> pending = new ArrayList<>();
+        synchronized (this) {
+            profiles.values().stream().filter(Entry::isDirty).forEach(pending::add);
+            pending.addAll(unloading.values());
+        }
+        writeAll(pending);
+    }
+
+    /**
+     * Guarda lo pendiente y vacía la caché (recarga de datos)
+     */
+    public void clear() {
+        List<Entry> pending = new ArrayList<>();
+        synchronized (this) {
+            profiles.values().forEach(entry -> unload(entry, pending));
+            profiles.clear();
+            pinnedCount = 0;
+        }
+        writeAll(pending);
+    }
+
+    public synchronized int size() {
+        return profiles.size();
+    }
+
+    public synchronized int getPinnedCount() {
+        return pinnedCount;
+    }
+
+    private Entry load(UUID playerId, UUID cityId, long now) {
+        Citizen citizen = new Citizen(playerId, cityId);
+        File file = profileFile(playerId);
+        if (!file.exists()) {
+            return new Entry(citizen, null, now);
+        }
+
+        YamlConfiguration data = new YamlConfiguration();
+        try {
+            data.load(file);
+            citizen.setTaxDebt(data.getDouble("tax-debt", 0.0));
+            citizen.setOwner(data.getBoolean("owner", false));
+            String joinDate = data.getString("join-date");
+            if (joinDate != null) {
+                citizen.setJoinDate(LocalDateTime.parse(joinDate));
+            }
+            String lastTaxPayment = data.getString("last-tax-payment");
+            if (lastTaxPayment != null) {
+                citizen.setLastTaxPayment(LocalDateTime.parse(lastTaxPayment));
+            }
+        } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Error al cargar el perfil del ciudadano " + playerId, e);
+            return new Entry(citizen, null, now);
+        }
+
+        // Si el perfil apuntaba a otra ciudad, se marcará como modificado y se reescribirá
+        Fingerprint stored = Objects.equals(data.getString("city-id"), String.valueOf(cityId))
+                ? Fingerprint.of(citizen) : null;
+        return new Entry(citizen, stored, now);
+    }
+
+    private void writeAll(List<Entry> entries) {
+        entries.forEach(this::write);
+    }
+
+    /**
+     * Escribe el estado actual del perfil; el contenido se toma bajo el monitor y
+     * el archivo se escribe fuera de él, en el orden de ioLock
+     */
+    private void write(Entry entry) {
+        synchronized (ioLock) {
+            UUID playerId = entry.citizen.getCitizenId();
+            Fingerprint snapshot;
+            synchronized (this) {
+                if (entry.discarded) {
+                    return;
+                }
+                snapshot = Fingerprint.of(entry.citizen);
+            }
+
+            YamlConfiguration data = new YamlConfiguration();
+            data.set("city-id", snapshot.cityId().toString());
+            data.set("tax-debt", snapshot.taxDebt());
+            data.set("join-date", snapshot.joinDate().toString());
+            if (snapshot.lastTaxPayment() != null) {
+                data.set("last-tax-payment", snapshot.lastTaxPayment().toString());
+            }
+            data.set("owner", snapshot.owner());
+
+            try {
+                Path target = profileFile(playerId).toPath();
+                Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+                Files.createDirectories(target.getParent());
+                Files.writeString(temp, data.saveToString(), StandardCharsets.UTF_8);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Error al guardar el perfil del ciudadano " + playerId, e);
+                return; // Si estaba descargándose, sigue en unloading y se reintenta en el próximo guardado
+            }
+
+            synchronized (this) {
+                entry.stored = snapshot;
+                unloading.remove(playerId, entry);
+            }
+        }
+    }
+
+    private File profileFile(UUID playerId) {
+        return new File(profilesFolder, playerId + ".yml");
+    }
+}
@@ -0,0 +1,128 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.models.City;
+import com.mineglicht.models.CityChangeListener;
+import com.mineglicht.models.CityKey;
+import com.mineglicht.util.RankedIndex;
+
+import java.util.List;
+
+/**
+ * Rankings de ciudades por riqueza y población
+ * Se mantienen al día con cada cambio de fondos o de ciudadanos, de modo que
+ * los marcadores y placeholders pueden consultarlos cada segundo sin ordenar.
+ * Las claves son los nombres de ciudad en minúsculas, igual que en CityManager.
+ */
+public class CityLeaderboard implements CityChangeListener {
+
+    private final RankedIndex<String> wealthIndex = new RankedIndex<>();
+    private final RankedIndex<String> populationIndex = new RankedIndex<>();
+    private final Runnable onChange; // Avisa de cualquier cambio (publicación de instantáneas)
+
+    public CityLeaderboard(Runnable onChange) {
+        this.onChange = onChange;
+    }
+
+    // ==================== REGISTRO DE CIUDADES ====================
+
+    /**
+     * Empieza a seguir una ciudad y la indexa con sus valores actuales
+     */
+    public void track(City city) {
+        city.setChangeListener(this);
+        onFundsChanged(city);
+        onCitizensChanged(city);
+    }
+
+    /**
+     * Deja de seguir una ciudad
+     */
+    public void untrack(City city) {
+        city.setChangeListener(null);
+        String key = key(city);
+        wealthIndex.remove(key);
+        populationIndex.remove(key);
+    }
+
+    /**
+     * Vacía ambos rankings
+     */
+    public void clear() {
+        wealthIndex.clear();
+        populationIndex.clear();
+    }
+
+    @Override
+    public void onFundsChanged(City city) {
+        wealthIndex.update(key(city), city.getFunds());
+        onChange.run();
+    }
+
+    @Override
+    public void onCitizensChanged(City city) {
+        populationIndex.update(key(city), city.getCitizenCount());
+        onChange.run();
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Obtiene las ciudades más ricas, de mayor a menor
+     */
+    public List<String> getRichest(int limit) {
+        return wealthIndex.top(limit);
+    }
+
+    /**
+     * Obtiene las ciudades más pobres, de menor a mayor
+     */
+    public List<String> getPoorest(int limit) {
+        return wealthIndex.bottom(limit);
+    }
+
+    /**
+     * Obtiene las ciudades más pobladas, de mayor a menor
+     */
+    public List<String> getMostPopulated(int limit) {
+        return populationIndex.top(limit);
+    }
+
+    /**
+     * Obtiene la posición de una ciudad en el ranking de riqueza (1 = más rica)
+     */
+    public int getWealthRank(String cityName) {
+        return wealthIndex.rank(CityKey.normalize(cityName));
+    }
+
+    /**
+     * Obtiene la posición de una ciudad en el ranking de población (1 = más poblada)
+     */
+    public int getPopulationRank(String cityName) {
+        return populationIndex.rank(CityKey.normalize(cityName));
+    }
+
+    /**
+     * Obtiene la suma de los fondos de todas las ciudades
+     */
+    public double getTotalWealth() {
+        return wealthIndex.sum();
+    }
+
+    /**
+     * Obtiene la media de fondos por ciudad
+     */
+    public double getAverageWealth() {
+        return wealthIndex.average();
+    }
+
+    /**
+     * Obtiene el total de ciudadanos de todas las ciudades
+     */
+    public int getTotalPopulation() {
+        return (int) populationIndex.sum();
+    }
+
+    private String key(City city) {
+        return city.getKey().normalized();
+    }
+}
@@ -1,8 +1,19 @@
 package com.mineglicht.manager;
 
+import com.mineglicht.cityWars;
+import com.mineglicht.config.PriceTable;
+import com.mineglicht.manager.RegionManager.Direction;
+import com.mineglicht.models.BlockCoord;
 import com.mineglicht.models.City;
+import com.mineglicht.util.CityLog;
+import com.mineglicht.util.ConcurrentUuidMap;
+import com.mineglicht.util.FlightEvents;
+import com.mineglicht.util.Metrics;
+import com.mineglicht.util.TaxCalculator;
+import com.mineglicht.util.UuidMap;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.domains.DefaultDomain;
 import com.sk89q.worldguard.protection.managers.RegionManager;
 import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
@@ -19,25 +30,39 @@ import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 public class CityManager {
+
+    // Métricas
+    private static final Metrics.Timer SAVE_TIMER = Metrics.timer("citywars_save_cities", "Tiempo de saveCities");
+    private static final Metrics.Timer TAX_TIMER = Metrics.timer("citywars_tax_collection_scheduled", "Tiempo del cobro diario programado de CityManager (todas las ciudades)");
     
     private final JavaPlugin plugin;
-    private final Map<String, City> cities;
-    private final Map<UUID, String> playerCities;
+    private final Map<String, City> cities; // Sin distinguir mayúsculas: las búsquedas no crean cadenas
+    private volatile City[] citiesById = new City[16]; // Índice por CityKey.id(), copy-on-write
+    private int nextCityId;
+    private final ConcurrentUuidMap<City> playerCities;
+    private final CityLeaderboard leaderboard;
+    private final TreasuryManager treasuryManager;
     private final File citiesFile;
     private FileConfiguration citiesConfig;
+    private final AtomicLong saveSequence = new AtomicLong();
+    private final Object citiesFileLock = new Object();
+    private long writtenSequence;
     
     // Configuración
     private int initialCitySize;
-    private double expansionCost;
-    private String expansionCurrency;
     private int maxPlayersPerCity;
     private LocalTime taxCollectionTime;
     private double defaultTaxRate;
@@ -46,8 +71,10 @@ public class CityManager {
     
     public CityManager(JavaPlugin plugin) {
         this.plugin = plugin;
-        this.cities = new ConcurrentHashMap<>();
-        this.playerCities = new ConcurrentHashMap<>();
+        this.cities = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.playerCities = new ConcurrentUuidMap<>();
+        this.leaderboard = new CityLeaderboard(this::markStateChanged);
+        this.treasuryManager = new TreasuryManager(plugin);
         this.citiesFile = new File(plugin.getDataFolder(), "cities.yml");
         
         loadConfiguration();
@@ -63,8 +90,6 @@ public class CityManager {
         
         // Configuración de ciudades
         this.initialCitySize = config.getInt("cities.initial-size", 50);
-        this.expansionCost = config.getDouble("cities.expansion-cost", 1000.0);
-        this.expansionCurrency = config.getString("cities.expansion-currency", "gems");
         this.maxPlayersPerCity = config.getInt("cities.max-players", 20);
         this.defaultTaxRate = config.getDouble("cities.default-tax-rate", 0.05);
         this.maxCityLevel = config.getInt("cities.max-level", 10);
@@ -76,7 +101,6 @@ public class CityManager {
         
         plugin.getLogger().info("Configuración de ciudades cargada:");
         plugin.getLogger().info("- Tamaño inicial: " + initialCitySize);
-        plugin.getLogger().info("- Costo de expansión: " + expansionCost + " " + expansionCurrency);
         plugin.getLogger().info("- Máximo jugadores: " + maxPlayersPerCity);
         plugin.getLogger().info("- Hora de impuestos: " + taxCollectionTime);
     }
@@ -85,7 +109,7 @@ public class CityManager {
      * Crea una nueva ciudad
      */
     public boolean createCity(String name, Player owner, Location location) {
-        if (cities.containsKey(name.toLowerCase())) {
+        if (cities.containsKey(name)) {
             return false; // Ciudad ya existe
         }
         
@@ -103,16 +127,21 @@ public class CityManager {
         city.setTaxRate(defaultTaxRate);
         
         // Agregar al mapa
-        cities.put(name.toLowerCase(), city);
-        playerCities.put(owner.getUniqueId(), name.toLowerCase());
+        register(city);
+        playerCities.put(owner.getUniqueId(), city);
+        city.setTreasuryAccrual(treasuryManager);
+        leaderboard.track(city);
         
         // Crear región de WorldGuard
         createWorldGuardRegion(city);
         
         // Guardar datos
+        markStateChanged();
         saveCities();
         
-        plugin.getLogger().info("Ciudad '" + name + "' creada por " + owner.getName() + " en " + locationToString(location));
+        String ownerName = owner.getName();
+        String where = locationToString(location);
+        CityLog.info(CityLog.Category.CITY, () -> "Ciudad '" + name + "' creada por " + ownerName + " en " + where);
         return true;
     }
     
@@ -121,13 +150,11 @@ public class CityManager {
      */
     private boolean isValidCityLocation(Location location) {
         int minDistance = plugin.getConfig().getInt("cities.min-distance-between-cities", 200);
+        BlockCoord target = BlockCoord.of(location);
         
         for (City city : cities.values()) {
-            if (city.getCenterLocation().getWorld().equals(location.getWorld())) {
-                double distance = city.getCenterLocation().distance(location);
-                if (distance < minDistance) {
-                    return false;
-                }
+            if (city.getCenter().isCloserThan(target, minDistance)) {
+                return false;
             }
         }
         return true;
@@ -138,8 +165,8 @@ public class CityManager {
      */
     private void createWorldGuardRegion(City city) {
         try {
-            Location center = city.getCenterLocation();
-            World world = center.getWorld();
+            BlockCoord center = city.getCenter();
+            World world = center.world();
             
             if (world == null) return;
             
@@ -153,20 +180,20 @@ public class CityManager {
             int halfSize = size / 2;
             
             BlockVector3 min = BlockVector3.at(
-                    center.getBlockX() - halfSize,
+                    center.x() - halfSize,
                     0,
-                    center.getBlockZ() - halfSize
+                    center.z() - halfSize
             );
             
             BlockVector3 max = BlockVector3.at(
-                    center.getBlockX() + halfSize,
+                    center.x() + halfSize,
                     world.getMaxHeight(),
-                    center.getBlockZ() + halfSize
+                    center.z() + halfSize
             );
             
             // Crear región
             ProtectedCuboidRegion region = new ProtectedCuboidRegion(
-                    "city_" + city.getName().toLowerCase(),
+                    city.getKey().regionId(),
                     min,
                     max
             );
@@ -191,12 +218,54 @@ public class CityManager {
         int expansionSize = plugin.getConfig().getInt("cities.expansion-size-per-level", 25);
         return initialCitySize + (city.getExpansionCount() * expansionSize);
     }
+
+    /**
+     * Asigna un id numérico a la ciudad y la indexa por nombre e id
+     */
+    private synchronized void register(City city) {
+        int id = nextCityId++;
+        city.assignId(id);
+        City[] byId = citiesById;
+        if (id >= byId.length) {
+            byId = Arrays.copyOf(byId, Math.max(id + 1, byId.length * 2));
+        } else {
+            byId = byId.clone();
+        }
+        byId[id] = city;
+        citiesById = byId;
+        cities.put(city.getKey().normalized(), city);
+    }
+    
+    /**
+     * Quita la ciudad de ambos índices (el id no se reutiliza)
+     */
+    private synchronized void unregister(City city) {
+        cities.remove(city.getKey().normalized());
+        int id = city.getKey().id();
+        City[] byId = citiesById;
+        if (id >= 0 && id < byId.length && byId[id] == city) {
+            byId = byId.clone();
+            byId[id] = null;
+            citiesById = byId;
+        }
+    }
+    
+    /**
+     * Avisa al StateWriter de que hay cambios que publicar (cualquier hilo)
+     */
+    private void markStateChanged() {
+        cityWars instance = cityWars.getInstance();
+        StateWriter writer = instance != null ? instance.getStateWriter() : null;
+        if (writer != null) {
+            writer.markDirty();
+        }
+    }
     
     /**
      * Permite a un jugador unirse a una ciudad
      */
     public boolean joinCity(Player player, String cityName) {
-        City city = cities.get(cityName.toLowerCase());
+        City city = cities.get(cityName);
         if (city == null) {
             return false; // Ciudad no existe
         }
@@ -205,20 +274,21 @@ public class CityManager {
             return false; // El jugador ya está en una ciudad
         }
         
-        if (city.getCitizens().size() >= city.getMaxCitizens()) {
+        if (city.getCitizenCount() >= city.getMaxCitizens()) {
             return false; // Ciudad llena
         }
         
         // Agregar ciudadano
         city.addCitizen(player.getUniqueId());
-        playerCities.put(player.getUniqueId(), cityName.toLowerCase());
+        playerCities.put(player.getUniqueId(), city);
         
         // Actualizar región de WorldGuard
         updateWorldGuardRegion(city);
         
         saveCities();
         
-        plugin.getLogger().info("Jugador " + player.getName() + " se unió a la ciudad " + cityName);
+        String playerName = player.getName();
+        CityLog.info(CityLog.Category.CITIZEN, () -> "Jugador " + playerName + " se unió a la ciudad " + cityName);
         return true;
     }
     
@@ -226,15 +296,11 @@ public class CityManager {
      * Permite a un jugador abandonar su ciudad
      */
     public boolean leaveCity(Player player) {
-        String cityName = playerCities.get(player.getUniqueId());
-        if (cityName == null) {
-            return false; // El jugador no está en una ciudad
-        }
-        
-        City city = cities.get(cityName);
+        City city = playerCities.get(player.getUniqueId());
         if (city == null) {
-            return false; // Error de consistencia
+            return false; // El jugador no está en una ciudad
         }
+        String cityName = city.getName();
         
         // Si es el dueño, no puede abandonar (debe transferir o eliminar)
         if (city.getOwner().equals(player.getUniqueId())) {
@@ -250,7 +316,8 @@ public class CityManager {
         
         saveCities();
         
-        plugin.getLogger().info("Jugador " + player.getName() + " abandonó la ciudad " + cityName);
+        String playerName = player.getName();
+        CityLog.info(CityLog.Category.CITIZEN, () -> "Jugador " + playerName + " abandonó la ciudad " + cityName);
         return true;
     }
     
@@ -259,8 +326,8 @@ public class CityManager {
      */
     private void updateWorldGuardRegion(City city) {
         try {
-            Location center = city.getCenterLocation();
-            World world = center.getWorld();
+            BlockCoord center = city.getCenter();
+            World world = center.world();
             
             if (world == null) return;
             
@@ -269,16 +336,15 @@ public class CityManager {
             
             if (regionManager == null) return;
             
-            ProtectedRegion region = regionManager.getRegion("city_" + city.getName().toLowerCase());
+            ProtectedRegion region = regionManager.getRegion(city.getKey().regionId());
             if (region == null) return;
             
             // Limpiar miembros actuales
             region.getMembers().clear();
             
             // Agregar todos los ciudadanos
-            for (UUID citizenId : city.getCitizens()) {
-                region.getMembers().addPlayer(citizenId);
-            }
+            DefaultDomain members = region.getMembers();
+            city.forEachCitizen(members::addPlayer);
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Error actualizando región de WorldGuard para la ciudad " + city.getName(), e);
@@ -289,26 +355,13 @@ public class CityManager {
      * Expande una ciudad (solo administradores pueden hacerlo gratis)
      */
     public boolean expandCity(String cityName, Player player, boolean isAdmin) {
-        City city = cities.get(cityName.toLowerCase());
-        if (city == null) {
+        City city = cities.get(cityName);
+        if (city == null || !canExpand(city, player, isAdmin)) {
             return false;
         }
         
-        if (!isAdmin && !city.getOwner().equals(player.getUniqueId())) {
-            return false; // Solo el dueño o admin puede expandir
-        }
-        
-        // Verificar límites de expansión
-        int maxExpansions = plugin.getConfig().getInt("cities.max-expansions-per-level", 2);
-        if (city.getExpansionCount() >= (city.getLevel() * maxExpansions)) {
-            return false; // Debe subir de nivel primero
-        }
-        
-        // Verificar y cobrar costo (solo si no es admin)
+        // Cobrar costo (solo si no es admin)
         if (!isAdmin) {
-            if (!canAffordExpansion(player)) {
-                return false;
-            }
             chargeExpansionCost(player);
         }
         
@@ -318,31 +371,86 @@ public class CityManager {
         // Actualizar región de WorldGuard
         updateCityRegionSize(city);
         
+        markStateChanged();
+        saveCities();
+        
+        String playerName = player != null ? player.getName() : "API";
+        PriceTable prices = getPrices();
+        CityLog.info(CityLog.Category.CITY, () -> "Ciudad " + cityName + " expandida por " + playerName +
+                (isAdmin ? " (admin)" : " (pagó " + prices.getExpansionCost() + " "
+                        + prices.getExpansionCurrencyName() + ")"));
+        return true;
+    }
+    
+    /**
+     * Expande una ciudad solo por un lado (mismas reglas y coste que expandCity)
+     * La región de WorldGuard crece blocks bloques en esa dirección, sin recrearla.
+     */
+    public boolean expandCity(String cityName, Player player, boolean isAdmin, Direction direction, int blocks) {
+        City city = cities.get(cityName);
+        if (city == null || direction == null || blocks <= 0 || !canExpand(city, player, isAdmin)) {
+            return false;
+        }
+        
+        // Ampliar la región antes de cobrar: si WorldGuard falla no se cobra nada
+        if (!((cityWars) plugin).getRegionManager().expandCityRegion(city.getName(), blocks, direction)) {
+            return false;
+        }
+        if (!isAdmin) {
+            chargeExpansionCost(player);
+        }
+        
+        city.setExpansionCount(city.getExpansionCount() + 1);
+        
+        markStateChanged();
         saveCities();
         
-        plugin.getLogger().info("Ciudad " + cityName + " expandida por " + player.getName() + 
-                               (isAdmin ? " (admin)" : " (pagó " + expansionCost + " " + expansionCurrency + ")"));
+        String playerName = player != null ? player.getName() : "API";
+        CityLog.info(CityLog.Category.CITY, () -> "Ciudad " + cityName + " expandida " + blocks + " bloques hacia "
+                + direction + " por " + playerName + (isAdmin ? " (admin)" : ""));
         return true;
     }
     
+    /**
+     * Comprueba dueño, límite de expansiones por nivel y coste (sin cobrar)
+     */
+    private boolean canExpand(City city, Player player, boolean isAdmin) {
+        if (!isAdmin && (player == null || !city.getOwner().equals(player.getUniqueId()))) {
+            return false; // Solo el dueño o admin puede expandir
+        }
+        
+        // Verificar límites de expansión
+        int maxExpansions = plugin.getConfig().getInt("cities.max-expansions-per-level", 2);
+        if (city.getExpansionCount() >= (city.getLevel() * maxExpansions)) {
+            return false; // Debe subir de nivel primero
+        }
+        
+        return isAdmin || canAffordExpansion(player);
+    }
+    
     /**
      * Verifica si el jugador puede pagar la expansión
      */
     private boolean canAffordExpansion(Player player) {
-        if (expansionCurrency.equalsIgnoreCase("gems")) {
-            return GemsEconomyAPI.getBalance(player.getUniqueId()) >= expansionCost;
-        }
-        // Aquí puedes agregar más tipos de moneda
-        return false;
+        PriceTable prices = getPrices();
+        return ((cityWars) plugin).getEconomyManager()
+                .hasCurrency(player, prices.getExpansionCurrency(), prices.getExpansionCost());
     }
     
     /**
      * Cobra el costo de expansión al jugador
      */
     private void chargeExpansionCost(Player player) {
-        if (expansionCurrency.equalsIgnoreCase("gems")) {
-            GemsEconomyAPI.withdrawBalance(player.getUniqueId(), expansionCost);
-        }
+        PriceTable prices = getPrices();
+        ((cityWars) plugin).getEconomyManager()
+                .withdrawCurrency(player, prices.getExpansionCurrency(), prices.getExpansionCost());
+    }
+    
+    /**
+     * Obtiene la tabla de precios actual
+     */
+    private PriceTable getPrices() {
+        return ((cityWars) plugin).getEconomyManager().getPricingManager().getTable();
     }
     
     /**
@@ -350,8 +458,8 @@ public class CityManager {
      */
     private void updateCityRegionSize(City city) {
         try {
-            Location center = city.getCenterLocation();
-            World world = center.getWorld();
+            BlockCoord center = city.getCenter();
+            World world = center.world();
             
             if (world == null) return;
             
@@ -361,7 +469,7 @@ public class CityManager {
             if (regionManager == null) return;
             
             // Remover región anterior
-            regionManager.removeRegion("city_" + city.getName().toLowerCase());
+            regionManager.removeRegion(city.getKey().regionId());
             
             // Crear nueva región con tamaño actualizado
             createWorldGuardRegion(city);
@@ -375,7 +483,7 @@ public class CityManager {
      * Sube el nivel de una ciudad
      */
     public boolean levelUpCity(String cityName) {
-        City city = cities.get(cityName.toLowerCase());
+        City city = cities.get(cityName);
         if (city == null) {
             return false;
         }
@@ -385,21 +493,22 @@ public class CityManager {
         }
         
         double levelUpCost = calculateLevelUpCost(city.getLevel());
-        if (city.getFunds() < levelUpCost) {
+        if (!city.deductFunds(levelUpCost)) {
             return false; // Fondos insuficientes
         }
         
         // Subir nivel
-        city.setFunds(city.getFunds() - levelUpCost);
         city.setLevel(city.getLevel() + 1);
         
         // Aumentar límite de ciudadanos
         int newMaxCitizens = maxPlayersPerCity + (city.getLevel() * 5);
         city.setMaxCitizens(newMaxCitizens);
         
+        markStateChanged();
         saveCities();
         
-        plugin.getLogger().info("Ciudad " + cityName + " subió al nivel " + city.getLevel());
+        int level = city.getLevel();
+        CityLog.info(CityLog.Category.CITY, () -> "Ciudad " + cityName + " subió al nivel " + level);
         return true;
     }
     
@@ -410,30 +519,104 @@ public class CityManager {
         double baseCost = plugin.getConfig().getDouble("cities.base-level-up-cost", 5000.0);
         return baseCost * Math.pow(levelUpCostMultiplier, currentLevel - 1);
     }
-    
+
+    /**
+     * Transfiere fondos del tesoro de una ciudad a otra
+     * Seguro desde cualquier hilo: el retiro y el depósito se confirman por versión.
+     */
+    public boolean transferFunds(String fromCity, String toCity, double amount) {
+        City from = cities.get(fromCity);
+        City to = cities.get(toCity);
+        if (from == null || to == null) {
+            return false;
+        }
+
+        if (!from.transferFundsTo(to, amount)) {
+            return false;
+        }
+
+        String fromName = from.getName();
+        String toName = to.getName();
+        CityLog.info(CityLog.Category.ECONOMY, () -> "Transferidos " + amount + " de " + fromName + " a " + toName);
+        return true;
+    }
+
     /**
      * Elimina una ciudad (solo administradores)
      */
     public boolean deleteCity(String cityName) {
-        City city = cities.get(cityName.toLowerCase());
+        City city = cities.get(cityName);
         if (city == null) {
             return false;
         }
         
         // Remover todos los ciudadanos del mapa
-        for (UUID citizenId : city.getCitizens()) {
-            playerCities.remove(citizenId);
-        }
+        playerCities.update(map -> city.forEachCitizen(map::remove));
         
         // Remover región de WorldGuard
         removeWorldGuardRegion(city);
         
+        // Olvidar cooldowns, relaciones e historial de asedios con otras ciudades
+        SiegeManager siegeManager = ((cityWars) plugin).getSiegeManager();
+        if (siegeManager != null) {
+            siegeManager.getRelations().removeCity(city.getKey().id());
+        }
+        
         // Remover ciudad
-        cities.remove(cityName.toLowerCase());
+        unregister(city);
+        leaderboard.untrack(city);
+        city.setTreasuryAccrual(null);
+        
+        markStateChanged();
+        saveCities();
+        
+        CityLog.info(CityLog.Category.CITY, () -> "Ciudad " + cityName + " eliminada");
+        return true;
+    }
+    
+    /**
+     * Renombra una ciudad conservando su id, reindexándola y moviendo su región
+     * No se permite durante un asedio (cooldowns y HUD usan el nombre).
+     */
+    public boolean renameCity(String cityName, String newName) {
+        City city = cities.get(cityName);
+        if (city == null || newName == null || newName.isBlank()) {
+            return false;
+        }
+        
+        City existing = cities.get(newName);
+        if (existing != null && existing != city) {
+            return false; // Ya existe otra ciudad con ese nombre
+        }
+        
+        SiegeManager siegeManager = ((cityWars) plugin).getSiegeManager();
+        if (siegeManager != null && siegeManager.isSiegeActive(city)) {
+            return false;
+        }
+        
+        String oldName = city.getName();
+        String oldRegionId = city.getKey().regionId();
+        
+        // Reindexar: el nombre cambia, el id se mantiene
+        leaderboard.untrack(city);
+        synchronized (this) {
+            cities.remove(city.getKey().normalized());
+            city.setName(newName);
+            cities.put(city.getKey().normalized(), city);
+        }
+        leaderboard.track(city);
         
+        // Las regiones de WorldGuard no se pueden renombrar: se recrean con el nuevo id
+        if (!oldRegionId.equals(city.getKey().regionId())) {
+            removeWorldGuardRegion(city, oldRegionId);
+            createWorldGuardRegion(city);
+            updateWorldGuardRegion(city);
+        }
+        
+        markStateChanged();
         saveCities();
         
-        plugin.getLogger().info("Ciudad " + cityName + " eliminada");
+        CityLog.info(CityLog.Category.CITY, () -> "Ciudad " + oldName + " renombrada a " + newName);
         return true;
     }
     
@@ -441,9 +624,13 @@ public class CityManager {
      * Remueve la región de WorldGuard de una ciudad
      */
     private void removeWorldGuardRegion(City city) {
+        removeWorldGuardRegion(city, city.getKey().regionId());
+    }
+    
+    private void removeWorldGuardRegion(City city, String regionId) {
         try {
-            Location center = city.getCenterLocation();
-            World world = center.getWorld();
+            BlockCoord center = city.getCenter();
+            World world = center.world();
             
             if (world == null) return;
             
@@ -452,7 +639,7 @@ public class CityManager {
             
             if (regionManager == null) return;
             
-            regionManager.removeRegion("city_" + city.getName().toLowerCase());
+            regionManager.removeRegion(regionId);
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Error removiendo región de WorldGuard para la ciudad " + city.getName(), e);
@@ -472,7 +659,13 @@ public class CityManager {
                 if (Math.abs(now.getHour() - taxCollectionTime.getHour()) == 0 && 
                     Math.abs(now.getMinute() - taxCollectionTime.getMinute()) <= 1) {
                     
-                    collectTaxes();
+                    // Modifica fondos de ciudades: se aplica como un cambio del StateWriter
+                    StateWriter writer = ((cityWars) plugin).getStateWriter();
+                    if (writer != null) {
+                        writer.execute(CityManager.this::collectTaxes);
+                    } else {
+                        collectTaxes();
+                    }
                 }
             }
         }.runTaskTimer(plugin, 0L, 1200L); // Cada minuto
@@ -482,7 +675,17 @@ public class CityManager {
      * Recolecta impuestos de todas las ciudades
      */
     private void collectTaxes() {
+        long start = TAX_TIMER.start();
+        try {
+            collectAllTaxes();
+        } finally {
+            TAX_TIMER.stop(start);
+        }
+    }
+
+    private void collectAllTaxes() {
         LocalDateTime now = LocalDateTime.now();
+        TaxCalculator base = TaxCalculator.fromSettings();
         
         for (City city : cities.values()) {
             // Verificar si ya se recolectaron impuestos hoy
@@ -493,10 +696,11 @@ public class CityManager {
             
             double totalTaxes = 0;
             int taxpayers = 0;
+            TaxCalculator calculator = base.withRate(city.getTaxRate());
             
             for (UUID citizenId : city.getCitizens()) {
                 double playerBalance = GemsEconomyAPI.getBalance(citizenId);
-                double tax = playerBalance * city.getTaxRate();
+                double tax = calculator.calculate(playerBalance);
                 
                 if (tax > 0) {
                     GemsEconomyAPI.withdrawBalance(citizenId, tax);
@@ -506,11 +710,14 @@ public class CityManager {
             }
             
             // Agregar impuestos al fondo de la ciudad
-            city.setFunds(city.getFunds() + totalTaxes);
+            city.addFunds(totalTaxes);
             city.setLastTaxCollection(now);
             
-            plugin.getLogger().info("Impuestos recolectados para " + city.getName() + 
-                                   ": " + totalTaxes + " gems de " + taxpayers + " ciudadanos");
+            String cityName = city.getName();
+            double collected = totalTaxes;
+            int payers = taxpayers;
+            CityLog.info(CityLog.Category.ECONOMY, () -> "Impuestos recolectados para " + cityName +
+                    ": " + collected + " gems de " + payers + " ciudadanos");
         }
         
         saveCities();
@@ -533,21 +740,23 @@ public class CityManager {
             return;
         }
         
+        UuidMap<City> loadedPlayers = new UuidMap<>();
         for (String cityName : citiesConfig.getConfigurationSection("cities").getKeys(false)) {
             try {
                 City city = loadCityFromConfig(cityName);
                 if (city != null) {
-                    cities.put(cityName.toLowerCase(), city);
+                    register(city);
+                    city.setTreasuryAccrual(treasuryManager);
+                    leaderboard.track(city);
                     
                     // Mapear jugadores
-                    for (UUID citizenId : city.getCitizens()) {
-                        playerCities.put(citizenId, cityName.toLowerCase());
-                    }
+                    city.forEachCitizen(citizenId -> loadedPlayers.put(citizenId, city));
                 }
             } catch (Exception e) {
                 plugin.getLogger().log(Level.SEVERE, "Error cargando ciudad: " + cityName, e);
             }
         }
+        playerCities.update(map -> loadedPlayers.forEach(map::put));
         
         plugin.getLogger().info("Cargadas " + cities.size() + " ciudades");
     }
@@ -577,6 +786,7 @@ public class CityManager {
         city.setMaxCitizens(citiesConfig.getInt(path + "max-citizens", maxPlayersPerCity));
         city.setExpansionCount(citiesConfig.getInt(path + "expansion-count", 0));
         city.setProtected(citiesConfig.getBoolean(path + "protection-enabled", true));
+        city.setLastSettled(citiesConfig.getLong(path + "last-settled", System.currentTimeMillis()));
         
         // Cargar fecha de creación
         String creationDateStr = citiesConfig.getString(path + "creation-date");
@@ -608,6 +818,21 @@ public class CityManager {
      * Guarda todas las ciudades en el archivo YAML
      */
     public void saveCities() {
+        long start = SAVE_TIMER.start();
+        FlightEvents.SaveFlush flightEvent = new FlightEvents.SaveFlush();
+        flightEvent.begin();
+        try {
+            writeCities();
+        } finally {
+            SAVE_TIMER.stop(start);
+            if (flightEvent.shouldCommit()) {
+                flightEvent.count = cities.size();
+                flightEvent.commit();
+            }
+        }
+    }
+
+    private void writeCities() {
         if (citiesConfig == null) {
             citiesConfig = new YamlConfiguration();
         }
@@ -620,10 +845,35 @@ public class CityManager {
             saveCityToConfig(city);
         }
         
-        try {
-            citiesConfig.save(citiesFile);
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Error guardando ciudades", e);
+        // Serializar aquí (hilo principal) y escribir el archivo en el ejecutor de E/S si está disponible
+        String data = citiesConfig.saveToString();
+        long sequence = saveSequence.incrementAndGet();
+        IoExecutor io = plugin.isEnabled() ? ((cityWars) plugin).getIoExecutor() : null;
+        if (io != null) {
+            io.execute(() -> writeCitiesFile(data, sequence));
+        } else {
+            writeCitiesFile(data, sequence);
+        }
+    }
+
+    /**
+     * Escribe el archivo de ciudades; descarta versiones más viejas que la ya escrita
+     */
+    private void writeCitiesFile(String data, long sequence) {
+        synchronized (citiesFileLock) {
+            if (sequence < writtenSequence) {
+                return;
+            }
+            try {
+                Path target = citiesFile.toPath();
+                Path temp = target.resolveSibling(citiesFile.getName() + ".tmp");
+                Files.createDirectories(target.getParent());
+                Files.writeString(temp, data, StandardCharsets.UTF_8);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                writtenSequence = sequence;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Error guardando ciudades", e);
+            }
         }
     }
     
@@ -631,7 +881,7 @@ public class CityManager {
      * Guarda una ciudad específica en la configuración
      */
     private void saveCityToConfig(City city) {
-        String path = "cities." + city.getName().toLowerCase() + ".";
+        String path = "cities." + city.getKey().normalized() + ".";
         
         citiesConfig.set(path + "name", city.getName());
         citiesConfig.set(path + "owner", city.getOwner().toString());
@@ -643,16 +893,15 @@ public class CityManager {
         citiesConfig.set(path + "expansion-count", city.getExpansionCount());
         citiesConfig.set(path + "protection-enabled", city.isProtected());
         citiesConfig.set(path + "creation-date", city.getCreationDate().toString());
+        citiesConfig.set(path + "last-settled", city.getLastSettled());
         
         if (city.getLastTaxCollection() != null) {
             citiesConfig.set(path + "last-tax-collection", city.getLastTaxCollection().toString());
         }
         
         // Guardar ciudadanos
-        List<String> citizenStrings = new ArrayList<>();
-        for (UUID citizenId : city.getCitizens()) {
-            citizenStrings.add(citizenId.toString());
-        }
+        List<String> citizenStrings = new ArrayList<>(city.getCitizenCount());
+        city.forEachCitizen(citizenId -> citizenStrings.add(citizenId.toString()));
         citiesConfig.set(path + "citizens", citizenStrings);
     }
     
@@ -692,12 +941,19 @@ public class CityManager {
     
     // Getters y métodos de utilidad
     public City getCity(String name) {
-        return cities.get(name.toLowerCase());
+        return cities.get(name);
+    }
+    
+    /**
+     * Ciudad por id numérico (CityKey.id()), o null
+     */
+    public City getCityById(int id) {
+        City[] byId = citiesById;
+        return id >= 0 && id < byId.length ? byId[id] : null;
     }
     
     public City getCityByPlayer(UUID playerId) {
-        String cityName = playerCities.get(playerId);
-        return cityName != null ? cities.get(cityName) : null;
+        return playerCities.get(playerId);
     }
     
     public Collection<City> getAllCities() {
@@ -712,6 +968,21 @@ public class CityManager {
         return cities.size();
     }
     
+    public CityLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+    
+    public TreasuryManager getTreasuryManager() {
+        return treasuryManager;
+    }
+    
+    /**
+     * Lado del territorio actual de la ciudad en bloques
+     */
+    public int getCitySize(City city) {
+        return getCurrentCitySize(city);
+    }
+    
     public double getNextLevelCost(City city) {
         return calculateLevelUpCost(city.getLevel());
     }
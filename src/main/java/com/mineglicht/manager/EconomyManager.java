@@ -3,6 +3,7 @@ package com.mineglicht.manager;
 import com.mineglicht.cityWars;
 import com.mineglicht.integration.GemsEconomyIntegration;
 import com.mineglicht.models.City;
+import me.xanium.gemseconomy.currency.Currency;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -21,6 +22,7 @@ import java.util.logging.Level;
 public class EconomyManager {
     private final cityWars plugin;
     private final GemsEconomyIntegration gemsEconomy;
+    private final PricingManager pricingManager;
     private final Map<UUID, UUID> cityBankAccounts; // Maps city ID to bank account UUID
     private final File economyFile;
     private FileConfiguration economyConfig;
@@ -28,6 +30,7 @@ public class EconomyManager {
     public EconomyManager(cityWars plugin) {
         this.plugin = plugin;
         this.gemsEconomy = new GemsEconomyIntegration(plugin);
+        this.pricingManager = new PricingManager(plugin, gemsEconomy);
         this.cityBankAccounts = new HashMap<>();
         this.economyFile = new File(plugin.getDataFolder(), "economy.yml");
 
@@ -300,6 +303,53 @@ public class EconomyManager {
         return getPlayerBalance(player, gemsEconomy.getTaxCurrency());
     }
 
+    /**
+     * Checks if a player has enough of a pre-resolved currency.
+     * 
+     * @param player   The player
+     * @param currency Currency handle from the price table
+     * @param amount   Required amount
+     * @return true if player has enough
+     */
+    public boolean hasCurrency(Player player, Currency currency, double amount) {
+        if (player == null) {
+            return false;
+        }
+
+        return gemsEconomy.hasBalance(player.getUniqueId(), currency, amount);
+    }
+
+    /**
+     * Withdraws a pre-resolved currency from a player.
+     * 
+     * @param player   The player
+     * @param currency Currency handle from the price table
+     * @param amount   Amount to withdraw
+     * @return true if withdrawal was successful
+     */
+    public boolean withdrawCurrency(Player player, Currency currency, double amount) {
+        if (player == null || amount <= 0) {
+            return false;
+        }
+
+        return gemsEconomy.removeBalance(player.getUniqueId(), currency, amount);
+    }
+
+    /**
+     * Gets a player's balance in a pre-resolved currency.
+     * 
+     * @param player   The player
+     * @param currency Currency handle from the price table
+     * @return Player's balance
+     */
+    public double getPlayerBalance(Player player, Currency currency) {
+        if (player == null) {
+            return 0.0;
+        }
+
+        return gemsEconomy.getBalance(player.getUniqueId(), currency);
+    }
+
     /**
      * Formats money with currency symbol.
      * 
@@ -316,6 +366,9 @@ public class EconomyManager {
      */
     public void loadEconomyData() {
         cityBankAccounts.clear();
+        if (pricingManager != null) {
+            pricingManager.reload();
+        }
 
         if (!economyFile.exists()) {
             try {
@@ -416,4 +469,13 @@ public class EconomyManager {
     public GemsEconomyIntegration getGemsEconomy() {
         return gemsEconomy;
     }
+
+    /**
+     * Gets the pricing service holding the current price table.
+     * 
+     * @return PricingManager instance
+     */
+    public PricingManager getPricingManager() {
+        return pricingManager;
+    }
 }
\ No newline at end of file
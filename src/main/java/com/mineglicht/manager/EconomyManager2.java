@@ -159,6 +159,7 @@ public class EconomyManager2 {
             return false; // No se puede transferir a la misma ciudad
         }
         
+        // Descarte rápido; la comprobación que cuenta se repite dentro, con ambas cuentas bloqueadas
         if (!canTransferFunds(fromCity, toCity, amount)) {
             return false;
         }
@@ -471,9 +472,14 @@ public class EconomyManager2 {
      * @return Costo de mantenimiento
      */
     public double getMaintenanceCost(String cityName) {
-        // Aquí podrías implementar lógica para calcular el mantenimiento
-        // basado en el nivel de la ciudad, expansiones, etc.
-        return maintenanceCostPerLevel;
+        CityManager cityManager = ((com.mineglicht.cityWars) plugin).getCityManager();
+        com.mineglicht.models.City city = cityManager != null && cityName != null ? cityManager.getCity(cityName) : null;
+        if (city == null) {
+            return maintenanceCostPerLevel;
+        }
+        
+        // Mantenimiento diario que liquida el TreasuryManager
+        return cityManager.getTreasuryManager().getDailyUpkeep(city);
     }
     
     /**
@@ -527,9 +533,8 @@ public class EconomyManager2 {
      * @return Riqueza total
      */
     public double getTotalCityWealth() {
-        // Esto requeriría una lista de todas las ciudades
-        // Por ahora retornamos 0 como placeholder
-        return 0.0;
+        CityLeaderboard leaderboard = getLeaderboard();
+        return leaderboard != null ? leaderboard.getTotalWealth() : 0.0;
     }
     
     /**
@@ -537,8 +542,8 @@ public class EconomyManager2 {
      * @return Riqueza promedio
      */
     public double getAverageCityWealth() {
-        // Implementar cuando tengas acceso a la lista de ciudades
-        return 0.0;
+        CityLeaderboard leaderboard = getLeaderboard();
+        return leaderboard != null ? leaderboard.getAverageWealth() : 0.0;
     }
     
     /**
@@ -547,8 +552,8 @@ public class EconomyManager2 {
      * @return Lista de ciudades más ricas
      */
     public List<String> getRichestCities(int limit) {
-        // Implementar cuando tengas acceso a la lista de ciudades
-        return new ArrayList<>();
+        CityLeaderboard leaderboard = getLeaderboard();
+        return leaderboard != null ? leaderboard.getRichest(limit) : new ArrayList<>();
     }
     
     /**
@@ -557,8 +562,8 @@ public class EconomyManager2 {
      * @return Lista de ciudades más pobres
      */
     public List<String> getPoorestCities(int limit) {
-        // Implementar cuando tengas acceso a la lista de ciudades
-        return new ArrayList<>();
+        CityLeaderboard leaderboard = getLeaderboard();
+        return leaderboard != null ? leaderboard.getPoorest(limit) : new ArrayList<>();
     }
     
     /**
@@ -688,6 +693,15 @@ public class EconomyManager2 {
     
     // ===== MÉTODOS PRIVADOS =====
     
+    /**
+     * Obtiene los rankings de ciudades mantenidos por el CityManager
+     * @return Rankings, o null si el CityManager aún no está disponible
+     */
+    private CityLeaderboard getLeaderboard() {
+        CityManager cityManager = ((com.mineglicht.cityWars) plugin).getCityManager();
+        return cityManager != null ? cityManager.getLeaderboard() : null;
+    }
+    
     /**
      * Carga la configuración desde archivos
      */
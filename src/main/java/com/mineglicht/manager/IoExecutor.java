@@ -0,0 +1,45 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.cityWars;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Ejecutor de E/S con hilos virtuales (archivos, economía, operaciones asíncronas de la API)
+ * Nunca toca el estado del plugin directamente: los cambios vuelven al hilo principal
+ * a través de {@link StateWriter}.
+ */
+public class IoExecutor implements Executor {
+
+    private final cityWars plugin;
+    private final ExecutorService executor;
+
+    public IoExecutor(cityWars plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("citywars-io-", 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Ejecuta una tarea de E/S y devuelve su resultado en un futuro
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Deja de aceptar tareas y espera a que terminen las pendientes (p. ej. escrituras de archivos)
+     */
+    public void shutdown() {
+        executor.close();
+        plugin.getLogger().info("Ejecutor de E/S detenido");
+    }
+}
@@ -0,0 +1,158 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.util.Metrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Endpoint HTTP opcional con las métricas en formato de texto de Prometheus
+ * Usa el HttpServer del JDK con un hilo virtual por petición. Las peticiones solo
+ * leen {@link Metrics#publishedSnapshot()}: nunca llaman a Bukkit ni esperan al
+ * hilo principal. Los medidores se publican desde el hilo principal cada pocos segundos.
+ */
+public class MetricsHttpServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final long GAUGE_PERIOD_TICKS = 20L * 5L; // Cada 5 segundos
+
+    private final cityWars plugin;
+    private HttpServer server;
+    private ExecutorService executor;
+    private BukkitTask gaugeTask;
+
+    public MetricsHttpServer(cityWars plugin) {
+        this.plugin = plugin;
+    }
+
+    // ==================== CICLO DE VIDA ====================
+
+    /**
+     * Inicia el endpoint si metrics.http.enabled es true
+     */
+    public void start() {
+        if (server != null || !plugin.getConfig().getBoolean("metrics.http.enabled", false)) {
+            return;
+        }
+
+        String host = plugin.getConfig().getString("metrics.http.host", "127.0.0.1");
+        int port = plugin.getConfig().getInt("metrics.http.port", 9464);
+
+        try {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+            server.createContext("/metrics", this::handle);
+            server.setExecutor(executor);
+            server.start();
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "No se pudo iniciar el endpoint de métricas en " + host + ":" + port, e);
+            stop();
+            return;
+        }
+
+        Metrics.publishGauges();
+        gaugeTask = Bukkit.getScheduler().runTaskTimer(plugin, Metrics::publishGauges, GAUGE_PERIOD_TICKS, GAUGE_PERIOD_TICKS);
+        plugin.getLogger().info("Endpoint de métricas disponible en http://" + host + ":" + port + "/metrics");
+    }
+
+    /**
+     * Detiene el endpoint y su tarea de medidores
+     */
+    public void stop() {
+        if (gaugeTask != null) {
+            gaugeTask.cancel();
+            gaugeTask = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // ==================== PETICIONES ====================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render(Metrics.publishedSnapshot()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    /**
+     * Convierte una instantánea al formato de texto de Prometheus
+     * Los temporizadores se exponen como histogramas en segundos (sufijo _seconds).
+     */
+    static String render(Metrics.Snapshot snapshot) {
+        StringBuilder builder = new StringBuilder(4096);
+
+        for (Metrics.CounterSample counter : snapshot.counters()) {
+            header(builder, counter.name(), counter.help(), "counter");
+            builder.append(counter.name()).append(' ').append(counter.value()).append('\n');
+        }
+
+        for (Metrics.GaugeSample gauge : snapshot.gauges()) {
+            header(builder, gauge.name(), gauge.help(), "gauge");
+            builder.append(gauge.name()).append(' ').append(number(gauge.value())).append('\n');
+        }
+
+        long[] bounds = Metrics.getBucketBounds();
+        for (Metrics.TimerSample timer : snapshot.timers()) {
+            String name = timer.name() + "_seconds";
+            header(builder, name, timer.help(), "histogram");
+
+            long cumulative = 0;
+            long[] counts = timer.bucketCounts();
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += counts[i];
+                builder.append(name).append("_bucket{le=\"").append(number(bounds[i] / 1_000_000.0))
+                        .append("\"} ").append(cumulative).append('\n');
+            }
+            // +Inf y _count salen de las mismas cubetas para que la serie sea coherente
+            cumulative += counts[bounds.length];
+            builder.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+            builder.append(name).append("_sum ").append(number(timer.sumNanos() / 1_000_000_000.0)).append('\n');
+            builder.append(name).append("_count ").append(cumulative).append('\n');
+
+            header(builder, name + "_max", "Máximo de " + timer.help(), "gauge");
+            builder.append(name).append("_max ").append(number(timer.maxNanos() / 1_000_000_000.0)).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static void header(StringBuilder builder, String name, String help, String type) {
+        builder.append("# HELP ").append(name).append(' ')
+                .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String number(double value) {
+        return Double.toString(value);
+    }
+}
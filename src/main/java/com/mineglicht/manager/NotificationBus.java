@@ -0,0 +1,322 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.config.MessageKey;
+import com.mineglicht.models.City;
+import com.mineglicht.util.Timings;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bus de notificaciones con cola por jugador
+ * - Las notificaciones con la misma clave y el mismo texto dentro de la ventana
+ *   de fusión se combinan en una sola (se envía con un contador); si el texto
+ *   cambia, cada texto distinto se envía por separado.
+ * - Cada tick se envía como máximo un número fijo de mensajes en total.
+ * - Se envía por prioridad: asedio, economía e información.
+ * Se puede publicar desde cualquier hilo; el envío ocurre en el hilo principal.
+ */
+public class NotificationBus {
+
+    /**
+     * Prioridad de una notificación (menor ordinal = se envía antes)
+     */
+    public enum Priority {
+        SIEGE,
+        ECONOMY,
+        INFO
+    }
+
+    private final cityWars plugin;
+    private final Map<UUID, PlayerQueue> queues;
+    private final List<UUID> order; // Orden circular de jugadores con cola (solo hilo principal)
+    private volatile boolean orderDirty;
+    private int cursor;
+    private BukkitTask task;
+
+    private long mergeWindowMillis;
+    private int maxPerTick;
+
+    public NotificationBus(cityWars plugin) {
+        this.plugin = plugin;
+        this.queues = new ConcurrentHashMap<>();
+        this.order = new ArrayList<>();
+        loadConfiguration();
+    }
+
+    /**
+     * Carga la ventana de fusión y el presupuesto por tick desde config.yml
+     */
+    public void loadConfiguration() {
+        this.mergeWindowMillis = Math.max(0L, plugin.getConfig().getLong("notifications.merge-window-ms", 2000L));
+        this.maxPerTick = Math.max(1, plugin.getConfig().getInt("notifications.max-per-tick", 40));
+    }
+
+    // ==================== PUBLICACIÓN ====================
+
+    /**
+     * Publica una notificación para un jugador
+     * @param key Clave de fusión (null = nunca se fusiona)
+     */
+    public void post(UUID playerId, Priority priority, String key, Component message) {
+        if (playerId == null || message == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        queues.compute(playerId, (id, queue) -> {
+            if (queue == null) {
+                queue = new PlayerQueue();
+                orderDirty = true;
+            }
+            queue.offer(priority, key, message, now, mergeWindowMillis);
+            return queue;
+        });
+    }
+
+    /**
+     * Publica un mensaje configurable para un jugador, en su idioma
+     */
+    public void post(UUID playerId, Priority priority, String key, MessageKey message, String... placeholders) {
+        post(playerId, priority, key, BroadcastService.localized(message, placeholders).forPlayer(playerId));
+    }
+
+    /**
+     * Publica un mensaje configurable para los ciudadanos online de una ciudad,
+     * renderizado una vez por idioma
+     */
+    public void postToCity(City city, Priority priority, String key, MessageKey message, String... placeholders) {
+        if (city == null) {
+            return;
+        }
+        BroadcastService.Localized localized = BroadcastService.localized(message, placeholders);
+        for (UUID citizenId : city.getCitizenView()) {
+            if (Bukkit.getPlayer(citizenId) != null) {
+                post(citizenId, priority, key, localized.forPlayer(citizenId));
+            }
+        }
+    }
+
+    public void postToCity(String cityName, Priority priority, String key, MessageKey message, String... placeholders) {
+        postToCity(plugin.getCityManager().getCityByName(cityName), priority, key, message, placeholders);
+    }
+
+    /**
+     * Publica la misma notificación para todos los ciudadanos online de una ciudad
+     */
+    public void postToCity(City city, Priority priority, String key, Component message) {
+        if (city == null) {
+            return;
+        }
+        for (UUID citizenId : city.getCitizenView()) {
+            if (Bukkit.getPlayer(citizenId) != null) {
+                post(citizenId, priority, key, message);
+            }
+        }
+    }
+
+    /**
+     * Publica una notificación para una ciudad buscada por nombre
+     */
+    public void postToCity(String cityName, Priority priority, String key, Component message) {
+        postToCity(plugin.getCityManager().getCityByName(cityName), priority, key, message);
+    }
+
+    /**
+     * Descarta la cola de un jugador (al desconectarse)
+     */
+    public void clear(UUID playerId) {
+        if (queues.remove(playerId) != null) {
+            orderDirty = true;
+        }
+    }
+
+    /**
+     * Número de notificaciones pendientes
+     */
+    public int getPendingCount() {
+        int pending = 0;
+        for (PlayerQueue queue : queues.values()) {
+            pending += queue.size();
+        }
+        return pending;
+    }
+
+    // ==================== ENVÍO ====================
+
+    /**
+     * Inicia el envío periódico (cada tick) en el hilo principal
+     */
+    public void start() {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, Timings.wrap("task NotificationBus", this::drain), 1L, 1L);
+        }
+    }
+
+    /**
+     * Detiene el envío y descarta lo pendiente
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queues.clear();
+        order.clear();
+        orderDirty = false;
+    }
+
+    /**
+     * Envía hasta maxPerTick notificaciones listas, por prioridad y en orden circular
+     */
+    private void drain() {
+        if (queues.isEmpty()) {
+            order.clear();
+            return;
+        }
+
+        // Sincronizar el orden circular con las colas existentes
+        if (orderDirty) {
+            orderDirty = false;
+            order.clear();
+            order.addAll(queues.keySet());
+        }
+
+        long now = System.currentTimeMillis();
+        int budget = maxPerTick;
+        int players = order.size();
+
+        for (Priority priority : Priority.values()) {
+            for (int visited = 0; visited < players && budget > 0; visited++) {
+                UUID playerId = order.get((cursor + visited) % players);
+                PlayerQueue queue = queues.get(playerId);
+                if (queue == null) {
+                    continue;
+                }
+
+                Player player = Bukkit.getPlayer(playerId);
+                if (player == null) {
+                    queues.remove(playerId);
+                    orderDirty = true;
+                    continue;
+                }
+
+                Component message = queue.poll(priority, now, mergeWindowMillis);
+                if (message != null) {
+                    player.sendMessage(message);
+                    budget--;
+                }
+            }
+            if (budget <= 0) {
+                break;
+            }
+        }
+
+        cursor = players > 0 ? (cursor + 1) % players : 0;
+
+        // Quitar colas vacías de forma atómica respecto a post()
+        for (UUID playerId : order) {
+            queues.computeIfPresent(playerId, (id, queue) -> {
+                if (queue.isIdle(now, mergeWindowMillis)) {
+                    orderDirty = true;
+                    return null;
+                }
+                return queue;
+            });
+        }
+    }
+
+    // ==================== COLA POR JUGADOR ====================
+
+    /**
+     * Notificaciones pendientes de un jugador, agrupadas por prioridad y clave
+     */
+    private static final class PlayerQueue {
+        @SuppressWarnings("unchecked")
+        private final Map<Object, Pending>[] pending = new Map[Priority.values().length];
+        private final Map<String, Long> lastSent = new LinkedHashMap<>();
+        private long sequence;
+
+        PlayerQueue() {
+            for (int i = 0; i < pending.length; i++) {
+                pending[i] = new LinkedHashMap<>();
+            }
+        }
+
+        synchronized void offer(Priority priority, String key, Component message, long now, long window) {
+            // Solo se fusionan textos idénticos; sin clave, nunca
+            Object mergeKey = key != null ? new MergeKey(key, message) : sequence++;
+            Map<Object, Pending> bucket = pending[priority.ordinal()];
+            Pending existing = bucket.get(mergeKey);
+            if (existing != null) {
+                existing.count++;
+                return;
+            }
+
+            // Si la clave se envió hace poco, esperar al final de la ventana
+            Long sent = key != null ? lastSent.get(key) : null;
+            long readyAt = sent != null && now - sent < window ? sent + window : now;
+            bucket.put(mergeKey, new Pending(key, message, readyAt));
+        }
+
+        synchronized Component poll(Priority priority, long now, long window) {
+            Iterator<Pending> iterator = pending[priority.ordinal()].values().iterator();
+            while (iterator.hasNext()) {
+                Pending next = iterator.next();
+                if (next.readyAt > now) {
+                    continue;
+                }
+                iterator.remove();
+                if (next.key != null) {
+                    lastSent.put(next.key, now);
+                }
+                return next.count > 1
+                        ? next.message.append(Component.text(" (x" + next.count + ")", NamedTextColor.GRAY))
+                        : next.message;
+            }
+            return null;
+        }
+
+        synchronized int size() {
+            int size = 0;
+            for (Map<Object, Pending> bucket : pending) {
+                size += bucket.size();
+            }
+            return size;
+        }
+
+        /**
+         * Sin pendientes y sin ventanas de fusión abiertas
+         */
+        synchronized boolean isIdle(long now, long window) {
+            lastSent.values().removeIf(sent -> now - sent >= window);
+            return lastSent.isEmpty() && size() == 0;
+        }
+    }
+
+    private record MergeKey(String key, Component message) {
+    }
+
+    private static final class Pending {
+        private final String key;
+        private final long readyAt;
+        private final Component message;
+        private int count = 1;
+
+        Pending(String key, Component message, long readyAt) {
+            this.key = key;
+            this.message = message;
+            this.readyAt = readyAt;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.config.PriceTable;
+import com.mineglicht.integration.GemsEconomyIntegration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Servicio de precios y monedas
+ * Carga costes, monedas y tipos de cambio desde economy.yml (sección "pricing"),
+ * resuelve las monedas de GemsEconomy una sola vez y publica una PriceTable
+ * inmutable que se reemplaza de forma atómica al recargar.
+ */
+public class PricingManager {
+
+    private final JavaPlugin plugin;
+    private final GemsEconomyIntegration gemsEconomy;
+    private final AtomicReference<PriceTable> table;
+
+    public PricingManager(JavaPlugin plugin, GemsEconomyIntegration gemsEconomy) {
+        this.plugin = plugin;
+        this.gemsEconomy = gemsEconomy;
+        this.table = new AtomicReference<>(PriceTable.builder().build());
+    }
+
+    /**
+     * Obtiene la tabla de precios actual
+     */
+    public PriceTable getTable() {
+        return table.get();
+    }
+
+    /**
+     * Vuelve a cargar la tabla desde economy.yml y la publica
+     * Se llama desde EconomyManager#loadEconomyData (arranque y recarga)
+     */
+    public void reload() {
+        try {
+            PriceTable loaded = load();
+            table.set(loaded);
+            gemsEconomy.setPriceTable(loaded);
+            plugin.getLogger().info("Tabla de precios cargada: " + loaded);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error cargando la tabla de precios, se mantiene la anterior: " + e.getMessage());
+        }
+    }
+
+    private PriceTable load() {
+        FileConfiguration config = plugin.getConfig();
+        FileConfiguration economy = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), "economy.yml"));
+
+        // Los valores de config.yml se mantienen como valores por defecto
+        PriceTable.Builder builder = PriceTable.builder()
+                .taxCurrency(economy.getString("pricing.currencies.tax", "gems"))
+                .bankCurrency(economy.getString("pricing.currencies.bank", "glichtcoins"))
+                .siegeCurrency(economy.getString("pricing.currencies.siege",
+                        config.getString("siege.required-currency", "jp")))
+                .expansionCurrency(economy.getString("pricing.currencies.expansion",
+                        config.getString("cities.expansion-currency", "gems")))
+                .expansionCost(economy.getDouble("pricing.costs.expansion",
+                        config.getDouble("cities.expansion-cost", 1000.0)))
+                .siegeCost(economy.getDouble("pricing.costs.siege",
+                        config.getDouble("siege.required-amount", 1000.0)))
+                .cityCreationCost(economy.getDouble("pricing.costs.city_creation",
+                        config.getDouble("city.creation-cost", 10000.0)));
+
+        ConfigurationSection rates = economy.getConfigurationSection("pricing.exchange_rates");
+        if (rates != null) {
+            for (String currency : rates.getKeys(false)) {
+                builder.exchangeRate(currency, rates.getDouble(currency, 1.0));
+            }
+        }
+
+        // Resolver cada moneda de GemsEconomy una sola vez
+        for (String currencyName : builder.currencyNames()) {
+            if (gemsEconomy.isEnabled()) {
+                builder.currency(currencyName, gemsEconomy.resolveCurrency(currencyName));
+            }
+        }
+
+        return builder.build();
+    }
+}
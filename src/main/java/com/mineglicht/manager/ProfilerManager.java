@@ -0,0 +1,115 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.util.FlightEvents;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Level;
+
+/**
+ * Grabaciones de Java Flight Recorder bajo demanda (/cityadmin profile start|stop)
+ * La grabación usa la configuración "default" de JFR (baja sobrecarga) más todos los
+ * eventos de {@link FlightEvents} sin umbral. Al detenerla se vuelca a
+ * profiles/citywars-AAAAMMDD-HHMMSS.jfr de forma asíncrona.
+ */
+public class ProfilerManager {
+
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final cityWars plugin;
+    private final File directory;
+    private Recording recording;
+
+    public ProfilerManager(cityWars plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "profiles");
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Inicia una grabación; false si ya hay una o JFR no está disponible
+     */
+    public boolean start() {
+        if (recording != null) {
+            return false;
+        }
+
+        Recording created;
+        try {
+            created = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            plugin.getLogger().log(Level.WARNING, "No se pudo cargar la configuración de JFR", e);
+            created = new Recording();
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Java Flight Recorder no está disponible", e);
+            return false;
+        }
+
+        try {
+            created.setName("CityWars");
+            created.setToDisk(true);
+            for (Class<? extends Event> type : FlightEvents.types()) {
+                created.enable(type).withoutThreshold();
+            }
+            created.start();
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "No se pudo iniciar la grabación de JFR", e);
+            created.close();
+            return false;
+        }
+
+        recording = created;
+        plugin.getLogger().info("Grabación de JFR iniciada");
+        return true;
+    }
+
+    /**
+     * Detiene la grabación y la vuelca a disco
+     *
+     * @param async true para escribir el archivo fuera del hilo principal
+     * @return el archivo de destino, o null si no había grabación
+     */
+    public File stop(boolean async) {
+        if (recording == null) {
+            return null;
+        }
+
+        Recording finished = recording;
+        recording = null;
+        File file = new File(directory, "citywars-" + LocalDateTime.now().format(FILE_FORMAT) + ".jfr");
+
+        if (async) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> dump(finished, file));
+        } else {
+            dump(finished, file);
+        }
+        return file;
+    }
+
+    private void dump(Recording finished, File file) {
+        try {
+            finished.stop();
+            if (!directory.exists() && !directory.mkdirs()) {
+                plugin.getLogger().warning("No se pudo crear la carpeta de perfiles");
+                return;
+            }
+            finished.dump(file.toPath());
+            plugin.getLogger().info("Grabación de JFR guardada en " + file.getPath());
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Error al guardar la grabación de JFR", e);
+        } finally {
+            finished.close();
+        }
+    }
+}
@@ -2,6 +2,10 @@ package com.mineglicht.manager;
 
 import com.mineglicht.models.City;
 import com.mineglicht.models.SiegeState;
+import com.mineglicht.util.CityLog;
+import com.mineglicht.util.FlightEvents;
+import com.mineglicht.util.Metrics;
+import com.mineglicht.util.UuidMap;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.protection.flags.Flags;
@@ -11,9 +15,6 @@ import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
 import java.util.logging.Logger;
 
 /**
@@ -24,9 +25,10 @@ import java.util.logging.Logger;
 public class ProtectionOverrideManager {
 
     private static final Logger LOGGER = Bukkit.getLogger();
+    private static final Metrics.Timer TOGGLE_TIMER = Metrics.timer("citywars_protection_toggle", "Tiempo de activar o desactivar protecciones");
 
     // Almacena el estado original de las protecciones antes del asedio
-    private final Map<UUID, CityProtectionState> originalProtections;
+    private final UuidMap<CityProtectionState> originalProtections;
 
     // Referencia a otros managers necesarios
 
@@ -34,7 +36,7 @@ public class ProtectionOverrideManager {
 
     public ProtectionOverrideManager(SiegeManager siegeManager) {
         this.siegeManager = siegeManager;
-        this.originalProtections = new HashMap<>();
+        this.originalProtections = new UuidMap<>();
     }
 
     /**
@@ -44,6 +46,18 @@ public class ProtectionOverrideManager {
      * @param city La ciudad objetivo del asedio
      */
     public void disableCityProtections(City city) {
+        long start = TOGGLE_TIMER.start();
+        FlightEvents.ProtectionApply flightEvent = new FlightEvents.ProtectionApply();
+        flightEvent.begin();
+        try {
+            applySiegeProtections(city);
+        } finally {
+            TOGGLE_TIMER.stop(start);
+            commitProtectionApply(flightEvent, city, "disable");
+        }
+    }
+
+    private void applySiegeProtections(City city) {
         if (city == null || city.getName() == null) {
             LOGGER.warning("No se puede desactivar protecciones: ciudad o región nula");
             return;
@@ -62,7 +76,8 @@ public class ProtectionOverrideManager {
             // Permitir destrucción de bloques durante el asedio
             setBreakFlag(city, true);
 
-            LOGGER.info("Protecciones desactivadas para la ciudad: " + city.getName() + " (Asedio iniciado)");
+            String cityName = city.getName();
+            CityLog.info(CityLog.Category.PROTECTION, () -> "Protecciones desactivadas para la ciudad: " + cityName + " (Asedio iniciado)");
 
         } catch (Exception e) {
             LOGGER.severe("Error al desactivar protecciones de la ciudad " + city.getName() + ": " + e.getMessage());
@@ -75,6 +90,26 @@ public class ProtectionOverrideManager {
      * @param city La ciudad a restaurar
      */
     public void restoreCityProtections(City city) {
+        long start = TOGGLE_TIMER.start();
+        FlightEvents.ProtectionApply flightEvent = new FlightEvents.ProtectionApply();
+        flightEvent.begin();
+        try {
+            applyOriginalProtections(city);
+        } finally {
+            TOGGLE_TIMER.stop(start);
+            commitProtectionApply(flightEvent, city, "restore");
+        }
+    }
+
+    private static void commitProtectionApply(FlightEvents.ProtectionApply flightEvent, City city, String action) {
+        if (flightEvent.shouldCommit()) {
+            flightEvent.city = city != null ? city.getName() : null;
+            flightEvent.action = action;
+            flightEvent.commit();
+        }
+    }
+
+    private void applyOriginalProtections(City city) {
         if (city == null) {
             LOGGER.warning("No se puede restaurar protecciones: ciudad nula");
             return;
@@ -93,7 +128,8 @@ public class ProtectionOverrideManager {
                 // Limpiar del mapa de estados originales
                 originalProtections.remove(city.getId());
 
-                LOGGER.info("Protecciones restauradas para la ciudad: " + city.getName());
+                String cityName = city.getName();
+                CityLog.info(CityLog.Category.PROTECTION, () -> "Protecciones restauradas para la ciudad: " + cityName);
             } else {
                 // Si no hay estado original guardado, aplicar protecciones por defecto
                 applyDefaultProtections(city);
@@ -128,7 +164,8 @@ public class ProtectionOverrideManager {
             // Permitir interacción con entidades (marcos de items, etc.)
             setInteractFlag(city, true);
 
-            LOGGER.info("Protecciones de saqueo desactivadas para: " + city.getName());
+            String cityName = city.getName();
+            CityLog.info(CityLog.Category.PROTECTION, () -> "Protecciones de saqueo desactivadas para: " + cityName);
 
         } catch (Exception e) {
             LOGGER.severe("Error al desactivar protecciones de saqueo para " + city.getName() + ": " + e.getMessage());
@@ -169,7 +206,8 @@ public class ProtectionOverrideManager {
                 setPvPFlag(city, originalState.isPvpEnabled());
                 setBuildFlag(city, originalState.isBuildEnabled());
 
-                LOGGER.info("Protecciones específicas restauradas para: " + city.getName());
+                String cityName = city.getName();
+                CityLog.info(CityLog.Category.PROTECTION, () -> "Protecciones específicas restauradas para: " + cityName);
             }
 
         } catch (Exception e) {
@@ -1,6 +1,9 @@
 package com.mineglicht.manager;
 
+import com.mineglicht.cityWars;
 import com.mineglicht.integration.WorldGuardIntegration;
+import com.mineglicht.models.City;
+import com.mineglicht.models.CityKey;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.WorldGuard;
@@ -26,7 +29,7 @@ public class RegionManager {
 
     private final Plugin plugin;
     private final Logger logger;
-    private final String CITY_REGION_PREFIX = "city_";
+    private final String CITY_REGION_PREFIX = CityKey.REGION_PREFIX;
     private final Map<String, Boolean> siegeModeRegions;
     private final WorldGuardIntegration worldGuardIntegration;
     private boolean isEnabled;
@@ -40,7 +43,7 @@ public class RegionManager {
     public RegionManager(Plugin plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
-        this.siegeModeRegions = new HashMap<>();
+        this.siegeModeRegions = new TreeMap<>(String.CASE_INSENSITIVE_ORDER); // Sin pasar a minúsculas en cada consulta
         this.isEnabled = false;
         this.worldGuardIntegration = new WorldGuardIntegration();
     }
@@ -96,7 +99,7 @@ public class RegionManager {
             if (regionManager == null)
                 return false;
 
-            String regionId = CITY_REGION_PREFIX + cityName.toLowerCase();
+            String regionId = regionIdOf(cityName);
 
             // Verificar si la región ya existe
             if (regionManager.hasRegion(regionId)) {
@@ -142,7 +145,7 @@ public class RegionManager {
             return false;
 
         try {
-            String regionId = CITY_REGION_PREFIX + cityName.toLowerCase();
+            String regionId = regionIdOf(cityName);
             boolean deleted = false;
 
             // Eliminar de todos los mundos
@@ -158,7 +161,7 @@ public class RegionManager {
             }
 
             // Limpiar del modo asedio
-            siegeModeRegions.remove(cityName.toLowerCase());
+            siegeModeRegions.remove(cityName);
 
             if (deleted) {
                 logger.info("Región de ciudad eliminada: " + cityName);
@@ -198,7 +201,7 @@ public class RegionManager {
             return null;
 
         try {
-            String regionId = CITY_REGION_PREFIX + cityName.toLowerCase();
+            String regionId = regionIdOf(cityName);
 
             // Buscar en todos los mundos
             for (World world : Bukkit.getWorlds()) {
@@ -317,7 +320,7 @@ public class RegionManager {
             // Activar PvP durante el asedio
             region.setFlag(Flags.PVP, StateFlag.State.ALLOW);
 
-            siegeModeRegions.put(cityName.toLowerCase(), true);
+            siegeModeRegions.put(cityName, true);
             logger.info("Modo asedio activado para la ciudad: " + cityName);
             return true;
 
@@ -339,7 +342,7 @@ public class RegionManager {
             // Desactivar PvP después del asedio
             region.setFlag(Flags.PVP, StateFlag.State.DENY);
 
-            siegeModeRegions.put(cityName.toLowerCase(), false);
+            siegeModeRegions.put(cityName, false);
             logger.info("Modo asedio desactivado para la ciudad: " + cityName);
             return true;
 
@@ -541,8 +544,17 @@ public class RegionManager {
 
     // ================== MÉTODOS AUXILIARES ==================
 
+    /**
+     * Id de región de la ciudad: el ya calculado en su CityKey si está registrada
+     */
+    private String regionIdOf(String cityName) {
+        CityManager cityManager = cityWars.getInstance() != null ? cityWars.getInstance().getCityManager() : null;
+        City city = cityManager != null ? cityManager.getCity(cityName) : null;
+        return city != null ? city.getKey().regionId() : CityKey.regionIdOf(cityName);
+    }
+
     private World getRegionWorld(String cityName) {
-        String regionId = CITY_REGION_PREFIX + cityName.toLowerCase();
+        String regionId = regionIdOf(cityName);
 
         for (World world : Bukkit.getWorlds()) {
             com.sk89q.worldguard.protection.managers.RegionManager regionManager = WorldGuard.getInstance()
@@ -557,7 +569,7 @@ public class RegionManager {
     }
 
     public boolean isInSiegeMode(String cityName) {
-        return siegeModeRegions.getOrDefault(cityName.toLowerCase(), false);
+        return siegeModeRegions.getOrDefault(cityName, false);
     }
 
     public List<String> getAllCityRegions() {
@@ -0,0 +1,313 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.models.City;
+import com.mineglicht.models.Siege;
+import com.mineglicht.models.SiegeState;
+import com.mineglicht.util.MessageTemplate;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * HUD persistente de asedios (barra de jefe y marcador lateral)
+ * Cada asedio tiene su propia barra y marcador; solo se envían paquetes cuando
+ * cambia un valor mostrado (el tiempo se muestra en minutos hasta el último
+ * minuto y el progreso en pasos del 1%). Los espectadores son los jugadores
+ * que están dentro del territorio de la ciudad asediada.
+ * Debe usarse desde el hilo principal.
+ */
+public class SiegeHudManager {
+
+    /**
+     * Fase mostrada en el HUD
+     */
+    public enum Phase {
+        ACTIVE("&cEn curso"),
+        FLAG_CAPTURED("&6Bandera capturada"),
+        LOOTING("&4Saqueo");
+
+        private final Component label;
+
+        Phase(String label) {
+            this.label = BroadcastService.component(label);
+        }
+
+        /**
+         * Fase actual de un asedio (ACTIVE si no hay asedio registrado)
+         */
+        public static Phase of(Siege siege) {
+            if (siege == null) {
+                return ACTIVE;
+            }
+            if (siege.isInLootPhase()) {
+                return LOOTING;
+            }
+            return siege.getState() == SiegeState.FLAG_CAPTURED ? FLAG_CAPTURED : ACTIVE;
+        }
+    }
+
+    private static final MessageTemplate BAR_TEXT = MessageTemplate.compile("&c&lAsedio a {city} &7- &f{time}");
+    private static final MessageTemplate SIDEBAR_TITLE = MessageTemplate.compile("&c&lAsedio: {city}");
+    private static final MessageTemplate LINE_TIME = MessageTemplate.compile("&7Tiempo: &f{time}");
+    private static final MessageTemplate LINE_ATTACKERS = MessageTemplate.compile("&7Atacantes: &c{count}");
+    private static final MessageTemplate LINE_DEFENDERS = MessageTemplate.compile("&7Defensores: &a{count}");
+
+    private final cityWars plugin;
+    private final Map<String, Hud> huds;            // Ciudad (minúsculas) -> HUD
+    private final Map<UUID, Hud> viewing;           // Jugador -> HUD que está viendo
+
+    public SiegeHudManager(cityWars plugin) {
+        this.plugin = plugin;
+        this.huds = new HashMap<>();
+        this.viewing = new HashMap<>();
+    }
+
+    // ==================== CICLO DE VIDA ====================
+
+    /**
+     * Crea el HUD de un asedio y lo muestra a quienes ya están en la ciudad
+     */
+    public void open(String cityName, int totalSeconds) {
+        String key = cityName.toLowerCase();
+        close(cityName);
+
+        Hud hud = new Hud(cityName, Math.max(1, totalSeconds));
+        huds.put(key, hud);
+
+        RegionManager regionManager = plugin.getRegionManager();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (key.equals(regionManager.getCityAtLocation(player.getLocation()))) {
+                addViewer(hud, player);
+            }
+        }
+    }
+
+    /**
+     * Actualiza los valores del HUD; solo se envía lo que cambió
+     */
+    public void update(String cityName, Phase phase, int secondsRemaining, int attackers, int defenders) {
+        Hud hud = huds.get(cityName.toLowerCase());
+        if (hud != null) {
+            hud.update(phase, secondsRemaining, attackers, defenders);
+        }
+    }
+
+    /**
+     * Cambia solo la fase mostrada, conservando el resto de valores
+     */
+    public void setPhase(String cityName, Phase phase) {
+        Hud hud = huds.get(cityName.toLowerCase());
+        if (hud != null && hud.shownTime != null) {
+            hud.update(phase, hud.shownSeconds, hud.shownAttackers, hud.shownDefenders);
+        }
+    }
+
+    /**
+     * Cierra el HUD de un asedio y lo retira de todos sus espectadores
+     */
+    public void close(String cityName) {
+        Hud hud = huds.remove(cityName.toLowerCase());
+        if (hud == null) {
+            return;
+        }
+        for (UUID viewerId : new HashSet<>(hud.viewers)) {
+            Player player = Bukkit.getPlayer(viewerId);
+            if (player != null) {
+                removeViewer(hud, player);
+            } else {
+                viewing.remove(viewerId);
+            }
+        }
+    }
+
+    /**
+     * Cierra todos los HUDs (al desactivar el plugin)
+     */
+    public void closeAll() {
+        for (String city : new HashSet<>(huds.keySet())) {
+            close(city);
+        }
+    }
+
+    public boolean hasActiveHuds() {
+        return !huds.isEmpty();
+    }
+
+    // ==================== ESPECTADORES ====================
+
+    /**
+     * El jugador está ahora en esta ciudad (null = fuera de cualquier ciudad)
+     * Se compara con el HUD que ya ve, así que basta con consultar la región de destino.
+     */
+    public void handleMove(Player player, String toCity) {
+        Hud current = viewing.get(player.getUniqueId());
+        if (current != null && current.key.equals(toCity)) {
+            return;
+        }
+
+        Hud target = toCity != null ? huds.get(toCity) : null;
+        if (target != null) {
+            addViewer(target, player); // Retira el HUD anterior si lo había
+        } else if (current != null) {
+            removeViewer(current, player);
+        }
+    }
+
+    /**
+     * Un jugador se desconectó
+     */
+    public void handleQuit(Player player) {
+        Hud hud = viewing.remove(player.getUniqueId());
+        if (hud != null) {
+            hud.viewers.remove(player.getUniqueId());
+            hud.previousBoards.remove(player.getUniqueId());
+        }
+    }
+
+    private void addViewer(Hud hud, Player player) {
+        Hud previous = viewing.get(player.getUniqueId());
+        if (previous == hud) {
+            return;
+        }
+        if (previous != null) {
+            removeViewer(previous, player);
+        }
+
+        viewing.put(player.getUniqueId(), hud);
+        hud.viewers.add(player.getUniqueId());
+        hud.previousBoards.put(player.getUniqueId(), player.getScoreboard());
+        player.showBossBar(hud.bar);
+        player.setScoreboard(hud.board);
+    }
+
+    private void removeViewer(Hud hud, Player player) {
+        UUID playerId = player.getUniqueId();
+        viewing.remove(playerId);
+        hud.viewers.remove(playerId);
+        player.hideBossBar(hud.bar);
+
+        Scoreboard previous = hud.previousBoards.remove(playerId);
+        if (player.getScoreboard() == hud.board) {
+            player.setScoreboard(previous != null ? previous : Bukkit.getScoreboardManager().getMainScoreboard());
+        }
+    }
+
+    // ==================== HUD ====================
+
+    /**
+     * Estado mostrado de un asedio; guarda los últimos valores enviados para comparar
+     */
+    private static final class Hud {
+        private static final int LINE_PHASE_INDEX = 0;
+        private static final int LINE_TIME_INDEX = 1;
+        private static final int LINE_ATTACKERS_INDEX = 2;
+        private static final int LINE_DEFENDERS_INDEX = 3;
+        private static final int LINES = 4;
+
+        private final String key;
+        private final String cityName;
+        private final int totalSeconds;
+        private final BossBar bar;
+        private final Scoreboard board;
+        private final Team[] lines = new Team[LINES];
+        private final Set<UUID> viewers = new HashSet<>();
+        private final Map<UUID, Scoreboard> previousBoards = new HashMap<>();
+
+        // Últimos valores mostrados
+        private Phase shownPhase;
+        private String shownTime;
+        private int shownSeconds;
+        private float shownProgress = -1f;
+        private int shownAttackers = -1;
+        private int shownDefenders = -1;
+
+        Hud(String cityName, int totalSeconds) {
+            this.key = cityName.toLowerCase();
+            this.cityName = cityName;
+            this.totalSeconds = totalSeconds;
+            this.bar = BossBar.bossBar(Component.empty(), 1f, BossBar.Color.RED, BossBar.Overlay.NOTCHED_10);
+
+            this.board = Bukkit.getScoreboardManager().getNewScoreboard();
+            Objective objective = board.registerNewObjective("siege", Criteria.DUMMY,
+                    BroadcastService.component(SIDEBAR_TITLE, "city", cityName));
+            objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+
+            // Cada línea es una entrada invisible con un equipo; cambiar el texto solo envía el prefijo
+            ChatColor[] colors = ChatColor.values();
+            for (int i = 0; i < LINES; i++) {
+                String entry = colors[i].toString();
+                Team team = board.registerNewTeam("line" + i);
+                team.addEntry(entry);
+                objective.getScore(entry).setScore(LINES - i);
+                lines[i] = team;
+            }
+        }
+
+        void update(Phase phase, int secondsRemaining, int attackers, int defenders) {
+            int remaining = Math.max(0, secondsRemaining);
+            shownSeconds = remaining;
+            String time = formatTime(remaining);
+            float progress = Math.round(100f * remaining / totalSeconds) / 100f;
+
+            if (!time.equals(shownTime)) {
+                shownTime = time;
+                bar.name(BroadcastService.component(BAR_TEXT, "city", cityName, "time", time));
+                lines[LINE_TIME_INDEX].prefix(BroadcastService.component(LINE_TIME, "time", time));
+            }
+            if (progress != shownProgress) {
+                shownProgress = progress;
+                bar.progress(Math.min(1f, Math.max(0f, progress)));
+            }
+            if (phase != shownPhase) {
+                shownPhase = phase;
+                lines[LINE_PHASE_INDEX].prefix(phase.label);
+                bar.color(phase == Phase.ACTIVE ? BossBar.Color.RED : BossBar.Color.YELLOW);
+            }
+            if (attackers != shownAttackers) {
+                shownAttackers = attackers;
+                lines[LINE_ATTACKERS_INDEX].prefix(BroadcastService.component(LINE_ATTACKERS, "count", Integer.toString(attackers)));
+            }
+            if (defenders != shownDefenders) {
+                shownDefenders = defenders;
+                lines[LINE_DEFENDERS_INDEX].prefix(BroadcastService.component(LINE_DEFENDERS, "count", Integer.toString(defenders)));
+            }
+        }
+
+        /**
+         * Minutos mientras quede más de uno; segundos en el último minuto
+         */
+        private static String formatTime(int seconds) {
+            return seconds > 60 ? ((seconds + 59) / 60) + " min" : seconds + " s";
+        }
+    }
+
+    /**
+     * Cuenta los ciudadanos online de una ciudad sin copiar su lista
+     */
+    public static int countOnline(City city) {
+        if (city == null) {
+            return 0;
+        }
+        int online = 0;
+        for (UUID citizenId : city.getCitizenView()) {
+            if (Bukkit.getPlayer(citizenId) != null) {
+                online++;
+            }
+        }
+        return online;
+    }
+}
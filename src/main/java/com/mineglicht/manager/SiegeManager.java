@@ -1,5 +1,7 @@
 package com.mineglicht.manager;
 
+import com.mineglicht.cityWars;
+import com.mineglicht.config.MessageKey;
 import com.mineglicht.models.City;
 import com.mineglicht.models.Siege;
 import com.mineglicht.models.SiegeState;
@@ -9,6 +11,10 @@ import com.mineglicht.event.LootPhaseStartEvent;
 import com.mineglicht.task.LootTimerTask;
 import com.mineglicht.task.SiegeCooldownTask;
 import com.mineglicht.integration.ExecutableItemsIntegration;
+import com.mineglicht.util.CityPairTable;
+import com.mineglicht.util.ConcurrentUuidMap;
+import com.mineglicht.util.FlightEvents;
+import com.mineglicht.util.Metrics;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
@@ -33,6 +39,11 @@ public class SiegeManager {
     private static final int LOOT_DURATION_MINUTES = 5;
     private static final double SIEGE_REWARD_PERCENTAGE = 0.5; // 50% del fondo de la ciudad
     private static final int COOLDOWN_HOURS = 24;
+    private static final long COOLDOWN_MILLIS = COOLDOWN_HOURS * 3_600_000L;
+
+    // Métricas
+    private static final Metrics.Timer CAN_START_TIMER = Metrics.timer("citywars_siege_can_start", "Tiempo de canStartSiege");
+    private static final Metrics.Counter SIEGES_REJECTED = Metrics.counter("citywars_sieges_rejected_total", "Asedios rechazados por canStartSiege");
     
     // Dependencias
     private final ProtectionOverrideManager protectionManager;
@@ -42,10 +53,10 @@ public class SiegeManager {
     private final CitizenManager citizenManager;
     
     // Estado de asedios activos
-    private final Map<UUID, Siege> activeSieges;
+    private final ConcurrentUuidMap<Siege> activeSieges;
     private final Map<UUID, BukkitTask> siegeTimers;
     private final Map<UUID, BukkitTask> lootTimers;
-    private final Map<String, LocalDateTime> siegeCooldowns; // "cityA-cityB" -> cooldown end time
+    private final CityPairTable relations; // Par de ciudades (simétrico) -> cooldown, relación e historial
     
     public SiegeManager(ProtectionOverrideManager protectionManager, 
                        EconomyManager economyManager,
@@ -55,10 +66,10 @@ public class SiegeManager {
         this.economyManager = economyManager;
         this.executableItems = executableItems;
         this.cityManager = cityManager;
-        this.activeSieges = new ConcurrentHashMap<>();
+        this.activeSieges = new ConcurrentUuidMap<>();
         this.siegeTimers = new ConcurrentHashMap<>();
         this.lootTimers = new ConcurrentHashMap<>();
-        this.siegeCooldowns = new ConcurrentHashMap<>();
+        this.relations = CityPairTable.symmetric();
     }
     
     /**
@@ -73,6 +84,8 @@ public class SiegeManager {
             return false;
         }
         
+        FlightEvents.SiegeStart flightEvent = new FlightEvents.SiegeStart();
+        flightEvent.begin();
         try {
             // Crear el modelo del asedio
             Siege siege = new Siege(
@@ -85,6 +98,7 @@ public class SiegeManager {
             
             // Registrar el asedio activo
             activeSieges.put(attackedCity.getId(), siege);
+            cityWars.getInstance().getStateWriter().markDirty();
             
             // Desactivar protecciones de la ciudad
             protectionManager.disableCityProtections(attackedCity);
@@ -107,6 +121,12 @@ public class SiegeManager {
         } catch (Exception e) {
             LOGGER.severe("Error al iniciar asedio contra " + attackedCity.getName() + ": " + e.getMessage());
             return false;
+        } finally {
+            if (flightEvent.shouldCommit()) {
+                flightEvent.city = attackedCity.getName();
+                flightEvent.count = attackers.size();
+                flightEvent.commit();
+            }
         }
     }
     
@@ -118,6 +138,19 @@ public class SiegeManager {
      * @return true si el asedio puede comenzar, false en caso contrario
      */
     public boolean canStartSiege(City attackedCity, Set<UUID> attackers) {
+        long start = CAN_START_TIMER.start();
+        try {
+            boolean allowed = checkSiegeConditions(attackedCity, attackers);
+            if (!allowed) {
+                SIEGES_REJECTED.increment();
+            }
+            return allowed;
+        } finally {
+            CAN_START_TIMER.stop(start);
+        }
+    }
+
+    private boolean checkSiegeConditions(City attackedCity, Set<UUID> attackers) {
         // Verificar que la ciudad no esté ya bajo asedio
         if (isSiegeActive(attackedCity)) {
             LOGGER.info("No se puede iniciar asedio: " + attackedCity.getName() + " ya está bajo asedio");
@@ -185,6 +218,8 @@ public class SiegeManager {
             return;
         }
         
+        FlightEvents.SiegePhaseChange flightEvent = new FlightEvents.SiegePhaseChange();
+        flightEvent.begin();
         try {
             // Cancelar timers activos
             cancelSiegeTimers(attackedCity.getId());
@@ -198,6 +233,7 @@ public class SiegeManager {
             
             // Remover de asedios activos
             activeSieges.remove(attackedCity.getId());
+            cityWars.getInstance().getStateWriter().markDirty();
             
             // Establecer cooldown entre ciudades
             setCooldownBetweenCities(siege);
@@ -208,11 +244,14 @@ public class SiegeManager {
             
             // Notificar a los jugadores
             notifyPlayersOfSiegeEnd(attackedCity, siege);
+            cityWars.getInstance().getSiegeHudManager().close(attackedCity.getName());
             
             LOGGER.info("Asedio finalizado para " + attackedCity.getName());
             
         } catch (Exception e) {
             LOGGER.severe("Error al finalizar asedio para " + attackedCity.getName() + ": " + e.getMessage());
+        } finally {
+            commitPhaseChange(flightEvent, attackedCity, siege, "ENDED");
         }
     }
     
@@ -223,9 +262,12 @@ public class SiegeManager {
      * @param attackers Los atacantes victoriosos
      */
     public void distributeSiegeRewards(City attackedCity, Set<UUID> attackers) {
+        FlightEvents.SiegeRewards flightEvent = new FlightEvents.SiegeRewards();
+        flightEvent.begin();
+        double rewardAmount = 0;
         try {
             double cityFunds = economyManager.getCityBankBalance(attackedCity);
-            double rewardAmount = cityFunds * SIEGE_REWARD_PERCENTAGE;
+            rewardAmount = cityFunds * SIEGE_REWARD_PERCENTAGE;
             
             if (rewardAmount <= 0) {
                 LOGGER.info("No hay fondos para distribuir en " + attackedCity.getName());
@@ -253,6 +295,13 @@ public class SiegeManager {
             
         } catch (Exception e) {
             LOGGER.severe("Error al distribuir recompensas del asedio: " + e.getMessage());
+        } finally {
+            if (flightEvent.shouldCommit()) {
+                flightEvent.city = attackedCity.getName();
+                flightEvent.count = attackers.size();
+                flightEvent.amount = rewardAmount;
+                flightEvent.commit();
+            }
         }
     }
     
@@ -268,9 +317,14 @@ public class SiegeManager {
             return;
         }
         
+        FlightEvents.SiegePhaseChange flightEvent = new FlightEvents.SiegePhaseChange();
+        flightEvent.begin();
         try {
-            // Cambiar estado a saqueo
+            // Bandera capturada
             cityManager.setSiegeState(attackedCity.getId(), SiegeState.FLAG_CAPTURED);
+            siege.setState(SiegeState.FLAG_CAPTURED);
+            SiegeHudManager hudManager = cityWars.getInstance().getSiegeHudManager();
+            hudManager.setPhase(attackedCity.getName(), SiegeHudManager.Phase.FLAG_CAPTURED);
             
             // Desactivar protecciones adicionales (acceso a cofres, etc.)
             protectionManager.disableResidenceProtections(attackedCity);
@@ -284,11 +338,26 @@ public class SiegeManager {
             
             // Notificar a los jugadores
             notifyPlayersOfLootStart(attackedCity, siege);
+
+            // Empieza el saqueo
+            siege.startLootPhase();
+            hudManager.setPhase(attackedCity.getName(), SiegeHudManager.Phase.LOOTING);
             
             LOGGER.info("Fase de saqueo iniciada en " + attackedCity.getName());
             
         } catch (Exception e) {
             LOGGER.severe("Error al iniciar saqueo en " + attackedCity.getName() + ": " + e.getMessage());
+        } finally {
+            commitPhaseChange(flightEvent, attackedCity, siege, "LOOTING");
+        }
+    }
+    
+    private static void commitPhaseChange(FlightEvents.SiegePhaseChange flightEvent, City city, Siege siege, String phase) {
+        if (flightEvent.shouldCommit()) {
+            flightEvent.city = city.getName();
+            flightEvent.phase = phase;
+            flightEvent.count = siege.getAttackers().size();
+            flightEvent.commit();
         }
     }
     
@@ -331,7 +400,16 @@ public class SiegeManager {
      * @return Mapa de asedios activos
      */
     public Map<UUID, Siege> getActiveSieges() {
-        return new HashMap<>(activeSieges);
+        Map<UUID, Siege> result = new HashMap<>();
+        activeSieges.forEach(result::put);
+        return result;
+    }
+
+    /**
+     * Número de asedios activos (sin copiar el mapa)
+     */
+    public int getActiveSiegeCount() {
+        return activeSieges.size();
     }
     
     /**
@@ -388,14 +466,17 @@ public class SiegeManager {
     }
     
     /**
-     * Establece cooldown entre ciudades después del asedio.
+     * Establece cooldown entre ciudades después del asedio y lo suma al historial del par.
      */
     private void setCooldownBetweenCities(Siege siege) {
         for (UUID attackerId : siege.getAttackers()) {
             City attackerCity = cityManager.getCity(attackerId);
             if (attackerCity != null) {
-                String cooldownKey = getCooldownKey(attackerCity, siege.getAttackedCity());
-                siegeCooldowns.put(cooldownKey, LocalDateTime.now().plusHours(COOLDOWN_HOURS));
+                int attackerCityId = attackerCity.getKey().id();
+                int defenderCityId = siege.getAttackedCity().getKey().id();
+                long now = System.currentTimeMillis();
+                relations.setCooldown(attackerCityId, defenderCityId, now, now + COOLDOWN_MILLIS);
+                relations.recordSiege(attackerCityId, defenderCityId);
                 break; // Solo necesitamos establecer el cooldown una vez
             }
         }
@@ -405,74 +486,66 @@ public class SiegeManager {
      * Verifica si hay cooldown activo entre dos ciudades.
      */
     private boolean isCooldownActive(City city1, City city2) {
-        String cooldownKey = getCooldownKey(city1, city2);
-        LocalDateTime cooldownEnd = siegeCooldowns.get(cooldownKey);
-        
-        if (cooldownEnd == null) {
-            return false;
-        }
-        
-        if (LocalDateTime.now().isAfter(cooldownEnd)) {
-            siegeCooldowns.remove(cooldownKey);
-            return false;
+        int id1 = city1.getKey().id();
+        int id2 = city2.getKey().id();
+        long now = System.currentTimeMillis();
+        if (relations.hasCooldown(id1, id2, now)) {
+            return true;
         }
-        
-        return true;
+        relations.clearCooldown(id1, id2, now); // Vencido: liberar la entrada
+        return false;
     }
     
     /**
-     * Genera una clave única para el cooldown entre dos ciudades.
+     * Tabla de relaciones entre ciudades (cooldowns, guerra/paz, asedios). Solo hilo principal.
      */
-    private String getCooldownKey(City city1, City city2) {
-        // Ordenar los nombres para que A-B y B-A sean la misma clave
-        String name1 = city1.getName();
-        String name2 = city2.getName();
-        
-        if (name1.compareTo(name2) < 0) {
-            return name1 + "-" + name2;
-        } else {
-            return name2 + "-" + name1;
-        }
+    public CityPairTable getRelations() {
+        return relations;
     }
     
     /**
      * Notifica a los jugadores sobre el inicio del asedio.
      */
     private void notifyPlayersOfSiegeStart(City attackedCity, Set<UUID> attackers) {
-        String message = "§c[CityWars] §eAsedio iniciado contra §6" + attackedCity.getName() + 
-                        " §epor §c" + attackers.size() + " §eatacanates!";
+        BroadcastService broadcast = cityWars.getInstance().getBroadcastService();
+        String cityName = attackedCity.getName();
         
-        Bukkit.broadcastMessage(message);
+        broadcast.sendMessage(broadcast.server(), MessageKey.SIEGE_START_BROADCAST,
+            "city", cityName, "attackers", Integer.toString(attackers.size()));
+        
+        // Título para defensores y atacantes, sin construir listas de jugadores
+        broadcast.showTitle(broadcast.siege(attackedCity, attackers),
+            MessageKey.SIEGE_START_TITLE, MessageKey.SIEGE_START_SUBTITLE, "city", cityName);
     }
     
     /**
      * Notifica a los jugadores sobre el fin del asedio.
      */
     private void notifyPlayersOfSiegeEnd(City attackedCity, Siege siege) {
-        String message;
+        MessageKey key;
         
         switch (siege.getState()) {
             case ATTACKERS_WON:
-                message = "§c[CityWars] §6" + attackedCity.getName() + " §eha sido conquistada!";
+                key = MessageKey.SIEGE_CONQUERED_BROADCAST;
                 break;
             case DEFENDERS_WON:
-                message = "§c[CityWars] §6" + attackedCity.getName() + " §eha resistido el asedio!";
+                key = MessageKey.SIEGE_RESISTED_BROADCAST;
                 break;
             default:
-                message = "§c[CityWars] §eEl asedio contra §6" + attackedCity.getName() + " §eha terminado.";
+                key = MessageKey.SIEGE_FINISHED_BROADCAST;
         }
         
-        Bukkit.broadcastMessage(message);
+        BroadcastService broadcast = cityWars.getInstance().getBroadcastService();
+        broadcast.sendMessage(broadcast.server(), key, "city", attackedCity.getName());
     }
     
     /**
      * Notifica a los jugadores sobre el inicio del saqueo.
      */
     private void notifyPlayersOfLootStart(City attackedCity, Siege siege) {
-        String message = "§c[CityWars] §4¡SAQUEO INICIADO! §6" + attackedCity.getName() + 
-                        " §eestá siendo saqueada. Tiempo restante: §c" + LOOT_DURATION_MINUTES + " minutos";
-        
-        Bukkit.broadcastMessage(message);
+        BroadcastService broadcast = cityWars.getInstance().getBroadcastService();
+        broadcast.sendMessage(broadcast.server(), MessageKey.LOOT_STARTED_BROADCAST,
+            "city", attackedCity.getName(), "minutes", Integer.toString(LOOT_DURATION_MINUTES));
     }
     
     /**
@@ -493,9 +566,7 @@ public class SiegeManager {
         });
         
         // Restaurar protecciones de todas las ciudades bajo asedio
-        for (Map.Entry<UUID, Siege> entry : activeSieges.entrySet()) {
-            protectionManager.restoreCityProtections(entry.getValue().getAttackedCity());
-        }
+        activeSieges.forEachValue(siege -> protectionManager.restoreCityProtections(siege.getAttackedCity()));
         
         // Limpiar mapas
         activeSieges.clear();
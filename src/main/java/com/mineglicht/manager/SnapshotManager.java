@@ -0,0 +1,67 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.api.CitySnapshot;
+import com.mineglicht.api.StateSnapshot;
+import com.mineglicht.cityWars;
+import com.mineglicht.models.City;
+import com.mineglicht.util.Metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publica instantáneas inmutables del estado para la API
+ * Se reconstruye en el hilo principal tras cada lote de cambios de {@link StateWriter}
+ * y se reemplaza de una vez; los lectores de otros hilos solo leen una referencia volatile.
+ */
+public class SnapshotManager {
+
+    private static final Metrics.Timer PUBLISH_TIMER = Metrics.timer("citywars_snapshot_publish", "Tiempo de publicar la instantánea de la API");
+
+    private final cityWars plugin;
+    private volatile StateSnapshot current = StateSnapshot.EMPTY;
+    private boolean registered;
+
+    public SnapshotManager(cityWars plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Publica la primera instantánea y se suscribe a los cambios
+     */
+    public void start() {
+        if (!registered) {
+            plugin.getStateWriter().onPublish(this::publish);
+            registered = true;
+        }
+        publish();
+    }
+
+    /**
+     * Reconstruye y publica la instantánea (hilo principal)
+     */
+    public void publish() {
+        long start = PUBLISH_TIMER.start();
+        try {
+            CityManager cityManager = plugin.getCityManager();
+            SiegeManager siegeManager = plugin.getSiegeManager();
+
+            Collection<City> cities = cityManager.getAllCities();
+            List<CitySnapshot> snapshots = new ArrayList<>(cities.size());
+            for (City city : cities) {
+                snapshots.add(CitySnapshot.of(city, cityManager.getCitySize(city), siegeManager.isSiegeActive(city)));
+            }
+            current = StateSnapshot.of(plugin.getStateWriter().getVersion(), snapshots, siegeManager.getActiveSiegeCount());
+        } finally {
+            PUBLISH_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Última instantánea publicada (cualquier hilo)
+     */
+    public StateSnapshot getSnapshot() {
+        return current;
+    }
+}
@@ -0,0 +1,191 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.cityWars;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Escritor único del estado de CityWars
+ *
+ * Modelo de estado:
+ * - Solo el hilo principal modifica ciudades, ciudadanos y asedios.
+ * - Otros hilos (tareas asíncronas, otros plugins) envían sus cambios con
+ *   {@link #execute} o {@link #submit}; se aplican en orden al inicio de cada tick.
+ * - Los lectores de cualquier hilo leen estructuras inmutables publicadas
+ *   (CitizenRoster, UuidSet, ConcurrentUuidMap, VersionedBalance) sin candados
+ *   (VersionedBalance solo usa candados para escribir).
+ * - Tras cada tick con cambios se incrementa la versión y se avisa a los
+ *   publicadores registrados con {@link #onPublish} (p. ej. instantáneas de la API).
+ *
+ * Quién escribe:
+ * - Comandos, listeners y tareas síncronas escriben directamente (ya están en el hilo principal);
+ *   el cobro programado de CityManager se aplica con {@link #execute}.
+ * - TaxCollectionTask (asíncrona) solo cobra a los jugadores en la economía externa y envía el
+ *   depósito en la ciudad con {@link #submit}; la API hace lo mismo con todos sus cambios.
+ * - CitizenManager rechaza altas y bajas fuera del hilo principal; City#settleTreasury no liquida
+ *   fuera de él y City#getFunds devuelve City#previewFunds.
+ *
+ * Exentos (no son estado publicado): la caché de perfiles de ciudadanos, que la tarea asíncrona
+ * de descarga vacía con su propio monitor, y los candados de VersionedBalance, que solo hacen
+ * atómica cada escritura del tesoro y no sustituyen a este escritor.
+ */
+public class StateWriter {
+
+    private static final long DRAIN_BUDGET_NANOS = 5_000_000L; // 5 ms por tick como máximo
+
+    private final cityWars plugin;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final List<Runnable> publishers = new CopyOnWriteArrayList<>();
+    private volatile long version;
+    private volatile boolean dirty;
+    private BukkitTask task;
+
+    public StateWriter(cityWars plugin) {
+        this.plugin = plugin;
+    }
+
+    // ==================== CICLO DE VIDA ====================
+
+    /**
+     * Inicia el vaciado de la cola en cada tick
+     */
+    public void start() {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        }
+    }
+
+    /**
+     * Detiene el vaciado y aplica lo pendiente (se llama desde el hilo principal)
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        drainAll();
+    }
+
+    // ==================== ESCRITURA ====================
+
+    public boolean isWriterThread() {
+        return Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Aplica un cambio: en el momento si se llama desde el hilo principal,
+     * si no en el próximo tick
+     */
+    public void execute(Runnable mutation) {
+        if (isWriterThread()) {
+            run(mutation);
+            dirty = true;
+        } else {
+            pendingCount.incrementAndGet();
+            pending.add(mutation);
+        }
+    }
+
+    /**
+     * Aplica un cambio con resultado; el futuro se completa en el hilo principal
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> mutation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(() -> {
+            try {
+                future.complete(mutation.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                throw t;
+            }
+        });
+        return future;
+    }
+
+    // ==================== PUBLICACIÓN ====================
+
+    /**
+     * Registra una acción que se ejecuta en el hilo principal tras cada tick con cambios
+     */
+    public void onPublish(Runnable publisher) {
+        publishers.add(publisher);
+    }
+
+    /**
+     * Marca el estado como modificado; se publicará al final del tick (cualquier hilo)
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Número de lotes de cambios publicados
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    // ==================== VACIADO ====================
+
+    private void drain() {
+        long deadline = System.nanoTime() + DRAIN_BUDGET_NANOS;
+        Runnable mutation;
+        while ((mutation = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            run(mutation);
+            dirty = true;
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        publishIfDirty();
+    }
+
+    private void drainAll() {
+        Runnable mutation;
+        while ((mutation = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            run(mutation);
+            dirty = true;
+        }
+        publishIfDirty();
+    }
+
+    private void publishIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        version++;
+        for (Runnable publisher : publishers) {
+            run(publisher);
+        }
+    }
+
+    /**
+     * Ejecuta un cambio o publicador; ningún fallo (ni un Error) detiene el vaciado
+     */
+    private void run(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Error al aplicar un cambio de estado", e);
+        } catch (Error e) {
+            plugin.getLogger().log(Level.SEVERE, "Error grave al aplicar un cambio de estado", e);
+        }
+    }
+}
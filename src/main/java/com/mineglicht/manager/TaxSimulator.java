@@ -0,0 +1,308 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.models.City;
+import com.mineglicht.util.TaxCalculator;
+import me.xanium.gemseconomy.currency.Currency;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulador de impuestos para administradores
+ * Toma una instantánea de los ciudadanos y de sus balances en el hilo principal
+ * y calcula el impuesto proyectado en un ForkJoinPool propio, sin tocar ningún balance.
+ * Usa el mismo TaxCalculator que TaxCollectionTask.
+ */
+public class TaxSimulator {
+
+    private static final int SLICE_SIZE = 4096; // Ciudadanos por hoja del fork-join
+
+    private final cityWars plugin;
+    private final ForkJoinPool pool;
+    private final Map<String, Report> lastReports;
+
+    public TaxSimulator(cityWars plugin) {
+        this.plugin = plugin;
+        this.pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        this.lastReports = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Lanza una simulación. Debe llamarse desde el hilo principal, ya que ahí
+     * se toma la instantánea; el cálculo se completa fuera de él.
+     * @param requester Nombre de quien pide la simulación (para paginar después)
+     * @param calculator Núcleo de cálculo a usar
+     * @return Futuro con el reporte
+     */
+    public CompletableFuture<Report> simulate(String requester, TaxCalculator calculator) {
+        Snapshot snapshot = takeSnapshot(plugin.getCityManager().getAllCities());
+        return CompletableFuture.supplyAsync(() -> compute(snapshot, calculator), pool)
+                .whenComplete((report, error) -> {
+                    if (report != null) {
+                        lastReports.put(requester.toLowerCase(), report);
+                    }
+                });
+    }
+
+    /**
+     * Obtiene el último reporte calculado para un solicitante
+     */
+    public Report getLastReport(String requester) {
+        return lastReports.get(requester.toLowerCase());
+    }
+
+    /**
+     * Detiene el pool de cálculo
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+        lastReports.clear();
+    }
+
+    // ==================== INSTANTÁNEA ====================
+
+    private Snapshot takeSnapshot(Collection<City> cities) {
+        List<City> cityList = new ArrayList<>(cities);
+        int cityCount = cityList.size();
+
+        String[] cityNames = new String[cityCount];
+        int[] cityStart = new int[cityCount + 1];
+        List<UUID> rosterBuffer = new ArrayList<>();
+
+        // Mismo roster que TaxCollectionTask.collectCityTaxes
+        CitizenManager citizenManager = plugin.getCitizenManager();
+        for (int c = 0; c < cityCount; c++) {
+            City city = cityList.get(c);
+            cityNames[c] = city.getName();
+            cityStart[c] = rosterBuffer.size();
+            rosterBuffer.addAll(citizenManager.getCitizensInCity(city.getId()));
+        }
+        cityStart[cityCount] = rosterBuffer.size();
+
+        UUID[] players = rosterBuffer.toArray(new UUID[0]);
+        double[] balances = new double[players.length];
+        boolean[] online = new boolean[players.length];
+
+        // Balances en caché de GemsEconomy, leídos una sola vez por jugador
+        EconomyManager economyManager = plugin.getEconomyManager();
+        Currency taxCurrency = economyManager.getPricingManager().getTable().getTaxCurrency();
+        for (int i = 0; i < players.length; i++) {
+            balances[i] = economyManager.getGemsEconomy().getBalance(players[i], taxCurrency);
+            online[i] = Bukkit.getPlayer(players[i]) != null;
+        }
+
+        return new Snapshot(cityNames, cityStart, players, balances, online);
+    }
+
+    // ==================== CÁLCULO ====================
+
+    private Report compute(Snapshot snapshot, TaxCalculator calculator) {
+        long start = System.nanoTime();
+        int cityCount = snapshot.cityNames.length;
+
+        double[] taxes = new double[snapshot.players.length];
+        double[] cityTotals = new double[cityCount];
+        double[] cityOnlineTotals = new double[cityCount];
+        int[] cityTaxed = new int[cityCount];
+
+        pool.invoke(new CitySlice(snapshot, calculator, taxes, cityTotals, cityOnlineTotals, cityTaxed, 0, cityCount));
+
+        // Ordenar ciudades por impuesto proyectado (mayor primero)
+        Integer[] order = new Integer[cityCount];
+        for (int c = 0; c < cityCount; c++) {
+            order[c] = c;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(cityTotals[b], cityTotals[a]));
+
+        return new Report(snapshot, calculator, taxes, cityTotals, cityOnlineTotals, cityTaxed,
+                Arrays.stream(order).mapToInt(Integer::intValue).toArray(), System.nanoTime() - start);
+    }
+
+    /**
+     * Divide el rango de ciudades hasta que cada hoja tenga pocos ciudadanos.
+     * Cada hoja escribe solo en sus propias posiciones, por lo que no hay contención.
+     */
+    private static final class CitySlice extends RecursiveAction {
+        private final Snapshot snapshot;
+        private final TaxCalculator calculator;
+        private final double[] taxes;
+        private final double[] cityTotals;
+        private final double[] cityOnlineTotals;
+        private final int[] cityTaxed;
+        private final int fromCity;
+        private final int toCity;
+
+        CitySlice(Snapshot snapshot, TaxCalculator calculator, double[] taxes, double[] cityTotals,
+                  double[] cityOnlineTotals, int[] cityTaxed, int fromCity, int toCity) {
+            this.snapshot = snapshot;
+            this.calculator = calculator;
+            this.taxes = taxes;
+            this.cityTotals = cityTotals;
+            this.cityOnlineTotals = cityOnlineTotals;
+            this.cityTaxed = cityTaxed;
+            this.fromCity = fromCity;
+            this.toCity = toCity;
+        }
+
+        @Override
+        protected void compute() {
+            int citizens = snapshot.cityStart[toCity] - snapshot.cityStart[fromCity];
+            if (toCity - fromCity <= 1 || citizens <= SLICE_SIZE) {
+                computeDirectly();
+                return;
+            }
+
+            int mid = (fromCity + toCity) >>> 1;
+            invokeAll(
+                    new CitySlice(snapshot, calculator, taxes, cityTotals, cityOnlineTotals, cityTaxed, fromCity, mid),
+                    new CitySlice(snapshot, calculator, taxes, cityTotals, cityOnlineTotals, cityTaxed, mid, toCity));
+        }
+
+        private void computeDirectly() {
+            for (int c = fromCity; c < toCity; c++) {
+                double total = 0.0;
+                double onlineTotal = 0.0;
+                int taxed = 0;
+
+                for (int i = snapshot.cityStart[c]; i < snapshot.cityStart[c + 1]; i++) {
+                    double tax = calculator.calculate(snapshot.balances[i]);
+                    taxes[i] = tax;
+                    if (tax > 0) {
+                        total += tax;
+                        taxed++;
+                        if (snapshot.online[i]) {
+                            onlineTotal += tax;
+                        }
+                    }
+                }
+
+                cityTotals[c] = total;
+                cityOnlineTotals[c] = onlineTotal;
+                cityTaxed[c] = taxed;
+            }
+        }
+    }
+
+    // ==================== MODELOS ====================
+
+    /**
+     * Instantánea inmutable de ciudades, ciudadanos y balances.
+     * Los ciudadanos de la ciudad c ocupan [cityStart[c], cityStart[c + 1]).
+     */
+    private static final class Snapshot {
+        final String[] cityNames;
+        final int[] cityStart;
+        final UUID[] players;
+        final double[] balances;
+        final boolean[] online;
+
+        Snapshot(String[] cityNames, int[] cityStart, UUID[] players, double[] balances, boolean[] online) {
+            this.cityNames = cityNames;
+            this.cityStart = cityStart;
+            this.players = players;
+            this.balances = balances;
+            this.online = online;
+        }
+    }
+
+    /**
+     * Resultado de una simulación, ordenado por impuesto proyectado de cada ciudad
+     */
+    public static final class Report {
+        private final Snapshot snapshot;
+        private final TaxCalculator calculator;
+        private final double[] taxes;
+        private final double[] cityTotals;
+        private final double[] cityOnlineTotals;
+        private final int[] cityTaxed;
+        private final int[] order;
+        private final long elapsedNanos;
+        private final double total;
+        private final double onlineTotal;
+
+        private Report(Snapshot snapshot, TaxCalculator calculator, double[] taxes, double[] cityTotals,
+                       double[] cityOnlineTotals, int[] cityTaxed, int[] order, long elapsedNanos) {
+            this.snapshot = snapshot;
+            this.calculator = calculator;
+            this.taxes = taxes;
+            this.cityTotals = cityTotals;
+            this.cityOnlineTotals = cityOnlineTotals;
+            this.cityTaxed = cityTaxed;
+            this.order = order;
+            this.elapsedNanos = elapsedNanos;
+            this.total = Arrays.stream(cityTotals).sum();
+            this.onlineTotal = Arrays.stream(cityOnlineTotals).sum();
+        }
+
+        public TaxCalculator getCalculator() { return calculator; }
+        public long getElapsedMillis() { return elapsedNanos / 1_000_000L; }
+        public int getCityCount() { return order.length; }
+        public int getCitizenCount() { return snapshot.players.length; }
+        public double getTotal() { return total; }
+        public double getOnlineTotal() { return onlineTotal; }
+
+        /**
+         * Número de páginas del listado de ciudades
+         */
+        public int getPageCount(int pageSize) {
+            return Math.max(1, (order.length + pageSize - 1) / pageSize);
+        }
+
+        /**
+         * Obtiene una página del listado de ciudades (empezando en 1)
+         */
+        public List<CityLine> getPage(int page, int pageSize) {
+            List<CityLine> lines = new ArrayList<>(pageSize);
+            int from = Math.max(0, (page - 1) * pageSize);
+            int to = Math.min(order.length, from + pageSize);
+            for (int i = from; i < to; i++) {
+                int c = order[i];
+                lines.add(new CityLine(i + 1, snapshot.cityNames[c],
+                        snapshot.cityStart[c + 1] - snapshot.cityStart[c], cityTaxed[c],
+                        cityTotals[c], cityOnlineTotals[c]));
+            }
+            return lines;
+        }
+
+        /**
+         * Obtiene el impuesto proyectado de cada ciudadano de una ciudad, mayor primero
+         */
+        public List<PlayerLine> getCityDetail(String cityName) {
+            List<PlayerLine> lines = new ArrayList<>();
+            for (int c = 0; c < snapshot.cityNames.length; c++) {
+                if (!snapshot.cityNames[c].equalsIgnoreCase(cityName)) {
+                    continue;
+                }
+                for (int i = snapshot.cityStart[c]; i < snapshot.cityStart[c + 1]; i++) {
+                    lines.add(new PlayerLine(snapshot.players[i], snapshot.balances[i], taxes[i], snapshot.online[i]));
+                }
+                break;
+            }
+            lines.sort((a, b) -> Double.compare(b.tax(), a.tax()));
+            return lines;
+        }
+    }
+
+    /**
+     * Línea del reporte por ciudad
+     */
+    public record CityLine(int position, String cityName, int citizens, int taxedCitizens,
+                           double projected, double projectedOnline) {
+    }
+
+    /**
+     * Línea del reporte por ciudadano
+     */
+    public record PlayerLine(UUID playerId, double balance, double tax, boolean online) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.mineglicht.manager;
+
+import com.mineglicht.models.City;
+import com.mineglicht.models.TreasuryAccrual;
+import com.mineglicht.util.TreasuryCalculator;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Intereses y mantenimiento diarios del tesoro de las ciudades
+ * No hay ningún cobro masivo programado: cada ciudad liquida sus periodos
+ * pendientes al leer o modificar sus fondos (ver City#settleTreasury) y
+ * TreasurySweepTask liquida poco a poco las ciudades inactivas.
+ * Cada periodo pendiente se redondea a céntimos, como si se liquidara día a día.
+ */
+public class TreasuryManager implements TreasuryAccrual {
+
+    private static final long PERIOD_MILLIS = 24L * 60L * 60L * 1000L; // 1 día
+    private static final int MONEY_SCALE = TreasuryCalculator.MONEY_SCALE;
+
+    private final JavaPlugin plugin;
+
+    // Configuración (economy.yml)
+    private volatile boolean interestEnabled;
+    private volatile BigDecimal interestRate;
+    private volatile TreasuryCalculator calculator;
+    private volatile boolean maintenanceEnabled;
+    private volatile BigDecimal maintenanceBaseCost;
+    private volatile BigDecimal maintenanceCostPerLevel;
+
+    public TreasuryManager(JavaPlugin plugin) {
+        this.plugin = plugin;
+        loadConfiguration();
+    }
+
+    /**
+     * Carga la configuración de intereses y mantenimiento desde economy.yml
+     */
+    public void loadConfiguration() {
+        File economyFile = new File(plugin.getDataFolder(), "economy.yml");
+        FileConfiguration config = YamlConfiguration.loadConfiguration(economyFile);
+
+        this.interestEnabled = config.getBoolean("city_banks.interest_enabled", false);
+        this.interestRate = decimal(config.getString("city_banks.interest_rate", "0.02"), "city_banks.interest_rate");
+        BigDecimal maxBalance = decimal(config.getString("city_banks.max_balance", "1000000.0"), "city_banks.max_balance");
+        this.calculator = new TreasuryCalculator(interestEnabled ? interestRate : BigDecimal.ZERO, maxBalance);
+        // Apagado por defecto: activarlo descuenta el mantenimiento del tesoro de todas las ciudades
+        this.maintenanceEnabled = config.getBoolean("city_economy.maintenance.enabled", false);
+        this.maintenanceBaseCost = decimal(config.getString("city_economy.maintenance.base_cost", "50.0"),
+                "city_economy.maintenance.base_cost");
+        this.maintenanceCostPerLevel = decimal(config.getString("city_economy.maintenance.cost_per_level", "0.0"),
+                "city_economy.maintenance.cost_per_level");
+
+        plugin.getLogger().info("Tesoro de ciudades: interés " + (interestEnabled ? interestRate : "deshabilitado")
+                + ", mantenimiento " + (maintenanceEnabled ? maintenanceBaseCost : "deshabilitado"));
+        if (maintenanceEnabled) {
+            plugin.getLogger().warning("city_economy.maintenance.enabled está activo: se descuentan "
+                    + maintenanceBaseCost + " diarios (más cost_per_level) del tesoro de cada ciudad");
+        }
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return PERIOD_MILLIS;
+    }
+
+    /**
+     * Aplica los periodos pendientes con redondeo a céntimos en cada uno (ver TreasuryCalculator)
+     */
+    @Override
+    public double applyPeriods(City city, double funds, long periods) {
+        BigDecimal upkeep = maintenanceEnabled ? getDailyUpkeepDecimal(city) : BigDecimal.ZERO;
+        return calculator.applyPeriods(BigDecimal.valueOf(Math.max(0.0, funds)), upkeep, periods).doubleValue();
+    }
+
+    /**
+     * Obtiene el coste de mantenimiento diario de una ciudad
+     */
+    public double getDailyUpkeep(City city) {
+        return maintenanceEnabled ? getDailyUpkeepDecimal(city).doubleValue() : 0.0;
+    }
+
+    /**
+     * Verifica si la ciudad tiene periodos pendientes de liquidar
+     */
+    public boolean isDue(City city, long now) {
+        return now - city.getLastSettled() >= PERIOD_MILLIS;
+    }
+
+    private BigDecimal getDailyUpkeepDecimal(City city) {
+        int extraLevels = Math.max(0, city.getLevel() - 1);
+        return maintenanceBaseCost.add(maintenanceCostPerLevel.multiply(BigDecimal.valueOf(extraLevels)))
+                .setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private BigDecimal decimal(String value, String path) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException | NullPointerException e) {
+            plugin.getLogger().warning("Valor inválido en economy.yml para " + path + ": " + value);
+            return BigDecimal.ZERO;
+        }
+    }
+}
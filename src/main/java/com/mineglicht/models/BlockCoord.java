@@ -0,0 +1,132 @@
+package com.mineglicht.models;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.UUID;
+
+/**
+ * Coordenada de bloque inmutable: mundo (UUID) y x, y, z empaquetados en un long
+ * Mismo reparto de bits que el BlockPos de Minecraft (26 x, 26 z, 12 y).
+ * Las distancias y comprobaciones de área no crean objetos; solo {@link #toLocation()}
+ * crea un Location, para pasarlo a Bukkit.
+ */
+public record BlockCoord(UUID worldId, long packed) {
+
+    private static final int XZ_BITS = 26;
+    private static final int Y_BITS = 12;
+    private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+    private static final long Y_MASK = (1L << Y_BITS) - 1;
+    private static final int X_SHIFT = XZ_BITS + Y_BITS;
+
+    public static BlockCoord of(UUID worldId, int x, int y, int z) {
+        return new BlockCoord(worldId, pack(x, y, z));
+    }
+
+    public static BlockCoord of(Location location) {
+        World world = location.getWorld();
+        return of(world != null ? world.getUID() : null,
+                location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((x & XZ_MASK) << X_SHIFT) | ((z & XZ_MASK) << Y_BITS) | (y & Y_MASK);
+    }
+
+    // ==================== COORDENADAS ====================
+
+    public int x() {
+        return (int) (packed >> X_SHIFT);
+    }
+
+    public int y() {
+        return (int) (packed << (64 - Y_BITS) >> (64 - Y_BITS));
+    }
+
+    public int z() {
+        return (int) (packed << (64 - X_SHIFT) >> (64 - XZ_BITS));
+    }
+
+    // ==================== MUNDO ====================
+
+    public boolean isIn(World world) {
+        return world != null && world.getUID().equals(worldId);
+    }
+
+    public boolean sameWorld(BlockCoord other) {
+        return other != null && worldId != null && worldId.equals(other.worldId);
+    }
+
+    /**
+     * Mundo cargado de la coordenada, o null
+     */
+    public World world() {
+        return worldId != null ? Bukkit.getWorld(worldId) : null;
+    }
+
+    // ==================== DISTANCIAS ====================
+
+    /**
+     * Distancia al cuadrado en 3D (no comprueba el mundo)
+     */
+    public long distanceSquared(BlockCoord other) {
+        return distanceSquared(other.x(), other.y(), other.z());
+    }
+
+    public long distanceSquared(int bx, int by, int bz) {
+        long dx = x() - bx;
+        long dy = y() - by;
+        long dz = z() - bz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Distancia al cuadrado en el plano XZ (no comprueba el mundo)
+     */
+    public long horizontalDistanceSquared(int bx, int bz) {
+        long dx = x() - bx;
+        long dz = z() - bz;
+        return dx * dx + dz * dz;
+    }
+
+    /**
+     * True si otra coordenada del mismo mundo está a menos de distance bloques (3D)
+     */
+    public boolean isCloserThan(BlockCoord other, int distance) {
+        return sameWorld(other) && distanceSquared(other) < (long) distance * distance;
+    }
+
+    /**
+     * True si la ubicación está en el mismo mundo y a radius bloques o menos en XZ
+     */
+    public boolean isWithinRadius(Location location, int radius) {
+        return location != null && isIn(location.getWorld())
+                && horizontalDistanceSquared(location.getBlockX(), location.getBlockZ()) <= (long) radius * radius;
+    }
+
+    public boolean isWithinRadius(int bx, int bz, int radius) {
+        return horizontalDistanceSquared(bx, bz) <= (long) radius * radius;
+    }
+
+    /**
+     * True si (bx, bz) cae en el cuadrado de lado 2*halfSize+1 centrado aquí
+     */
+    public boolean isWithinSquare(int bx, int bz, int halfSize) {
+        return Math.abs(bx - x()) <= halfSize && Math.abs(bz - z()) <= halfSize;
+    }
+
+    // ==================== BUKKIT ====================
+
+    /**
+     * Crea un Location en el centro del bloque (world null si no está cargado)
+     */
+    public Location toLocation() {
+        return new Location(world(), x() + 0.5, y(), z() + 0.5);
+    }
+
+    @Override
+    public String toString() {
+        return worldId + ":" + x() + "," + y() + "," + z();
+    }
+}
@@ -89,6 +89,10 @@ public class Citizen {
         return joinDate;
     }
     
+    public void setJoinDate(LocalDateTime joinDate) {
+        this.joinDate = Objects.requireNonNull(joinDate, "Join date no puede ser null");
+    }
+    
     public LocalDateTime getLastTaxPayment() {
         return lastTaxPayment;
     }
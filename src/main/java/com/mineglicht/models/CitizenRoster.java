@@ -0,0 +1,117 @@
+package com.mineglicht.models;
+
+import com.mineglicht.util.UuidSet;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Instantánea inmutable de los ciudadanos de una ciudad
+ * Se reconstruye (copy-on-write) solo cuando cambia la membresía, así que leerla
+ * nunca copia y un hilo asíncrono siempre ve un conjunto coherente.
+ */
+public final class CitizenRoster {
+
+    private static final CitizenRoster EMPTY = new CitizenRoster(List.of(), UuidSet.empty());
+
+    // Mismo contenido en dos formas: orden de alta para recorrer, pares de longs ordenados para consultar
+    private final List<UUID> members;
+    private final UuidSet index;
+
+    private CitizenRoster(List<UUID> members, UuidSet index) {
+        this.members = members;
+        this.index = index;
+    }
+
+    public static CitizenRoster empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Crea una instantánea; ignora nulos y duplicados conservando el orden
+     */
+    public static CitizenRoster of(Collection<UUID> citizens) {
+        LinkedHashSet<UUID> unique = new LinkedHashSet<>(citizens);
+        unique.remove(null);
+        if (unique.isEmpty()) {
+            return EMPTY;
+        }
+        return new CitizenRoster(List.copyOf(unique), UuidSet.of(unique));
+    }
+
+    // ==================== COPY-ON-WRITE ====================
+
+    /**
+     * Nueva instantánea con el ciudadano añadido (la misma si ya estaba)
+     */
+    public CitizenRoster with(UUID playerId) {
+        if (playerId == null || index.contains(playerId)) {
+            return this;
+        }
+        UUID[] array = members.toArray(new UUID[members.size() + 1]);
+        array[members.size()] = playerId;
+        return new CitizenRoster(List.of(array), index.with(playerId));
+    }
+
+    /**
+     * Nueva instantánea sin el ciudadano (la misma si no estaba)
+     */
+    public CitizenRoster without(UUID playerId) {
+        if (playerId == null || !index.contains(playerId)) {
+            return this;
+        }
+        if (members.size() == 1) {
+            return EMPTY;
+        }
+        UUID[] array = new UUID[members.size() - 1];
+        int next = 0;
+        for (int i = 0, size = members.size(); i < size; i++) {
+            UUID member = members.get(i);
+            if (!member.equals(playerId)) {
+                array[next++] = member;
+            }
+        }
+        return new CitizenRoster(List.of(array), index.without(playerId));
+    }
+
+    // ==================== LECTURA ====================
+
+    public boolean contains(UUID playerId) {
+        return index.contains(playerId);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    /**
+     * Recorre los ciudadanos por índice, sin crear iteradores
+     */
+    public void forEach(Consumer<? super UUID> action) {
+        for (int i = 0, size = members.size(); i < size; i++) {
+            action.accept(members.get(i));
+        }
+    }
+
+    /**
+     * Lista inmutable en orden de alta
+     */
+    public List<UUID> asList() {
+        return members;
+    }
+
+    /**
+     * Conjunto inmutable para consultas de pertenencia
+     */
+    public Set<UUID> asSet() {
+        return index;
+    }
+}
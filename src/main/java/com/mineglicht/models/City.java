@@ -1,10 +1,12 @@
 package com.mineglicht.models;
 
+import com.mineglicht.util.VersionedBalance;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Representa una ciudad en el sistema CityWars
@@ -13,28 +15,35 @@ import java.util.concurrent.ConcurrentHashMap;
 public class City implements ConfigurationSerializable {
     
     // Campos básicos
-    private String name;
-    private UUID owner;
-    private Location centerLocation;
+    // Solo el hilo principal escribe (ver StateWriter); volatile para que otros hilos lean el último valor
+    private volatile String name;
+    private transient volatile CityKey key;
+    private volatile UUID owner;
+    private volatile BlockCoord center;
     private LocalDateTime creationDate;
     
-    // Gestión de ciudadanos
-    private final Set<UUID> citizens;
-    private int maxCitizens;
+    // Gestión de ciudadanos (instantánea inmutable, se reemplaza al cambiar en el hilo principal)
+    private volatile CitizenRoster citizens;
+    private volatile int maxCitizens;
     
     // Gestión económica
-    private double funds;
-    private double taxRate;
-    private double totalTaxDebt;
-    private LocalDateTime lastTaxCollection;
+    private final VersionedBalance funds;
+    private volatile double taxRate;
+    private volatile double totalTaxDebt;
+    private volatile LocalDateTime lastTaxCollection;
+    private volatile long lastSettled;
+    private transient TreasuryAccrual treasuryAccrual;
     
     // Sistema de niveles
-    private int level;
-    private int expansionCount;
+    private volatile int level;
+    private volatile int expansionCount;
     
     // Estado de la ciudad
-    private CityState state;
-    private boolean protectionEnabled;
+    private volatile CityState state;
+    private volatile boolean protectionEnabled;
+    
+    // Observador de cambios (rankings)
+    private transient CityChangeListener changeListener;
     
     // Configuración por defecto
     private static final double DEFAULT_TAX_RATE = 0.05; // 5%
@@ -53,11 +62,12 @@ public class City implements ConfigurationSerializable {
      */
     public City(String name, UUID owner, Location centerLocation, double initialFunds) {
         this.name = name;
+        this.key = CityKey.of(CityKey.NO_ID, name);
         this.owner = owner;
-        this.centerLocation = centerLocation.clone();
-        this.funds = initialFunds;
+        this.center = BlockCoord.of(centerLocation);
+        this.funds = new VersionedBalance(initialFunds);
         this.creationDate = LocalDateTime.now();
-        this.citizens = ConcurrentHashMap.newKeySet();
+        this.citizens = CitizenRoster.empty();
         this.taxRate = DEFAULT_TAX_RATE;
         this.level = BASE_LEVEL;
         this.maxCitizens = DEFAULT_MAX_CITIZENS;
@@ -66,9 +76,10 @@ public class City implements ConfigurationSerializable {
         this.protectionEnabled = true;
         this.totalTaxDebt = 0.0;
         this.lastTaxCollection = LocalDateTime.now();
+        this.lastSettled = System.currentTimeMillis();
         
         // El owner es automáticamente ciudadano
-        this.citizens.add(owner);
+        this.citizens = citizens.with(owner);
     }
     
     // ==================== MÉTODOS DE GESTIÓN DE CIUDADANOS ====================
@@ -77,15 +88,16 @@ public class City implements ConfigurationSerializable {
      * Añade un ciudadano a la ciudad
      */
     public boolean addCitizen(UUID playerId) {
-        if (playerId == null || citizens.contains(playerId)) {
+        if (playerId == null) {
             return false;
         }
         
-        if (!canAddCitizen()) {
+        if (citizens.contains(playerId) || !canAddCitizen()) {
             return false;
         }
-        
-        return citizens.add(playerId);
+        citizens = citizens.with(playerId);
+        notifyCitizensChanged();
+        return true;
     }
     
     /**
@@ -96,23 +108,50 @@ public class City implements ConfigurationSerializable {
             return false; // No se puede remover al owner
         }
         
-        return citizens.remove(playerId);
+        CitizenRoster updated = citizens.without(playerId);
+        if (updated == citizens) {
+            return false;
+        }
+        citizens = updated;
+        notifyCitizensChanged();
+        return true;
     }
     
     /**
      * Verifica si un jugador es ciudadano
      */
     public boolean isCitizen(UUID playerId) {
-        return playerId != null && citizens.contains(playerId);
+        return citizens.contains(playerId);
     }
     
     /**
-     * Obtiene la lista de ciudadanos
+     * Obtiene la lista inmutable de ciudadanos (no copia)
      */
     public List<UUID> getCitizens() {
-        return new ArrayList<>(citizens);
+        return citizens.asList();
     }
-    
+
+    /**
+     * Vista de solo lectura de los ciudadanos, sin copiar
+     */
+    public Set<UUID> getCitizenView() {
+        return citizens.asSet();
+    }
+
+    /**
+     * Instantánea actual de los ciudadanos; no cambia aunque la ciudad cambie después
+     */
+    public CitizenRoster getRoster() {
+        return citizens;
+    }
+
+    /**
+     * Recorre los ciudadanos sin copiar ni crear iteradores
+     */
+    public void forEachCitizen(Consumer<? super UUID> action) {
+        citizens.forEach(action);
+    }
+
     /**
      * Obtiene el número de ciudadanos
      */
@@ -131,16 +170,30 @@ public class City implements ConfigurationSerializable {
     
     /**
      * Obtiene los fondos actuales de la ciudad
+     * Fuera del hilo principal no liquida: devuelve lo que daría la liquidación (previewFunds).
      */
     public double getFunds() {
-        return funds;
+        if (!Bukkit.isPrimaryThread()) {
+            return previewFunds();
+        }
+        settleTreasury();
+        return funds.get();
+    }
+    
+    /**
+     * Obtiene la versión de los fondos (cambia con cada modificación)
+     */
+    public long getFundsVersion() {
+        return funds.getVersion();
     }
     
     /**
      * Establece los fondos de la ciudad
      */
     public void setFunds(double funds) {
-        this.funds = Math.max(0, funds);
+        settleTreasury();
+        this.funds.set(funds);
+        notifyFundsChanged();
     }
     
     /**
@@ -151,19 +204,44 @@ public class City implements ConfigurationSerializable {
             return false;
         }
         
-        this.funds += amount;
+        settleTreasury();
+        funds.deposit(amount);
+        notifyFundsChanged();
         return true;
     }
     
     /**
-     * Deduce fondos de la ciudad
+     * Deduce fondos de la ciudad (comprobación y descuento atómicos)
      */
     public boolean deductFunds(double amount) {
-        if (amount <= 0 || !canAfford(amount)) {
+        if (amount <= 0) {
+            return false;
+        }
+        
+        settleTreasury();
+        if (!funds.withdraw(amount)) {
+            return false;
+        }
+        notifyFundsChanged();
+        return true;
+    }
+    
+    /**
+     * Transfiere fondos a otra ciudad sin candados globales
+     * Toma los candados de los dos tesoros (ver VersionedBalance#transfer).
+     */
+    public boolean transferFundsTo(City target, double amount) {
+        if (target == null || target == this || amount <= 0) {
             return false;
         }
         
-        this.funds -= amount;
+        settleTreasury();
+        target.settleTreasury();
+        if (!VersionedBalance.transfer(funds, target.funds, amount)) {
+            return false;
+        }
+        notifyFundsChanged();
+        target.notifyFundsChanged();
         return true;
     }
     
@@ -171,7 +249,79 @@ public class City implements ConfigurationSerializable {
      * Verifica si la ciudad puede permitirse un gasto
      */
     public boolean canAfford(double amount) {
-        return amount >= 0 && funds >= amount;
+        return amount >= 0 && getFunds() >= amount;
+    }
+    
+    // ==================== MÉTODOS DE TESORO ====================
+    
+    /**
+     * Establece la política de intereses y mantenimiento
+     */
+    public void setTreasuryAccrual(TreasuryAccrual treasuryAccrual) {
+        this.treasuryAccrual = treasuryAccrual;
+    }
+    
+    /**
+     * Liquida los periodos completos de intereses y mantenimiento pendientes
+     * El resto del periodo en curso se conserva, así que el resultado no depende
+     * de cuántas veces se consulten los fondos; cada periodo se redondea por separado.
+     * Solo liquida en el hilo principal (ver StateWriter); desde otros hilos no hace nada.
+     * @return true si se liquidó al menos un periodo
+     */
+    public boolean settleTreasury() {
+        TreasuryAccrual accrual = treasuryAccrual;
+        if (accrual == null || !Bukkit.isPrimaryThread()) {
+            return false;
+        }
+        
+        long period = accrual.getPeriodMillis();
+        long elapsed = System.currentTimeMillis() - lastSettled;
+        if (period <= 0 || elapsed < period) {
+            return false;
+        }
+        
+        long periods = elapsed / period;
+        double before = funds.get();
+        double after = funds.update(current -> accrual.applyPeriods(this, current, periods));
+        lastSettled += periods * period;
+        
+        if (after != before) {
+            notifyFundsChanged();
+        }
+        return true;
+    }
+    
+    /**
+     * Fondos tal como quedarían tras liquidar los periodos pendientes, sin liquidar
+     * Solo lectura: no modifica el tesoro ni avisa a los listeners (instantáneas, estadísticas).
+     */
+    public double previewFunds() {
+        double current = funds.get();
+        TreasuryAccrual accrual = treasuryAccrual;
+        if (accrual == null) {
+            return current;
+        }
+        
+        long period = accrual.getPeriodMillis();
+        long elapsed = System.currentTimeMillis() - lastSettled;
+        if (period <= 0 || elapsed < period) {
+            return current;
+        }
+        return accrual.applyPeriods(this, current, elapsed / period);
+    }
+    
+    /**
+     * Obtiene el instante (epoch ms) hasta el que el tesoro está liquidado
+     */
+    public long getLastSettled() {
+        return lastSettled;
+    }
+    
+    /**
+     * Establece el instante (epoch ms) hasta el que el tesoro está liquidado
+     */
+    public void setLastSettled(long lastSettled) {
+        this.lastSettled = lastSettled;
     }
     
     // ==================== MÉTODOS DE GESTIÓN DE NIVELES ====================
@@ -233,10 +383,26 @@ public class City implements ConfigurationSerializable {
     }
     
     /**
-     * Establece el nombre de la ciudad
+     * Establece el nombre de la ciudad (la clave conserva el id)
+     * Para renombrar una ciudad registrada usar CityManager.renameCity, que reindexa.
      */
     public void setName(String name) {
         this.name = name;
+        this.key = key.renamed(name);
+    }
+
+    /**
+     * Clave interna: id numérico, nombre normalizado e id de región
+     */
+    public CityKey getKey() {
+        return key;
+    }
+
+    /**
+     * Asigna el id numérico al registrar la ciudad en CityManager
+     */
+    public void assignId(int id) {
+        this.key = CityKey.of(id, name);
     }
     
     /**
@@ -250,27 +416,31 @@ public class City implements ConfigurationSerializable {
      * Establece el propietario de la ciudad
      */
     public void setOwner(UUID owner) {
-        if (this.owner != null) {
-            citizens.remove(this.owner);
-        }
+        CitizenRoster updated = citizens.without(this.owner);
         this.owner = owner;
-        if (owner != null) {
-            citizens.add(owner);
-        }
+        citizens = updated.with(owner);
+        notifyCitizensChanged();
+    }
+    
+    /**
+     * Obtiene el centro de la ciudad como coordenada de bloque (no crea objetos)
+     */
+    public BlockCoord getCenter() {
+        return center;
     }
     
     /**
-     * Obtiene la ubicación central de la ciudad
+     * Crea un Location en el centro de la ciudad; usar solo para pasarlo a Bukkit
      */
     public Location getCenterLocation() {
-        return centerLocation.clone();
+        return center.toLocation();
     }
     
     /**
      * Establece la ubicación central de la ciudad
      */
     public void setCenterLocation(Location location) {
-        this.centerLocation = location.clone();
+        this.center = BlockCoord.of(location);
     }
     
     /**
@@ -286,7 +456,7 @@ public class City implements ConfigurationSerializable {
      * Verifica si la ciudad está bajo asedio
      */
     public CityState getState() {
-        return getState();
+        return state;
     }
     
     /**
@@ -366,6 +536,29 @@ public class City implements ConfigurationSerializable {
         return true;
     }
     
+    // ==================== MÉTODOS DE NOTIFICACIÓN ====================
+    
+    /**
+     * Establece el observador de cambios de la ciudad
+     */
+    public void setChangeListener(CityChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+    
+    private void notifyFundsChanged() {
+        CityChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.onFundsChanged(this);
+        }
+    }
+    
+    private void notifyCitizensChanged() {
+        CityChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.onCitizensChanged(this);
+        }
+    }
+    
     // ==================== MÉTODOS DE UTILIDAD ====================
     
     /**
@@ -384,14 +577,15 @@ public class City implements ConfigurationSerializable {
         Map<String, Object> data = new HashMap<>();
         data.put("name", name);
         data.put("owner", owner.toString());
-        data.put("centerLocation", centerLocation.serialize());
+        data.put("centerLocation", center.toLocation().serialize());
         data.put("creationDate", creationDate.toString());
-        data.put("citizens", citizens.stream().map(UUID::toString).toArray(String[]::new));
+        data.put("citizens", citizens.asList().stream().map(UUID::toString).toArray(String[]::new));
         data.put("maxCitizens", maxCitizens);
-        data.put("funds", funds);
+        data.put("funds", funds.get());
         data.put("taxRate", taxRate);
         data.put("totalTaxDebt", totalTaxDebt);
         data.put("lastTaxCollection", lastTaxCollection.toString());
+        data.put("lastSettled", lastSettled);
         data.put("level", level);
         data.put("expansionCount", expansionCount);
         data.put("state", state);
@@ -416,6 +610,9 @@ public class City implements ConfigurationSerializable {
         city.taxRate = (Double) data.get("taxRate");
         city.totalTaxDebt = (Double) data.get("totalTaxDebt");
         city.lastTaxCollection = LocalDateTime.parse((String) data.get("lastTaxCollection"));
+        if (data.get("lastSettled") instanceof Number) {
+            city.lastSettled = ((Number) data.get("lastSettled")).longValue();
+        }
         city.level = (Integer) data.get("level");
         city.expansionCount = (Integer) data.get("expansionCount");
         city.state = (CityState) data.get("underSiege");
@@ -423,9 +620,11 @@ public class City implements ConfigurationSerializable {
         
         // Restaurar ciudadanos
         String[] citizenStrings = (String[]) data.get("citizens");
+        List<UUID> restored = new ArrayList<>(city.citizens.asList());
         for (String citizenString : citizenStrings) {
-            city.citizens.add(UUID.fromString(citizenString));
+            restored.add(UUID.fromString(citizenString));
         }
+        city.citizens = CitizenRoster.of(restored);
         
         return city;
     }
@@ -433,7 +632,7 @@ public class City implements ConfigurationSerializable {
     @Override
     public String toString() {
         return String.format("City{name='%s', owner=%s, level=%d, citizens=%d, funds=%.2f}", 
-                           name, owner, level, citizens.size(), funds);
+                           name, owner, level, citizens.size(), funds.get());
     }
     
     @Override
@@ -0,0 +1,18 @@
+package com.mineglicht.models;
+
+/**
+ * Observador de cambios en una ciudad
+ * Se notifica después de cada cambio de fondos o de ciudadanos
+ */
+public interface CityChangeListener {
+
+    /**
+     * Los fondos de la ciudad han cambiado
+     */
+    void onFundsChanged(City city);
+
+    /**
+     * La lista de ciudadanos de la ciudad ha cambiado
+     */
+    void onCitizensChanged(City city);
+}
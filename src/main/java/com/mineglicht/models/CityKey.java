@@ -0,0 +1,86 @@
+package com.mineglicht.models;
+
+import java.util.Locale;
+
+/**
+ * Clave inmutable de una ciudad: id numérico, nombre normalizado e id de región
+ * Se calcula una sola vez al crear o renombrar la ciudad, así que las búsquedas y
+ * las regiones de WorldGuard no vuelven a pasar el nombre a minúsculas en cada llamada.
+ * Renombrar conserva el id; mapas internos pueden indexar por {@link #id()}.
+ */
+public final class CityKey {
+
+    public static final String REGION_PREFIX = "city_";
+    public static final int NO_ID = -1; // Ciudad aún no registrada en CityManager
+
+    private final int id;
+    private final String name;
+    private final String normalized;
+    private final String regionId;
+
+    private CityKey(int id, String name) {
+        this.id = id;
+        this.name = name;
+        this.normalized = normalize(name).intern();
+        this.regionId = (REGION_PREFIX + normalized).intern();
+    }
+
+    public static CityKey of(int id, String name) {
+        return new CityKey(id, name);
+    }
+
+    /**
+     * Forma normalizada de un nombre (la misma que usan cities.yml y las regiones)
+     * Locale.ROOT: no depende del idioma del servidor (p. ej. la I turca)
+     */
+    public static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Id de región de WorldGuard para un nombre suelto (cuando no se tiene la ciudad)
+     */
+    public static String regionIdOf(String name) {
+        return REGION_PREFIX + normalize(name);
+    }
+
+    /**
+     * Misma ciudad (mismo id) con otro nombre
+     */
+    public CityKey renamed(String newName) {
+        return new CityKey(id, newName);
+    }
+
+    // ==================== GETTERS ====================
+
+    public int id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String normalized() {
+        return normalized;
+    }
+
+    public String regionId() {
+        return regionId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CityKey other && id == other.id && normalized.equals(other.normalized);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * id + normalized.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return id + ":" + normalized;
+    }
+}
@@ -0,0 +1,24 @@
+package com.mineglicht.models;
+
+/**
+ * Política de intereses y mantenimiento del tesoro de una ciudad
+ * La ciudad la aplica de forma perezosa, todos los periodos pendientes de una vez,
+ * cuando se leen o modifican sus fondos.
+ */
+public interface TreasuryAccrual {
+
+    /**
+     * Duración de un periodo de liquidación en milisegundos
+     */
+    long getPeriodMillis();
+
+    /**
+     * Aplica varios periodos completos de intereses y mantenimiento
+     * El resultado debe ser el mismo que aplicarlos uno a uno.
+     * @param city Ciudad a liquidar
+     * @param funds Fondos al inicio del primer periodo
+     * @param periods Número de periodos a aplicar
+     * @return Fondos al final del último periodo (nunca negativos)
+     */
+    double applyPeriods(City city, double funds, long periods);
+}
@@ -0,0 +1,52 @@
+package com.mineglicht.task;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.manager.CitizenManager;
+import com.mineglicht.util.CityLog;
+import com.mineglicht.util.Timings;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.logging.Level;
+
+/**
+ * Tarea que guarda y descarga los perfiles de ciudadanos desconectados sin uso reciente
+ * Corre fuera del hilo principal: la caché de perfiles es thread-safe y solo escribe archivos.
+ */
+public class CitizenProfileEvictionTask extends BukkitRunnable {
+
+    private static final long PERIOD_TICKS = 20L * 60L; // Cada minuto
+    private static final Timings.Handler TIMING = Timings.handler("task CitizenProfileEvictionTask");
+
+    private final cityWars plugin;
+    private final CitizenManager citizenManager;
+
+    public CitizenProfileEvictionTask(cityWars plugin) {
+        this.plugin = plugin;
+        this.citizenManager = plugin.getCitizenManager();
+    }
+
+    @Override
+    public void run() {
+        long start = TIMING.start();
+        try {
+            int evicted = citizenManager.evictIdleProfiles();
+            if (evicted > 0) {
+                int loaded = citizenManager.getLoadedProfileCount();
+                CityLog.fine(CityLog.Category.CITIZEN, () -> "Perfiles de ciudadanos descargados: " + evicted
+                        + " (en memoria: " + loaded + ")");
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Error en CitizenProfileEvictionTask", e);
+        } finally {
+            TIMING.stop(start);
+        }
+    }
+
+    /**
+     * Inicia la tarea en un hilo asíncrono
+     */
+    public CitizenProfileEvictionTask start() {
+        this.runTaskTimerAsynchronously(plugin, PERIOD_TICKS, PERIOD_TICKS);
+        return this;
+    }
+}
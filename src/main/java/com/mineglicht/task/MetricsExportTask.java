@@ -0,0 +1,172 @@
+package com.mineglicht.task;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.util.Metrics;
+import com.mineglicht.util.Timings;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.logging.Level;
+
+/**
+ * Tarea que exporta las métricas a un archivo diario (metrics/metrics-AAAA-MM-DD.csv o .json)
+ * La instantánea se toma en el hilo principal (los medidores leen managers) y la
+ * escritura se hace de forma asíncrona. Se borran los archivos más antiguos que keep-days.
+ */
+public class MetricsExportTask extends BukkitRunnable {
+
+    private static final Timings.Handler TIMING = Timings.handler("task MetricsExportTask");
+
+    private final cityWars plugin;
+    private final File directory;
+    private final boolean json;
+    private final int keepDays;
+    private final long periodTicks;
+    private LocalDate lastCleanup;
+
+    public MetricsExportTask(cityWars plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "metrics");
+        this.json = "json".equalsIgnoreCase(plugin.getConfig().getString("metrics.export.format", "csv"));
+        this.keepDays = Math.max(1, plugin.getConfig().getInt("metrics.export.keep-days", 7));
+        this.periodTicks = Math.max(1, plugin.getConfig().getInt("metrics.export.interval-seconds", 60)) * 20L;
+    }
+
+    @Override
+    public void run() {
+        if (!Metrics.isEnabled()) {
+            return;
+        }
+        long start = TIMING.start();
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        TIMING.stop(start);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> write(snapshot));
+    }
+
+    /**
+     * Inicia la tarea en el hilo principal
+     */
+    public MetricsExportTask start() {
+        this.runTaskTimer(plugin, periodTicks, periodTicks);
+        return this;
+    }
+
+    // ==================== ESCRITURA ====================
+
+    private synchronized void write(Metrics.Snapshot snapshot) {
+        try {
+            if (!directory.exists() && !directory.mkdirs()) {
+                plugin.getLogger().warning("No se pudo crear la carpeta de métricas");
+                return;
+            }
+
+            LocalDate day = Instant.ofEpochMilli(snapshot.timestamp()).atZone(ZoneId.systemDefault()).toLocalDate();
+            File file = new File(directory, "metrics-" + day + (json ? ".json" : ".csv"));
+            boolean newFile = !file.exists();
+
+            try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (json) {
+                    writer.write(toJson(snapshot));
+                    writer.newLine();
+                } else {
+                    if (newFile) {
+                        writer.write("timestamp,type,name,value,count,mean_ms,p50_ms,p99_ms,max_ms");
+                        writer.newLine();
+                    }
+                    writeCsv(writer, snapshot);
+                }
+            }
+
+            if (!day.equals(lastCleanup)) {
+                lastCleanup = day;
+                deleteOldFiles(day);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Error al exportar métricas", e);
+        }
+    }
+
+    private void writeCsv(BufferedWriter writer, Metrics.Snapshot snapshot) throws IOException {
+        long time = snapshot.timestamp();
+        for (Metrics.CounterSample counter : snapshot.counters()) {
+            writer.write(time + ",counter," + counter.name() + "," + counter.value() + ",,,,,");
+            writer.newLine();
+        }
+        for (Metrics.GaugeSample gauge : snapshot.gauges()) {
+            writer.write(time + ",gauge," + gauge.name() + "," + format(gauge.value()) + ",,,,,");
+            writer.newLine();
+        }
+        for (Metrics.TimerSample timer : snapshot.timers()) {
+            writer.write(time + ",timer," + timer.name() + ",," + timer.count() + ","
+                    + format(timer.meanMillis()) + "," + format(timer.percentileMillis(0.50)) + ","
+                    + format(timer.percentileMillis(0.99)) + "," + format(timer.maxMillis()));
+            writer.newLine();
+        }
+    }
+
+    private String toJson(Metrics.Snapshot snapshot) {
+        StringBuilder builder = new StringBuilder(512);
+        builder.append("{\"timestamp\":").append(snapshot.timestamp()).append(",\"counters\":{");
+        String separator = "";
+        for (Metrics.CounterSample counter : snapshot.counters()) {
+            builder.append(separator).append('"').append(counter.name()).append("\":").append(counter.value());
+            separator = ",";
+        }
+        builder.append("},\"gauges\":{");
+        separator = "";
+        for (Metrics.GaugeSample gauge : snapshot.gauges()) {
+            double value = gauge.value();
+            builder.append(separator).append('"').append(gauge.name()).append("\":")
+                    .append(Double.isFinite(value) ? format(value) : "null");
+            separator = ",";
+        }
+        builder.append("},\"timers\":{");
+        separator = "";
+        for (Metrics.TimerSample timer : snapshot.timers()) {
+            builder.append(separator).append('"').append(timer.name()).append("\":{")
+                    .append("\"count\":").append(timer.count())
+                    .append(",\"mean_ms\":").append(format(timer.meanMillis()))
+                    .append(",\"p50_ms\":").append(format(timer.percentileMillis(0.50)))
+                    .append(",\"p99_ms\":").append(format(timer.percentileMillis(0.99)))
+                    .append(",\"max_ms\":").append(format(timer.maxMillis()))
+                    .append('}');
+            separator = ",";
+        }
+        return builder.append("}}").toString();
+    }
+
+    private void deleteOldFiles(LocalDate today) {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith("metrics-"));
+        if (files == null) {
+            return;
+        }
+        LocalDate oldest = today.minusDays(keepDays - 1L);
+        for (File file : files) {
+            String name = file.getName();
+            int dot = name.lastIndexOf('.');
+            try {
+                LocalDate day = LocalDate.parse(name.substring("metrics-".length(), dot));
+                if (day.isBefore(oldest) && !file.delete()) {
+                    plugin.getLogger().warning("No se pudo borrar " + name);
+                }
+            } catch (RuntimeException ignored) {
+                // Archivo con otro formato de nombre
+            }
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -1,7 +1,13 @@
 package com.mineglicht.task;
 
 import com.mineglicht.cityWars;
-import com.mineglicht.util.MessageUtils;
+import com.mineglicht.config.MessageKey;
+import com.mineglicht.manager.BroadcastService;
+import com.mineglicht.manager.NotificationBus;
+import com.mineglicht.models.City;
+import com.mineglicht.models.CityKey;
+import com.mineglicht.util.CityPairTable;
+import com.mineglicht.util.Timings;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -15,23 +21,22 @@ import java.util.logging.Level;
 /**
  * Tarea programada para manejar cooldowns entre asedios
  * Controla los períodos de tiempo entre ataques de ciudades
+ * Los cooldowns entre ciudades se indexan por id (CityKey) y solo se tocan en el hilo principal.
  */
 public class SiegeCooldownTask extends BukkitRunnable {
     
+    private static final Timings.Handler TIMING = Timings.handler("task SiegeCooldownTask");
+    
     private final cityWars plugin;
     private final SiegeManager siegeManager;
     
-    // Mapa para almacenar cooldowns entre ciudades específicas
-    // Key: "atacante-defensor", Value: tiempo restante en segundos
-    private final Map<String, Integer> cityCooldowns = new ConcurrentHashMap<>();
+    // Cooldowns entre ciudades: par dirigido (id atacante, id defensor) -> inicio y fin en ms
+    private final CityPairTable cityCooldowns = CityPairTable.directed();
     
     // Mapa para cooldowns individuales de jugadores
     // Key: UUID del jugador, Value: tiempo restante en segundos
     private final Map<UUID, Integer> playerCooldowns = new ConcurrentHashMap<>();
     
-    // Mapa para almacenar información adicional de cooldowns
-    private final Map<String, CooldownInfo> cooldownInfo = new ConcurrentHashMap<>();
-    
     public SiegeCooldownTask(cityWars plugin) {
         this.plugin = plugin;
         this.siegeManager = plugin.getSiegeManager();
@@ -39,6 +44,7 @@ public class SiegeCooldownTask extends BukkitRunnable {
     
     @Override
     public void run() {
+        long start = TIMING.start();
         try {
             // Procesar cooldowns entre ciudades
             processCityCooldowns();
@@ -48,6 +54,8 @@ public class SiegeCooldownTask extends BukkitRunnable {
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Error en SiegeCooldownTask", e);
+        } finally {
+            TIMING.stop(start);
         }
     }
     
@@ -55,26 +63,17 @@ public class SiegeCooldownTask extends BukkitRunnable {
      * Procesa y actualiza los cooldowns entre ciudades
      */
     private void processCityCooldowns() {
-        cityCooldowns.entrySet().removeIf(entry -> {
-            String key = entry.getKey();
-            int timeRemaining = entry.getValue() - 1;
-            
-            if (timeRemaining <= 0) {
-                // Cooldown terminado
-                CooldownInfo info = cooldownInfo.remove(key);
-                if (info != null) {
-                    notifyCooldownExpired(info);
-                }
-                return true; // Remover de la lista
-            } else {
-                // Actualizar tiempo restante
-                entry.setValue(timeRemaining);
-                
-                // Enviar notificaciones en momentos específicos
-                if (shouldNotify(timeRemaining)) {
-                    notifyCooldownProgress(key, timeRemaining);
-                }
-                return false; // Mantener en la lista
+        long now = System.currentTimeMillis();
+        
+        // Cooldowns terminados
+        cityCooldowns.expireCooldowns(now, (attackerId, defenderId, startTime, endTime) ->
+            notifyCooldownExpired(attackerId, defenderId));
+        
+        // Enviar notificaciones en momentos específicos
+        cityCooldowns.forEachCooldown(now, (attackerId, defenderId, startTime, endTime) -> {
+            int timeRemaining = remainingSeconds(endTime, now);
+            if (shouldNotify(timeRemaining)) {
+                notifyCooldownProgress(attackerId, defenderId, timeRemaining);
             }
         });
     }
@@ -89,10 +88,9 @@ public class SiegeCooldownTask extends BukkitRunnable {
             
             if (timeRemaining <= 0) {
                 // Cooldown terminado
-                Player player = Bukkit.getPlayer(playerUuid);
-                if (player != null && player.isOnline()) {
-                    MessageUtils.sendMessage(player, 
-                        "&a¡Tu cooldown de asedio ha expirado! Ya puedes participar en nuevos asedios.");
+                if (Bukkit.getPlayer(playerUuid) != null) {
+                    plugin.getNotificationBus().post(playerUuid, NotificationBus.Priority.INFO,
+                        "player-cooldown", MessageKey.SIEGE_PLAYER_COOLDOWN_EXPIRED);
                 }
                 return true; // Remover de la lista
             } else {
@@ -118,35 +116,31 @@ public class SiegeCooldownTask extends BukkitRunnable {
     /**
      * Notifica el progreso del cooldown a las ciudades involucradas
      */
-    private void notifyCooldownProgress(String cooldownKey, int timeRemaining) {
-        CooldownInfo info = cooldownInfo.get(cooldownKey);
-        if (info == null) return;
-        
-        String timeFormatted = formatTime(timeRemaining);
-        String message = String.format(
-            "&e¡Cooldown de asedio! &fNo se puede atacar &b%s &fpor &c%s &fmás.",
-            info.defenderCity, timeFormatted
-        );
+    private void notifyCooldownProgress(int attackerId, int defenderId, int timeRemaining) {
+        String attackerCity = cityName(attackerId);
+        String defenderCity = cityName(defenderId);
+        if (attackerCity == null || defenderCity == null) return;
         
         // Notificar a los miembros de la ciudad atacante
-        notifyCityMembers(info.attackerCity, message);
+        notifyCityMembers(attackerCity, "cooldown:" + attackerCity + "-" + defenderCity,
+            MessageKey.SIEGE_COOLDOWN_PROGRESS, "city", defenderCity, "time", formatTime(timeRemaining));
     }
     
     /**
      * Notifica cuando un cooldown ha expirado
      */
-    private void notifyCooldownExpired(CooldownInfo info) {
-        String message = String.format(
-            "&a¡Cooldown expirado! &fYa puedes atacar a &b%s &fnuevamente.",
-            info.defenderCity
-        );
+    private void notifyCooldownExpired(int attackerId, int defenderId) {
+        String attackerCity = cityName(attackerId);
+        String defenderCity = cityName(defenderId);
+        if (attackerCity == null || defenderCity == null) return;
         
         // Notificar a los líderes de la ciudad atacante
-        notifyCityLeaders(info.attackerCity, message);
+        notifyCityLeaders(attackerCity, "cooldown:" + attackerCity + "-" + defenderCity,
+            MessageKey.SIEGE_COOLDOWN_EXPIRED, "city", defenderCity);
         
         plugin.getLogger().info(String.format(
             "Cooldown expirado: %s puede atacar a %s nuevamente",
-            info.attackerCity, info.defenderCity
+            attackerCity, defenderCity
         ));
     }
     
@@ -157,11 +151,18 @@ public class SiegeCooldownTask extends BukkitRunnable {
         int cooldownMinutes = plugin.getConfig().getInt("siege.cooldown-minutes", 120); // 2 horas por defecto
         int cooldownSeconds = cooldownMinutes * 60;
         
-        String key = attackerCity + "-" + defenderCity;
-        cityCooldowns.put(key, cooldownSeconds);
+        int attackerId = cityId(attackerCity);
+        int defenderId = cityId(defenderCity);
+        if (attackerId == CityKey.NO_ID || defenderId == CityKey.NO_ID) {
+            plugin.getLogger().warning(String.format(
+                "No se pudo añadir el cooldown de asedio: ciudad desconocida (%s, %s)",
+                attackerCity, defenderCity
+            ));
+            return;
+        }
         
-        CooldownInfo info = new CooldownInfo(attackerCity, defenderCity, System.currentTimeMillis());
-        cooldownInfo.put(key, info);
+        long now = System.currentTimeMillis();
+        cityCooldowns.setCooldown(attackerId, defenderId, now, now + cooldownSeconds * 1000L);
         
         plugin.getLogger().info(String.format(
             "Cooldown de asedio añadido: %s no puede atacar a %s por %d minutos",
@@ -169,11 +170,8 @@ public class SiegeCooldownTask extends BukkitRunnable {
         ));
         
         // Notificar a las ciudades involucradas
-        String message = String.format(
-            "&c¡Cooldown de asedio activado! &fNo se puede atacar a &b%s &fpor &e%s&f.",
-            defenderCity, formatTime(cooldownSeconds)
-        );
-        notifyCityMembers(attackerCity, message);
+        notifyCityMembers(attackerCity, "cooldown:" + attackerCity + "-" + defenderCity,
+            MessageKey.SIEGE_COOLDOWN_STARTED, "city", defenderCity, "time", formatTime(cooldownSeconds));
     }
     
     /**
@@ -185,9 +183,8 @@ public class SiegeCooldownTask extends BukkitRunnable {
         
         Player player = Bukkit.getPlayer(playerUuid);
         if (player != null && player.isOnline()) {
-            MessageUtils.sendMessage(player, 
-                String.format("&c¡Cooldown de asedio! &fNo puedes participar en asedios por &e%s&f.", 
-                formatTime(cooldownSeconds)));
+            plugin.getNotificationBus().post(playerUuid, NotificationBus.Priority.SIEGE, "player-cooldown",
+                MessageKey.SIEGE_PLAYER_COOLDOWN_STARTED, "time", formatTime(cooldownSeconds));
         }
         
         plugin.getLogger().info(String.format(
@@ -200,8 +197,7 @@ public class SiegeCooldownTask extends BukkitRunnable {
      * Verifica si hay cooldown activo entre dos ciudades
      */
     public boolean hasCityCooldown(String attackerCity, String defenderCity) {
-        String key = attackerCity + "-" + defenderCity;
-        return cityCooldowns.containsKey(key);
+        return getCityCooldownTime(attackerCity, defenderCity) > 0;
     }
     
     /**
@@ -215,8 +211,12 @@ public class SiegeCooldownTask extends BukkitRunnable {
      * Obtiene el tiempo restante de cooldown entre ciudades
      */
     public int getCityCooldownTime(String attackerCity, String defenderCity) {
-        String key = attackerCity + "-" + defenderCity;
-        return cityCooldowns.getOrDefault(key, 0);
+        int attackerId = cityId(attackerCity);
+        int defenderId = cityId(defenderCity);
+        if (attackerId == CityKey.NO_ID || defenderId == CityKey.NO_ID) {
+            return 0;
+        }
+        return remainingSeconds(cityCooldowns.getCooldownUntil(attackerId, defenderId), System.currentTimeMillis());
     }
     
     /**
@@ -230,9 +230,10 @@ public class SiegeCooldownTask extends BukkitRunnable {
      * Remueve un cooldown entre ciudades (para comandos de admin)
      */
     public boolean removeCityCooldown(String attackerCity, String defenderCity) {
-        String key = attackerCity + "-" + defenderCity;
-        boolean removed = cityCooldowns.remove(key) != null;
-        cooldownInfo.remove(key);
+        int attackerId = cityId(attackerCity);
+        int defenderId = cityId(defenderCity);
+        boolean removed = attackerId != CityKey.NO_ID && defenderId != CityKey.NO_ID
+            && cityCooldowns.clearCooldown(attackerId, defenderId, System.currentTimeMillis());
         
         if (removed) {
             plugin.getLogger().info(String.format(
@@ -261,6 +262,29 @@ public class SiegeCooldownTask extends BukkitRunnable {
         return removed;
     }
     
+    /**
+     * Segundos que faltan hasta el fin del cooldown (redondeando hacia arriba), o 0
+     */
+    private static int remainingSeconds(long endTime, long now) {
+        return endTime > now ? (int) ((endTime - now + 999) / 1000) : 0;
+    }
+    
+    /**
+     * Id de la ciudad (CityKey) a partir de su nombre, o CityKey.NO_ID
+     */
+    private int cityId(String cityName) {
+        City city = cityName != null ? plugin.getCityManager().getCity(cityName) : null;
+        return city != null ? city.getKey().id() : CityKey.NO_ID;
+    }
+    
+    /**
+     * Nombre actual de la ciudad con ese id, o null si ya no existe
+     */
+    private String cityName(int cityId) {
+        City city = plugin.getCityManager().getCityById(cityId);
+        return city != null ? city.getName() : null;
+    }
+    
     /**
      * Formatea el tiempo en segundos a un string legible
      */
@@ -278,15 +302,11 @@ public class SiegeCooldownTask extends BukkitRunnable {
     }
     
     /**
-     * Notifica a todos los miembros de una ciudad
+     * Notifica a todos los miembros de una ciudad a través del bus de notificaciones
      */
-    private void notifyCityMembers(String cityName, String message) {
+    private void notifyCityMembers(String cityName, String key, MessageKey message, String... placeholders) {
         try {
-            siegeManager.getCityMembers(cityName).forEach(player -> {
-                if (player != null && player.isOnline()) {
-                    MessageUtils.sendMessage(player, message);
-                }
-            });
+            plugin.getNotificationBus().postToCity(cityName, NotificationBus.Priority.SIEGE, key, message, placeholders);
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, 
                 "Error al notificar a los miembros de la ciudad " + cityName, e);
@@ -296,11 +316,13 @@ public class SiegeCooldownTask extends BukkitRunnable {
     /**
      * Notifica a los líderes de una ciudad
      */
-    private void notifyCityLeaders(String cityName, String message) {
+    private void notifyCityLeaders(String cityName, String key, MessageKey message, String... placeholders) {
         try {
+            NotificationBus bus = plugin.getNotificationBus();
+            BroadcastService.Localized localized = BroadcastService.localized(message, placeholders);
             siegeManager.getCityLeaders(cityName).forEach(player -> {
                 if (player != null && player.isOnline()) {
-                    MessageUtils.sendMessage(player, message);
+                    bus.post(player.getUniqueId(), NotificationBus.Priority.SIEGE, key, localized.in(player));
                 }
             });
         } catch (Exception e) {
@@ -316,11 +338,13 @@ public class SiegeCooldownTask extends BukkitRunnable {
         Map<String, String> activeCooldowns = new HashMap<>();
         
         // Añadir cooldowns entre ciudades
-        cityCooldowns.forEach((key, timeRemaining) -> {
-            CooldownInfo info = cooldownInfo.get(key);
-            if (info != null) {
-                String description = String.format("%s → %s", info.attackerCity, info.defenderCity);
-                activeCooldowns.put(description, formatTime(timeRemaining));
+        long now = System.currentTimeMillis();
+        cityCooldowns.forEachCooldown(now, (attackerId, defenderId, startTime, endTime) -> {
+            String attackerCity = cityName(attackerId);
+            String defenderCity = cityName(defenderId);
+            if (attackerCity != null && defenderCity != null) {
+                String description = String.format("%s → %s", attackerCity, defenderCity);
+                activeCooldowns.put(description, formatTime(remainingSeconds(endTime, now)));
             }
         });
         
@@ -331,13 +355,17 @@ public class SiegeCooldownTask extends BukkitRunnable {
      * Obtiene información detallada de un cooldown específico
      */
     public String getCooldownInfo(String attackerCity, String defenderCity) {
-        String key = attackerCity + "-" + defenderCity;
-        Integer timeRemaining = cityCooldowns.get(key);
-        CooldownInfo info = cooldownInfo.get(key);
+        int attackerId = cityId(attackerCity);
+        int defenderId = cityId(defenderCity);
+        if (attackerId == CityKey.NO_ID || defenderId == CityKey.NO_ID) {
+            return null;
+        }
+        
+        long currentTime = System.currentTimeMillis();
+        int timeRemaining = remainingSeconds(cityCooldowns.getCooldownUntil(attackerId, defenderId), currentTime);
         
-        if (timeRemaining != null && info != null) {
-            long startTime = info.startTime;
-            long currentTime = System.currentTimeMillis();
+        if (timeRemaining > 0) {
+            long startTime = cityCooldowns.getCooldownStart(attackerId, defenderId);
             long elapsedTime = (currentTime - startTime) / 1000; // En segundos
             
             return String.format(
@@ -359,12 +387,10 @@ public class SiegeCooldownTask extends BukkitRunnable {
      * Limpia todos los cooldowns (para comandos de admin o reinicio)
      */
     public void clearAllCooldowns() {
-        int cityCount = cityCooldowns.size();
+        int cityCount = cityCooldowns.clearCooldowns();
         int playerCount = playerCooldowns.size();
         
-        cityCooldowns.clear();
         playerCooldowns.clear();
-        cooldownInfo.clear();
         
         plugin.getLogger().info(String.format(
             "Todos los cooldowns han sido limpiados: %d de ciudades, %d de jugadores",
@@ -391,19 +417,4 @@ public class SiegeCooldownTask extends BukkitRunnable {
             plugin.getLogger().info("Tarea de cooldown de asedios detenida.");
         }
     }
-    
-    /**
-     * Clase interna para almacenar información de cooldowns
-     */
-    private static class CooldownInfo {
-        final String attackerCity;
-        final String defenderCity;
-        final long startTime;
-        
-        CooldownInfo(String attackerCity, String defenderCity, long startTime) {
-            this.attackerCity = attackerCity;
-            this.defenderCity = defenderCity;
-            this.startTime = startTime;
-        }
-    }
 }
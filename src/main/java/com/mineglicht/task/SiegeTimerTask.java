@@ -1,17 +1,19 @@
 package com.mineglicht.task;
 
 import com.mineglicht.cityWars;
+import com.mineglicht.config.MessageKey;
+import com.mineglicht.manager.BroadcastService;
+import com.mineglicht.manager.SiegeHudManager;
 import com.mineglicht.models.City;
 import com.mineglicht.models.SiegeFlag;
 import com.mineglicht.models.SiegeState;
+import com.mineglicht.util.CityLog;
 import com.mineglicht.util.FireworkUtils;
-import com.mineglicht.util.MessageUtils;
+import com.mineglicht.util.Timings;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.List;
 import java.util.UUID;
 import java.util.logging.Level;
 
@@ -21,6 +23,8 @@ import java.util.logging.Level;
  */
 public class SiegeTimerTask extends BukkitRunnable {
     
+    private static final Timings.Handler TIMING = Timings.handler("task SiegeTimerTask");
+    
     private final cityWars plugin;
     private final SiegeManager siegeManager;
     private final String cityName;
@@ -30,6 +34,7 @@ public class SiegeTimerTask extends BukkitRunnable {
     private int fireworkInterval; // En segundos
     private int timeSinceLastFirework;
     private boolean siegeEnded = false;
+    private City attackingCity; // Se resuelve una vez para el HUD
     
     public SiegeTimerTask(cityWars plugin, String cityName, Location siegeFlagLocation, UUID siegeFlagId) {
         this.plugin = plugin;
@@ -46,6 +51,7 @@ public class SiegeTimerTask extends BukkitRunnable {
     
     @Override
     public void run() {
+        long start = TIMING.start();
         try {
             if (siegeEnded) {
                 cancel();
@@ -82,6 +88,9 @@ public class SiegeTimerTask extends BukkitRunnable {
                 timeSinceLastFirework = 0;
             }
             
+            // Actualizar el HUD (solo envía paquetes si cambió algún valor mostrado)
+            updateHud(city, siegeFlag);
+            
             // Enviar mensajes de advertencia en momentos específicos
             sendWarningMessages();
             
@@ -94,6 +103,8 @@ public class SiegeTimerTask extends BukkitRunnable {
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, 
                 "Error en SiegeTimerTask para la ciudad " + cityName, e);
+        } finally {
+            TIMING.stop(start);
         }
     }
     
@@ -111,9 +122,10 @@ public class SiegeTimerTask extends BukkitRunnable {
                 }, i * 10L); // Espaciar los fuegos artificiales
             }
             
-            plugin.getLogger().info(String.format(
+            int remaining = timeRemaining;
+            CityLog.fine(CityLog.Category.SIEGE, () -> String.format(
                 "Fuegos artificiales lanzados en el asedio de %s (%d:%02d restante)",
-                cityName, timeRemaining / 60, timeRemaining % 60
+                cityName, remaining / 60, remaining % 60
             ));
             
         } catch (Exception e) {
@@ -128,34 +140,44 @@ public class SiegeTimerTask extends BukkitRunnable {
     private void sendWarningMessages() {
         // Mensajes en momentos específicos
         if (timeRemaining == 300) { // 5 minutos restantes
-            broadcastToCity("&c¡ATENCIÓN! &eQuedan &c5 minutos &epara que termine el asedio!");
+            broadcastToCity(MessageKey.SIEGE_WARNING_5_MINUTES);
         } else if (timeRemaining == 120) { // 2 minutos restantes
-            broadcastToCity("&c¡URGENTE! &eQuedan &c2 minutos &epara que termine el asedio!");
+            broadcastToCity(MessageKey.SIEGE_WARNING_2_MINUTES);
         } else if (timeRemaining == 60) { // 1 minuto restante
-            broadcastToCity("&c¡ÚLTIMO MINUTO! &eEl asedio terminará en &c60 segundos&e!");
-        } else if (timeRemaining <= 10 && timeRemaining > 0) { // Cuenta regresiva final
-            broadcastToCity("&c" + timeRemaining + "...");
+            broadcastToCity(MessageKey.SIEGE_WARNING_LAST_MINUTE);
         }
+        // La cuenta regresiva final se muestra en la barra de jefe del HUD
         
         // Mensaje principal cada 5 minutos
         if (timeRemaining % 300 == 0 && timeRemaining > 300) {
             int minutesLeft = timeRemaining / 60;
-            broadcastToCity(String.format("&e¡Estás bajo ataque! Tiempo restante: &c%d minutos", minutesLeft));
+            broadcastToCity(MessageKey.SIEGE_TIME_REMAINING, "minutes", Integer.toString(minutesLeft));
         }
     }
     
     /**
-     * Envía un mensaje a todos los ciudadanos de la ciudad
+     * Actualiza la barra de jefe y el marcador del asedio
      */
-    private void broadcastToCity(String message) {
-        List<Player> cityMembers = siegeManager.getCityMembers(cityName);
-        
-        for (Player player : cityMembers) {
-            if (player != null && player.isOnline()) {
-                MessageUtils.sendTitle(player, "&c¡BAJO ASEDIO!", message, 10, 40, 10);
-                MessageUtils.sendMessage(player, message);
-            }
+    private void updateHud(City city, SiegeFlag siegeFlag) {
+        if (attackingCity == null) {
+            attackingCity = plugin.getCityManager().getAllCities().stream()
+                .filter(c -> c.getId().equals(siegeFlag.getAttackingCityId()))
+                .findFirst().orElse(null);
         }
+        
+        // La fase sale del asedio: el temporizador no debe pisar la captura o el saqueo
+        SiegeHudManager.Phase phase = SiegeHudManager.Phase.of(siegeManager.getActiveSiege(city));
+        plugin.getSiegeHudManager().update(cityName, phase, timeRemaining,
+            SiegeHudManager.countOnline(attackingCity), SiegeHudManager.countOnline(city));
+    }
+    
+    /**
+     * Envía un mensaje a los ciudadanos online de la ciudad
+     * Se renderiza una vez por idioma, no por jugador.
+     */
+    private void broadcastToCity(MessageKey message, String... placeholders) {
+        BroadcastService broadcast = plugin.getBroadcastService();
+        broadcast.sendTitleAndMessage(broadcast.city(cityName), MessageKey.SIEGE_TIMER_TITLE, message, placeholders);
     }
     
     /**
@@ -165,14 +187,15 @@ public class SiegeTimerTask extends BukkitRunnable {
         if (siegeEnded) return;
         
         siegeEnded = true;
+        plugin.getSiegeHudManager().close(cityName);
         
-        plugin.getLogger().info(String.format("Terminando asedio de %s: %s", cityName, reason));
+        CityLog.info(CityLog.Category.SIEGE, () -> String.format("Terminando asedio de %s: %s", cityName, reason));
         
         // CORREGIDO: Usar el método correcto con UUID y SiegeState
         siegeManager.endSiege(siegeFlagId, endState);
         
         // Notificar a todos los jugadores involucrados
-        broadcastToCity("&a¡El asedio ha terminado! &e" + reason);
+        broadcastToCity(MessageKey.SIEGE_TIMER_ENDED, "reason", reason);
         
         // CORREGIDO: Obtener atacantes usando el objeto SiegeFlag
         notifyAttackers(reason);
@@ -194,12 +217,9 @@ public class SiegeTimerTask extends BukkitRunnable {
                     .findFirst().orElse(null);
                 
                 if (attackingCity != null) {
-                    List<Player> attackers = siegeManager.getCityMembers(attackingCity.getName());
-                    for (Player attacker : attackers) {
-                        if (attacker != null && attacker.isOnline()) {
-                            MessageUtils.sendMessage(attacker, "&c¡El asedio de &e" + cityName + " &cha terminado! &f" + reason);
-                        }
-                    }
+                    BroadcastService broadcast = plugin.getBroadcastService();
+                    broadcast.sendMessage(broadcast.city(attackingCity), MessageKey.SIEGE_TIMER_ENDED_ATTACKERS,
+                        "city", cityName, "reason", reason);
                 }
             }
         } catch (Exception e) {
@@ -235,11 +255,12 @@ public class SiegeTimerTask extends BukkitRunnable {
      */
     public void extendTime(int additionalMinutes) {
         timeRemaining += (additionalMinutes * 60);
-        broadcastToCity(String.format("&e¡El asedio ha sido extendido por &c%d minutos &eadicionales!", additionalMinutes));
+        broadcastToCity(MessageKey.SIEGE_TIMER_EXTENDED, "minutes", Integer.toString(additionalMinutes));
         
-        plugin.getLogger().info(String.format(
+        String remaining = getFormattedTimeRemaining();
+        CityLog.info(CityLog.Category.SIEGE, () -> String.format(
             "Asedio de %s extendido por %d minutos. Nuevo tiempo restante: %s",
-            cityName, additionalMinutes, getFormattedTimeRemaining()
+            cityName, additionalMinutes, remaining
         ));
     }
     
@@ -249,13 +270,15 @@ public class SiegeTimerTask extends BukkitRunnable {
     public void start() {
         // Ejecutar cada segundo (20 ticks)
         this.runTaskTimer(plugin, 0L, 20L);
+        plugin.getSiegeHudManager().open(cityName, timeRemaining);
         
-        plugin.getLogger().info(String.format(
+        String duration = getFormattedTimeRemaining();
+        CityLog.info(CityLog.Category.SIEGE, () -> String.format(
             "Temporizador de asedio iniciado para %s. Duración: %s",
-            cityName, getFormattedTimeRemaining()
+            cityName, duration
         ));
         
         // Mensaje inicial
-        broadcastToCity("&c¡BAJO ASEDIO! &eTiempo restante: &c" + getFormattedTimeRemaining());
+        broadcastToCity(MessageKey.SIEGE_TIMER_STARTED, "time", getFormattedTimeRemaining());
     }
 }
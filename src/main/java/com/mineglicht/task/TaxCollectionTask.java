@@ -1,9 +1,15 @@
 package com.mineglicht.task;
 
 import com.mineglicht.cityWars;
+import com.mineglicht.config.MessageKey;
+import com.mineglicht.config.PriceTable;
+import com.mineglicht.manager.NotificationBus;
 import com.mineglicht.models.City;
 import com.mineglicht.models.Citizen;
-import com.mineglicht.util.MessageUtils;
+import com.mineglicht.util.FlightEvents;
+import com.mineglicht.util.Metrics;
+import com.mineglicht.util.Timings;
+import com.mineglicht.util.TaxCalculator;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -14,15 +20,19 @@ import java.util.logging.Level;
 
 /**
  * Tarea programada para la recolección automática de impuestos diarios
- * Se ejecuta cada 24 horas y cobra el 18% del balance de cada ciudadano
+ * Se ejecuta cada 24 horas y cobra tax.rate del balance de cada ciudadano
+ * que supere tax.minimum-balance (ver TaxCalculator)
  */
 public class TaxCollectionTask extends BukkitRunnable {
 
+    private static final Metrics.Timer TAX_TIMER = Metrics.timer("citywars_tax_collection_global", "Tiempo de la recolección global de impuestos");
+    private static final Timings.Handler TIMING = Timings.handler("task TaxCollectionTask");
+    private static final Metrics.Counter TAX_PAYMENTS = Metrics.counter("citywars_tax_payments_total", "Ciudadanos que pagaron impuestos");
+
     private final cityWars plugin;
     private final CityManager cityManager;
     private final CitizenManager citizenManager;
     private final EconomyManager economyManager;
-    private static final double TAX_RATE = 0.18; // 18%
 
     public TaxCollectionTask(cityWars plugin) {
         this.plugin = plugin;
@@ -33,34 +43,75 @@ public class TaxCollectionTask extends BukkitRunnable {
 
     @Override
     public void run() {
+        long timing = TIMING.start();
+        try {
+            collectNow();
+        } finally {
+            TIMING.stop(timing);
+        }
+    }
+
+    /**
+     * Recolecta los impuestos de todas las ciudades en el hilo actual (no el principal)
+     * @return Total recaudado
+     */
+    public double collectNow() {
+        long start = TAX_TIMER.start();
+        try {
+            return collectAll();
+        } finally {
+            TAX_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Recolecta los impuestos de una sola ciudad en el hilo actual (no el principal)
+     * @return Total recaudado
+     */
+    public double collectCity(City city) {
+        return collectCityTaxes(city, TaxCalculator.fromSettings(), economyManager.getPricingManager().getTable());
+    }
+
+    private double collectAll() {
         plugin.getLogger().info("Iniciando recolección de impuestos diarios...");
 
         int totalCitizens = 0;
         double totalTaxesCollected = 0.0;
+        TaxCalculator calculator = TaxCalculator.fromSettings();
+        PriceTable prices = economyManager.getPricingManager().getTable();
 
         // Iterar sobre todas las ciudades
         for (City city : cityManager.getAllCities()) {
-            double cityTaxes = collectCityTaxes(city);
+            double cityTaxes = collectCityTaxes(city, calculator, prices);
             totalTaxesCollected += cityTaxes;
         }
 
         plugin.getLogger().info(String.format(
                 "Recolección de impuestos completada. Ciudadanos: %d, Total recaudado: %.2f",
                 totalCitizens, totalTaxesCollected));
+        return totalTaxesCollected;
     }
 
     /**
      * Recolecta impuestos de todos los ciudadanos de una ciudad
      */
-    private double collectCityTaxes(City city) {
+    private double collectCityTaxes(City city, TaxCalculator calculator, PriceTable prices) {
+        FlightEvents.TaxSlice flightEvent = new FlightEvents.TaxSlice();
+        flightEvent.begin();
         Set<UUID> citizenUuids = citizenManager.getCitizensInCity(city.getId());
         double totalCityTaxes = 0.0;
         int taxedCitizens = 0;
 
         for (UUID citizenUuid : citizenUuids) {
+            // Solo pagan los conectados: no se cargan perfiles de jugadores offline
+            Player player = Bukkit.getPlayer(citizenUuid);
+            if (player == null || !player.isOnline()) {
+                continue;
+            }
+
             Citizen citizen = citizenManager.getCitizen(citizenUuid);
             if (citizen != null) {
-                double taxCollected = collectCitizenTax(citizen, city);
+                double taxCollected = collectCitizenTax(player, citizen, city, calculator, prices);
                 if (taxCollected > 0) {
                     totalCityTaxes += taxCollected;
                     taxedCitizens++;
@@ -68,62 +119,70 @@ public class TaxCollectionTask extends BukkitRunnable {
             }
         }
 
-        // Depositar los impuestos al banco de la ciudad usando el nuevo método
+        TAX_PAYMENTS.add(taxedCitizens);
+
+        // Depositar los impuestos al banco de la ciudad, convertidos a la moneda del banco
+        // El depósito modifica la ciudad, así que se aplica en el hilo principal
         if (totalCityTaxes > 0) {
-            if (economyManager.depositCityBank(city, totalCityTaxes)) {
-                plugin.getLogger().info(String.format(
-                        "Ciudad %s: %d ciudadanos pagaron %.2f en impuestos",
-                        city.getName(), taxedCitizens, totalCityTaxes));
-            } else {
-                plugin.getLogger().warning(String.format(
-                        "Error al depositar %.2f impuestos en el banco de la ciudad %s",
-                        totalCityTaxes, city.getName()));
-            }
+            double collected = totalCityTaxes;
+            int payers = taxedCitizens;
+            plugin.getStateWriter().submit(() -> economyManager.depositCityBank(city, prices.taxToBank(collected)))
+                    .thenAccept(deposited -> {
+                        if (deposited) {
+                            plugin.getLogger().info(String.format(
+                                    "Ciudad %s: %d ciudadanos pagaron %.2f en impuestos",
+                                    city.getName(), payers, collected));
+                        } else {
+                            plugin.getLogger().warning(String.format(
+                                    "Error al depositar %.2f impuestos en el banco de la ciudad %s",
+                                    collected, city.getName()));
+                        }
+                    });
         }
 
+        if (flightEvent.shouldCommit()) {
+            flightEvent.city = city.getName();
+            flightEvent.count = taxedCitizens;
+            flightEvent.amount = totalCityTaxes;
+            flightEvent.commit();
+        }
         return totalCityTaxes;
     }
 
     /**
      * Recolecta impuestos de un ciudadano específico
      */
-    private double collectCitizenTax(Citizen citizen, City city) {
+    private double collectCitizenTax(Player player, Citizen citizen, City city, TaxCalculator calculator, PriceTable prices) {
     try {
-        Player player = Bukkit.getPlayer(citizen.getPlayerId());
-        
-        // Verificar si el jugador está conectado (necesario para los métodos de currency)
-        if (player == null || !player.isOnline()) {
-            return 0.0;
-        }
-        
         // Obtener el balance del jugador (necesitarás implementar este método o usar una alternativa)
-        double playerBalance = economyManager.getPlayerBalance(player, "gems"); // Asumiendo "gems" como moneda
+        double playerBalance = economyManager.getPlayerBalance(player, prices.getTaxCurrency());
         
-        // Verificar si el jugador tiene suficiente dinero para pagar impuestos
-        if (playerBalance <= 0) {
+        // Calcular el impuesto con el mismo núcleo que usa la simulación
+        double taxAmount = calculator.calculate(playerBalance);
+        if (taxAmount <= 0) {
             return 0.0;
         }
         
-        double taxAmount = playerBalance * TAX_RATE;
-        
         // Obtener nombre del jugador
         String playerName = player.getName();
         
         // Verificar si el jugador tiene suficiente dinero para pagar los impuestos
-        if (!economyManager.hasCurrency(player, "gems", taxAmount)) {
+        if (!economyManager.hasCurrency(player, prices.getTaxCurrency(), taxAmount)) {
             plugin.getLogger().warning(String.format(
-                "El jugador %s no tiene suficientes gems para pagar impuestos (%.2f)",
-                playerName, taxAmount
+                "El jugador %s no tiene suficientes %s para pagar impuestos (%.2f)",
+                playerName, prices.getTaxCurrencyName(), taxAmount
             ));
             return 0.0;
         }
         
         // Descontar los impuestos del jugador
-        if (economyManager.withdrawCurrency(player, "gems", taxAmount)) {
-            // Notificar al jugador
-            MessageUtils.sendMessage(player, 
-                String.format("&e¡Impuestos cobrados! Se han descontado &c%.2f gems &ede tu balance para la ciudad &b%s&e.", 
-                taxAmount, city.getName()));
+        if (economyManager.withdrawCurrency(player, prices.getTaxCurrency(), taxAmount)) {
+            // Notificar al jugador (el bus lo entrega en el hilo principal)
+            plugin.getNotificationBus().post(player.getUniqueId(), NotificationBus.Priority.ECONOMY, "tax",
+                MessageKey.TAX_CHARGED,
+                "amount", String.format("%.2f", taxAmount),
+                "currency", prices.getTaxCurrencyName(),
+                "city", city.getName());
             
             return taxAmount;
         } else {
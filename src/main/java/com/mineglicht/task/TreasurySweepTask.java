@@ -0,0 +1,69 @@
+package com.mineglicht.task;
+
+import com.mineglicht.cityWars;
+import com.mineglicht.manager.CityManager;
+import com.mineglicht.manager.TreasuryManager;
+import com.mineglicht.models.City;
+import com.mineglicht.util.Timings;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.logging.Level;
+
+/**
+ * Tarea de baja prioridad que liquida el tesoro de ciudades inactivas
+ * Cada ejecución revisa solo unas pocas ciudades en orden circular, así que
+ * nunca hay un pico de trabajo; las ciudades activas ya se liquidan solas
+ * al leer o modificar sus fondos.
+ */
+public class TreasurySweepTask extends BukkitRunnable {
+
+    private static final int CITIES_PER_RUN = 16;
+    private static final long PERIOD_TICKS = 20L * 30L; // Cada 30 segundos
+    private static final Timings.Handler TIMING = Timings.handler("task TreasurySweepTask");
+
+    private final cityWars plugin;
+    private final CityManager cityManager;
+    private Iterator<City> cursor;
+
+    public TreasurySweepTask(cityWars plugin) {
+        this.plugin = plugin;
+        this.cityManager = plugin.getCityManager();
+    }
+
+    @Override
+    public void run() {
+        long start = TIMING.start();
+        try {
+            TreasuryManager treasury = cityManager.getTreasuryManager();
+            long now = System.currentTimeMillis();
+
+            for (int checked = 0; checked < CITIES_PER_RUN; checked++) {
+                if (cursor == null || !cursor.hasNext()) {
+                    cursor = new ArrayList<>(cityManager.getAllCities()).iterator();
+                    if (!cursor.hasNext()) {
+                        return;
+                    }
+                }
+
+                City city = cursor.next();
+                if (treasury.isDue(city, now)) {
+                    city.settleTreasury();
+                }
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Error en TreasurySweepTask", e);
+        } finally {
+            TIMING.stop(start);
+        }
+    }
+
+    /**
+     * Inicia la tarea en el hilo principal
+     */
+    public TreasurySweepTask start() {
+        this.runTaskTimer(plugin, PERIOD_TICKS, PERIOD_TICKS);
+        return this;
+    }
+}
@@ -0,0 +1,66 @@
+package com.mineglicht.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Candados por cuenta para saldos (cuentas de GemsEconomy y VersionedBalance)
+ * Cada comprobación + retiro se hace con el candado de su cuenta, y una transferencia
+ * toma los dos en orden fijo (sin interbloqueos). Son franjas: dos cuentas pueden
+ * compartir candado, nunca hay uno global.
+ */
+public final class AccountLocks {
+
+    private static final int STRIPES = 64; // Potencia de dos
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public AccountLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Ejecuta la operación con el candado de una cuenta
+     */
+    public boolean withLock(Object account, BooleanSupplier operation) {
+        ReentrantLock lock = stripes[stripeOf(account)];
+        lock.lock();
+        try {
+            return operation.getAsBoolean();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ejecuta la operación con los candados de dos cuentas, tomados en orden de franja
+     */
+    public boolean withLocks(Object first, Object second, BooleanSupplier operation) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        if (a == b) {
+            return withLock(first, operation);
+        }
+        ReentrantLock low = stripes[Math.min(a, b)];
+        ReentrantLock high = stripes[Math.max(a, b)];
+        low.lock();
+        try {
+            high.lock();
+            try {
+                return operation.getAsBoolean();
+            } finally {
+                high.unlock();
+            }
+        } finally {
+            low.unlock();
+        }
+    }
+
+    private static int stripeOf(Object account) {
+        int h = account.hashCode();
+        h ^= h >>> 16;
+        return h & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,317 @@
+package com.mineglicht.util;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registro asíncrono del plugin
+ * - El texto se construye con un Supplier solo si la categoría tiene el nivel activo.
+ * - Las líneas se encolan en un búfer circular acotado y las escribe un hilo propio,
+ *   así la E/S de consola nunca bloquea el tick (si el búfer se llena se descartan
+ *   las más antiguas y se avisa del número descartado).
+ * - Un mismo texto puede escribirse como máximo N veces por ventana; las repeticiones
+ *   se resumen en una sola línea al cerrar la ventana. Los mensajes INFO (auditoría)
+ *   y SEVERE nunca se limitan.
+ * Los Suppliers se evalúan en el hilo de registro: solo deben capturar valores, no
+ * consultar el estado del mundo.
+ */
+public final class CityLog {
+
+    /**
+     * Categoría de registro; cada una tiene su nivel en config.yml (logging.levels)
+     */
+    public enum Category {
+        GENERAL,
+        CITY,
+        CITIZEN,
+        SIEGE,
+        ECONOMY,
+        PROTECTION
+    }
+
+    private static final int DEFAULT_BUFFER = 4096;
+    private static final int DEFAULT_MAX_PER_WINDOW = 20;
+    private static final long DEFAULT_WINDOW_MILLIS = 10_000L;
+    private static final int MAX_WINDOWS = 4096; // Textos distintos seguidos a la vez
+
+    // Umbral por categoría (Level.intValue()); se reemplaza completo al recargar
+    private static volatile int[] thresholds = defaultThresholds();
+    private static volatile int maxPerWindow = DEFAULT_MAX_PER_WINDOW;
+    private static volatile long windowMillis = DEFAULT_WINDOW_MILLIS;
+
+    private static final AtomicLong dropped = new AtomicLong();
+    private static volatile Logger logger = Logger.getLogger("CityWars");
+    private static volatile BlockingQueue<Entry> buffer;
+    private static volatile Thread writer;
+
+    private CityLog() {
+    }
+
+    // ==================== CICLO DE VIDA ====================
+
+    /**
+     * Inicia el hilo de escritura con el logger del plugin
+     */
+    public static synchronized void start(Logger pluginLogger, FileConfiguration config) {
+        shutdown();
+        logger = pluginLogger;
+        int capacity = loadConfiguration(config);
+
+        BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(capacity);
+        Thread thread = new Thread(() -> writeLoop(queue), "CityWars-Log");
+        thread.setDaemon(true);
+        buffer = queue;
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * Carga niveles y límites desde la sección logging de config.yml
+     * @return Capacidad del búfer configurada (solo se aplica al iniciar)
+     */
+    public static int loadConfiguration(FileConfiguration config) {
+        int[] levels = defaultThresholds();
+        ConfigurationSection section = config.getConfigurationSection("logging.levels");
+        if (section != null) {
+            for (Category category : Category.values()) {
+                String name = section.getString(category.name().toLowerCase(Locale.ROOT));
+                if (name == null) {
+                    continue;
+                }
+                try {
+                    levels[category.ordinal()] = Level.parse(name.toUpperCase(Locale.ROOT)).intValue();
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Nivel de registro inválido para " + category + ": " + name);
+                }
+            }
+        }
+        thresholds = levels;
+        maxPerWindow = Math.max(1, config.getInt("logging.rate-limit.max-per-window", DEFAULT_MAX_PER_WINDOW));
+        windowMillis = Math.max(0L, config.getLong("logging.rate-limit.window-seconds", 10L) * 1000L);
+        return Math.max(64, config.getInt("logging.buffer-size", DEFAULT_BUFFER));
+    }
+
+    /**
+     * Detiene el hilo de escritura y vuelca lo pendiente de forma síncrona
+     */
+    public static synchronized void shutdown() {
+        Thread thread = writer;
+        BlockingQueue<Entry> queue = buffer;
+        buffer = null;
+        writer = null;
+        if (thread == null) {
+            return;
+        }
+
+        thread.interrupt();
+        try {
+            thread.join(1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            write(entry.level, text(entry.message), entry.error);
+        }
+        reportDropped();
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Indica si una categoría registra el nivel dado (para evitar trabajo previo)
+     */
+    public static boolean isEnabled(Category category, Level level) {
+        return level.intValue() >= thresholds[category.ordinal()];
+    }
+
+    public static void fine(Category category, Supplier<String> message) {
+        log(category, Level.FINE, message, null);
+    }
+
+    public static void info(Category category, Supplier<String> message) {
+        log(category, Level.INFO, message, null);
+    }
+
+    public static void warning(Category category, Supplier<String> message) {
+        log(category, Level.WARNING, message, null);
+    }
+
+    public static void warning(Category category, Supplier<String> message, Throwable error) {
+        log(category, Level.WARNING, message, error);
+    }
+
+    public static void severe(Category category, Supplier<String> message, Throwable error) {
+        log(category, Level.SEVERE, message, error);
+    }
+
+    /**
+     * Encola una línea; sin hilo de escritura activo se escribe directamente
+     */
+    public static void log(Category category, Level level, Supplier<String> message, Throwable error) {
+        if (level.intValue() < thresholds[category.ordinal()]) {
+            return;
+        }
+
+        BlockingQueue<Entry> queue = buffer;
+        if (queue == null) {
+            write(level, message.get(), error);
+            return;
+        }
+
+        Entry entry = new Entry(level, message, error);
+        while (!queue.offer(entry)) {
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    // ==================== ESCRITURA ====================
+
+    private static void writeLoop(BlockingQueue<Entry> queue) {
+        Map<String, Window> windows = new HashMap<>();
+        long lastFlush = System.currentTimeMillis();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            Entry entry;
+            try {
+                entry = queue.poll(1L, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            long now = System.currentTimeMillis();
+            if (entry != null) {
+                String text = text(entry.message);
+                if (!isRateLimited(entry.level)) {
+                    write(entry.level, text, entry.error);
+                } else {
+                    // El límite se aplica al texto ya construido: mensajes distintos de un mismo sitio no se mezclan
+                    if (windows.size() >= MAX_WINDOWS && !windows.containsKey(text)) {
+                        windows.values().forEach(Window::flush);
+                        windows.clear();
+                    }
+                    Window window = windows.computeIfAbsent(text, key -> new Window(entry.level, key, now));
+                    if (now - window.start >= windowMillis) {
+                        window.flush();
+                        window.start = now;
+                    }
+                    if (window.written < maxPerWindow) {
+                        window.written++;
+                        write(entry.level, text, entry.error);
+                    } else {
+                        window.suppressed++;
+                    }
+                }
+            }
+
+            // Cerrar ventanas vencidas y avisar de descartes como mucho una vez por segundo
+            if (now - lastFlush >= 1000L) {
+                lastFlush = now;
+                Iterator<Window> iterator = windows.values().iterator();
+                while (iterator.hasNext()) {
+                    Window window = iterator.next();
+                    if (now - window.start >= windowMillis) {
+                        window.flush();
+                        iterator.remove();
+                    }
+                }
+                reportDropped();
+            }
+        }
+
+        for (Window window : windows.values()) {
+            window.flush();
+        }
+    }
+
+    /**
+     * Solo se limitan FINE/FINER (trazas) y WARNING; INFO es auditoría y SEVERE siempre importa
+     */
+    private static boolean isRateLimited(Level level) {
+        int value = level.intValue();
+        return value < Level.INFO.intValue() || value == Level.WARNING.intValue();
+    }
+
+    private static void write(Level level, String message, Throwable error) {
+        try {
+            if (error != null) {
+                logger.log(level, message, error);
+            } else {
+                logger.log(level, message);
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Error al escribir un mensaje de registro", e);
+        }
+    }
+
+    /**
+     * Evalúa un Supplier; un Supplier defectuoso no debe detener el hilo de registro
+     */
+    private static String text(Supplier<String> message) {
+        try {
+            return message.get();
+        } catch (RuntimeException e) {
+            return "Error al construir un mensaje de registro: " + e;
+        }
+    }
+
+    private static void reportDropped() {
+        long count = dropped.getAndSet(0L);
+        if (count > 0) {
+            logger.warning("Búfer de registro lleno: " + count + " mensajes descartados");
+        }
+    }
+
+    private static int[] defaultThresholds() {
+        int[] levels = new int[Category.values().length];
+        Arrays.fill(levels, Level.INFO.intValue());
+        return levels;
+    }
+
+    /**
+     * Línea pendiente de escribir
+     */
+    private record Entry(Level level, Supplier<String> message, Throwable error) {
+    }
+
+    /**
+     * Ventana de límite de un texto (solo hilo de registro)
+     */
+    private static final class Window {
+        private final Level level;
+        private final String message;
+        private long start;
+        private int written;
+        private int suppressed;
+
+        Window(Level level, String message, long start) {
+            this.level = level;
+            this.message = message;
+            this.start = start;
+        }
+
+        void flush() {
+            if (suppressed > 0) {
+                write(level, message + " (repetido " + suppressed + " veces más)", null);
+            }
+            written = 0;
+            suppressed = 0;
+        }
+    }
+}
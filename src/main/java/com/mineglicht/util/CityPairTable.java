@@ -0,0 +1,359 @@
+package com.mineglicht.util;
+
+/**
+ * Tabla de relaciones entre pares de ciudades con clave long empaquetada (idA, idB)
+ * Cada par guarda cooldown (inicio y fin), estado guerra/paz y número de asedios en
+ * arrays primitivos paralelos, con direccionamiento abierto: buscar no crea cadenas ni objetos.
+ * La variante simétrica trata (a, b) y (b, a) como el mismo par; la dirigida no.
+ * Los ids son los de CityKey. No es thread-safe: solo el hilo principal la modifica (ver StateWriter).
+ */
+public final class CityPairTable {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    /**
+     * Estado diplomático entre dos ciudades
+     */
+    public enum Relation {
+        NEUTRAL, WAR, PEACE;
+
+        private static final Relation[] VALUES = values();
+    }
+
+    /**
+     * Recibe un cooldown al recorrer la tabla
+     */
+    @FunctionalInterface
+    public interface CooldownVisitor {
+        void accept(int first, int second, long startMillis, long untilMillis);
+    }
+
+    private final boolean symmetric;
+
+    private boolean[] used;
+    private long[] keys;
+    private long[] cooldownStart;
+    private long[] cooldownUntil;
+    private byte[] relation;
+    private int[] siegeCount;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    private CityPairTable(boolean symmetric) {
+        this.symmetric = symmetric;
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Tabla en la que (a, b) y (b, a) son el mismo par
+     */
+    public static CityPairTable symmetric() {
+        return new CityPairTable(true);
+    }
+
+    /**
+     * Tabla en la que (a, b) es distinto de (b, a), p. ej. atacante -> defensor
+     */
+    public static CityPairTable directed() {
+        return new CityPairTable(false);
+    }
+
+    // ==================== CLAVES ====================
+
+    public static long pack(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    public static int first(long key) {
+        return (int) (key >>> 32);
+    }
+
+    public static int second(long key) {
+        return (int) key;
+    }
+
+    private long key(int a, int b) {
+        return symmetric && a > b ? pack(b, a) : pack(a, b);
+    }
+
+    // ==================== COOLDOWNS ====================
+
+    public void setCooldown(int a, int b, long startMillis, long untilMillis) {
+        int slot = slotFor(key(a, b));
+        cooldownStart[slot] = startMillis;
+        cooldownUntil[slot] = untilMillis;
+    }
+
+    /**
+     * Fin del cooldown en milisegundos, o 0 si no hay
+     */
+    public long getCooldownUntil(int a, int b) {
+        int slot = find(key(a, b));
+        return slot < 0 ? 0L : cooldownUntil[slot];
+    }
+
+    public long getCooldownStart(int a, int b) {
+        int slot = find(key(a, b));
+        return slot < 0 ? 0L : cooldownStart[slot];
+    }
+
+    public boolean hasCooldown(int a, int b, long nowMillis) {
+        return getCooldownUntil(a, b) > nowMillis;
+    }
+
+    /**
+     * Quita el cooldown del par; true si había uno activo
+     */
+    public boolean clearCooldown(int a, int b, long nowMillis) {
+        int slot = find(key(a, b));
+        if (slot < 0 || cooldownUntil[slot] == 0L) {
+            return false;
+        }
+        boolean active = cooldownUntil[slot] > nowMillis;
+        cooldownStart[slot] = 0L;
+        cooldownUntil[slot] = 0L;
+        removeIfEmpty(slot);
+        return active;
+    }
+
+    /**
+     * Recorre los cooldowns activos
+     */
+    public void forEachCooldown(long nowMillis, CooldownVisitor visitor) {
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot] && cooldownUntil[slot] > nowMillis) {
+                visitor.accept(first(keys[slot]), second(keys[slot]), cooldownStart[slot], cooldownUntil[slot]);
+            }
+        }
+    }
+
+    /**
+     * Borra los cooldowns vencidos, avisando de cada uno
+     */
+    public void expireCooldowns(long nowMillis, CooldownVisitor onExpired) {
+        int slot = 0;
+        while (slot < used.length) {
+            if (used[slot] && cooldownUntil[slot] != 0L && cooldownUntil[slot] <= nowMillis) {
+                long key = keys[slot];
+                long start = cooldownStart[slot];
+                long until = cooldownUntil[slot];
+                cooldownStart[slot] = 0L;
+                cooldownUntil[slot] = 0L;
+                onExpired.accept(first(key), second(key), start, until);
+                // Si la ranura se vació, el borrado puede haber movido otra entrada aquí: revisarla otra vez
+                if (removeIfEmpty(slot)) {
+                    continue;
+                }
+            }
+            slot++;
+        }
+    }
+
+    public int clearCooldowns() {
+        int cleared = 0;
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot] && cooldownUntil[slot] != 0L) {
+                cooldownStart[slot] = 0L;
+                cooldownUntil[slot] = 0L;
+                cleared++;
+            }
+        }
+        compact();
+        return cleared;
+    }
+
+    // ==================== RELACIONES ====================
+
+    public void setRelation(int a, int b, Relation value) {
+        if (value == Relation.NEUTRAL) {
+            int slot = find(key(a, b));
+            if (slot >= 0) {
+                relation[slot] = 0;
+                removeIfEmpty(slot);
+            }
+            return;
+        }
+        relation[slotFor(key(a, b))] = (byte) value.ordinal();
+    }
+
+    public Relation getRelation(int a, int b) {
+        int slot = find(key(a, b));
+        return slot < 0 ? Relation.NEUTRAL : Relation.VALUES[relation[slot]];
+    }
+
+    // ==================== HISTORIAL ====================
+
+    /**
+     * Suma un asedio al par y devuelve el total
+     */
+    public int recordSiege(int a, int b) {
+        return ++siegeCount[slotFor(key(a, b))];
+    }
+
+    public int getSiegeCount(int a, int b) {
+        int slot = find(key(a, b));
+        return slot < 0 ? 0 : siegeCount[slot];
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    /**
+     * Borra todos los pares en los que participa la ciudad
+     */
+    public void removeCity(int cityId) {
+        boolean removed = false;
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot] && (first(keys[slot]) == cityId || second(keys[slot]) == cityId)) {
+                used[slot] = false;
+                size--;
+                removed = true;
+            }
+        }
+        if (removed) {
+            rehash(used.length);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ==================== INTERNOS ====================
+
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Ranura del par, creándola vacía si no existe
+     */
+    private int slotFor(long key) {
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size + 1 > resizeAt) {
+            rehash(used.length << 1);
+            return slotFor(key);
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    private boolean isEmpty(int slot) {
+        return cooldownUntil[slot] == 0L && relation[slot] == 0 && siegeCount[slot] == 0;
+    }
+
+    /**
+     * Libera la ranura si ya no guarda nada (borrado por desplazamiento hacia atrás)
+     */
+    private boolean removeIfEmpty(int hole) {
+        if (!isEmpty(hole)) {
+            return false;
+        }
+        int current = hole;
+        while (true) {
+            current = (current + 1) & mask;
+            if (!used[current]) {
+                break;
+            }
+            int home = hash(keys[current]) & mask;
+            boolean between = hole <= current
+                    ? hole < home && home <= current
+                    : hole < home || home <= current;
+            if (!between) {
+                move(current, hole);
+                hole = current;
+            }
+        }
+        used[hole] = false;
+        size--;
+        return true;
+    }
+
+    private void compact() {
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot] && isEmpty(slot)) {
+                used[slot] = false;
+                size--;
+            }
+        }
+        rehash(used.length);
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        cooldownStart[to] = cooldownStart[from];
+        cooldownUntil[to] = cooldownUntil[from];
+        relation[to] = relation[from];
+        siegeCount[to] = siegeCount[from];
+    }
+
+    private void rehash(int capacity) {
+        boolean[] oldUsed = used;
+        long[] oldKeys = keys;
+        long[] oldStart = cooldownStart;
+        long[] oldUntil = cooldownUntil;
+        byte[] oldRelation = relation;
+        int[] oldSieges = siegeCount;
+        allocate(capacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                cooldownStart[slot] = oldStart[i];
+                cooldownUntil[slot] = oldUntil[i];
+                relation[slot] = oldRelation[i];
+                siegeCount[slot] = oldSieges[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        used = new boolean[capacity];
+        keys = new long[capacity];
+        cooldownStart = new long[capacity];
+        cooldownUntil = new long[capacity];
+        relation = new byte[capacity];
+        siegeCount = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Mezcla final de murmur3
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    @Override
+    public String toString() {
+        return "CityPairTable[" + (symmetric ? "simétrica" : "dirigida") + ", pares=" + size
+                + ", capacidad=" + used.length + "]";
+    }
+}
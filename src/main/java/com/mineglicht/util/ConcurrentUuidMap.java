@@ -0,0 +1,78 @@
+package com.mineglicht.util;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * {@link UuidMap} copy-on-write para mapas que se leen en muchos hilos y cambian poco
+ * Las lecturas no bloquean y ven siempre una instantánea completa; cada escritura copia
+ * el mapa. Para cambios en lote usar {@link #update} (una sola copia).
+ */
+public final class ConcurrentUuidMap<V> {
+
+    private volatile UuidMap<V> map = new UuidMap<>();
+
+    // ==================== LECTURA ====================
+
+    public V get(UUID key) {
+        return map.get(key);
+    }
+
+    public boolean containsKey(UUID key) {
+        return map.containsKey(key);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public void forEach(BiConsumer<UUID, ? super V> action) {
+        map.forEach(action);
+    }
+
+    public void forEachValue(Consumer<? super V> action) {
+        map.forEachValue(action);
+    }
+
+    public List<V> values() {
+        return map.values();
+    }
+
+    // ==================== ESCRITURA ====================
+
+    public synchronized V put(UUID key, V value) {
+        UuidMap<V> next = map.copy();
+        V previous = next.put(key, value);
+        map = next;
+        return previous;
+    }
+
+    public synchronized V remove(UUID key) {
+        if (!map.containsKey(key)) {
+            return null;
+        }
+        UuidMap<V> next = map.copy();
+        V previous = next.remove(key);
+        map = next;
+        return previous;
+    }
+
+    public synchronized void clear() {
+        map = new UuidMap<>();
+    }
+
+    /**
+     * Aplica varios cambios sobre una copia y la publica de una vez
+     */
+    public synchronized void update(Consumer<UuidMap<V>> changes) {
+        UuidMap<V> next = map.copy();
+        changes.accept(next);
+        map = next;
+    }
+}
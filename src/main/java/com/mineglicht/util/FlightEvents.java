@@ -0,0 +1,141 @@
+package com.mineglicht.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Eventos de Java Flight Recorder del plugin
+ * La duración la mide JFR entre begin() y commit(). Con JFR apagado (o sin grabar
+ * estos eventos) shouldCommit() devuelve false y el JIT elimina la instancia, así que
+ * los campos solo se rellenan dentro de {@code if (event.shouldCommit())}.
+ * Uso:
+ * {@code FlightEvents.SaveFlush event = new FlightEvents.SaveFlush(); event.begin();
+ * ... if (event.shouldCommit()) { event.count = n; event.commit(); }}
+ */
+public final class FlightEvents {
+
+    private static final String CATEGORY = "CityWars";
+
+    private FlightEvents() {
+    }
+
+    /**
+     * Clases de todos los eventos (para activarlas en una grabación)
+     */
+    public static List<Class<? extends Event>> types() {
+        return List.of(SiegeStart.class, SiegePhaseChange.class, SiegeRewards.class, ProtectionApply.class,
+                SaveFlush.class, TaxSlice.class, ResidenceBatch.class);
+    }
+
+    // ==================== ASEDIOS ====================
+
+    @Name("citywars.SiegeStart")
+    @Label("Siege Start")
+    @Category({CATEGORY, "Siege"})
+    @Description("Inicio de un asedio: protecciones, timers, evento y avisos")
+    @StackTrace(false)
+    public static final class SiegeStart extends Event {
+        @Label("City")
+        public String city;
+
+        @Label("Attackers")
+        public int count;
+    }
+
+    @Name("citywars.SiegePhaseChange")
+    @Label("Siege Phase Change")
+    @Category({CATEGORY, "Siege"})
+    @Description("Cambio de fase de un asedio (saqueo, fin)")
+    @StackTrace(false)
+    public static final class SiegePhaseChange extends Event {
+        @Label("City")
+        public String city;
+
+        @Label("Phase")
+        public String phase;
+
+        @Label("Attackers")
+        public int count;
+    }
+
+    @Name("citywars.SiegeRewards")
+    @Label("Siege Rewards")
+    @Category({CATEGORY, "Siege"})
+    @Description("Reparto del banco de la ciudad saqueada entre los atacantes")
+    @StackTrace(false)
+    public static final class SiegeRewards extends Event {
+        @Label("City")
+        public String city;
+
+        @Label("Attackers")
+        public int count;
+
+        @Label("Amount")
+        public double amount;
+    }
+
+    // ==================== PROTECCIONES ====================
+
+    @Name("citywars.ProtectionApply")
+    @Label("Protection Apply")
+    @Category({CATEGORY, "Protection"})
+    @Description("Cambio de flags de WorldGuard de una ciudad")
+    @StackTrace(false)
+    public static final class ProtectionApply extends Event {
+        @Label("City")
+        public String city;
+
+        @Label("Action")
+        public String action;
+    }
+
+    @Name("citywars.ResidenceBatch")
+    @Label("Residence Batch")
+    @Category({CATEGORY, "Protection"})
+    @Description("Cambio de flags de todas las residencias de una ciudad")
+    @StackTrace(false)
+    public static final class ResidenceBatch extends Event {
+        @Label("City")
+        public String city;
+
+        @Label("Action")
+        public String action;
+
+        @Label("Residences")
+        public int count;
+    }
+
+    // ==================== DATOS Y ECONOMÍA ====================
+
+    @Name("citywars.SaveFlush")
+    @Label("Save Flush")
+    @Category({CATEGORY, "Storage"})
+    @Description("Escritura de cities.yml")
+    @StackTrace(false)
+    public static final class SaveFlush extends Event {
+        @Label("Cities")
+        public int count;
+    }
+
+    @Name("citywars.TaxSlice")
+    @Label("Tax Slice")
+    @Category({CATEGORY, "Economy"})
+    @Description("Cobro de impuestos de una ciudad")
+    @StackTrace(false)
+    public static final class TaxSlice extends Event {
+        @Label("City")
+        public String city;
+
+        @Label("Taxed Citizens")
+        public int count;
+
+        @Label("Amount")
+        public double amount;
+    }
+}
@@ -0,0 +1,139 @@
+package com.mineglicht.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plantilla de mensaje precompilada
+ * El texto se colorea y se divide en segmentos (literales y placeholders
+ * {nombre} o %nombre%) una sola vez; renderizar es una única pasada que
+ * concatena los segmentos en un StringBuilder reutilizado por hilo.
+ * Pensada para textos fijos guardados en un campo (mensajes configurados,
+ * constantes); los textos dinámicos usan MessageUtils directamente.
+ */
+public final class MessageTemplate {
+
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    // literals[i] va antes de tokens[i]; literals tiene un elemento más que tokens
+    private final String[] literals;
+    private final String[] tokens; // Placeholder completo, ej: "{city}" o "%city%"
+    private final String[] names;  // Nombre del placeholder, ej: "city"
+    private final String text;     // Texto coloreado con los placeholders sin sustituir
+    private final int baseLength;
+
+    private MessageTemplate(String[] literals, String[] tokens, String[] names) {
+        this.literals = literals;
+        this.tokens = tokens;
+        this.names = names;
+
+        StringBuilder joined = new StringBuilder();
+        int length = 0;
+        for (int i = 0; i < literals.length; i++) {
+            joined.append(literals[i]);
+            length += literals[i].length();
+            if (i < tokens.length) {
+                joined.append(tokens[i]);
+            }
+        }
+        this.text = joined.toString();
+        this.baseLength = length;
+    }
+
+    // ==================== COMPILACIÓN ====================
+
+    /**
+     * Compila un texto con códigos de color (&, &#RRGGBB) y placeholders
+     */
+    public static MessageTemplate compile(String raw) {
+        String text = MessageUtils.colorize(raw);
+
+        List<String> literals = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        int literalStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '{' || c == '%') {
+                int end = findTokenEnd(text, i, c == '{' ? '}' : '%');
+                if (end > 0) {
+                    literals.add(text.substring(literalStart, i));
+                    tokens.add(text.substring(i, end + 1));
+                    names.add(text.substring(i + 1, end));
+                    i = end + 1;
+                    literalStart = i;
+                    continue;
+                }
+            }
+            i++;
+        }
+        literals.add(text.substring(literalStart));
+
+        return new MessageTemplate(literals.toArray(new String[0]), tokens.toArray(new String[0]),
+                names.toArray(new String[0]));
+    }
+
+    private static int findTokenEnd(String text, int start, char close) {
+        for (int j = start + 1; j < text.length(); j++) {
+            char c = text.charAt(j);
+            if (c == close) {
+                return j > start + 1 ? j : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    // ==================== RENDERIZADO ====================
+
+    /**
+     * Renderiza la plantilla con pares (placeholder, valor)
+     * El placeholder puede indicarse como nombre ("city") o completo ("{city}", "%city%").
+     * Los placeholders sin valor se dejan tal cual y las claves desconocidas se ignoran.
+     */
+    public String render(String... replacements) {
+        if (tokens.length == 0 || replacements == null || replacements.length < 2) {
+            return text;
+        }
+
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        builder.ensureCapacity(baseLength + 16 * tokens.length);
+
+        for (int i = 0; i < tokens.length; i++) {
+            builder.append(literals[i]);
+            String value = lookup(i, replacements);
+            builder.append(value != null ? value : tokens[i]);
+        }
+        builder.append(literals[tokens.length]);
+        return builder.toString();
+    }
+
+    /**
+     * Texto sin placeholders sustituidos
+     */
+    public String getText() {
+        return text;
+    }
+
+    public boolean hasPlaceholders() {
+        return tokens.length > 0;
+    }
+
+    private String lookup(int index, String[] replacements) {
+        if (replacements == null) {
+            return null;
+        }
+        for (int i = 0; i + 1 < replacements.length; i += 2) {
+            String key = replacements[i];
+            if (key != null && (key.equals(names[index]) || key.equals(tokens[index]))) {
+                return replacements[i + 1];
+            }
+        }
+        return null;
+    }
+}
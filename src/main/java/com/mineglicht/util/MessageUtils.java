@@ -35,7 +35,7 @@ public class MessageUtils {
 
         // Procesar colores hex (&#RRGGBB)
         Matcher matcher = HEX_PATTERN.matcher(message);
-        StringBuffer buffer = new StringBuffer();
+        StringBuilder buffer = new StringBuilder(message.length() + 16);
 
         while (matcher.find()) {
             String hexCode = matcher.group(1);
@@ -412,7 +412,7 @@ public class MessageUtils {
     /**
      * Formatea un mensaje reemplazando placeholders.
      *
-     * @param message Mensaje ya obtenido desde Messages (ej: Messages.CITY_ENTER_TITLE)
+     * @param message Mensaje ya obtenido desde Messages (ej: Messages.get(player, MessageKey.CITY_ENTER_TITLE))
      * @param replacements Pares de placeholder y valor (ej: "%city%", "MiCiudad")
      * @return Mensaje formateado
      */
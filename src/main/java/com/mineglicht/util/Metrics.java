@@ -0,0 +1,308 @@
+package com.mineglicht.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registro de métricas del plugin
+ * - Contadores con LongAdder (sin contención entre hilos).
+ * - Temporizadores con histograma de cubetas fijas en microsegundos.
+ * - Medidores leídos solo al tomar una instantánea.
+ * Los instrumentos se crean una vez (campos static final) y, con las métricas
+ * desactivadas, registrar cuesta una sola comparación.
+ */
+public final class Metrics {
+
+    // Límites superiores de las cubetas en microsegundos (la última es +Inf)
+    private static final long[] BUCKETS_MICROS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500,
+            1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, 250_000, 1_000_000
+    };
+
+    private static volatile boolean enabled;
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, Gauge> GAUGES = new ConcurrentHashMap<>();
+
+    // Últimos valores de los medidores leídos en el hilo principal (para lectores de otros hilos)
+    private static volatile List<GaugeSample> publishedGauges = List.of();
+
+    private Metrics() {
+    }
+
+    // ==================== ESTADO ====================
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Pone a cero contadores y temporizadores (los medidores no guardan estado)
+     */
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        TIMERS.values().forEach(Timer::reset);
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Obtiene (o crea) un contador por nombre
+     */
+    public static Counter counter(String name, String help) {
+        return COUNTERS.computeIfAbsent(name, key -> new Counter(key, help));
+    }
+
+    /**
+     * Obtiene (o crea) un temporizador por nombre
+     */
+    public static Timer timer(String name, String help) {
+        return TIMERS.computeIfAbsent(name, key -> new Timer(key, help));
+    }
+
+    /**
+     * Registra un medidor; reemplaza al anterior con el mismo nombre
+     */
+    public static void gauge(String name, String help, DoubleSupplier supplier) {
+        GAUGES.put(name, new Gauge(name, help, supplier));
+    }
+
+    /**
+     * Elimina todos los medidores (al desactivar el plugin, para no retener managers)
+     */
+    public static void clearGauges() {
+        GAUGES.clear();
+        publishedGauges = List.of();
+    }
+
+    /**
+     * Toma una instantánea de todas las métricas
+     * Los medidores se leen en el hilo que llama (normalmente el principal).
+     */
+    public static Snapshot snapshot() {
+        return buildSnapshot(sampleGauges());
+    }
+
+    /**
+     * Lee los medidores y publica sus valores para {@link #publishedSnapshot()}
+     * Debe llamarse desde el hilo principal.
+     */
+    public static void publishGauges() {
+        publishedGauges = sampleGauges();
+    }
+
+    /**
+     * Instantánea que no lee managers: contadores y temporizadores actuales y los
+     * últimos medidores publicados. Segura desde cualquier hilo y sin bloqueos.
+     */
+    public static Snapshot publishedSnapshot() {
+        return buildSnapshot(publishedGauges);
+    }
+
+    private static Snapshot buildSnapshot(List<GaugeSample> gauges) {
+        List<CounterSample> counters = new ArrayList<>();
+        for (Counter counter : COUNTERS.values()) {
+            counters.add(new CounterSample(counter.name, counter.help, counter.get()));
+        }
+
+        List<TimerSample> timers = new ArrayList<>();
+        for (Timer timer : TIMERS.values()) {
+            timers.add(timer.sample());
+        }
+
+        counters.sort((a, b) -> a.name().compareTo(b.name()));
+        timers.sort((a, b) -> a.name().compareTo(b.name()));
+        return new Snapshot(System.currentTimeMillis(), Collections.unmodifiableList(counters),
+                Collections.unmodifiableList(timers), gauges);
+    }
+
+    private static List<GaugeSample> sampleGauges() {
+        List<GaugeSample> gauges = new ArrayList<>();
+        for (Gauge gauge : GAUGES.values()) {
+            double value;
+            try {
+                value = gauge.supplier.getAsDouble();
+            } catch (RuntimeException e) {
+                value = Double.NaN;
+            }
+            gauges.add(new GaugeSample(gauge.name, gauge.help, value));
+        }
+        gauges.sort((a, b) -> a.name().compareTo(b.name()));
+        return Collections.unmodifiableList(gauges);
+    }
+
+    /**
+     * Límites superiores de las cubetas en microsegundos (sin la cubeta +Inf)
+     */
+    public static long[] getBucketBounds() {
+        return BUCKETS_MICROS.clone();
+    }
+
+    // ==================== INSTRUMENTOS ====================
+
+    /**
+     * Contador monótono
+     */
+    public static final class Counter {
+        private final String name;
+        private final String help;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(String name, String help) {
+            this.name = name;
+            this.help = help;
+        }
+
+        public void increment() {
+            if (enabled) {
+                value.increment();
+            }
+        }
+
+        public void add(long amount) {
+            if (enabled) {
+                value.add(amount);
+            }
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        private void reset() {
+            value.reset();
+        }
+    }
+
+    /**
+     * Temporizador con histograma de latencias
+     * Uso: {@code long start = TIMER.start(); try { ... } finally { TIMER.stop(start); }}
+     */
+    public static final class Timer {
+        private final String name;
+        private final String help;
+        private final LongAdder[] buckets = new LongAdder[BUCKETS_MICROS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private Timer(String name, String help) {
+            this.name = name;
+            this.help = help;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Marca de inicio; 0 si las métricas están desactivadas
+         */
+        public long start() {
+            return enabled ? System.nanoTime() : 0L;
+        }
+
+        /**
+         * Registra el tiempo transcurrido desde start(); no hace nada si start() devolvió 0
+         */
+        public void stop(long start) {
+            if (start != 0L) {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Registra una duración ya medida
+         */
+        public void record(long nanos) {
+            if (!enabled) {
+                return;
+            }
+            long micros = nanos / 1_000L;
+            int bucket = 0;
+            while (bucket < BUCKETS_MICROS.length && micros > BUCKETS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            sumNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private TimerSample sample() {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return new TimerSample(name, help, count.sum(), sumNanos.sum(), maxNanos.get(), counts);
+        }
+
+        private void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            count.reset();
+            sumNanos.reset();
+            maxNanos.reset();
+        }
+    }
+
+    private record Gauge(String name, String help, DoubleSupplier supplier) {
+    }
+
+    // ==================== INSTANTÁNEAS ====================
+
+    public record CounterSample(String name, String help, long value) {
+    }
+
+    public record GaugeSample(String name, String help, double value) {
+    }
+
+    /**
+     * Valores de un temporizador; bucketCounts tiene una cubeta más (+Inf) que los límites
+     */
+    public record TimerSample(String name, String help, long count, long sumNanos, long maxNanos, long[] bucketCounts) {
+
+        public double meanMillis() {
+            return count == 0 ? 0.0 : sumNanos / (double) count / 1_000_000.0;
+        }
+
+        public double maxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        /**
+         * Estima un percentil (0-1) como el límite superior de la cubeta que lo contiene
+         * Para la cubeta +Inf se devuelve el máximo observado.
+         */
+        public double percentileMillis(double quantile) {
+            if (count == 0) {
+                return 0.0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank) {
+                    return i < BUCKETS_MICROS.length
+                            ? Math.min(BUCKETS_MICROS[i] / 1_000.0, maxMillis())
+                            : maxMillis();
+                }
+            }
+            return maxMillis();
+        }
+    }
+
+    public record Snapshot(long timestamp, List<CounterSample> counters, List<TimerSample> timers, List<GaugeSample> gauges) {
+    }
+}
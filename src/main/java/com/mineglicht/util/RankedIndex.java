@@ -0,0 +1,271 @@
+package com.mineglicht.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Índice ordenado por puntuación (treap de estadística de orden)
+ * Cada nodo guarda el tamaño y la suma de su subárbol, así que insertar,
+ * actualizar, eliminar, obtener el rango y la suma total cuestan O(log n)
+ * y el top-N cuesta O(log n + N) sin volver a ordenar nada.
+ *
+ * @param <K> Tipo de clave (los empates de puntuación se resuelven por clave)
+ */
+public class RankedIndex<K extends Comparable<K>> {
+
+    private static final class Node<K> {
+        final K key;
+        final double score;
+        final int priority;
+        Node<K> left;
+        Node<K> right;
+        int size;
+        double sum;
+
+        Node(K key, double score) {
+            this.key = key;
+            this.score = score;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.size = 1;
+            this.sum = score;
+        }
+    }
+
+    private final Map<K, Double> scores = new HashMap<>();
+    private Node<K> root;
+
+    // ==================== MÉTODOS DE ACTUALIZACIÓN ====================
+
+    /**
+     * Inserta o actualiza la puntuación de una clave
+     */
+    public synchronized void update(K key, double score) {
+        if (key == null || Double.isNaN(score)) {
+            return;
+        }
+
+        Double previous = scores.put(key, score);
+        if (previous != null) {
+            if (previous == score) {
+                return;
+            }
+            root = delete(root, key, previous);
+        }
+        root = insert(root, new Node<>(key, score));
+    }
+
+    /**
+     * Elimina una clave del índice
+     */
+    public synchronized boolean remove(K key) {
+        Double previous = scores.remove(key);
+        if (previous == null) {
+            return false;
+        }
+
+        root = delete(root, key, previous);
+        return true;
+    }
+
+    /**
+     * Vacía el índice
+     */
+    public synchronized void clear() {
+        scores.clear();
+        root = null;
+    }
+
+    // ==================== MÉTODOS DE CONSULTA ====================
+
+    /**
+     * Obtiene las N claves con mayor puntuación, de mayor a menor
+     */
+    public synchronized List<K> top(int limit) {
+        List<K> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root))));
+        Deque<Node<K>> stack = new ArrayDeque<>();
+        Node<K> current = root;
+
+        while (result.size() < limit && (current != null || !stack.isEmpty())) {
+            while (current != null) {
+                stack.push(current);
+                current = current.right;
+            }
+            current = stack.pop();
+            result.add(current.key);
+            current = current.left;
+        }
+        return result;
+    }
+
+    /**
+     * Obtiene las N claves con menor puntuación, de menor a mayor
+     */
+    public synchronized List<K> bottom(int limit) {
+        List<K> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root))));
+        Deque<Node<K>> stack = new ArrayDeque<>();
+        Node<K> current = root;
+
+        while (result.size() < limit && (current != null || !stack.isEmpty())) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            result.add(current.key);
+            current = current.right;
+        }
+        return result;
+    }
+
+    /**
+     * Obtiene la posición de una clave empezando en 1 para la mayor puntuación
+     * @return Posición en el ranking, o -1 si la clave no está indexada
+     */
+    public synchronized int rank(K key) {
+        Double score = scores.get(key);
+        if (score == null) {
+            return -1;
+        }
+
+        // Número de nodos estrictamente mayores que (score, key)
+        int greater = 0;
+        Node<K> node = root;
+        while (node != null) {
+            int cmp = compare(score, key, node.score, node.key);
+            if (cmp < 0) {
+                greater += 1 + size(node.right);
+                node = node.left;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else {
+                greater += size(node.right);
+                break;
+            }
+        }
+        return greater + 1;
+    }
+
+    /**
+     * Obtiene la puntuación indexada de una clave
+     */
+    public synchronized double getScore(K key) {
+        Double score = scores.get(key);
+        return score != null ? score : 0.0;
+    }
+
+    /**
+     * Verifica si una clave está indexada
+     */
+    public synchronized boolean contains(K key) {
+        return scores.containsKey(key);
+    }
+
+    /**
+     * Obtiene la suma de todas las puntuaciones
+     */
+    public synchronized double sum() {
+        return root != null ? root.sum : 0.0;
+    }
+
+    /**
+     * Obtiene la media de las puntuaciones
+     */
+    public synchronized double average() {
+        return root != null ? root.sum / root.size : 0.0;
+    }
+
+    /**
+     * Obtiene el número de claves indexadas
+     */
+    public synchronized int size() {
+        return size(root);
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private int compare(double scoreA, K keyA, double scoreB, K keyB) {
+        int cmp = Double.compare(scoreA, scoreB);
+        return cmp != 0 ? cmp : keyA.compareTo(keyB);
+    }
+
+    private Node<K> insert(Node<K> node, Node<K> fresh) {
+        if (node == null) {
+            return fresh;
+        }
+
+        if (compare(fresh.score, fresh.key, node.score, node.key) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return recalculate(node);
+    }
+
+    private Node<K> delete(Node<K> node, K key, double score) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = compare(score, key, node.score, node.key);
+        if (cmp < 0) {
+            node.left = delete(node.left, key, score);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, key, score);
+        } else {
+            return merge(node.left, node.right);
+        }
+        return recalculate(node);
+    }
+
+    private Node<K> merge(Node<K> left, Node<K> right) {
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return recalculate(left);
+        }
+        right.left = merge(left, right.left);
+        return recalculate(right);
+    }
+
+    private Node<K> rotateRight(Node<K> node) {
+        Node<K> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = recalculate(node);
+        return pivot;
+    }
+
+    private Node<K> rotateLeft(Node<K> node) {
+        Node<K> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = recalculate(node);
+        return pivot;
+    }
+
+    private Node<K> recalculate(Node<K> node) {
+        // La suma se recompone desde los hijos para no acumular error de redondeo
+        node.size = 1 + size(node.left) + size(node.right);
+        node.sum = node.score + sum(node.left) + sum(node.right);
+        return node;
+    }
+
+    private int size(Node<K> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private double sum(Node<K> node) {
+        return node != null ? node.sum : 0.0;
+    }
+}
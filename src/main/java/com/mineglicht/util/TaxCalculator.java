@@ -0,0 +1,55 @@
+package com.mineglicht.util;
+
+import com.mineglicht.config.Settings;
+
+/**
+ * Núcleo de cálculo de impuestos
+ * Lo comparten los dos cobros reales (TaxCollectionTask con tax.rate y el cobro diario
+ * de CityManager con la tasa de cada ciudad) y la simulación de administradores
+ * (TaxSimulator), de modo que no puedan divergir.
+ * Es inmutable y no toca ningún balance, así que se puede usar desde cualquier hilo.
+ */
+public final class TaxCalculator {
+
+    private final double rate;
+    private final double minimumBalance;
+
+    public TaxCalculator(double rate, double minimumBalance) {
+        this.rate = Math.max(0.0, Math.min(1.0, rate));
+        this.minimumBalance = Math.max(0.0, minimumBalance);
+    }
+
+    /**
+     * Crea un calculador con los valores actuales de config.yml (tax.rate, tax.minimum-balance)
+     */
+    public static TaxCalculator fromSettings() {
+        return new TaxCalculator(Settings.TAX_RATE, Settings.TAX_MINIMUM_BALANCE);
+    }
+
+    /**
+     * Mismo mínimo imponible con otra tasa (p. ej. la de una ciudad)
+     */
+    public TaxCalculator withRate(double rate) {
+        return new TaxCalculator(rate, minimumBalance);
+    }
+
+    /**
+     * Calcula el impuesto que debe pagar un balance
+     * @param balance Balance actual del jugador
+     * @return Impuesto a cobrar, 0 si el balance no supera el mínimo imponible
+     */
+    public double calculate(double balance) {
+        if (!(balance > 0.0) || balance <= minimumBalance) {
+            return 0.0;
+        }
+        return balance * rate;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public double getMinimumBalance() {
+        return minimumBalance;
+    }
+}
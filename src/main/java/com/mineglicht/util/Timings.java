@@ -0,0 +1,302 @@
+package com.mineglicht.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Perfilador por muestreo de handlers de eventos, comandos y tareas (/cityadmin timings)
+ * - Apagado: cada llamada cuesta una lectura volatile.
+ * - Encendido: se cuentan todas las llamadas y se mide una de cada sample-every,
+ *   con el mismo histograma de cubetas que {@link Metrics}.
+ * La ventana se cierra sola al pasar los segundos indicados en {@link #start}.
+ */
+public final class Timings {
+
+    private static final long[] BOUNDS_MICROS = Metrics.getBucketBounds();
+
+    private static volatile boolean enabled;
+    private static volatile int sampleEvery = 4;
+    private static volatile long windowStart;
+    private static volatile long windowEnd;
+    private static BukkitTask windowTask;
+
+    private static final Map<String, Handler> HANDLERS = new ConcurrentHashMap<>();
+
+    private Timings() {
+    }
+
+    // ==================== VENTANA ====================
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reinicia los datos y abre una ventana de medición
+     *
+     * @param seconds duración de la ventana; al terminar se llama a onFinish en el hilo principal
+     */
+    public static synchronized void start(Plugin plugin, int seconds, int sampleRate, Runnable onFinish) {
+        stopWindowTask();
+        HANDLERS.values().forEach(Handler::reset);
+        sampleEvery = Math.max(1, sampleRate);
+        windowStart = System.currentTimeMillis();
+        windowEnd = windowStart + seconds * 1000L;
+        enabled = true;
+        windowTask = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            stop();
+            if (onFinish != null) {
+                onFinish.run();
+            }
+        }, Math.max(1, seconds) * 20L);
+    }
+
+    /**
+     * Cierra la ventana actual; los datos se conservan para el informe
+     */
+    public static synchronized void stop() {
+        stopWindowTask();
+        if (enabled) {
+            enabled = false;
+            windowEnd = System.currentTimeMillis();
+        }
+    }
+
+    private static void stopWindowTask() {
+        if (windowTask != null) {
+            windowTask.cancel();
+            windowTask = null;
+        }
+    }
+
+    /**
+     * Milisegundos cubiertos por los datos actuales (hasta ahora si la ventana sigue abierta)
+     */
+    public static long getWindowMillis() {
+        if (windowStart == 0L) {
+            return 0L;
+        }
+        long end = enabled ? System.currentTimeMillis() : windowEnd;
+        return Math.max(0L, end - windowStart);
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Obtiene (o crea) el handler con ese nombre
+     */
+    public static Handler handler(String name) {
+        return HANDLERS.computeIfAbsent(name, Handler::new);
+    }
+
+    /**
+     * Envuelve una tarea programada con su handler
+     */
+    public static Runnable wrap(String name, Runnable task) {
+        Handler handler = handler(name);
+        return () -> {
+            long start = handler.start();
+            try {
+                task.run();
+            } finally {
+                handler.stop(start);
+            }
+        };
+    }
+
+    /**
+     * Registra los @EventHandler de un listener envolviendo cada uno con su handler
+     * Equivale a PluginManager#registerEvents (mismas prioridades e ignoreCancelled).
+     */
+    public static void registerEvents(Listener listener, Plugin plugin) {
+        Set<Method> methods = new HashSet<>(List.of(listener.getClass().getMethods()));
+        methods.addAll(List.of(listener.getClass().getDeclaredMethods()));
+
+        for (Method method : methods) {
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+            if (annotation == null || method.isBridge() || method.isSynthetic()
+                    || method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            method.setAccessible(true);
+            EventExecutor delegate = EventExecutor.create(method, eventClass);
+            Handler handler = handler("event " + listener.getClass().getSimpleName() + "#" + method.getName());
+
+            EventExecutor executor = (registered, event) -> {
+                if (!eventClass.isInstance(event)) {
+                    return;
+                }
+                long start = handler.start();
+                try {
+                    delegate.execute(registered, event);
+                } finally {
+                    handler.stop(start);
+                }
+            };
+            Bukkit.getPluginManager().registerEvent(eventClass, listener, annotation.priority(), executor,
+                    plugin, annotation.ignoreCancelled());
+        }
+    }
+
+    /**
+     * Envuelve el ejecutor de un comando ya registrado
+     */
+    public static void wrapCommand(PluginCommand command) {
+        if (command == null || command.getExecutor() instanceof TimedExecutor) {
+            return;
+        }
+        CommandExecutor delegate = command.getExecutor();
+        // Sin completador explícito Bukkit usaría el ejecutor; se conserva ese comportamiento
+        if (command.getTabCompleter() == null && delegate instanceof TabCompleter completer) {
+            command.setTabCompleter(completer);
+        }
+        command.setExecutor(new TimedExecutor(delegate, handler("command /" + command.getName())));
+    }
+
+    // ==================== INFORME ====================
+
+    /**
+     * Handlers con llamadas, ordenados por tiempo total estimado (mayor primero)
+     */
+    public static List<HandlerSample> report() {
+        List<HandlerSample> samples = new ArrayList<>();
+        for (Handler handler : HANDLERS.values()) {
+            HandlerSample sample = handler.sample();
+            if (sample.calls() > 0) {
+                samples.add(sample);
+            }
+        }
+        samples.sort((a, b) -> Double.compare(b.totalMillis(), a.totalMillis()));
+        return samples;
+    }
+
+    // ==================== INSTRUMENTOS ====================
+
+    /**
+     * Contador de llamadas y muestras de duración de un handler
+     */
+    public static final class Handler {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BOUNDS_MICROS.length + 1];
+        private final LongAdder sampled = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        private int tick; // Sin sincronizar: una carrera solo desplaza qué llamada se mide
+
+        private Handler(String name) {
+            this.name = name;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Cuenta la llamada; devuelve nanoTime si esta llamada se mide, 0 si no
+         */
+        public long start() {
+            if (!enabled) {
+                return 0L;
+            }
+            calls.increment();
+            // La primera llamada siempre se mide para que los handlers poco frecuentes tengan muestra
+            return tick++ % sampleEvery == 0 ? System.nanoTime() : 0L;
+        }
+
+        public void stop(long start) {
+            if (start == 0L) {
+                return;
+            }
+            long nanos = System.nanoTime() - start;
+            long micros = nanos / 1_000L;
+            int bucket = 0;
+            while (bucket < BOUNDS_MICROS.length && micros > BOUNDS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            sampled.increment();
+            sumNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private HandlerSample sample() {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            Metrics.TimerSample timer = new Metrics.TimerSample(name, name, sampled.sum(), sumNanos.sum(),
+                    maxNanos.get(), counts);
+            return new HandlerSample(name, calls.sum(), timer);
+        }
+
+        private void reset() {
+            calls.reset();
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            sampled.reset();
+            sumNanos.reset();
+            maxNanos.reset();
+            tick = 0;
+        }
+    }
+
+    /**
+     * Resultado de un handler; los percentiles salen de las llamadas medidas
+     */
+    public record HandlerSample(String name, long calls, Metrics.TimerSample timer) {
+
+        public double p50Millis() {
+            return timer.percentileMillis(0.50);
+        }
+
+        public double p99Millis() {
+            return timer.percentileMillis(0.99);
+        }
+
+        public double maxMillis() {
+            return timer.maxMillis();
+        }
+
+        /**
+         * Tiempo total estimado: media de las muestras por número de llamadas
+         */
+        public double totalMillis() {
+            return timer.meanMillis() * calls;
+        }
+    }
+
+    private record TimedExecutor(CommandExecutor delegate, Handler handler) implements CommandExecutor {
+        @Override
+        public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+            long start = handler.start();
+            try {
+                return delegate.onCommand(sender, command, label, args);
+            } finally {
+                handler.stop(start);
+            }
+        }
+    }
+}
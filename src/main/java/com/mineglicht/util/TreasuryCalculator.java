@@ -0,0 +1,94 @@
+package com.mineglicht.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Núcleo de cálculo de intereses y mantenimiento del tesoro de una ciudad
+ * Cada periodo se calcula en céntimos con BigDecimal y se redondea, así que liquidar
+ * varios periodos de una vez da exactamente lo mismo que liquidarlos uno a uno.
+ * Es inmutable y no toca ningún tesoro, así que se puede usar desde cualquier hilo.
+ */
+public final class TreasuryCalculator {
+
+    public static final int MONEY_SCALE = 2;
+    private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(MONEY_SCALE);
+
+    private final BigDecimal interestRate; // Cero: sin interés
+    private final BigDecimal maxBalance;
+
+    public TreasuryCalculator(BigDecimal interestRate, BigDecimal maxBalance) {
+        this.interestRate = interestRate == null ? ZERO : interestRate.max(ZERO);
+        this.maxBalance = maxBalance == null ? ZERO : cents(maxBalance.max(ZERO));
+    }
+
+    /**
+     * Aplica un periodo: interés (solo si 0 < balance < máximo, sin superarlo) y luego mantenimiento
+     * @param balance Balance al inicio del periodo
+     * @param upkeep Mantenimiento del periodo (cero si está deshabilitado)
+     * @return Balance al final del periodo, en céntimos y nunca negativo
+     */
+    public BigDecimal applyPeriod(BigDecimal balance, BigDecimal upkeep) {
+        BigDecimal result = cents(balance).max(ZERO);
+
+        if (interestRate.signum() > 0 && result.signum() > 0 && result.compareTo(maxBalance) < 0) {
+            BigDecimal interest = cents(result.multiply(interestRate));
+            result = result.add(interest).min(maxBalance);
+        }
+
+        return result.subtract(cents(upkeep).max(ZERO)).max(ZERO);
+    }
+
+    /**
+     * Aplica varios periodos con el mismo resultado que aplicarlos uno a uno
+     * Los tramos sin interés (sin tasa o sobre el máximo) bajan de forma lineal y exacta y se
+     * resuelven de una vez; el resto avanza periodo a periodo hasta un punto fijo (cero, el
+     * tope o el equilibrio), así que nunca hay más pasos que periodos pendientes.
+     */
+    public BigDecimal applyPeriods(BigDecimal balance, BigDecimal upkeep, long periods) {
+        BigDecimal result = cents(balance).max(ZERO);
+        BigDecimal cost = cents(upkeep).max(ZERO);
+        long remaining = periods;
+
+        while (remaining > 0 && result.signum() > 0) {
+            boolean interest = interestRate.signum() > 0;
+            if (!interest || result.compareTo(maxBalance) >= 0) {
+                if (cost.signum() == 0) {
+                    break; // Sin interés ni mantenimiento no cambia nada
+                }
+                long steps = remaining;
+                if (interest) {
+                    // Solo los periodos que empiezan en o sobre el máximo
+                    BigDecimal above = result.subtract(maxBalance).divideToIntegralValue(cost).add(BigDecimal.ONE);
+                    if (above.compareTo(BigDecimal.valueOf(remaining)) < 0) {
+                        steps = above.longValue();
+                    }
+                }
+                result = result.subtract(cost.multiply(BigDecimal.valueOf(steps))).max(ZERO);
+                remaining -= steps;
+                continue;
+            }
+
+            BigDecimal next = applyPeriod(result, cost);
+            remaining--;
+            if (next.compareTo(result) == 0) {
+                break; // Punto fijo: los periodos restantes no cambian nada
+            }
+            result = next;
+        }
+
+        return result;
+    }
+
+    public BigDecimal getInterestRate() {
+        return interestRate;
+    }
+
+    public BigDecimal getMaxBalance() {
+        return maxBalance;
+    }
+
+    private static BigDecimal cents(BigDecimal value) {
+        return value.setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,245 @@
+package com.mineglicht.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Mapa de direccionamiento abierto con clave UUID guardada como dos longs
+ * Sin nodos ni claves UUID en el heap: un long[] (msb, lsb por ranura) y un Object[]
+ * de valores, con sondeo lineal y borrado por desplazamiento hacia atrás.
+ * No admite valores null y no es thread-safe (ver {@link ConcurrentUuidMap}).
+ */
+public final class UuidMap<V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public UuidMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public UuidMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    private UuidMap(UuidMap<V> source) {
+        this.keys = source.keys.clone();
+        this.values = source.values.clone();
+        this.mask = source.mask;
+        this.size = source.size;
+        this.resizeAt = source.resizeAt;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public V get(UUID key) {
+        return key == null ? null : get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long msb, long lsb) {
+        int slot = find(msb, lsb);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(UUID key) {
+        return key != null && find(key.getMostSignificantBits(), key.getLeastSignificantBits()) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // ==================== MODIFICACIÓN ====================
+
+    /**
+     * Asocia el valor a la clave y devuelve el anterior (o null)
+     */
+    @SuppressWarnings("unchecked")
+    public V put(UUID key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+
+        int slot = slot(msb, lsb);
+        while (values[slot] != null) {
+            if (keys[slot << 1] == msb && keys[(slot << 1) + 1] == lsb) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot << 1] = msb;
+        keys[(slot << 1) + 1] = lsb;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Elimina la clave y devuelve su valor (o null)
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (!(key instanceof UUID uuid)) {
+            return null;
+        }
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        shiftBack(slot);
+        size--;
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Copia independiente (para publicar instantáneas copy-on-write)
+     */
+    public UuidMap<V> copy() {
+        return new UuidMap<>(this);
+    }
+
+    // ==================== RECORRIDO ====================
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<UUID, ? super V> action) {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                action.accept(new UUID(keys[slot << 1], keys[(slot << 1) + 1]), (V) values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Recorre solo los valores (no crea UUIDs)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (Object value : values) {
+            if (value != null) {
+                result.add((V) value);
+            }
+        }
+        return result;
+    }
+
+    // ==================== INTERNOS ====================
+
+    private int find(long msb, long lsb) {
+        int slot = slot(msb, lsb);
+        while (values[slot] != null) {
+            if (keys[slot << 1] == msb && keys[(slot << 1) + 1] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long msb, long lsb) {
+        return hash(msb, lsb) & mask;
+    }
+
+    /**
+     * Mezcla final de murmur3 sobre los dos longs
+     */
+    static int hash(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Borra la ranura y recoloca las entradas siguientes de la misma secuencia de sondeo
+     */
+    private void shiftBack(int hole) {
+        int current = hole;
+        while (true) {
+            current = (current + 1) & mask;
+            if (values[current] == null) {
+                break;
+            }
+            int home = slot(keys[current << 1], keys[(current << 1) + 1]);
+            // La entrada puede ocupar el hueco si su ranura ideal no está entre hueco y posición actual
+            boolean between = hole <= current
+                    ? hole < home && home <= current
+                    : hole < home || home <= current;
+            if (!between) {
+                keys[hole << 1] = keys[current << 1];
+                keys[(hole << 1) + 1] = keys[(current << 1) + 1];
+                values[hole] = values[current];
+                hole = current;
+            }
+        }
+        values[hole] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                long msb = oldKeys[i << 1];
+                long lsb = oldKeys[(i << 1) + 1];
+                int slot = slot(msb, lsb);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot << 1] = msb;
+                keys[(slot << 1) + 1] = lsb;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity << 1];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * 0.6f);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 1) / 0.6);
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+    }
+}
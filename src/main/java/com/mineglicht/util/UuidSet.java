@@ -0,0 +1,172 @@
+package com.mineglicht.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Conjunto inmutable de UUIDs guardado como pares de longs ordenados
+ * 16 bytes por elemento, pertenencia por búsqueda binaria sin crear objetos.
+ * Los cambios devuelven un conjunto nuevo ({@link #with}, {@link #without}).
+ */
+public final class UuidSet extends AbstractSet<UUID> {
+
+    private static final UuidSet EMPTY = new UuidSet(new long[0]);
+
+    // msb, lsb de cada elemento, ordenados por (msb, lsb) con signo
+    private final long[] pairs;
+
+    private UuidSet(long[] pairs) {
+        this.pairs = pairs;
+    }
+
+    public static UuidSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Crea el conjunto de una vez (ordenando), ignorando nulos y duplicados
+     */
+    public static UuidSet of(Collection<UUID> uuids) {
+        UUID[] sorted = uuids.stream().filter(Objects::nonNull).sorted().distinct().toArray(UUID[]::new);
+        if (sorted.length == 0) {
+            return EMPTY;
+        }
+        long[] pairs = new long[sorted.length << 1];
+        for (int i = 0; i < sorted.length; i++) {
+            pairs[i << 1] = sorted[i].getMostSignificantBits();
+            pairs[(i << 1) + 1] = sorted[i].getLeastSignificantBits();
+        }
+        return new UuidSet(pairs);
+    }
+
+    // ==================== CONSULTAS ====================
+
+    @Override
+    public int size() {
+        return pairs.length >> 1;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return value instanceof UUID uuid && contains(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public boolean contains(long msb, long lsb) {
+        return indexOf(msb, lsb) >= 0;
+    }
+
+    // ==================== COPY-ON-WRITE ====================
+
+    /**
+     * Conjunto con el UUID añadido (el mismo si ya estaba)
+     */
+    public UuidSet with(UUID uuid) {
+        if (uuid == null) {
+            return this;
+        }
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int index = indexOf(msb, lsb);
+        if (index >= 0) {
+            return this;
+        }
+        int insert = -(index + 1);
+        long[] next = new long[pairs.length + 2];
+        System.arraycopy(pairs, 0, next, 0, insert << 1);
+        next[insert << 1] = msb;
+        next[(insert << 1) + 1] = lsb;
+        System.arraycopy(pairs, insert << 1, next, (insert + 1) << 1, pairs.length - (insert << 1));
+        return new UuidSet(next);
+    }
+
+    /**
+     * Conjunto sin el UUID (el mismo si no estaba)
+     */
+    public UuidSet without(UUID uuid) {
+        if (uuid == null) {
+            return this;
+        }
+        int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (index < 0) {
+            return this;
+        }
+        if (pairs.length == 2) {
+            return EMPTY;
+        }
+        long[] next = new long[pairs.length - 2];
+        System.arraycopy(pairs, 0, next, 0, index << 1);
+        System.arraycopy(pairs, (index + 1) << 1, next, index << 1, pairs.length - ((index + 1) << 1));
+        return new UuidSet(next);
+    }
+
+    // ==================== RECORRIDO ====================
+
+    @Override
+    public Iterator<UUID> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < pairs.length;
+            }
+
+            @Override
+            public UUID next() {
+                if (next >= pairs.length) {
+                    throw new NoSuchElementException();
+                }
+                UUID uuid = new UUID(pairs[next], pairs[next + 1]);
+                next += 2;
+                return uuid;
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        // Igual que AbstractSet (suma de UUID.hashCode) pero sin crear objetos
+        int hash = 0;
+        for (int i = 0; i < pairs.length; i += 2) {
+            long bits = pairs[i] ^ pairs[i + 1];
+            hash += (int) (bits >> 32) ^ (int) bits;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof UuidSet set) {
+            return Arrays.equals(pairs, set.pairs);
+        }
+        return super.equals(other);
+    }
+
+    // ==================== INTERNOS ====================
+
+    /**
+     * Índice del elemento, o -(punto de inserción + 1) si no está
+     */
+    private int indexOf(long msb, long lsb) {
+        int low = 0;
+        int high = (pairs.length >> 1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midMsb = pairs[mid << 1];
+            int compare = midMsb != msb ? Long.compare(midMsb, msb) : Long.compare(pairs[(mid << 1) + 1], lsb);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
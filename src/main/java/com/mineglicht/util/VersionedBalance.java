@@ -0,0 +1,187 @@
+package com.mineglicht.util;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Balance con versión: lecturas sin candado y escrituras con el candado de su cuenta
+ * Cada cambio publica un estado inmutable (versión, cantidad) con una escritura volátil,
+ * así que leer nunca bloquea. Las escrituras toman el candado del balance en AccountLocks
+ * (franjas, nunca uno global) y las transferencias toman los dos en orden fijo; si el
+ * candado está ocupado, el hilo se duerme en él en vez de girar.
+ * compareAndSet sirve para actualizaciones optimistas: falla si la versión leída ya no es la actual.
+ * Una transferencia se publica en ambos lados con una única escritura volátil: ningún
+ * lector ve el dinero fuera de los dos balances a la vez.
+ */
+public final class VersionedBalance {
+
+    private static final AccountLocks LOCKS = new AccountLocks();
+
+    /**
+     * Estado inmutable del balance
+     */
+    public record State(long version, double amount) {
+    }
+
+    /**
+     * Estado interno: cantidad confirmada y transferencia que lo está publicando (o null)
+     * Solo existe una transferencia pendiente mientras quien la hace tiene los dos candados,
+     * así que las escrituras nunca la ven; los lectores la resuelven con amountFor.
+     */
+    private record Cell(long version, double amount, Transfer pending) {
+    }
+
+    /**
+     * Transferencia en curso entre dos balances
+     * Mientras no se confirma, ambos muestran la cantidad anterior; en cuanto
+     * committed pasa a true, ambos muestran la nueva aunque aún no se hayan liberado.
+     */
+    private static final class Transfer {
+        final VersionedBalance from;
+        final double amount;
+        volatile boolean committed;
+
+        Transfer(VersionedBalance from, double amount) {
+            this.from = from;
+            this.amount = amount;
+        }
+
+        double amountFor(VersionedBalance owner, double reserved) {
+            if (!committed) {
+                return reserved;
+            }
+            return owner == from ? reserved - amount : reserved + amount;
+        }
+    }
+
+    private volatile Cell cell;
+
+    public VersionedBalance(double initialAmount) {
+        this.cell = new Cell(0L, Math.max(0, initialAmount), null);
+    }
+
+    /**
+     * Obtiene el estado actual (versión y cantidad)
+     */
+    public State snapshot() {
+        Cell current = cell;
+        Transfer pending = current.pending();
+        if (pending == null || !pending.committed) {
+            return new State(current.version(), current.amount());
+        }
+        return new State(current.version() + 1, pending.amountFor(this, current.amount()));
+    }
+
+    /**
+     * Obtiene la cantidad actual
+     */
+    public double get() {
+        Cell current = cell;
+        Transfer pending = current.pending();
+        return pending == null ? current.amount() : pending.amountFor(this, current.amount());
+    }
+
+    /**
+     * Obtiene la versión actual
+     */
+    public long getVersion() {
+        return snapshot().version();
+    }
+
+    /**
+     * Confirma una nueva cantidad solo si nadie cambió el balance desde la versión leída
+     * @return true si se confirmó el cambio
+     */
+    public boolean compareAndSet(State expected, double newAmount) {
+        return LOCKS.withLock(this, () -> {
+            Cell current = cell;
+            if (current.version() != expected.version()) {
+                return false;
+            }
+            cell = new Cell(current.version() + 1, Math.max(0, newAmount), null);
+            return true;
+        });
+    }
+
+    /**
+     * Aplica una función al balance con su candado
+     * @return Cantidad resultante
+     */
+    public double update(DoubleUnaryOperator function) {
+        double[] result = new double[1];
+        LOCKS.withLock(this, () -> {
+            Cell current = cell;
+            double next = Math.max(0, function.applyAsDouble(current.amount()));
+            if (next != current.amount()) {
+                cell = new Cell(current.version() + 1, next, null);
+            }
+            result[0] = next;
+            return true;
+        });
+        return result[0];
+    }
+
+    /**
+     * Establece la cantidad sin condiciones
+     */
+    public void set(double amount) {
+        update(ignored -> amount);
+    }
+
+    /**
+     * Añade una cantidad positiva
+     */
+    public boolean deposit(double amount) {
+        if (!(amount > 0)) {
+            return false;
+        }
+        update(current -> current + amount);
+        return true;
+    }
+
+    /**
+     * Retira una cantidad si hay fondos suficientes (comprobación y descuento con el mismo candado)
+     * @return true si se retiró la cantidad
+     */
+    public boolean withdraw(double amount) {
+        if (!(amount > 0)) {
+            return false;
+        }
+        return LOCKS.withLock(this, () -> {
+            Cell current = cell;
+            if (current.amount() < amount) {
+                return false;
+            }
+            cell = new Cell(current.version() + 1, current.amount() - amount, null);
+            return true;
+        });
+    }
+
+    /**
+     * Transfiere una cantidad entre dos balances como una sola operación
+     * Toma los candados de ambos en orden de franja (sin interbloqueos), comprueba los
+     * fondos del origen y publica los dos lados con una única escritura volátil.
+     * @return true si la transferencia se completó
+     */
+    public static boolean transfer(VersionedBalance from, VersionedBalance to, double amount) {
+        if (from == null || to == null || from == to || !(amount > 0)) {
+            return false;
+        }
+
+        return LOCKS.withLocks(from, to, () -> {
+            Cell fromCell = from.cell;
+            Cell toCell = to.cell;
+            if (fromCell.amount() < amount) {
+                return false;
+            }
+
+            Transfer transfer = new Transfer(from, amount);
+            from.cell = new Cell(fromCell.version(), fromCell.amount(), transfer);
+            to.cell = new Cell(toCell.version(), toCell.amount(), transfer);
+            transfer.committed = true; // Punto de publicación de ambos lados
+
+            from.cell = new Cell(fromCell.version() + 1, fromCell.amount() - amount, null);
+            to.cell = new Cell(toCell.version() + 1, toCell.amount() + amount, null);
+            return true;
+        });
+    }
+}
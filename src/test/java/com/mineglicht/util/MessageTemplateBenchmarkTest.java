@@ -0,0 +1,56 @@
+package com.mineglicht.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Medición de una plantilla compilada frente a la cadena de replace de MessageUtils
+ * No falla por tiempos (dependen de la máquina); solo imprime los ns/op de cada uno.
+ * Fuera de la suite normal: se ejecuta con mvn test -Pperf. La corrección está en MessageTemplateTest.
+ */
+@Tag("benchmark")
+class MessageTemplateBenchmarkTest {
+
+    private static final String RAW = "&c[CityWars] &e{attacker} &7ha saqueado &6{amount} &7de &6{city} &7({percent}%)";
+    private static final MessageTemplate TEMPLATE = MessageTemplate.compile(RAW);
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void benchmarkCompiledTemplateVsReplaceChain() {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += render(i).length() + replaceChain(i).length();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += render(i).length();
+        }
+        long templateNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += replaceChain(i).length();
+        }
+        long replaceNanos = System.nanoTime() - start;
+
+        System.out.printf("MessageTemplate.render: %.1f ns/op, replace + colorize: %.1f ns/op (%d)%n",
+                (double) templateNanos / ITERATIONS, (double) replaceNanos / ITERATIONS, sink);
+    }
+
+    private static String render(int i) {
+        return TEMPLATE.render("attacker", "Jugador" + (i & 7), "amount", Integer.toString(i & 1023),
+                "city", "Ciudad", "percent", "15");
+    }
+
+    /**
+     * Camino sin compilar: reemplazo en pares y traducción de colores en cada envío
+     */
+    private static String replaceChain(int i) {
+        return MessageUtils.colorize(MessageUtils.formatMessage(RAW,
+                "{attacker}", "Jugador" + (i & 7), "{amount}", Integer.toString(i & 1023),
+                "{city}", "Ciudad", "{percent}", "15"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.mineglicht.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Placeholders, códigos de color y claves ausentes de MessageTemplate
+ */
+class MessageTemplateTest {
+
+    private static final char SECTION = '§';
+
+    @Test
+    void replacesPlaceholdersByNameOrFullToken() {
+        MessageTemplate template = MessageTemplate.compile("{player} entró en %city%");
+
+        assertEquals("Ana entró en Roma", template.render("player", "Ana", "city", "Roma"));
+        assertEquals("Ana entró en Roma", template.render("{player}", "Ana", "%city%", "Roma"));
+    }
+
+    @Test
+    void replacesEveryOccurrenceOfAPlaceholder() {
+        MessageTemplate template = MessageTemplate.compile("{city} contra {city}");
+
+        assertEquals("Roma contra Roma", template.render("city", "Roma"));
+    }
+
+    @Test
+    void translatesLegacyAndHexColourCodes() {
+        assertEquals(SECTION + "aHola " + SECTION + "lmundo", MessageTemplate.compile("&aHola &lmundo").getText());
+
+        String hex = MessageTemplate.compile("&#FF8800x").getText();
+        assertEquals("" + SECTION + "x" + SECTION + "f" + SECTION + "f" + SECTION + "8"
+                + SECTION + "8" + SECTION + "0" + SECTION + "0x", hex);
+    }
+
+    @Test
+    void colourCodesAroundPlaceholdersAreKept() {
+        MessageTemplate template = MessageTemplate.compile("&6{city}&r: &c{amount}");
+
+        assertEquals(SECTION + "6Roma" + SECTION + "r: " + SECTION + "c10", template.render("city", "Roma", "amount", "10"));
+    }
+
+    @Test
+    void missingValuesLeaveTheTokenAndUnknownKeysAreIgnored() {
+        MessageTemplate template = MessageTemplate.compile("{player} en {city}");
+
+        assertEquals("Ana en {city}", template.render("player", "Ana", "other", "x"));
+        assertEquals("{player} en {city}", template.render());
+        assertEquals("{player} en {city}", template.render((String[]) null));
+        assertEquals("Ana en {city}", template.render("player", "Ana", "city")); // Clave sin valor
+    }
+
+    @Test
+    void valuesAreInsertedLiterally() {
+        MessageTemplate template = MessageTemplate.compile("Saldo: {amount}");
+
+        assertEquals("Saldo: $1\\2 {city}", template.render("amount", "$1\\2 {city}", "city", "Roma"));
+    }
+
+    @Test
+    void textThatIsNotAPlaceholderStaysLiteral() {
+        MessageTemplate template = MessageTemplate.compile("100% seguro, { no } y {}");
+
+        assertFalse(template.hasPlaceholders());
+        assertEquals("100% seguro, { no } y {}", template.render("no", "x"));
+    }
+
+    @Test
+    void placeholderNamesAllowDotsDashesAndUnderscores() {
+        MessageTemplate template = MessageTemplate.compile("{city.name} {siege-time} {max_level}");
+
+        assertTrue(template.hasPlaceholders());
+        assertEquals("Roma 5 3", template.render("city.name", "Roma", "siege-time", "5", "max_level", "3"));
+    }
+}
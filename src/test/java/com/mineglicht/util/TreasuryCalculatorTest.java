@@ -0,0 +1,71 @@
+package com.mineglicht.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Una liquidación grande debe dar lo mismo que N liquidaciones de un periodo
+ */
+class TreasuryCalculatorTest {
+
+    private static final BigDecimal MAX = new BigDecimal("1000000.00");
+    private static final int PERIODS = 3_650;
+
+    @Test
+    void interestAndUpkeepMatchPerPeriod() {
+        TreasuryCalculator calculator = new TreasuryCalculator(new BigDecimal("0.02"), MAX);
+        // Crece hasta el tope, se queda en el equilibrio y se agota
+        assertSamePerPeriod(calculator, "12345.67", "50.00");
+        assertSamePerPeriod(calculator, "2500.00", "50.00");
+        assertSamePerPeriod(calculator, "2499.99", "50.00");
+        assertSamePerPeriod(calculator, "0.01", "0.00");
+    }
+
+    @Test
+    void balanceAboveMaximumMatchesPerPeriod() {
+        TreasuryCalculator calculator = new TreasuryCalculator(new BigDecimal("0.001"), MAX);
+        assertSamePerPeriod(calculator, "1003210.55", "75.25");
+        assertSamePerPeriod(calculator, "1500000.00", "0.00");
+    }
+
+    @Test
+    void upkeepWithoutInterestMatchesPerPeriod() {
+        TreasuryCalculator calculator = new TreasuryCalculator(BigDecimal.ZERO, MAX);
+        assertSamePerPeriod(calculator, "98765.43", "50.00");
+        assertSamePerPeriod(calculator, "10.005", "3.33");
+    }
+
+    @Test
+    void splitSettlementsMatchSingleSettlement() {
+        TreasuryCalculator calculator = new TreasuryCalculator(new BigDecimal("0.015"), MAX);
+        BigDecimal upkeep = new BigDecimal("120.00");
+        BigDecimal once = calculator.applyPeriods(new BigDecimal("8000.00"), upkeep, 400);
+
+        BigDecimal split = new BigDecimal("8000.00");
+        for (long chunk : new long[]{1, 7, 30, 62, 300}) {
+            split = calculator.applyPeriods(split, upkeep, chunk);
+        }
+        assertEquals(once, split);
+    }
+
+    @Test
+    void neverNegative() {
+        TreasuryCalculator calculator = new TreasuryCalculator(new BigDecimal("0.02"), MAX);
+        assertEquals(new BigDecimal("0.00"), calculator.applyPeriods(new BigDecimal("100.00"), new BigDecimal("40.00"), 10));
+    }
+
+    private static void assertSamePerPeriod(TreasuryCalculator calculator, String start, String upkeep) {
+        BigDecimal cost = new BigDecimal(upkeep);
+        BigDecimal perPeriod = new BigDecimal(start);
+        for (int i = 1; i <= PERIODS; i++) {
+            perPeriod = calculator.applyPeriods(perPeriod, cost, 1);
+            if (i % 365 == 0) {
+                assertEquals(perPeriod, calculator.applyPeriods(new BigDecimal(start), cost, i),
+                        "tras " + i + " periodos desde " + start);
+            }
+        }
+    }
+}
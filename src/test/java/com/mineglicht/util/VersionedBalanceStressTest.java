@@ -0,0 +1,141 @@
+package com.mineglicht.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de estrés de VersionedBalance con muchos hilos a la vez
+ * Las cantidades son enteras para que las sumas en double sean exactas.
+ * Fuera de la suite normal: se ejecuta con mvn test -Pperf.
+ */
+@Tag("stress")
+class VersionedBalanceStressTest {
+
+    private static final int THREADS = 8;
+    private static final int BALANCES = 6;
+    private static final int OPERATIONS = 50_000;
+    private static final long INITIAL = 1_000;
+
+    @Test
+    void transfersConserveTotal() throws Exception {
+        VersionedBalance[] balances = newBalances();
+        AtomicInteger committed = new AtomicInteger();
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < OPERATIONS; i++) {
+                VersionedBalance from = balances[random.nextInt(BALANCES)];
+                VersionedBalance to = balances[random.nextInt(BALANCES)];
+                if (VersionedBalance.transfer(from, to, 1 + random.nextInt(50))) {
+                    committed.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(INITIAL * BALANCES, total(balances), 0.0);
+        assertTrue(committed.get() > 0, "ninguna transferencia se confirmó");
+        for (VersionedBalance balance : balances) {
+            assertTrue(balance.get() >= 0, "balance negativo");
+        }
+    }
+
+    @Test
+    void mixedOperationsMatchTrackedNet() throws Exception {
+        VersionedBalance[] balances = newBalances();
+        AtomicLong net = new AtomicLong(); // Depósitos menos retiros confirmados
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < OPERATIONS; i++) {
+                VersionedBalance balance = balances[random.nextInt(BALANCES)];
+                int amount = 1 + random.nextInt(50);
+                switch (random.nextInt(3)) {
+                    case 0 -> {
+                        if (balance.deposit(amount)) {
+                            net.addAndGet(amount);
+                        }
+                    }
+                    case 1 -> {
+                        if (balance.withdraw(amount)) {
+                            net.addAndGet(-amount);
+                        }
+                    }
+                    default -> VersionedBalance.transfer(balance, balances[random.nextInt(BALANCES)], amount);
+                }
+            }
+        });
+
+        assertEquals(INITIAL * BALANCES + net.get(), total(balances), 0.0);
+    }
+
+    @Test
+    void concurrentWithdrawalsNeverOverdraw() throws Exception {
+        int funds = 10_000;
+        VersionedBalance source = new VersionedBalance(funds);
+        VersionedBalance sink = new VersionedBalance(0);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < funds; i++) {
+                boolean ok = (i & 1) == 0 ? source.withdraw(1) : VersionedBalance.transfer(source, sink, 1);
+                if (ok) {
+                    succeeded.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(funds, succeeded.get());
+        assertEquals(0.0, source.get(), 0.0);
+    }
+
+    private static VersionedBalance[] newBalances() {
+        VersionedBalance[] balances = new VersionedBalance[BALANCES];
+        for (int i = 0; i < BALANCES; i++) {
+            balances[i] = new VersionedBalance(INITIAL);
+        }
+        return balances;
+    }
+
+    private static double total(VersionedBalance[] balances) {
+        double total = 0;
+        for (VersionedBalance balance : balances) {
+            total += balance.get();
+        }
+        return total;
+    }
+
+    private static void runConcurrently(Runnable work) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    work.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}